@@ -0,0 +1,116 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.clients.BookApiClient;
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.ResponseCapturePolicy;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Client-side response handling for an already received response, without the network
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseBenchmark {
+  @Param({"FULL", "ON_FAILURE"})
+  private ResponseCapturePolicy capturePolicy;
+
+  private ResponseClient client;
+  private Response bookResponse;
+  private Response bookListResponse;
+  private List<Header> headers;
+
+  @Setup
+  public void setUp() {
+    ApiConfig.getInstance().setLogResponses(false);
+    client = new ResponseClient();
+    client.setCapturePolicy(capturePolicy);
+
+    List<Book> books = new ArrayList<>();
+    for (int i = 1; i <= 200; i++) {
+      books.add(Book.builder().id(i).withValidData().build());
+    }
+    headers = List.of(
+      new Header("Content-Type", "application/json; charset=utf-8"),
+      new Header("Date", "Mon, 01 Jan 2024 00:00:00 GMT"),
+      new Header("Server", "Kestrel"),
+      new Header("Transfer-Encoding", "chunked"),
+      new Header("api-supported-versions", "1.0"),
+      new Header("Strict-Transport-Security", "max-age=2592000"),
+      new Header("Cache-Control", "no-cache"),
+      new Header("X-Request-Id", "0HMVD8V7Q2J5K:00000001"));
+    bookResponse = response(JsonUtils.toJsonBytes(books.get(0)));
+    bookListResponse = response(JsonUtils.toJsonBytes(books));
+  }
+
+  private Response response(byte[] body) {
+    return new ResponseBuilder()
+      .setStatusCode(200)
+      .setStatusLine("HTTP/1.1 200 OK")
+      .setHeaders(new Headers(headers))
+      .setContentType("application/json; charset=utf-8")
+      .setBody(body)
+      .build();
+  }
+
+  @Benchmark
+  public ApiResponse<Book> buildBookResponse() {
+    return client.book(bookResponse);
+  }
+
+  @Benchmark
+  public ApiResponse<List<Book>> buildBookListResponse() {
+    return client.bookList(bookListResponse);
+  }
+
+  @Benchmark
+  public Map<String, String> convertHeaders() {
+    return client.headers(headers);
+  }
+
+  // Response handling is protected on the clients, so a subclass exposes it
+  private static final class ResponseClient extends BookApiClient {
+    private static final BodyReader<Book> BOOK_READER = BodyReader.buffered(Book.class);
+    private static final BodyReader<List<Book>> BOOK_LIST_READER = BodyReader.streamingList(Book.class);
+
+    ResponseClient() {
+      super(RunMode.LOAD);
+    }
+
+    ApiResponse<Book> book(Response response) {
+      return buildApiResponse(response, BOOK_READER);
+    }
+
+    ApiResponse<List<Book>> bookList(Response response) {
+      return buildApiResponse(response, BOOK_LIST_READER);
+    }
+
+    Map<String, String> headers(List<Header> headers) {
+      return convertHeaders(headers);
+    }
+  }
+}
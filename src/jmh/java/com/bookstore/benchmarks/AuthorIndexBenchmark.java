@@ -0,0 +1,101 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.clients.AuthorIndex;
+import com.bookstore.models.Author;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// CPU side of getAuthorsByBookId once the authors are in memory: the old full-list filter versus index lookups
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AuthorIndexBenchmark {
+  @Param({"1000", "100000", "1000000"})
+  private int authors;
+
+  private List<Author> snapshot;
+  private AuthorIndex index;
+  private Map<Integer, List<Author>> boxedIndex;
+  private int[] bookIds;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    // Three authors per book on average, like the FakeRestAPI seed data
+    int books = Math.max(1, authors / 3);
+    SplittableRandom random = new SplittableRandom(42);
+    snapshot = new ArrayList<>(authors);
+    for (int i = 1; i <= authors; i++) {
+      snapshot.add(new Author(i, random.nextInt(1, books + 1), "First Name " + i, "Last Name " + i));
+    }
+    index = new AuthorIndex(Long.MAX_VALUE / 1_000_000L);
+    index.rebuild(snapshot);
+    boxedIndex = snapshot.stream().collect(Collectors.groupingBy(Author::getIdBook));
+
+    bookIds = new int[1024];
+    for (int i = 0; i < bookIds.length; i++) {
+      bookIds[i] = random.nextInt(1, books + 1);
+    }
+  }
+
+  private int nextBookId() {
+    return bookIds[next++ & (bookIds.length - 1)];
+  }
+
+  @Benchmark
+  public List<Author> fullListScan() {
+    int bookId = nextBookId();
+    return snapshot.stream()
+      .filter(author -> author.getIdBook() != null && author.getIdBook().equals(bookId))
+      .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<Author> boxedHashMapLookup() {
+    return copies(boxedIndex.getOrDefault(nextBookId(), List.of()));
+  }
+
+  @Benchmark
+  public List<Author> primitiveIndexLookup() {
+    return index.lookup(nextBookId());
+  }
+
+  // Same copy-out as the index, so the difference is the boxed key and entry lookup
+  private static List<Author> copies(List<Author> authors) {
+    List<Author> copies = new ArrayList<>(authors.size());
+    authors.forEach(author -> copies.add(
+      new Author(author.getId(), author.getIdBook(), author.getFirstName(), author.getLastName())));
+    return copies;
+  }
+
+  // Full snapshot rebuild, paid once per TTL
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5)
+  public AuthorIndex rebuild() {
+    AuthorIndex rebuilt = new AuthorIndex(Long.MAX_VALUE / 1_000_000L);
+    rebuilt.rebuild(snapshot);
+    return rebuilt;
+  }
+}
@@ -0,0 +1,72 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Serialization cost of the request and response models
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilsBenchmark {
+  private Book book;
+  private Author author;
+  private String bookJson;
+  private byte[] bookJsonBytes;
+  private byte[] authorJsonBytes;
+
+  @Setup
+  public void setUp() {
+    book = Book.builder().id(1).withValidData().build();
+    author = Author.builder().id(1).withValidData().build();
+    bookJson = JsonUtils.toJson(book);
+    bookJsonBytes = bookJson.getBytes(StandardCharsets.UTF_8);
+    authorJsonBytes = JsonUtils.toJsonBytes(author);
+  }
+
+  @Benchmark
+  public Book bookFromJsonString() {
+    return JsonUtils.fromJson(bookJson, Book.class);
+  }
+
+  @Benchmark
+  public Book bookFromJsonBytes() {
+    return JsonUtils.fromJson(bookJsonBytes, Book.class);
+  }
+
+  @Benchmark
+  public String bookToJson() {
+    return JsonUtils.toJson(book);
+  }
+
+  @Benchmark
+  public byte[] bookToJsonBytes() {
+    return JsonUtils.toJsonBytes(book);
+  }
+
+  @Benchmark
+  public Author authorFromJsonBytes() {
+    return JsonUtils.fromJson(authorJsonBytes, Author.class);
+  }
+
+  @Benchmark
+  public String authorToJson() {
+    return JsonUtils.toJson(author);
+  }
+}
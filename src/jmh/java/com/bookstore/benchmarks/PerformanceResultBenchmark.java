@@ -0,0 +1,55 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Summarising a finished run; the histogram keeps this independent of the sample count
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerformanceResultBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  private int samples;
+
+  private LatencyHistogram histogram;
+
+  @Setup
+  public void setUp() {
+    // Log-normal latencies around 20ms with a long tail, seeded so every run sees the same data
+    Random random = new Random(42);
+    histogram = new LatencyHistogram();
+    for (int i = 0; i < samples; i++) {
+      histogram.recordMicros((long) Math.exp(Math.log(20_000) + 0.5 * random.nextGaussian()));
+    }
+  }
+
+  @Benchmark
+  public PerformanceResult buildResult() {
+    return new PerformanceResult(histogram, samples, 0);
+  }
+
+  @Benchmark
+  public LatencyHistogram mergeResults() {
+    LatencyHistogram merged = histogram.copy();
+    merged.merge(histogram);
+    return merged;
+  }
+}
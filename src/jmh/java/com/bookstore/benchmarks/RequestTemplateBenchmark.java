@@ -0,0 +1,87 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.clients.BookApiClient;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.RequestTemplate;
+import com.bookstore.utils.SyntheticDataGenerator;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Client CPU to turn a book update into a request body: a fresh POJO through Jackson or REST Assured versus a filled template
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestTemplateBenchmark {
+  private Book prototype;
+  private RequestTemplate template;
+  private SpecClient client;
+  private int id;
+
+  @Setup
+  public void setUp() {
+    prototype = SyntheticDataGenerator.withSeed(42).book(0);
+    template = RequestTemplate.compile(prototype, "id", "title");
+    client = new SpecClient();
+  }
+
+  private Book nextBook() {
+    ++id;
+    return new Book(id, "Book " + id, prototype.getDescription(), prototype.getPageCount(), prototype.getExcerpt(),
+      prototype.getPublishDate());
+  }
+
+  private byte[] nextTemplateBody() {
+    ++id;
+    return template.fill().set("id", id).set("title", "Book " + id).toBytes();
+  }
+
+  // What the async clients do for every request
+  @Benchmark
+  public byte[] jacksonPojo() {
+    return JsonUtils.toJsonBytes(nextBook());
+  }
+
+  @Benchmark
+  public byte[] templateFill() {
+    return nextTemplateBody();
+  }
+
+  // What the blocking clients do: REST Assured serializes the POJO through its own object mapper
+  @Benchmark
+  public RequestSpecification restAssuredPojo() {
+    return client.spec().body(nextBook());
+  }
+
+  @Benchmark
+  public RequestSpecification restAssuredTemplate() {
+    return client.spec().body(nextTemplateBody());
+  }
+
+  // The request spec is protected on the clients, so a subclass exposes it
+  private static final class SpecClient extends BookApiClient {
+
+    SpecClient() {
+      super(RunMode.LOAD);
+    }
+
+    RequestSpecification spec() {
+      return getBaseRequestSpec();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.bookstore.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.bookstore.clients.RequestTracer;
+import com.bookstore.models.RequestTiming;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of tracing a successful response from several load threads, file output included
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RequestTracingBenchmark {
+  private static final String ENDPOINT = "https://fakerestapi.azurewebsites.net/api/v1/Books/42";
+  private static final RequestTiming TIMING = RequestTiming.builder()
+    .connectNanos(120_000)
+    .timeToFirstByteNanos(4_500_000)
+    .bodyReadNanos(300_000)
+    .deserializationNanos(80_000)
+    .totalNanos(5_000_000)
+    .build();
+
+  // SYNC and ASYNC trace every request; ASYNC_SAMPLED traces one in a hundred through the async appender
+  @Param({"SYNC", "ASYNC", "ASYNC_SAMPLED", "DISABLED"})
+  private String mode;
+
+  private LoggerContext context;
+  private Path logFile;
+  private RequestTracer tracer;
+
+  @Setup
+  public void setUp() throws IOException {
+    logFile = Files.createTempFile("request-trace", ".log");
+    context = new LoggerContext();
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %msg%n");
+    encoder.start();
+
+    FileAppender<ILoggingEvent> file = new FileAppender<>();
+    file.setContext(context);
+    file.setFile(logFile.toString());
+    file.setEncoder(encoder);
+    file.start();
+
+    Appender<ILoggingEvent> appender = file;
+    if (mode.startsWith("ASYNC")) {
+      AsyncAppender async = new AsyncAppender();
+      async.setContext(context);
+      async.setQueueSize(16384);
+      async.setDiscardingThreshold(0);
+      async.setNeverBlock(true);
+      async.setIncludeCallerData(false);
+      async.addAppender(file);
+      async.start();
+      appender = async;
+    }
+
+    ch.qos.logback.classic.Logger logger = context.getLogger(RequestTracer.LOGGER_NAME);
+    logger.setAdditive(false);
+    logger.addAppender(appender);
+    logger.setLevel(mode.equals("DISABLED") ? Level.OFF : Level.INFO);
+    tracer = new RequestTracer(logger, mode.equals("ASYNC_SAMPLED") ? 100 : 1);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    context.stop();
+    Files.deleteIfExists(logFile);
+  }
+
+  @Benchmark
+  public void traceResponse() {
+    tracer.traceResponse("GET", ENDPOINT, 200, TIMING, 512);
+  }
+}
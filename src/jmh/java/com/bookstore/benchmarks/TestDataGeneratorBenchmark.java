@@ -0,0 +1,77 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.SyntheticDataGenerator;
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of producing one request payload: the shared Faker the generator used to call versus the synthetic pools
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataGeneratorBenchmark {
+  private final Faker faker = new Faker();
+  private final SyntheticDataGenerator generator = SyntheticDataGenerator.withSeed(42);
+  private long index;
+
+  @Benchmark
+  public Book fakerBook() {
+    return Book.builder()
+      .title(faker.book().title())
+      .description(faker.lorem().paragraph())
+      .pageCount(faker.number().numberBetween(50, 1000))
+      .excerpt(faker.lorem().sentence())
+      .publishDate("2024-01-01T00:00:00.000Z")
+      .build();
+  }
+
+  @Benchmark
+  public Author fakerAuthor() {
+    return Author.builder()
+      .firstName(faker.name().firstName())
+      .lastName(faker.name().lastName())
+      .idBook(ThreadLocalRandom.current().nextInt(1, 100))
+      .build();
+  }
+
+  @Benchmark
+  public Book syntheticBook() {
+    return generator.book(index++);
+  }
+
+  @Benchmark
+  public Author syntheticAuthor() {
+    return generator.author(index++);
+  }
+
+  @Benchmark
+  public Book syntheticNextBook() {
+    return generator.nextBook();
+  }
+
+  @Benchmark
+  public byte[] syntheticBookSerialized() {
+    return JsonUtils.toJsonBytes(generator.book(index++));
+  }
+
+  @Benchmark
+  public byte[] syntheticBookJson() {
+    return generator.bookJson(index++);
+  }
+}
@@ -0,0 +1,81 @@
+package com.bookstore.clients;
+
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Author;
+import com.bookstore.models.BulkResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+public class AsyncAuthorApiClient extends AsyncBaseApiClient {
+
+  public AsyncAuthorApiClient() {
+    super();
+  }
+
+  public AsyncAuthorApiClient(RunMode runMode) {
+    super(runMode);
+  }
+
+  public CompletableFuture<ApiResponse<List<Author>>> getAllAuthors() {
+    log.debug("Getting all authors from: {}", config.getAuthorsEndpoint());
+    return executeGetListAsync(config.getAuthorsEndpoint(), Author.class);
+  }
+
+  public CompletableFuture<ApiResponse<Author>> getAuthorById(int id) {
+    log.debug("Getting author with ID: {}", id);
+    return executeGetAsync(config.getAuthorByIdEndpoint(id), Author.class);
+  }
+
+  public CompletableFuture<ApiResponse<Author>> createAuthor(Author author) {
+    log.debug("Creating new author: {} {}", author.getFirstName(), author.getLastName());
+    return executePostAsync(config.getAuthorsEndpoint(), author, Author.class);
+  }
+
+  public CompletableFuture<ApiResponse<Author>> updateAuthor(int id, Author author) {
+    log.debug("Updating author with ID: {}", id);
+    return executePutAsync(config.getAuthorByIdEndpoint(id), author, Author.class);
+  }
+
+  public CompletableFuture<ApiResponse<Author>> createAuthor(byte[] json) {
+    log.debug("Creating new author from {} bytes of JSON", json.length);
+    return executePostAsync(config.getAuthorsEndpoint(), json, Author.class);
+  }
+
+  public CompletableFuture<ApiResponse<Author>> updateAuthor(int id, byte[] json) {
+    log.debug("Updating author with ID: {} from {} bytes of JSON", id, json.length);
+    return executePutAsync(config.getAuthorByIdEndpoint(id), json, Author.class);
+  }
+
+  public CompletableFuture<ApiResponse<Void>> deleteAuthor(int id) {
+    log.debug("Deleting author with ID: {}", id);
+    return executeDeleteAsync(config.getAuthorByIdEndpoint(id), Void.class);
+  }
+
+  public CompletableFuture<ApiResponse<Author>> partialUpdateAuthor(int id, Author author) {
+    log.debug("Partially updating author with ID: {}", id);
+    return executePatchAsync(config.getAuthorByIdEndpoint(id), author, Author.class);
+  }
+
+  public CompletableFuture<BulkResult<Author>> createAuthors(Collection<Author> authors) {
+    return executeBulkAsync("create authors", authors, this::createAuthor);
+  }
+
+  // Each author is sent to the endpoint of its own ID
+  public CompletableFuture<BulkResult<Author>> updateAuthors(Collection<Author> authors) {
+    return executeBulkAsync("update authors", authors, author -> {
+      if (author.getId() == null) {
+        throw new IllegalArgumentException("Cannot update an author without an ID");
+      }
+      return updateAuthor(author.getId(), author);
+    });
+  }
+
+  public CompletableFuture<BulkResult<Void>> deleteAuthors(Collection<Integer> ids) {
+    return executeBulkAsync("delete authors", ids, this::deleteAuthor);
+  }
+}
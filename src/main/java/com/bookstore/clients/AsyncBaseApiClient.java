@@ -0,0 +1,271 @@
+package com.bookstore.clients;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.ResponseCapturePolicy;
+import com.bookstore.config.RunMode;
+import com.bookstore.metrics.EndpointMetrics;
+import com.bookstore.metrics.MetricsRegistry;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.BulkResult;
+import com.bookstore.models.RawBody;
+import com.bookstore.models.RequestTiming;
+import com.bookstore.performance.ResultJournal;
+import com.bookstore.utils.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link BaseApiClient}. Requests return a
+ * {@link CompletableFuture} as soon as they are sent and complete on the
+ * transport's callback pool, so an in-flight request holds no thread.
+ * Responses carry the same {@link RequestTiming}, logging and capture policy
+ * as the blocking clients; requests are not attached to Allure.
+ */
+@Slf4j
+public abstract class AsyncBaseApiClient {
+  private static final String JSON = "application/json";
+
+  protected final ApiConfig config;
+  protected final AsyncHttpTransport transport;
+  private final MetricsRegistry metrics;
+  private final RequestTracer tracer; // null when every response is logged instead
+  private final ResultJournal journal; // null unless perf.journal.dir is set
+  private final ResponseCache responseCache; // null unless api.cache.enabled is set
+  private volatile ResponseCapturePolicy capturePolicy;
+
+  public AsyncBaseApiClient() {
+    this(ApiConfig.getInstance().getRunMode());
+  }
+
+  protected AsyncBaseApiClient(RunMode runMode) {
+    this(runMode, ApiConfig.getInstance().isCacheEnabled() ? ResponseCache.getInstance() : null);
+  }
+
+  // Writes sent here bypass the REST Assured filter chain, so they invalidate the shared cache themselves
+  protected AsyncBaseApiClient(RunMode runMode, ResponseCache responseCache) {
+    this.config = ApiConfig.getInstance();
+    this.responseCache = responseCache;
+    this.transport = AsyncHttpTransport.getInstance();
+    this.metrics = MetricsRegistry.getInstance();
+    this.capturePolicy = config.getResponseCapturePolicy() != null
+      ? config.getResponseCapturePolicy() : runMode.defaultCapturePolicy();
+    boolean tracing = config.getTraceEnabled() != null ? config.getTraceEnabled() : runMode.defaultRequestTracing();
+    this.tracer = tracing
+      ? new RequestTracer(LoggerFactory.getLogger(RequestTracer.LOGGER_NAME), config.getTraceSampleRate()) : null;
+    this.journal = ResultJournal.getConfigured();
+  }
+
+  public ResponseCapturePolicy getCapturePolicy() {
+    return capturePolicy;
+  }
+
+  public void setCapturePolicy(ResponseCapturePolicy capturePolicy) {
+    this.capturePolicy = capturePolicy;
+  }
+
+  protected <T> CompletableFuture<ApiResponse<T>> executeGetAsync(String endpoint, Class<T> responseType) {
+    return executeAsync(request(endpoint).GET(), parserFor(responseType));
+  }
+
+  protected <E> CompletableFuture<ApiResponse<List<E>>> executeGetListAsync(String endpoint, Class<E> elementType) {
+    return executeAsync(request(endpoint).GET(),
+      body -> JsonUtils.fromJsonList(new ByteArrayInputStream(body), elementType));
+  }
+
+  protected <T> CompletableFuture<ApiResponse<T>> executePostAsync(String endpoint, Object requestBody,
+                                                                   Class<T> responseType) {
+    return executeAsync(request(endpoint).POST(jsonBody(requestBody)), parserFor(responseType));
+  }
+
+  protected <T> CompletableFuture<ApiResponse<T>> executePutAsync(String endpoint, Object requestBody,
+                                                                  Class<T> responseType) {
+    return executeAsync(request(endpoint).PUT(jsonBody(requestBody)), parserFor(responseType));
+  }
+
+  // Pre-serialized JSON bodies, e.g. from a RequestTemplate, are sent as is
+  protected <T> CompletableFuture<ApiResponse<T>> executePostAsync(String endpoint, byte[] requestBody,
+                                                                   Class<T> responseType) {
+    return executeAsync(request(endpoint).POST(HttpRequest.BodyPublishers.ofByteArray(requestBody)),
+      parserFor(responseType));
+  }
+
+  protected <T> CompletableFuture<ApiResponse<T>> executePutAsync(String endpoint, byte[] requestBody,
+                                                                  Class<T> responseType) {
+    return executeAsync(request(endpoint).PUT(HttpRequest.BodyPublishers.ofByteArray(requestBody)),
+      parserFor(responseType));
+  }
+
+  protected <T> CompletableFuture<ApiResponse<T>> executeDeleteAsync(String endpoint, Class<T> responseType) {
+    return executeAsync(request(endpoint).DELETE(), parserFor(responseType));
+  }
+
+  protected <T> CompletableFuture<ApiResponse<T>> executePatchAsync(String endpoint, Object requestBody,
+                                                                    Class<T> responseType) {
+    return executeAsync(request(endpoint).method("PATCH", jsonBody(requestBody)), parserFor(responseType));
+  }
+
+  // One request per item with at most api.bulk.concurrency in flight; results come back in input order
+  protected <I, R> CompletableFuture<BulkResult<R>> executeBulkAsync(String operation, Collection<I> items,
+                                                                    Function<I, CompletableFuture<ApiResponse<R>>> request) {
+    return BulkDispatcher.dispatch(operation, new ArrayList<>(items), config.getBulkConcurrency(), request);
+  }
+
+  private HttpRequest.Builder request(String endpoint) {
+    return HttpRequest.newBuilder(URI.create(endpoint))
+      .timeout(transport.getRequestTimeout())
+      .header("Content-Type", JSON)
+      .header("Accept", JSON);
+  }
+
+  private static HttpRequest.BodyPublisher jsonBody(Object requestBody) {
+    return HttpRequest.BodyPublishers.ofByteArray(JsonUtils.toJsonBytes(requestBody));
+  }
+
+  // A null parser means the response body is not deserialized
+  private static <T> Function<byte[], T> parserFor(Class<T> responseType) {
+    return responseType == Void.class ? null : body -> JsonUtils.fromJson(body, responseType);
+  }
+
+  private <T> CompletableFuture<ApiResponse<T>> executeAsync(HttpRequest.Builder requestBuilder,
+                                                             Function<byte[], T> parser) {
+    CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+    HttpRequest request = requestBuilder.build();
+    RequestTimer.Phases phases = RequestTimer.detached();
+    long startNanos = System.nanoTime();
+    EndpointMetrics endpointMetrics = metrics.requestStarted(request.method(), request.uri().toString());
+
+    HttpResponse.BodyHandler<byte[]> bodyHandler = responseInfo -> {
+      phases.headersReceived();
+      return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+        phases.bodyRead();
+        return body;
+      });
+    };
+
+    transport.requestStarted();
+    transport.getHttpClient().sendAsync(request, bodyHandler)
+      .whenComplete((response, error) -> {
+        transport.requestCompleted();
+        if (responseCache != null && response != null && !request.method().equals("GET")
+          && response.statusCode() < 400) {
+          responseCache.invalidate(request.uri().toString());
+        }
+        if (error != null) {
+          endpointMetrics.failed(System.nanoTime() - startNanos);
+          journal(endpointMetrics, startNanos, System.nanoTime() - startNanos, 0, -1);
+          Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+          if (tracer != null) {
+            tracer.traceFailure(request.method(), request.uri().toString(), System.nanoTime() - startNanos, cause);
+          }
+          log.error("Request execution failed: {}", cause.getMessage(), cause);
+          result.completeExceptionally(new RuntimeException("API request failed", cause));
+          return;
+        }
+
+        try {
+          ApiResponse<T> apiResponse = buildApiResponse(response, parser, phases);
+          endpointMetrics.completed(apiResponse.getStatusCode(), apiResponse.getTiming().getTotalNanos());
+          journal(endpointMetrics, startNanos, apiResponse.getTiming().getTotalNanos(), apiResponse.getStatusCode(),
+            response.body().length);
+          if (tracer != null) {
+            tracer.traceResponse(request.method(), request.uri().toString(), apiResponse.getStatusCode(),
+              apiResponse.getTiming(), response.headers().firstValueAsLong("Content-Length").orElse(-1));
+          }
+          result.complete(apiResponse);
+        } catch (Exception e) {
+          endpointMetrics.failed(System.nanoTime() - startNanos);
+          journal(endpointMetrics, startNanos, System.nanoTime() - startNanos, 0, -1);
+          log.error("Request execution failed: {}", e.getMessage(), e);
+          result.completeExceptionally(new RuntimeException("API request failed", e));
+        }
+      });
+    return result;
+  }
+
+  private void journal(EndpointMetrics endpointMetrics, long startNanos, long latencyNanos, int status, long bytes) {
+    if (journal != null) {
+      journal.record(endpointMetrics.getMethod() + ' ' + endpointMetrics.getEndpoint(), startNanos, latencyNanos,
+        status, bytes);
+    }
+  }
+
+  private <T> ApiResponse<T> buildApiResponse(HttpResponse<byte[]> response, Function<byte[], T> parser,
+                                              RequestTimer.Phases phases) {
+    boolean successful = response.statusCode() >= 200 && response.statusCode() < 300;
+    byte[] body = response.body();
+    T data = null;
+
+    // Parse response body if present and successful
+    if (successful && parser != null && body.length > 0) {
+      try {
+        data = parser.apply(body);
+      } catch (Exception e) {
+        log.warn("Failed to parse response body: {}", e.getMessage());
+      }
+    }
+    RequestTiming timing = phases.finish();
+
+    String contentType = response.headers().firstValue("Content-Type").orElse(null);
+    if (tracer == null) {
+      logResponse(response.statusCode(), timing, body, contentType);
+    }
+
+    ApiResponse.ApiResponseBuilder<T> builder = ApiResponse.<T>builder()
+      .statusCode(response.statusCode())
+      .statusMessage(statusLine(response))
+      .data(data)
+      .timing(timing);
+
+    ResponseCapturePolicy policy = capturePolicy;
+    if (policy.capturesHeaders(successful)) {
+      builder.headers(convertHeaders(response.headers().map()));
+    }
+    if (policy.capturesBody(successful)) {
+      builder.rawBody(new RawBody(body, BaseApiClient.charsetOf(contentType)));
+    }
+
+    return builder.build();
+  }
+
+  // The JDK client does not expose the reason phrase
+  private static String statusLine(HttpResponse<?> response) {
+    return (response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1") + " " + response.statusCode();
+  }
+
+  private Map<String, String> convertHeaders(Map<String, List<String>> headers) {
+    Map<String, String> headerMap = new HashMap<>();
+    headers.forEach((name, values) -> {
+      if (!values.isEmpty()) {
+        headerMap.put(name, values.get(values.size() - 1));
+      }
+    });
+    return headerMap;
+  }
+
+  private void logResponse(int statusCode, RequestTiming timing, byte[] body, String contentType) {
+    if (config.isLogResponses()) {
+      log.debug("Response - Status: {}, Time: {}ms, Size: {} bytes",
+        statusCode, timing.getTotalMillis(), body.length);
+      log.debug("Response timing: {}", timing);
+
+      if (log.isDebugEnabled()) {
+        log.debug("Response Body: {}", new String(body, BaseApiClient.charsetOf(contentType)));
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.bookstore.clients;
+
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Book;
+import com.bookstore.models.BulkResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+public class AsyncBookApiClient extends AsyncBaseApiClient {
+
+  public AsyncBookApiClient() {
+    super();
+  }
+
+  public AsyncBookApiClient(RunMode runMode) {
+    super(runMode);
+  }
+
+  public CompletableFuture<ApiResponse<List<Book>>> getAllBooks() {
+    log.debug("Getting all books from: {}", config.getBooksEndpoint());
+    return executeGetListAsync(config.getBooksEndpoint(), Book.class);
+  }
+
+  public CompletableFuture<ApiResponse<Book>> getBookById(int id) {
+    log.debug("Getting book with ID: {}", id);
+    return executeGetAsync(config.getBookByIdEndpoint(id), Book.class);
+  }
+
+  public CompletableFuture<ApiResponse<Book>> createBook(Book book) {
+    log.debug("Creating new book: {}", book.getTitle());
+    return executePostAsync(config.getBooksEndpoint(), book, Book.class);
+  }
+
+  public CompletableFuture<ApiResponse<Book>> updateBook(int id, Book book) {
+    log.debug("Updating book with ID: {}", id);
+    return executePutAsync(config.getBookByIdEndpoint(id), book, Book.class);
+  }
+
+  public CompletableFuture<ApiResponse<Book>> createBook(byte[] json) {
+    log.debug("Creating new book from {} bytes of JSON", json.length);
+    return executePostAsync(config.getBooksEndpoint(), json, Book.class);
+  }
+
+  public CompletableFuture<ApiResponse<Book>> updateBook(int id, byte[] json) {
+    log.debug("Updating book with ID: {} from {} bytes of JSON", id, json.length);
+    return executePutAsync(config.getBookByIdEndpoint(id), json, Book.class);
+  }
+
+  public CompletableFuture<ApiResponse<Void>> deleteBook(int id) {
+    log.debug("Deleting book with ID: {}", id);
+    return executeDeleteAsync(config.getBookByIdEndpoint(id), Void.class);
+  }
+
+  public CompletableFuture<ApiResponse<Book>> partialUpdateBook(int id, Book book) {
+    log.debug("Partially updating book with ID: {}", id);
+    return executePatchAsync(config.getBookByIdEndpoint(id), book, Book.class);
+  }
+
+  public CompletableFuture<BulkResult<Book>> createBooks(Collection<Book> books) {
+    return executeBulkAsync("create books", books, this::createBook);
+  }
+
+  // Each book is sent to the endpoint of its own ID
+  public CompletableFuture<BulkResult<Book>> updateBooks(Collection<Book> books) {
+    return executeBulkAsync("update books", books, book -> {
+      if (book.getId() == null) {
+        throw new IllegalArgumentException("Cannot update a book without an ID");
+      }
+      return updateBook(book.getId(), book);
+    });
+  }
+
+  public CompletableFuture<BulkResult<Void>> deleteBooks(Collection<Integer> ids) {
+    return executeBulkAsync("delete books", ids, this::deleteBook);
+  }
+}
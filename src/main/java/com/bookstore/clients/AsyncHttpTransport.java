@@ -0,0 +1,79 @@
+package com.bookstore.clients;
+
+import com.bookstore.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide non-blocking transport shared by every {@link AsyncBaseApiClient}.
+ * Requests are multiplexed over the JDK HttpClient's selector thread; the small
+ * callback pool only completes futures, so the number of requests in flight is
+ * not bounded by the number of threads.
+ */
+@Slf4j
+public final class AsyncHttpTransport {
+  private static AsyncHttpTransport instance;
+
+  private final HttpClient httpClient;
+  private final Duration requestTimeout;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder requests = new LongAdder();
+
+  private AsyncHttpTransport(ApiConfig config) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService callbackExecutor = Executors.newFixedThreadPool(config.getAsyncThreads(), runnable -> {
+      Thread thread = new Thread(runnable, "async-http-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.requestTimeout = Duration.ofMillis(config.getTimeout());
+    this.httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.valueOf(config.getAsyncHttpVersion().toUpperCase()))
+      .connectTimeout(requestTimeout)
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      .executor(callbackExecutor)
+      .build();
+
+    log.info("Async HTTP transport initialized - Version: {}, Callback threads: {}",
+      httpClient.version(), config.getAsyncThreads());
+  }
+
+  public static synchronized AsyncHttpTransport getInstance() {
+    if (instance == null) {
+      instance = new AsyncHttpTransport(ApiConfig.getInstance());
+    }
+    return instance;
+  }
+
+  HttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  void requestStarted() {
+    inFlight.incrementAndGet();
+    requests.increment();
+  }
+
+  void requestCompleted() {
+    inFlight.decrementAndGet();
+  }
+
+  public int getInFlightRequests() {
+    return inFlight.get();
+  }
+
+  public long getTotalRequests() {
+    return requests.sum();
+  }
+}
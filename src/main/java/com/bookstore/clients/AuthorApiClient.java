@@ -1,55 +1,135 @@
 package com.bookstore.clients;
 
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.RunMode;
 import com.bookstore.models.ApiResponse;
 import com.bookstore.models.Author;
+import com.bookstore.models.BulkResult;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 public class AuthorApiClient extends BaseApiClient {
+  private final RunMode runMode;
+  private final AuthorIndex authorIndex; // null when lookups scan the full author list
+  private AsyncAuthorApiClient bulkClient;
+
+  public AuthorApiClient() {
+    this(ApiConfig.getInstance().getRunMode());
+  }
+
+  public AuthorApiClient(RunMode runMode) {
+    super(runMode);
+    this.runMode = runMode;
+    this.authorIndex = config.isAuthorIndexEnabled() ? new AuthorIndex(config.getAuthorIndexTtlMs()) : null;
+  }
 
   @Step("Get all authors")
   public ApiResponse<List<Author>> getAllAuthors() {
-    log.info("Getting all authors from: {}", config.getAuthorsEndpoint());
-    return executeGet(config.getAuthorsEndpoint(),
-      (Class<List<Author>>) (Class<?>) List.class);
+    log.debug("Getting all authors from: {}", config.getAuthorsEndpoint());
+    return executeGetList(config.getAuthorsEndpoint(), Author.class);
+  }
+
+  // Elements are parsed as the caller consumes them; use try-with-resources to release the connection
+  @Step("Stream all authors")
+  public Stream<Author> streamAllAuthors() {
+    log.debug("Streaming all authors from: {}", config.getAuthorsEndpoint());
+    return executeGetStream(config.getAuthorsEndpoint(), Author.class);
   }
 
   @Step("Get author by ID: {id}")
   public ApiResponse<Author> getAuthorById(int id) {
-    log.info("Getting author with ID: {}", id);
+    log.debug("Getting author with ID: {}", id);
     String endpoint = config.getAuthorByIdEndpoint(id);
     return executeGet(endpoint, Author.class);
   }
 
   @Step("Create new author")
   public ApiResponse<Author> createAuthor(Author author) {
-    log.info("Creating new author: {} {}", author.getFirstName(), author.getLastName());
-    return executePost(config.getAuthorsEndpoint(), author, Author.class);
+    log.debug("Creating new author: {} {}", author.getFirstName(), author.getLastName());
+    return indexed(executePost(config.getAuthorsEndpoint(), author, Author.class));
   }
 
   @Step("Update author with ID: {id}")
   public ApiResponse<Author> updateAuthor(int id, Author author) {
-    log.info("Updating author with ID: {}", id);
+    log.debug("Updating author with ID: {}", id);
     String endpoint = config.getAuthorByIdEndpoint(id);
-    return executePut(endpoint, author, Author.class);
+    return indexed(executePut(endpoint, author, Author.class));
+  }
+
+  // Pre-serialized body, e.g. filled from a RequestTemplate, sent without another pass through Jackson
+  @Step("Create new author from JSON")
+  public ApiResponse<Author> createAuthor(byte[] json) {
+    log.debug("Creating new author from {} bytes of JSON", json.length);
+    return indexed(executePost(config.getAuthorsEndpoint(), json, Author.class));
+  }
+
+  @Step("Update author with ID: {id} from JSON")
+  public ApiResponse<Author> updateAuthor(int id, byte[] json) {
+    log.debug("Updating author with ID: {} from {} bytes of JSON", id, json.length);
+    return indexed(executePut(config.getAuthorByIdEndpoint(id), json, Author.class));
   }
 
   @Step("Delete author with ID: {id}")
   public ApiResponse<Void> deleteAuthor(int id) {
-    log.info("Deleting author with ID: {}", id);
+    log.debug("Deleting author with ID: {}", id);
     String endpoint = config.getAuthorByIdEndpoint(id);
-    return executeDelete(endpoint, Void.class);
+    ApiResponse<Void> response = executeDelete(endpoint, Void.class);
+    if (authorIndex != null && response.isSuccess()) {
+      authorIndex.remove(id);
+    }
+    return response;
   }
 
   @Step("Partially update author with ID: {id}")
   public ApiResponse<Author> partialUpdateAuthor(int id, Author author) {
-    log.info("Partially updating author with ID: {}", id);
+    log.debug("Partially updating author with ID: {}", id);
     String endpoint = config.getAuthorByIdEndpoint(id);
-    return executePatch(endpoint, author, Author.class);
+    ApiResponse<Author> response = executePatch(endpoint, author, Author.class);
+    // The echo may hold only the patched fields, so indexing it could null the others; re-read on the next lookup
+    if (authorIndex != null && response.isSuccess()) {
+      authorIndex.invalidate();
+    }
+    return response;
+  }
+
+  // Bulk operations are dispatched concurrently; results are in input order
+  @Step("Create authors in bulk")
+  public BulkResult<Author> createAuthors(Collection<Author> authors) {
+    log.info("Creating {} authors", authors.size());
+    return indexed(bulkClient().createAuthors(authors).join());
+  }
+
+  @Step("Update authors in bulk")
+  public BulkResult<Author> updateAuthors(Collection<Author> authors) {
+    log.info("Updating {} authors", authors.size());
+    return indexed(bulkClient().updateAuthors(authors).join());
+  }
+
+  @Step("Delete authors in bulk")
+  public BulkResult<Void> deleteAuthors(Collection<Integer> ids) {
+    log.info("Deleting {} authors", ids.size());
+    List<Integer> orderedIds = new ArrayList<>(ids);
+    BulkResult<Void> result = bulkClient().deleteAuthors(orderedIds).join();
+    if (authorIndex != null) {
+      result.getItems().stream()
+        .filter(BulkResult.Item::isSuccess)
+        .forEach(item -> authorIndex.remove(orderedIds.get(item.getIndex())));
+    }
+    return result;
+  }
+
+  private synchronized AsyncAuthorApiClient bulkClient() {
+    if (bulkClient == null) {
+      bulkClient = new AsyncAuthorApiClient(runMode);
+    }
+    return bulkClient;
   }
 
   // Additional utility methods for testing
@@ -70,6 +150,13 @@ public class AuthorApiClient extends BaseApiClient {
 
   @Step("Find authors by book ID: {bookId}")
   public List<Author> getAuthorsByBookId(int bookId) {
+    if (authorIndex != null) {
+      if (authorIndex.needsSnapshot()) {
+        refreshAuthorIndex();
+      }
+      return authorIndex.lookup(bookId);
+    }
+
     ApiResponse<List<Author>> response = getAllAuthors();
 
     if (!response.isSuccess() || response.getData() == null) {
@@ -81,6 +168,39 @@ public class AuthorApiClient extends BaseApiClient {
       .collect(Collectors.toList());
   }
 
+  // Rebuilds the book ID index from a fresh snapshot of every author, keeping writes made while it was fetched
+  @Step("Refresh author index")
+  public void refreshAuthorIndex() {
+    if (authorIndex == null) {
+      return;
+    }
+    long startVersion = authorIndex.beginSnapshot();
+    ApiResponse<List<Author>> response;
+    try {
+      response = getAllAuthors();
+    } catch (RuntimeException e) {
+      authorIndex.abandonSnapshot();
+      throw e;
+    }
+    if (!response.isSuccess() || response.getData() == null) {
+      authorIndex.abandonSnapshot();
+      throw new RuntimeException("Failed to get authors: " + response.getStatusMessage());
+    }
+    int replayed = authorIndex.rebuild(response.getData(), startVersion);
+    if (replayed < 0) {
+      log.debug("Author snapshot dropped, the index was already rebuilt from a newer one");
+    } else {
+      log.debug("Author index rebuilt with {} authors ({} concurrent changes re-applied)", authorIndex.size(), replayed);
+    }
+  }
+
+  // Forces the next lookup by book ID to take a fresh snapshot
+  public void invalidateAuthorIndex() {
+    if (authorIndex != null) {
+      authorIndex.invalidate();
+    }
+  }
+
   @Step("Create author and verify creation")
   public Author createAndVerifyAuthor(Author author) {
     ApiResponse<Author> createResponse = createAuthor(author);
@@ -134,4 +254,23 @@ public class AuthorApiClient extends BaseApiClient {
       throw new RuntimeException("Author still exists after deletion");
     }
   }
-}
\ No newline at end of file
+
+  private BulkResult<Author> indexed(BulkResult<Author> result) {
+    result.getItems().stream()
+      .filter(item -> item.getResponse() != null)
+      .forEach(item -> indexed(item.getResponse()));
+    return result;
+  }
+
+  // A write the server accepted but didn't echo back leaves the index unsure, so it is rebuilt on the next lookup
+  private ApiResponse<Author> indexed(ApiResponse<Author> response) {
+    if (authorIndex != null && response.isSuccess()) {
+      if (response.getData() != null) {
+        authorIndex.put(response.getData());
+      } else {
+        authorIndex.invalidate();
+      }
+    }
+    return response;
+  }
+}
@@ -0,0 +1,214 @@
+package com.bookstore.clients;
+
+import com.bookstore.models.Author;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory index of authors by book ID backing
+ * {@link AuthorApiClient#getAuthorsByBookId(int)}. It is built from one full
+ * snapshot of the Authors endpoint. After that, creates, updates and deletes
+ * made through the owning client are applied incrementally, and a new
+ * snapshot is taken once the TTL expires or after {@link #invalidate()}.
+ * Changes made while a snapshot is being fetched may be missing from it, so
+ * they are kept and re-applied on top of it. Authors are copied in and out,
+ * so callers can mutate what they get back.
+ */
+public final class AuthorIndex {
+  private final long ttlNanos;
+  private final IntObjectHashMap<Author[]> byBook = new IntObjectHashMap<>();
+  private final IntObjectHashMap<Author> byId = new IntObjectHashMap<>();
+  private boolean built;
+  private long builtAtNanos;
+  // Counts every change; a snapshot remembers the value it was started at
+  private long version;
+  // Version of the snapshot the index was last built from
+  private long builtFromVersion = -1;
+  // Changes made while any snapshot is being fetched, replayed onto it by rebuild
+  private final List<Change> pendingChanges = new ArrayList<>();
+  private int snapshotsInFlight;
+
+  public AuthorIndex(long ttlMillis) {
+    this.ttlNanos = ttlMillis * 1_000_000L;
+  }
+
+  public synchronized boolean needsSnapshot() {
+    return !built || System.nanoTime() - builtAtNanos >= ttlNanos;
+  }
+
+  // Call before fetching a snapshot, then pass the result to rebuild, or to abandonSnapshot if the fetch fails
+  public synchronized long beginSnapshot() {
+    snapshotsInFlight++;
+    return version;
+  }
+
+  public synchronized void abandonSnapshot() {
+    finishSnapshot();
+  }
+
+  // Builds from a snapshot taken right now, with no concurrent changes to re-apply
+  public synchronized void rebuild(List<Author> snapshot) {
+    rebuild(snapshot, beginSnapshot());
+  }
+
+  /**
+   * Replaces the index with the snapshot, then re-applies the changes made
+   * since {@link #beginSnapshot()} returned startVersion. A snapshot older
+   * than the one the index was last built from is dropped. Returns the
+   * number of changes re-applied, or -1 if the snapshot was dropped.
+   */
+  public synchronized int rebuild(List<Author> snapshot, long startVersion) {
+    try {
+      if (startVersion < builtFromVersion) {
+        return -1;
+      }
+      byBook.clear();
+      byId.clear();
+      // Grouped first so large books aren't rebuilt one array copy per author
+      IntObjectHashMap<List<Author>> grouped = new IntObjectHashMap<>();
+      for (Author author : snapshot) {
+        Author stored = copy(author);
+        if (stored.getId() != null) {
+          byId.put(stored.getId(), stored);
+        }
+        if (stored.getIdBook() != null) {
+          List<Author> authors = grouped.get(stored.getIdBook());
+          if (authors == null) {
+            authors = new ArrayList<>();
+            grouped.put(stored.getIdBook(), authors);
+          }
+          authors.add(stored);
+        }
+      }
+      grouped.forEach((bookId, authors) -> byBook.put(bookId, authors.toArray(new Author[0])));
+      built = true;
+      builtAtNanos = System.nanoTime();
+      builtFromVersion = startVersion;
+
+      int replayed = 0;
+      for (Change change : pendingChanges) {
+        if (change.version > startVersion) {
+          change.applyTo(this);
+          replayed++;
+        }
+      }
+      return replayed;
+    } finally {
+      finishSnapshot();
+    }
+  }
+
+  public synchronized List<Author> lookup(int bookId) {
+    Author[] authors = byBook.get(bookId);
+    if (authors == null) {
+      return new ArrayList<>();
+    }
+    List<Author> copies = new ArrayList<>(authors.length);
+    for (Author author : authors) {
+      copies.add(copy(author));
+    }
+    return copies;
+  }
+
+  // Create or replace; before the first snapshot only kept for a snapshot in flight, later ones contain it
+  public synchronized void put(Author author) {
+    record(new Change(++version, copy(author), 0, false));
+    if (built) {
+      add(author);
+    }
+  }
+
+  public synchronized void remove(int authorId) {
+    record(new Change(++version, null, authorId, false));
+    if (built) {
+      removeById(authorId);
+    }
+  }
+
+  public synchronized void invalidate() {
+    record(new Change(++version, null, 0, true));
+    built = false;
+  }
+
+  public synchronized int size() {
+    return byId.size();
+  }
+
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  // Only snapshots being fetched need the change, so nothing is kept between snapshots
+  private void record(Change change) {
+    if (snapshotsInFlight > 0) {
+      pendingChanges.add(change);
+    }
+  }
+
+  private void finishSnapshot() {
+    if (--snapshotsInFlight == 0) {
+      pendingChanges.clear();
+    }
+  }
+
+  private void add(Author author) {
+    Author stored = copy(author);
+    if (stored.getId() != null) {
+      removeById(stored.getId());
+      byId.put(stored.getId(), stored);
+    }
+    if (stored.getIdBook() != null) {
+      Author[] existing = byBook.get(stored.getIdBook());
+      Author[] authors = existing == null ? new Author[1] : Arrays.copyOf(existing, existing.length + 1);
+      authors[authors.length - 1] = stored;
+      byBook.put(stored.getIdBook(), authors);
+    }
+  }
+
+  private boolean removeById(int authorId) {
+    Author removed = byId.remove(authorId);
+    if (removed == null || removed.getIdBook() == null) {
+      return removed != null;
+    }
+    Author[] remaining = Arrays.stream(byBook.get(removed.getIdBook()))
+      .filter(author -> author != removed)
+      .toArray(Author[]::new);
+    if (remaining.length == 0) {
+      byBook.remove(removed.getIdBook());
+    } else {
+      byBook.put(removed.getIdBook(), remaining);
+    }
+    return true;
+  }
+
+  private static Author copy(Author author) {
+    return new Author(author.getId(), author.getIdBook(), author.getFirstName(), author.getLastName());
+  }
+
+  // A put (author set), a remove (authorId) or an invalidation made while a snapshot was in flight
+  private static final class Change {
+    private final long version;
+    private final Author author;
+    private final int authorId;
+    private final boolean invalidation;
+
+    private Change(long version, Author author, int authorId, boolean invalidation) {
+      this.version = version;
+      this.author = author;
+      this.authorId = authorId;
+      this.invalidation = invalidation;
+    }
+
+    private void applyTo(AuthorIndex index) {
+      if (invalidation) {
+        index.built = false;
+      } else if (author != null) {
+        index.add(author);
+      } else {
+        index.removeById(authorId);
+      }
+    }
+  }
+}
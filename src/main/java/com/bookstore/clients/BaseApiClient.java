@@ -1,126 +1,325 @@
 package com.bookstore.clients;
 
 import com.bookstore.config.ApiConfig;
+import com.bookstore.config.ResponseCapturePolicy;
+import com.bookstore.config.RunMode;
+import com.bookstore.metrics.EndpointMetrics;
+import com.bookstore.metrics.MetricsRegistry;
 import com.bookstore.models.ApiResponse;
+import com.bookstore.models.RawBody;
+import com.bookstore.models.RequestTiming;
+import com.bookstore.performance.ResultJournal;
 import com.bookstore.utils.JsonUtils;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 public abstract class BaseApiClient {
+  static {
+    // Global REST Assured settings are applied once per JVM, never per client
+    RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+  }
+
   protected final ApiConfig config;
+  protected final HttpTransport transport;
+  private final MetricsRegistry metrics;
+  private final List<Filter> filters;
+  private final boolean logOnValidationFailure;
+  private final RequestTracer tracer; // null when every response is logged instead
+  private final ResultJournal journal; // null unless perf.journal.dir is set
+  private volatile ResponseCapturePolicy capturePolicy;
 
   public BaseApiClient() {
-    this.config = ApiConfig.getInstance();
-    configureRestAssured();
+    this(ApiConfig.getInstance().getRunMode());
   }
 
-  private void configureRestAssured() {
-    RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+  protected BaseApiClient(RunMode runMode) {
+    this.config = ApiConfig.getInstance();
+    this.transport = HttpTransport.getInstance();
+    this.metrics = MetricsRegistry.getInstance();
+    this.filters = Collections.unmodifiableList(buildFilters(runMode));
+    this.logOnValidationFailure = runMode.capturesRequests();
+    this.capturePolicy = config.getResponseCapturePolicy() != null
+      ? config.getResponseCapturePolicy() : runMode.defaultCapturePolicy();
+    boolean tracing = config.getTraceEnabled() != null ? config.getTraceEnabled() : runMode.defaultRequestTracing();
+    this.tracer = tracing
+      ? new RequestTracer(LoggerFactory.getLogger(RequestTracer.LOGGER_NAME), config.getTraceSampleRate()) : null;
+    this.journal = ResultJournal.getConfigured();
+  }
 
-    if (config.isLogRequests()) {
-      RestAssured.filters(new AllureRestAssured());
+  // Filters live on the client and are attached per request, so creating clients never grows a global chain
+  private List<Filter> buildFilters(RunMode runMode) {
+    List<Filter> clientFilters = new ArrayList<>();
+    if (config.isLogRequests() && runMode.capturesRequests()) {
+      clientFilters.add(new AllureRestAssured());
+    }
+    if (config.isCacheEnabled()) {
+      clientFilters.add(ResponseCache.getInstance());
     }
+    return clientFilters;
+  }
+
+  public List<Filter> getFilters() {
+    return filters;
+  }
+
+  public ResponseCapturePolicy getCapturePolicy() {
+    return capturePolicy;
+  }
+
+  public void setCapturePolicy(ResponseCapturePolicy capturePolicy) {
+    this.capturePolicy = capturePolicy;
   }
 
   protected RequestSpecification getBaseRequestSpec() {
-    return RestAssured.given()
+    return buildRequestSpec(logOnValidationFailure);
+  }
+
+  private RequestSpecification buildRequestSpec(boolean logOnValidationFailure) {
+    RestAssuredConfig requestConfig = RestAssured.config().httpClient(transport.getHttpClientConfig());
+    if (!logOnValidationFailure) {
+      // Log-on-failure makes REST Assured buffer and pretty-print every response body up front
+      requestConfig = requestConfig.logConfig(LogConfig.logConfig());
+    }
+
+    RequestSpecification spec = RestAssured.given()
+      .config(requestConfig)
       .contentType(ContentType.JSON)
       .accept(ContentType.JSON);
+    return filters.isEmpty() ? spec : spec.filters(filters);
   }
+
   protected <T> ApiResponse<T> executeGet(String endpoint, Class<T> responseType) {
-    return executeRequest(() -> getBaseRequestSpec().get(endpoint), responseType);
+    return executeRequest("GET", endpoint, () -> getBaseRequestSpec().get(endpoint), responseType);
+  }
+
+  // Typed list endpoint, parsed element by element straight from the response stream
+  protected <E> ApiResponse<List<E>> executeGetList(String endpoint, Class<E> elementType) {
+    return executeRequest("GET", endpoint, () -> buildRequestSpec(false).get(endpoint),
+      BodyReader.streamingList(elementType));
+  }
+
+  // Hands out list elements as they are parsed; the connection is released when the stream is closed
+  protected <E> Stream<E> executeGetStream(String endpoint, Class<E> elementType) {
+    long startNanos = System.nanoTime();
+    EndpointMetrics endpointMetrics = metrics.requestStarted("GET", endpoint);
+    Response response;
+    try {
+      response = buildRequestSpec(false).get(endpoint);
+      // Only the time to the response is known here, the body is read as the caller consumes it
+      long latencyNanos = System.nanoTime() - startNanos;
+      endpointMetrics.completed(response.getStatusCode(), latencyNanos);
+      journal(endpointMetrics, startNanos, latencyNanos, response.getStatusCode(), contentLength(response));
+    } catch (Exception e) {
+      endpointMetrics.failed(System.nanoTime() - startNanos);
+      journal(endpointMetrics, startNanos, System.nanoTime() - startNanos, 0, -1);
+      log.error("Request execution failed: {}", e.getMessage(), e);
+      throw new RuntimeException("API request failed", e);
+    }
+
+    if (response.getStatusCode() < 200 || response.getStatusCode() >= 300) {
+      response.asByteArray(); // drain so the connection goes back to the pool
+      throw new RuntimeException("Failed to stream " + endpoint + ": " + response.getStatusLine());
+    }
+    return JsonUtils.streamJsonArray(response.asInputStream(), elementType);
   }
 
   protected <T> ApiResponse<T> executePost(String endpoint, Object requestBody, Class<T> responseType) {
-    return executeRequest(() -> getBaseRequestSpec().body(requestBody).post(endpoint), responseType);
+    return executeRequest("POST", endpoint, () -> getBaseRequestSpec().body(requestBody).post(endpoint),
+      responseType);
   }
 
   protected <T> ApiResponse<T> executePut(String endpoint, Object requestBody, Class<T> responseType) {
-    return executeRequest(() -> getBaseRequestSpec().body(requestBody).put(endpoint), responseType);
+    return executeRequest("PUT", endpoint, () -> getBaseRequestSpec().body(requestBody).put(endpoint),
+      responseType);
+  }
+
+  // Pre-serialized JSON bodies, e.g. from a RequestTemplate, are sent as is
+  protected <T> ApiResponse<T> executePost(String endpoint, byte[] requestBody, Class<T> responseType) {
+    return executeRequest("POST", endpoint, () -> getBaseRequestSpec().body(requestBody).post(endpoint),
+      responseType);
+  }
+
+  protected <T> ApiResponse<T> executePut(String endpoint, byte[] requestBody, Class<T> responseType) {
+    return executeRequest("PUT", endpoint, () -> getBaseRequestSpec().body(requestBody).put(endpoint),
+      responseType);
   }
 
   protected <T> ApiResponse<T> executeDelete(String endpoint, Class<T> responseType) {
-    return executeRequest(() -> getBaseRequestSpec().delete(endpoint), responseType);
+    return executeRequest("DELETE", endpoint, () -> getBaseRequestSpec().delete(endpoint), responseType);
   }
 
   protected <T> ApiResponse<T> executePatch(String endpoint, Object requestBody, Class<T> responseType) {
-    return executeRequest(() -> getBaseRequestSpec().body(requestBody).patch(endpoint), responseType);
+    return executeRequest("PATCH", endpoint, () -> getBaseRequestSpec().body(requestBody).patch(endpoint),
+      responseType);
+  }
+
+  private <T> ApiResponse<T> executeRequest(String method, String endpoint, RequestExecutor executor,
+                                            Class<T> responseType) {
+    return executeRequest(method, endpoint, executor, BodyReader.buffered(responseType));
   }
 
-  private <T> ApiResponse<T> executeRequest(RequestExecutor executor, Class<T> responseType) {
-    long startTime = System.currentTimeMillis();
+  private <T> ApiResponse<T> executeRequest(String method, String endpoint, RequestExecutor executor,
+                                            BodyReader<T> bodyReader) {
+    RequestTimer.Phases phases = RequestTimer.start();
+    long startNanos = System.nanoTime();
+    EndpointMetrics endpointMetrics = metrics.requestStarted(method, endpoint);
 
     try {
       Response response = executor.execute();
-      long responseTime = System.currentTimeMillis() - startTime;
-
-      logResponse(response, responseTime);
-
-      return buildApiResponse(response, responseType, responseTime);
+      ApiResponse<T> apiResponse = buildApiResponse(response, bodyReader, phases);
+      endpointMetrics.completed(apiResponse.getStatusCode(), apiResponse.getTiming().getTotalNanos());
+      journal(endpointMetrics, startNanos, apiResponse.getTiming().getTotalNanos(), apiResponse.getStatusCode(),
+        contentLength(response));
+      if (tracer != null) {
+        tracer.traceResponse(method, endpoint, apiResponse.getStatusCode(), apiResponse.getTiming(),
+          contentLength(response));
+      }
+      return apiResponse;
 
     } catch (Exception e) {
+      endpointMetrics.failed(System.nanoTime() - startNanos);
+      journal(endpointMetrics, startNanos, System.nanoTime() - startNanos, 0, -1);
+      if (tracer != null) {
+        tracer.traceFailure(method, endpoint, System.nanoTime() - startNanos, e);
+      }
       log.error("Request execution failed: {}", e.getMessage(), e);
       throw new RuntimeException("API request failed", e);
     }
   }
 
-  private <T> ApiResponse<T> buildApiResponse(Response response, Class<T> responseType, long responseTime) {
+  // Protected so the JMH benchmarks can measure response handling without a network round trip
+  protected <T> ApiResponse<T> buildApiResponse(Response response, BodyReader<T> bodyReader) {
+    return buildApiResponse(response, bodyReader, RequestTimer.start());
+  }
+
+  private <T> ApiResponse<T> buildApiResponse(Response response, BodyReader<T> bodyReader, RequestTimer.Phases phases) {
+    boolean successful = response.getStatusCode() >= 200 && response.getStatusCode() < 300;
+    byte[] body = null;
+    T data = null;
+
+    if (successful && bodyReader.isStreaming()) {
+      // Streamed bodies are read while parsing, so the read time is reported as deserialization
+      phases.bodyRead();
+      try (InputStream bodyStream = response.asInputStream()) {
+        data = bodyReader.read(bodyStream);
+      } catch (Exception e) {
+        log.warn("Failed to parse response body: {}", e.getMessage());
+      }
+    } else {
+      body = response.asByteArray();
+      phases.bodyRead();
+
+      // Parse response body if present and successful
+      if (successful && bodyReader.expectsBody() && body.length > 0) {
+        try {
+          data = bodyReader.read(body);
+        } catch (Exception e) {
+          log.warn("Failed to parse response body: {}", e.getMessage());
+        }
+      }
+    }
+    RequestTiming timing = phases.finish();
+
+    if (tracer == null) {
+      logResponse(response, timing, body);
+    }
+
     ApiResponse.ApiResponseBuilder<T> builder = ApiResponse.<T>builder()
       .statusCode(response.getStatusCode())
       .statusMessage(response.getStatusLine())
-      .responseTime(responseTime)
-      .rawResponse(response.asString())
-      .headers(convertHeaders(response.getHeaders().asList()));
+      .data(data)
+      .timing(timing);
 
-    // Parse response body if present and successful
-    if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+    ResponseCapturePolicy policy = capturePolicy;
+    if (policy.capturesHeaders(successful)) {
+      builder.headers(convertHeaders(response.getHeaders().asList()));
+    }
+    // Streamed bodies are consumed while parsing and are never retained
+    if (body != null && policy.capturesBody(successful)) {
+      builder.rawBody(new RawBody(body, charsetOf(response.getContentType())));
+    }
+
+    return builder.build();
+  }
+
+  private void journal(EndpointMetrics endpointMetrics, long startNanos, long latencyNanos, int status, long bytes) {
+    if (journal != null) {
+      journal.record(endpointMetrics.getMethod() + ' ' + endpointMetrics.getEndpoint(), startNanos, latencyNanos,
+        status, bytes);
+    }
+  }
+
+  static Charset charsetOf(String contentType) {
+    int charsetIndex = contentType != null ? contentType.toLowerCase().indexOf("charset=") : -1;
+    if (charsetIndex >= 0) {
       try {
-        if (responseType != Void.class && !response.asString().isEmpty()) {
-          T data = JsonUtils.fromJson(response.asString(), responseType);
-          builder.data(data);
-        }
-      } catch (Exception e) {
-        log.warn("Failed to parse response body: {}", e.getMessage());
+        return Charset.forName(contentType.substring(charsetIndex + "charset=".length()).split(";")[0].trim());
+      } catch (IllegalArgumentException e) {
+        log.debug("Unsupported response charset in '{}', using UTF-8", contentType);
       }
     }
+    return StandardCharsets.UTF_8;
+  }
 
-    return builder.build();
+  private static long contentLength(Response response) {
+    String contentLength = response.getHeader("Content-Length");
+    try {
+      return contentLength != null ? Long.parseLong(contentLength.trim()) : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
   }
 
-  private Map<String, String> convertHeaders(java.util.List<io.restassured.http.Header> headers) {
+  protected Map<String, String> convertHeaders(java.util.List<io.restassured.http.Header> headers) {
     Map<String, String> headerMap = new HashMap<>();
     headers.forEach(header -> headerMap.put(header.getName(), header.getValue()));
     return headerMap;
   }
 
-  private void logResponse(Response response, long responseTime) {
+  // Size comes from Content-Length, or the buffered body for chunked responses
+  private void logResponse(Response response, RequestTiming timing, byte[] body) {
     if (config.isLogResponses()) {
-      log.info("Response - Status: {}, Time: {}ms, Size: {} bytes",
-        response.getStatusCode(), responseTime, response.asString().length());
+      long sizeBytes = contentLength(response);
+      log.debug("Response - Status: {}, Time: {}ms, Size: {} bytes",
+        response.getStatusCode(), timing.getTotalMillis(), sizeBytes >= 0 || body == null ? sizeBytes : body.length);
+      log.debug("Response timing: {}", timing);
 
-      if (log.isDebugEnabled()) {
-        log.debug("Response Body: {}", response.asString());
+      if (log.isDebugEnabled() && body != null) {
+        log.debug("Response Body: {}", new String(body, charsetOf(response.getContentType())));
       }
     }
   }
 
   // Retry mechanism for failed requests
-  protected <T> ApiResponse<T> executeWithRetry(RequestExecutor executor, Class<T> responseType) {
+  protected <T> ApiResponse<T> executeWithRetry(String method, String endpoint, RequestExecutor executor,
+                                                Class<T> responseType) {
     int attempts = 0;
     Exception lastException = null;
 
     while (attempts < config.getRetryCount()) {
       try {
-        return executeRequest(executor, responseType);
+        return executeRequest(method, endpoint, executor, responseType);
       } catch (Exception e) {
         lastException = e;
         attempts++;
@@ -144,4 +343,40 @@ public abstract class BaseApiClient {
   protected interface RequestExecutor {
     Response execute();
   }
+
+  protected static final class BodyReader<T> {
+    private final boolean expectsBody;
+    private final Function<byte[], T> bufferedParser;
+    private final Function<InputStream, T> streamingParser;
+
+    private BodyReader(boolean expectsBody, Function<byte[], T> bufferedParser, Function<InputStream, T> streamingParser) {
+      this.expectsBody = expectsBody;
+      this.bufferedParser = bufferedParser;
+      this.streamingParser = streamingParser;
+    }
+
+    public static <T> BodyReader<T> buffered(Class<T> responseType) {
+      return new BodyReader<>(responseType != Void.class, body -> JsonUtils.fromJson(body, responseType), null);
+    }
+
+    public static <E> BodyReader<List<E>> streamingList(Class<E> elementType) {
+      return new BodyReader<>(true, null, bodyStream -> JsonUtils.fromJsonList(bodyStream, elementType));
+    }
+
+    boolean isStreaming() {
+      return streamingParser != null;
+    }
+
+    boolean expectsBody() {
+      return expectsBody;
+    }
+
+    T read(byte[] body) {
+      return bufferedParser.apply(body);
+    }
+
+    T read(InputStream bodyStream) {
+      return streamingParser.apply(bodyStream);
+    }
+  }
 }
\ No newline at end of file
@@ -1,56 +1,117 @@
 package com.bookstore.clients;
 
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.RunMode;
 import com.bookstore.models.ApiResponse;
 import com.bookstore.models.Book;
+import com.bookstore.models.BulkResult;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 public class BookApiClient extends BaseApiClient {
+  private final RunMode runMode;
+  private AsyncBookApiClient bulkClient;
+
+  public BookApiClient() {
+    this(ApiConfig.getInstance().getRunMode());
+  }
+
+  public BookApiClient(RunMode runMode) {
+    super(runMode);
+    this.runMode = runMode;
+  }
 
   @Step("Get all books")
   public ApiResponse<List<Book>> getAllBooks() {
-    log.info("Getting all books from: {}", config.getBooksEndpoint());
-    return executeGet(config.getBooksEndpoint(),
-      (Class<List<Book>>) (Class<?>) List.class);
+    log.debug("Getting all books from: {}", config.getBooksEndpoint());
+    return executeGetList(config.getBooksEndpoint(), Book.class);
+  }
+
+  // Elements are parsed as the caller consumes them; use try-with-resources to release the connection
+  @Step("Stream all books")
+  public Stream<Book> streamAllBooks() {
+    log.debug("Streaming all books from: {}", config.getBooksEndpoint());
+    return executeGetStream(config.getBooksEndpoint(), Book.class);
   }
 
   @Step("Get book by ID: {id}")
   public ApiResponse<Book> getBookById(int id) {
-    log.info("Getting book with ID: {}", id);
+    log.debug("Getting book with ID: {}", id);
     String endpoint = config.getBookByIdEndpoint(id);
     return executeGet(endpoint, Book.class);
   }
 
   @Step("Create new book")
   public ApiResponse<Book> createBook(Book book) {
-    log.info("Creating new book: {}", book.getTitle());
+    log.debug("Creating new book: {}", book.getTitle());
     return executePost(config.getBooksEndpoint(), book, Book.class);
   }
 
   @Step("Update book with ID: {id}")
   public ApiResponse<Book> updateBook(int id, Book book) {
-    log.info("Updating book with ID: {}", id);
+    log.debug("Updating book with ID: {}", id);
     String endpoint = config.getBookByIdEndpoint(id);
     return executePut(endpoint, book, Book.class);
   }
 
+  // Pre-serialized body, e.g. filled from a RequestTemplate, sent without another pass through Jackson
+  @Step("Create new book from JSON")
+  public ApiResponse<Book> createBook(byte[] json) {
+    log.debug("Creating new book from {} bytes of JSON", json.length);
+    return executePost(config.getBooksEndpoint(), json, Book.class);
+  }
+
+  @Step("Update book with ID: {id} from JSON")
+  public ApiResponse<Book> updateBook(int id, byte[] json) {
+    log.debug("Updating book with ID: {} from {} bytes of JSON", id, json.length);
+    return executePut(config.getBookByIdEndpoint(id), json, Book.class);
+  }
+
   @Step("Delete book with ID: {id}")
   public ApiResponse<Void> deleteBook(int id) {
-    log.info("Deleting book with ID: {}", id);
+    log.debug("Deleting book with ID: {}", id);
     String endpoint = config.getBookByIdEndpoint(id);
     return executeDelete(endpoint, Void.class);
   }
 
   @Step("Partially update book with ID: {id}")
   public ApiResponse<Book> partialUpdateBook(int id, Book book) {
-    log.info("Partially updating book with ID: {}", id);
+    log.debug("Partially updating book with ID: {}", id);
     String endpoint = config.getBookByIdEndpoint(id);
     return executePatch(endpoint, book, Book.class);
   }
 
+  // Bulk operations are dispatched concurrently; results are in input order
+  @Step("Create books in bulk")
+  public BulkResult<Book> createBooks(Collection<Book> books) {
+    log.info("Creating {} books", books.size());
+    return bulkClient().createBooks(books).join();
+  }
+
+  @Step("Update books in bulk")
+  public BulkResult<Book> updateBooks(Collection<Book> books) {
+    log.info("Updating {} books", books.size());
+    return bulkClient().updateBooks(books).join();
+  }
+
+  @Step("Delete books in bulk")
+  public BulkResult<Void> deleteBooks(Collection<Integer> ids) {
+    log.info("Deleting {} books", ids.size());
+    return bulkClient().deleteBooks(ids).join();
+  }
+
+  private synchronized AsyncBookApiClient bulkClient() {
+    if (bulkClient == null) {
+      bulkClient = new AsyncBookApiClient(runMode);
+    }
+    return bulkClient;
+  }
+
   // Additional utility methods for testing
   @Step("Verify book exists with ID: {id}")
   public boolean bookExists(int id) {
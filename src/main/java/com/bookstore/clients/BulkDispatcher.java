@@ -0,0 +1,106 @@
+package com.bookstore.clients;
+
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.BulkResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Sends one request per item, keeping at most maxInFlight requests
+ * outstanding. Each completion starts the next item, so no thread waits
+ * for a free slot. Dispatching runs through a single drain loop, so
+ * requests that complete inline don't recurse into one another.
+ */
+@Slf4j
+final class BulkDispatcher<I, R> {
+  private final String operation;
+  private final List<I> items;
+  private final Function<I, CompletableFuture<ApiResponse<R>>> request;
+  private final AtomicReferenceArray<BulkResult.Item<R>> results;
+  private final AtomicInteger cursor = new AtomicInteger();
+  private final AtomicInteger remaining;
+  private final AtomicInteger pendingDispatches = new AtomicInteger();
+  private final CompletableFuture<BulkResult<R>> done = new CompletableFuture<>();
+  private long startNanos;
+
+  private BulkDispatcher(String operation, List<I> items, Function<I, CompletableFuture<ApiResponse<R>>> request) {
+    this.operation = operation;
+    this.items = items;
+    this.request = request;
+    this.results = new AtomicReferenceArray<>(items.size());
+    this.remaining = new AtomicInteger(items.size());
+  }
+
+  static <I, R> CompletableFuture<BulkResult<R>> dispatch(String operation, List<I> items, int maxInFlight,
+                                                          Function<I, CompletableFuture<ApiResponse<R>>> request) {
+    BulkDispatcher<I, R> dispatcher = new BulkDispatcher<>(operation, items, request);
+    dispatcher.start(Math.max(1, maxInFlight));
+    return dispatcher.done;
+  }
+
+  private void start(int maxInFlight) {
+    startNanos = System.nanoTime();
+    if (items.isEmpty()) {
+      finish();
+      return;
+    }
+    for (int i = 0; i < Math.min(maxInFlight, items.size()); i++) {
+      dispatchNext();
+    }
+  }
+
+  // Whichever thread gets here first sends; anyone arriving meanwhile just leaves it one more item to send
+  private void dispatchNext() {
+    if (pendingDispatches.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      send();
+    } while (pendingDispatches.decrementAndGet() != 0);
+  }
+
+  private void send() {
+    int index = cursor.getAndIncrement();
+    if (index >= items.size()) {
+      return;
+    }
+    CompletableFuture<ApiResponse<R>> response;
+    try {
+      response = request.apply(items.get(index));
+    } catch (RuntimeException e) {
+      response = CompletableFuture.failedFuture(e);
+    }
+    response.whenComplete((apiResponse, error) -> {
+      results.set(index, new BulkResult.Item<>(index, apiResponse, error != null ? describe(error) : null));
+      if (remaining.decrementAndGet() == 0) {
+        finish();
+      } else {
+        dispatchNext();
+      }
+    });
+  }
+
+  private void finish() {
+    List<BulkResult.Item<R>> ordered = new ArrayList<>(results.length());
+    for (int i = 0; i < results.length(); i++) {
+      ordered.add(results.get(i));
+    }
+    BulkResult<R> result = new BulkResult<>(ordered, System.nanoTime() - startNanos);
+    log.info("Bulk {} - {} items, {} succeeded, {} failed in {}ms ({} req/s)", operation, result.getTotal(),
+      result.getSucceeded(), result.getFailed(), result.getDurationMillis(),
+      String.format("%.1f", result.getThroughput()));
+    done.complete(result);
+  }
+
+  private static String describe(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    return cause.getCause() != null ? cause.getMessage() + ": " + cause.getCause().getMessage() : cause.getMessage();
+  }
+}
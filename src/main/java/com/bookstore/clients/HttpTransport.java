@@ -0,0 +1,237 @@
+package com.bookstore.clients;
+
+import com.bookstore.config.ApiConfig;
+import io.restassured.config.HttpClientConfig;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.params.ConnManagerPNames;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide HTTP transport shared by every {@link BaseApiClient}. All
+ * clients go through one pooled, keep-alive HttpClient instead of REST
+ * Assured's default of a fresh client (and fresh connections) per request.
+ */
+@Slf4j
+public final class HttpTransport {
+  private static HttpTransport instance;
+
+  private final ApiConfig config;
+  private final InstrumentedConnectionManager connectionManager;
+  private final HttpClientConfig httpClientConfig;
+  private final ScheduledExecutorService idleConnectionEvictor;
+
+  // REST Assured 5 only accepts the HttpClient 4.x AbstractHttpClient API, deprecated in favour of
+  // HttpClientBuilder, which it cannot take
+  @SuppressWarnings("deprecation")
+  private HttpTransport(ApiConfig config, int maxTotal, int maxPerRoute) {
+    this.config = config;
+    this.connectionManager = new InstrumentedConnectionManager();
+    connectionManager.setMaxTotal(maxTotal);
+    connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+    DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+    httpClient.setKeepAliveStrategy(new ConfiguredKeepAliveStrategy(config.getHttpKeepAliveMs()));
+    RequestTimer requestTimer = new RequestTimer();
+    httpClient.addRequestInterceptor(requestTimer);
+    httpClient.addResponseInterceptor(requestTimer);
+
+    // REST Assured re-applies these params to the client on every request
+    this.httpClientConfig = HttpClientConfig.httpClientConfig()
+      .httpClientFactory(() -> httpClient)
+      .reuseHttpClientInstance()
+      .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, config.getTimeout())
+      .setParam(CoreConnectionPNames.SO_TIMEOUT, config.getTimeout())
+      .setParam(CoreConnectionPNames.TCP_NODELAY, true)
+      .setParam(CoreConnectionPNames.STALE_CONNECTION_CHECK, config.isHttpStaleCheck())
+      .setParam(ConnManagerPNames.TIMEOUT, (long) config.getTimeout());
+
+    this.idleConnectionEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "http-idle-connection-evictor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    idleConnectionEvictor.scheduleWithFixedDelay(this::evictIdleConnections,
+      config.getHttpPoolEvictionIntervalMs(), config.getHttpPoolEvictionIntervalMs(), TimeUnit.MILLISECONDS);
+
+    log.info("HTTP transport initialized - Max connections: {}, Max per route: {}, Keep-alive: {}ms",
+      maxTotal, maxPerRoute, config.getHttpKeepAliveMs());
+  }
+
+  public static synchronized HttpTransport getInstance() {
+    if (instance == null) {
+      ApiConfig config = ApiConfig.getInstance();
+      instance = new HttpTransport(config, config.getHttpPoolMaxTotal(), config.getHttpPoolMaxPerRoute());
+    }
+    return instance;
+  }
+
+  // A transport with its own pool, e.g. to observe pooling apart from other clients; shut it down after use
+  public static HttpTransport create(int maxTotal, int maxPerRoute) {
+    return new HttpTransport(ApiConfig.getInstance(), maxTotal, maxPerRoute);
+  }
+
+  public void shutdown() {
+    idleConnectionEvictor.shutdownNow();
+    connectionManager.shutdown();
+  }
+
+  public HttpClientConfig getHttpClientConfig() {
+    return httpClientConfig;
+  }
+
+  public PoolMetrics getPoolMetrics() {
+    PoolStats stats = connectionManager.getTotalStats();
+    return new PoolMetrics(stats.getMax(), connectionManager.getDefaultMaxPerRoute(), stats.getLeased(),
+      stats.getAvailable(), stats.getPending(), connectionManager.connectionsOpened.sum(), connectionManager.leases.sum(),
+      connectionManager.saturatedLeases.sum(), connectionManager.leaseWaitNanos.sum(),
+      connectionManager.evictionRuns.sum());
+  }
+
+  private void evictIdleConnections() {
+    try {
+      connectionManager.closeExpiredConnections();
+      connectionManager.closeIdleConnections(config.getHttpPoolIdleTimeoutMs(), TimeUnit.MILLISECONDS);
+      connectionManager.evictionRuns.increment();
+    } catch (Exception e) {
+      log.warn("Idle connection eviction failed: {}", e.getMessage());
+    }
+  }
+
+  @Value
+  public static class PoolMetrics {
+    int maxTotal;
+    int maxPerRoute;
+    int leased;
+    int available;
+    int pending;
+    // Connections established; far fewer than totalLeases when keep-alive connections are reused
+    long connectionsOpened;
+    long totalLeases;
+    // Leases that found the pool exhausted and had to wait for a connection
+    long saturatedLeases;
+    long totalLeaseWaitNanos;
+    long evictionRuns;
+
+    public double getAverageLeaseWaitMicros() {
+      return totalLeases > 0 ? totalLeaseWaitNanos / 1000.0 / totalLeases : 0;
+    }
+
+    public double getSaturationRate() {
+      return totalLeases > 0 ? (double) saturatedLeases / totalLeases * 100 : 0;
+    }
+  }
+
+  // See the constructor: DefaultHttpClient needs the legacy ClientConnectionManager API
+  @SuppressWarnings("deprecation")
+  private static class InstrumentedConnectionManager extends PoolingClientConnectionManager {
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder saturatedLeases = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAdder evictionRuns = new LongAdder();
+
+    InstrumentedConnectionManager() {
+      super(SchemeRegistryFactory.createDefault());
+    }
+
+    // Called from the superclass constructor, so only the returned operator may touch this instance's fields
+    @Override
+    protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+      return new DefaultClientConnectionOperator(schemeRegistry) {
+        @Override
+        public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+          super.openConnection(connection, target, local, context, params);
+          connectionsOpened.increment();
+        }
+      };
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+      ClientConnectionRequest request = super.requestConnection(route, state);
+      return new ClientConnectionRequest() {
+        @Override
+        public ManagedClientConnection getConnection(long timeout, TimeUnit timeUnit)
+          throws InterruptedException, ConnectionPoolTimeoutException {
+          boolean saturated = isExhausted(route);
+          long startTime = System.nanoTime();
+          try {
+            return request.getConnection(timeout, timeUnit);
+          } finally {
+            leaseWaitNanos.add(System.nanoTime() - startTime);
+            leases.increment();
+            if (saturated) {
+              saturatedLeases.increment();
+            }
+          }
+        }
+
+        @Override
+        public void abortRequest() {
+          request.abortRequest();
+        }
+      };
+    }
+
+    private boolean isExhausted(HttpRoute route) {
+      PoolStats routeStats = getStats(route);
+      return routeStats.getAvailable() == 0
+        && (routeStats.getLeased() >= routeStats.getMax() || getTotalStats().getLeased() >= getMaxTotal());
+    }
+  }
+
+  // Honours the server's "Keep-Alive: timeout=N" header, falling back to the configured duration
+  private static class ConfiguredKeepAliveStrategy implements ConnectionKeepAliveStrategy {
+    private final long defaultKeepAliveMs;
+
+    ConfiguredKeepAliveStrategy(long defaultKeepAliveMs) {
+      this.defaultKeepAliveMs = defaultKeepAliveMs;
+    }
+
+    @Override
+    public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+      HeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+      while (iterator.hasNext()) {
+        HeaderElement element = iterator.nextElement();
+        if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+          try {
+            return Math.min(Long.parseLong(element.getValue()) * 1000, defaultKeepAliveMs);
+          } catch (NumberFormatException ignored) {
+            // Fall through to the configured default
+          }
+        }
+      }
+      return defaultKeepAliveMs;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.bookstore.clients;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive int keys to non-null values, so
+ * lookups neither box the key nor chase an entry node. Linear probing at a
+ * load factor of at most 0.5; removal shifts later entries of the probe run
+ * back instead of leaving tombstones. Not thread-safe.
+ */
+public final class IntObjectHashMap<V> {
+  private static final int MIN_CAPACITY = 16;
+
+  private int[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+
+  public IntObjectHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  public IntObjectHashMap(int expectedSize) {
+    allocate(capacityFor(expectedSize));
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Null values are not supported");
+    }
+    int slot = slot(key);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size * 2 > keys.length) {
+      rehash(keys.length * 2);
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    int slot = slot(key);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public void forEach(IntObjectConsumer<? super V> action) {
+    for (int i = 0; i < keys.length; i++) {
+      if (values[i] != null) {
+        action.accept(keys[i], (V) values[i]);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  // Moves entries that probed past the freed slot back into it, so every entry stays reachable from its home slot
+  private void shiftBack(int freed) {
+    int slot = freed;
+    while (true) {
+      slot = (slot + 1) & mask;
+      if (values[slot] == null) {
+        break;
+      }
+      int home = slot(keys[slot]);
+      boolean reachable = freed <= slot ? freed < home && home <= slot : freed < home || home <= slot;
+      if (!reachable) {
+        keys[freed] = keys[slot];
+        values[freed] = values[slot];
+        freed = slot;
+      }
+    }
+    values[freed] = null;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slot(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  // Fibonacci hashing spreads sequential ids across the table
+  private int slot(int key) {
+    int hash = key * 0x9E3779B9;
+    return (hash ^ hash >>> 16) & mask;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2L) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  @FunctionalInterface
+  public interface IntObjectConsumer<V> {
+    void accept(int key, V value);
+  }
+}
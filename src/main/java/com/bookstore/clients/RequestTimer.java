@@ -0,0 +1,97 @@
+package com.bookstore.clients;
+
+import com.bookstore.models.RequestTiming;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Stamps request phases on the calling thread. Registered as an HttpClient
+ * request/response interceptor: request interceptors run once the connection
+ * is established, response interceptors as soon as the headers are parsed.
+ * REST Assured executes requests synchronously, so a thread-local is enough
+ * to hand the timestamps back to {@link BaseApiClient}. Asynchronous requests
+ * hop threads and carry their own {@link Phases} from {@link #detached()},
+ * leaving no thread-local state behind on pooled threads.
+ */
+public class RequestTimer implements HttpRequestInterceptor, HttpResponseInterceptor {
+  private static final ThreadLocal<Phases> CURRENT = new ThreadLocal<>();
+
+  static Phases start() {
+    Phases phases = CURRENT.get();
+    if (phases == null) {
+      phases = new Phases();
+      CURRENT.set(phases);
+    }
+    phases.reset(System.nanoTime());
+    return phases;
+  }
+
+  static Phases detached() {
+    Phases phases = new Phases();
+    phases.reset(System.nanoTime());
+    return phases;
+  }
+
+  // Whether the calling thread holds timer state; threads that ran synchronous requests keep theirs for reuse
+  public static boolean hasThreadState() {
+    return CURRENT.get() != null;
+  }
+
+  @Override
+  public void process(HttpRequest request, HttpContext context) {
+    Phases phases = CURRENT.get();
+    // Redirects and auth challenges re-run the interceptors, only the first connection counts
+    if (phases != null && phases.connectedAt == 0) {
+      phases.connectedAt = System.nanoTime();
+    }
+  }
+
+  @Override
+  public void process(HttpResponse response, HttpContext context) {
+    Phases phases = CURRENT.get();
+    if (phases != null) {
+      phases.firstByteAt = System.nanoTime();
+    }
+  }
+
+  static final class Phases {
+    private long startedAt;
+    private long connectedAt;
+    private long firstByteAt;
+    private long bodyReadAt;
+
+    private void reset(long now) {
+      startedAt = now;
+      connectedAt = 0;
+      firstByteAt = 0;
+      bodyReadAt = 0;
+    }
+
+    // Used where no connection hook exists, connect time is then reported as part of time to first byte
+    void headersReceived() {
+      firstByteAt = System.nanoTime();
+    }
+
+    void bodyRead() {
+      bodyReadAt = System.nanoTime();
+    }
+
+    RequestTiming finish() {
+      long finishedAt = System.nanoTime();
+      long connected = connectedAt != 0 ? connectedAt : startedAt;
+      long firstByte = firstByteAt != 0 ? firstByteAt : connected;
+      long body = bodyReadAt != 0 ? bodyReadAt : finishedAt;
+
+      return RequestTiming.builder()
+        .connectNanos(connected - startedAt)
+        .timeToFirstByteNanos(firstByte - connected)
+        .bodyReadNanos(body - firstByte)
+        .deserializationNanos(finishedAt - body)
+        .totalNanos(finishedAt - startedAt)
+        .build();
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.bookstore.clients;
+
+import com.bookstore.models.RequestTiming;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled request tracing for load runs. Every failed request is traced, but
+ * only one in sampleRate successful ones. Traces go to the "com.bookstore.trace"
+ * logger, which logback.xml routes through a non-blocking async appender.
+ * Most requests therefore pay for one random draw and no allocation. A
+ * sampled request pays to enqueue one event, and the file I/O happens on the
+ * appender's thread.
+ */
+public final class RequestTracer {
+  public static final String LOGGER_NAME = "com.bookstore.trace";
+
+  private final Logger logger;
+  private final int sampleRate;
+
+  public RequestTracer(Logger logger, int sampleRate) {
+    this.logger = logger;
+    this.sampleRate = Math.max(1, sampleRate);
+  }
+
+  public void traceResponse(String method, String endpoint, int statusCode, RequestTiming timing, long sizeBytes) {
+    boolean failed = statusCode < 200 || statusCode >= 300;
+    if (!failed && !sampled()) {
+      return;
+    }
+    if (logger.isInfoEnabled()) {
+      logger.info("{} {} -> {} in {}us (connect={}us, ttfb={}us, body={}us, deserialize={}us), {} bytes",
+        method, endpoint, statusCode, timing.getTotalMicros(), micros(timing.getConnectNanos()),
+        micros(timing.getTimeToFirstByteNanos()), micros(timing.getBodyReadNanos()),
+        micros(timing.getDeserializationNanos()), sizeBytes);
+    }
+  }
+
+  public void traceFailure(String method, String endpoint, long elapsedNanos, Throwable error) {
+    if (logger.isInfoEnabled()) {
+      logger.info("{} {} -> failed after {}us: {}", method, endpoint, micros(elapsedNanos), error.toString());
+    }
+  }
+
+  private boolean sampled() {
+    return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  private static long micros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
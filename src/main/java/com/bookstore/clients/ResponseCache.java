@@ -0,0 +1,274 @@
+package com.bookstore.clients;
+
+import com.bookstore.config.ApiConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side HTTP cache for GET requests, installed as a REST Assured filter
+ * on every {@link BaseApiClient} when api.cache.enabled is set. Fresh entries
+ * are answered without a request. Once an entry goes stale it is revalidated
+ * with If-None-Match / If-Modified-Since, and a 304 is served from the cached
+ * body. Any successful non-GET request invalidates its URL and the parent
+ * collection, e.g. PUT /Books/5 drops /Books/5 and /Books. Writes sent by
+ * {@link AsyncBaseApiClient}, including bulk operations, invalidate it the
+ * same way. The cache is bounded to maxEntries and evicts the least recently
+ * used entry first. A GET response is only stored if nothing was invalidated
+ * while it was in flight, as it may have been read before the write that
+ * invalidated it.
+ */
+@Slf4j
+public final class ResponseCache implements Filter {
+  public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+  private static ResponseCache instance;
+
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final LinkedHashMap<String, CachedResponse> entries;
+  // Bumped by every invalidation; guarded by this, like entries
+  private long generation;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder revalidations = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public ResponseCache(int maxEntries, Duration ttl) {
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttl.toNanos();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+        if (size() > ResponseCache.this.maxEntries) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  public static synchronized ResponseCache getInstance() {
+    if (instance == null) {
+      ApiConfig config = ApiConfig.getInstance();
+      instance = new ResponseCache(config.getCacheMaxEntries(), Duration.ofMillis(config.getCacheTtlMs()));
+      log.info("Response cache enabled - Max entries: {}, TTL: {}ms", config.getCacheMaxEntries(),
+        config.getCacheTtlMs());
+    }
+    return instance;
+  }
+
+  @Override
+  public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                         FilterContext ctx) {
+    String method = requestSpec.getMethod();
+    String url = requestSpec.getURI();
+    if (!method.equals("GET")) {
+      Response response = ctx.next(requestSpec, responseSpec);
+      if (response.getStatusCode() < 400) {
+        invalidate(url);
+      }
+      return response;
+    }
+
+    long now = System.nanoTime();
+    long fetchGeneration;
+    CachedResponse cached;
+    synchronized (this) {
+      fetchGeneration = generation;
+      cached = entries.get(url);
+    }
+    if (cached != null && cached.isFresh(now)) {
+      hits.increment();
+      return cached.toResponse("HIT");
+    }
+    if (cached != null && cached.hasValidators()) {
+      if (cached.etag != null) {
+        requestSpec.header("If-None-Match", cached.etag);
+      }
+      if (cached.lastModified != null) {
+        requestSpec.header("If-Modified-Since", cached.lastModified);
+      }
+    }
+
+    Response response = ctx.next(requestSpec, responseSpec);
+    if (response.getStatusCode() == 304 && cached != null) {
+      revalidations.increment();
+      CachedResponse refreshed = cached.revalidated(response, freshnessNanos(response), System.nanoTime());
+      put(url, refreshed, fetchGeneration);
+      return refreshed.toResponse("REVALIDATED");
+    }
+
+    misses.increment();
+    if (response.getStatusCode() != 200 || isNoStore(response)) {
+      return response;
+    }
+    CachedResponse entry = CachedResponse.of(response, freshnessNanos(response), System.nanoTime());
+    if (entry.hasValidators() || entry.freshForNanos > 0) {
+      put(url, entry, fetchGeneration);
+    }
+    return entry.toResponse("MISS");
+  }
+
+  public synchronized void invalidate(String url) {
+    generation++;
+    String path = stripQuery(url);
+    String parent = path.substring(0, Math.max(path.lastIndexOf('/'), 0));
+    Iterator<String> keys = entries.keySet().iterator();
+    while (keys.hasNext()) {
+      String key = stripQuery(keys.next());
+      if (key.equals(path) || key.equals(parent)) {
+        keys.remove();
+        invalidations.increment();
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public Stats getStats() {
+    return new Stats(hits.sum(), misses.sum(), revalidations.sum(), invalidations.sum(), evictions.sum(), size());
+  }
+
+  // Dropped if an invalidation happened since the fetch started: the response may predate the write
+  private synchronized void put(String url, CachedResponse entry, long fetchGeneration) {
+    if (generation == fetchGeneration) {
+      entries.put(url, entry);
+    }
+  }
+
+  // Cache-Control max-age shortens the configured TTL, no-cache forces revalidation on every read
+  private long freshnessNanos(Response response) {
+    String cacheControl = response.getHeader("Cache-Control");
+    if (cacheControl == null) {
+      return ttlNanos;
+    }
+    long freshness = ttlNanos;
+    for (String directive : cacheControl.toLowerCase().split(",")) {
+      directive = directive.trim();
+      if (directive.equals("no-cache")) {
+        return 0;
+      }
+      if (directive.startsWith("max-age=")) {
+        try {
+          freshness = Math.min(freshness, TimeUnit.SECONDS.toNanos(Long.parseLong(directive.substring(8))));
+        } catch (NumberFormatException e) {
+          log.debug("Ignoring malformed Cache-Control '{}'", cacheControl);
+        }
+      }
+    }
+    return freshness;
+  }
+
+  private static boolean isNoStore(Response response) {
+    String cacheControl = response.getHeader("Cache-Control");
+    return cacheControl != null && cacheControl.toLowerCase().contains("no-store");
+  }
+
+  private static String stripQuery(String url) {
+    int query = url.indexOf('?');
+    return query >= 0 ? url.substring(0, query) : url;
+  }
+
+  private static final class CachedResponse {
+    private final int statusCode;
+    private final String statusLine;
+    private final List<Header> headers;
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+    private final long storedAtNanos;
+    private final long freshForNanos;
+
+    private CachedResponse(int statusCode, String statusLine, List<Header> headers, String contentType,
+                           byte[] body, String etag, String lastModified, long storedAtNanos, long freshForNanos) {
+      this.statusCode = statusCode;
+      this.statusLine = statusLine;
+      this.headers = headers;
+      this.contentType = contentType;
+      this.body = body;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.storedAtNanos = storedAtNanos;
+      this.freshForNanos = freshForNanos;
+    }
+
+    static CachedResponse of(Response response, long freshForNanos, long now) {
+      return new CachedResponse(response.getStatusCode(), response.getStatusLine(), response.getHeaders().asList(),
+        response.getContentType(), response.asByteArray(), response.getHeader("ETag"),
+        response.getHeader("Last-Modified"), now, freshForNanos);
+    }
+
+    // A 304 carries the current validators but no body
+    CachedResponse revalidated(Response notModified, long freshForNanos, long now) {
+      String newEtag = notModified.getHeader("ETag");
+      String newLastModified = notModified.getHeader("Last-Modified");
+      return new CachedResponse(statusCode, statusLine, headers, contentType, body,
+        newEtag != null ? newEtag : etag, newLastModified != null ? newLastModified : lastModified, now,
+        freshForNanos);
+    }
+
+    boolean isFresh(long now) {
+      return now - storedAtNanos < freshForNanos;
+    }
+
+    boolean hasValidators() {
+      return etag != null || lastModified != null;
+    }
+
+    Response toResponse(String cacheStatus) {
+      List<Header> responseHeaders = new ArrayList<>(headers.size() + 1);
+      responseHeaders.addAll(headers);
+      responseHeaders.add(new Header(CACHE_STATUS_HEADER, cacheStatus));
+      ResponseBuilder builder = new ResponseBuilder()
+        .setStatusCode(statusCode)
+        .setStatusLine(statusLine)
+        .setHeaders(new Headers(responseHeaders))
+        .setBody(body);
+      return contentType != null && !contentType.isEmpty() ? builder.setContentType(contentType).build()
+        : builder.build();
+    }
+  }
+
+  @Value
+  public static class Stats {
+    long hits;
+    long misses;
+    // Stale reads answered by a 304 instead of a full body
+    long revalidations;
+    long invalidations;
+    long evictions;
+    int size;
+
+    public double getHitRate() {
+      long reads = hits + misses + revalidations;
+      return reads > 0 ? (double) (hits + revalidations) / reads * 100 : 0;
+    }
+  }
+}
@@ -19,9 +19,57 @@ public class ApiConfig {
   private int retryCount;
   private boolean logRequests;
   private boolean logResponses;
+  private RunMode runMode;
+  private ResponseCapturePolicy responseCapturePolicy; // null means the client's run mode decides
+  private Boolean traceEnabled; // null means the client's run mode decides
+  private int traceSampleRate;
+  private boolean cacheEnabled;
+  private int cacheMaxEntries;
+  private long cacheTtlMs;
+  private boolean authorIndexEnabled;
+  private long authorIndexTtlMs;
   private int parallelThreads;
+  private Long testDataSeed; // null means a fresh seed per run
   private boolean dataCleanup;
   private boolean generateReport;
+  private int httpPoolMaxTotal;
+  private int httpPoolMaxPerRoute;
+  private long httpPoolIdleTimeoutMs;
+  private long httpPoolEvictionIntervalMs;
+  private long httpKeepAliveMs;
+  private boolean httpStaleCheck;
+  private int asyncThreads;
+  private String asyncHttpVersion;
+  private int bulkConcurrency;
+  private ThreadMode perfThreadMode;
+  private boolean perfBaselineEnabled;
+  private String perfBaselineFile;
+  private int perfBaselineWindow;
+  private int perfBaselineMinRuns;
+  private int perfBaselineMinSamples;
+  private double perfRegressionAlpha;
+  private double perfRegressionTolerance;
+  private double perfRegressionTailTolerance;
+  private double perfRegressionErrorTolerance;
+  private boolean perfRegressionEnforced;
+  private String perfJournalDir; // empty disables the per-request journal
+  private int perfThroughputWarmupSeconds;
+  private int perfThroughputCooldownSeconds;
+  private int perfWarmupIterations;
+  private int perfWarmupMaxIterations;
+  private int perfWarmupWindow;
+  private double perfWarmupCvThreshold; // 0 warms up for a fixed perfWarmupIterations requests
+  private String metricsExportFile;
+  private long metricsExportIntervalMs;
+  private int metricsHttpPort;
+  private String metricsHttpHost;
+  private int stubPort;
+  private long stubLatencyMs;
+  private long stubLatencyJitterMs;
+  private double stubErrorRate;
+  private int stubPayloadBytes;
+  private int stubBooks;
+  private int stubAuthors;
 
   private ApiConfig() {
     loadConfiguration();
@@ -55,13 +103,94 @@ public class ApiConfig {
     this.retryCount = Integer.parseInt(getProperty(properties, "api.retry.count", "API_RETRY_COUNT", "3"));
     this.logRequests = Boolean.parseBoolean(getProperty(properties, "api.log.requests", "LOG_REQUESTS", "true"));
     this.logResponses = Boolean.parseBoolean(getProperty(properties, "api.log.responses", "LOG_RESPONSES", "true"));
+    this.runMode = RunMode.valueOf(getProperty(properties, "api.run.mode", "RUN_MODE", "functional").toUpperCase());
+    String capturePolicy = getProperty(properties, "api.response.capture", "RESPONSE_CAPTURE", "");
+    this.responseCapturePolicy = StringUtils.isBlank(capturePolicy) ? null
+      : ResponseCapturePolicy.valueOf(capturePolicy.toUpperCase());
+    String traceEnabled = getProperty(properties, "api.trace.enabled", "TRACE_ENABLED", "");
+    this.traceEnabled = StringUtils.isBlank(traceEnabled) ? null : Boolean.parseBoolean(traceEnabled);
+    this.traceSampleRate = Integer.parseInt(getProperty(properties, "api.trace.sample.rate", "TRACE_SAMPLE_RATE",
+      "100"));
+    this.cacheEnabled = Boolean.parseBoolean(getProperty(properties, "api.cache.enabled", "CACHE_ENABLED", "false"));
+    this.cacheMaxEntries = Integer.parseInt(getProperty(properties, "api.cache.max.entries", "CACHE_MAX_ENTRIES",
+      "256"));
+    this.cacheTtlMs = Long.parseLong(getProperty(properties, "api.cache.ttl.ms", "CACHE_TTL_MS", "30000"));
+    this.authorIndexEnabled = Boolean.parseBoolean(getProperty(properties, "api.author.index.enabled",
+      "AUTHOR_INDEX_ENABLED", "false"));
+    this.authorIndexTtlMs = Long.parseLong(getProperty(properties, "api.author.index.ttl.ms",
+      "AUTHOR_INDEX_TTL_MS", "60000"));
+    this.perfThreadMode = ThreadMode.valueOf(getProperty(properties, "perf.thread.mode", "PERF_THREAD_MODE",
+      "platform").toUpperCase());
     this.parallelThreads = Integer.parseInt(getProperty(properties, "test.parallel.threads", "PARALLEL_THREADS", "5"));
+    String testDataSeed = getProperty(properties, "test.data.seed", "TEST_DATA_SEED", "");
+    this.testDataSeed = StringUtils.isBlank(testDataSeed) ? null : Long.parseLong(testDataSeed.trim());
     this.dataCleanup = Boolean.parseBoolean(getProperty(properties, "test.data.cleanup", "DATA_CLEANUP", "true"));
     this.generateReport = Boolean.parseBoolean(getProperty(properties, "report.generate.after.test",
       "GENERATE_REPORT", "true"));
+    this.httpPoolMaxTotal = Integer.parseInt(getProperty(properties, "api.http.pool.max.total",
+      "HTTP_POOL_MAX_TOTAL", "200"));
+    this.httpPoolMaxPerRoute = Integer.parseInt(getProperty(properties, "api.http.pool.max.per.route",
+      "HTTP_POOL_MAX_PER_ROUTE", "50"));
+    this.httpPoolIdleTimeoutMs = Long.parseLong(getProperty(properties, "api.http.pool.idle.timeout.ms",
+      "HTTP_POOL_IDLE_TIMEOUT_MS", "30000"));
+    this.httpPoolEvictionIntervalMs = Long.parseLong(getProperty(properties, "api.http.pool.eviction.interval.ms",
+      "HTTP_POOL_EVICTION_INTERVAL_MS", "5000"));
+    this.httpKeepAliveMs = Long.parseLong(getProperty(properties, "api.http.keepalive.ms",
+      "HTTP_KEEPALIVE_MS", "30000"));
+    this.httpStaleCheck = Boolean.parseBoolean(getProperty(properties, "api.http.stale.check",
+      "HTTP_STALE_CHECK", "false"));
+    this.asyncThreads = Integer.parseInt(getProperty(properties, "api.async.threads", "ASYNC_THREADS", "4"));
+    this.asyncHttpVersion = getProperty(properties, "api.async.http.version", "ASYNC_HTTP_VERSION", "HTTP_1_1");
+    this.bulkConcurrency = Integer.parseInt(getProperty(properties, "api.bulk.concurrency", "BULK_CONCURRENCY", "32"));
+    this.perfBaselineEnabled = Boolean.parseBoolean(getProperty(properties, "perf.baseline.enabled",
+      "PERF_BASELINE_ENABLED", "true"));
+    this.perfBaselineFile = getProperty(properties, "perf.baseline.file", "PERF_BASELINE_FILE",
+      "performance-baselines/baselines.jsonl");
+    this.perfBaselineWindow = Integer.parseInt(getProperty(properties, "perf.baseline.window",
+      "PERF_BASELINE_WINDOW", "5"));
+    this.perfBaselineMinRuns = Integer.parseInt(getProperty(properties, "perf.baseline.min.runs",
+      "PERF_BASELINE_MIN_RUNS", "3"));
+    this.perfBaselineMinSamples = Integer.parseInt(getProperty(properties, "perf.baseline.min.samples",
+      "PERF_BASELINE_MIN_SAMPLES", "10"));
+    this.perfRegressionAlpha = Double.parseDouble(getProperty(properties, "perf.regression.alpha",
+      "PERF_REGRESSION_ALPHA", "0.01"));
+    this.perfRegressionTolerance = Double.parseDouble(getProperty(properties, "perf.regression.tolerance",
+      "PERF_REGRESSION_TOLERANCE", "0.10"));
+    this.perfRegressionTailTolerance = Double.parseDouble(getProperty(properties, "perf.regression.tail.tolerance",
+      "PERF_REGRESSION_TAIL_TOLERANCE", "0.25"));
+    this.perfRegressionErrorTolerance = Double.parseDouble(getProperty(properties, "perf.regression.error.tolerance",
+      "PERF_REGRESSION_ERROR_TOLERANCE", "0.02"));
+    this.perfRegressionEnforced = Boolean.parseBoolean(getProperty(properties, "perf.regression.enforce",
+      "PERF_REGRESSION_ENFORCE", "false"));
+    this.perfJournalDir = getProperty(properties, "perf.journal.dir", "PERF_JOURNAL_DIR", "");
+    this.perfThroughputWarmupSeconds = Integer.parseInt(getProperty(properties, "perf.throughput.warmup.seconds",
+      "PERF_THROUGHPUT_WARMUP_SECONDS", "1"));
+    this.perfThroughputCooldownSeconds = Integer.parseInt(getProperty(properties, "perf.throughput.cooldown.seconds",
+      "PERF_THROUGHPUT_COOLDOWN_SECONDS", "1"));
+    this.perfWarmupIterations = Integer.parseInt(getProperty(properties, "perf.warmup.iterations",
+      "PERF_WARMUP_ITERATIONS", "5"));
+    this.perfWarmupMaxIterations = Integer.parseInt(getProperty(properties, "perf.warmup.max.iterations",
+      "PERF_WARMUP_MAX_ITERATIONS", "100"));
+    this.perfWarmupWindow = Integer.parseInt(getProperty(properties, "perf.warmup.window",
+      "PERF_WARMUP_WINDOW", "10"));
+    this.perfWarmupCvThreshold = Double.parseDouble(getProperty(properties, "perf.warmup.cv.threshold",
+      "PERF_WARMUP_CV_THRESHOLD", "0.25"));
+    this.metricsExportFile = getProperty(properties, "metrics.export.file", "METRICS_EXPORT_FILE", "");
+    this.metricsExportIntervalMs = Long.parseLong(getProperty(properties, "metrics.export.interval.ms",
+      "METRICS_EXPORT_INTERVAL_MS", "5000"));
+    this.metricsHttpPort = Integer.parseInt(getProperty(properties, "metrics.http.port", "METRICS_HTTP_PORT", "-1"));
+    this.metricsHttpHost = getProperty(properties, "metrics.http.host", "METRICS_HTTP_HOST", "");
+    this.stubPort = Integer.parseInt(getProperty(properties, "stub.port", "STUB_PORT", "0"));
+    this.stubLatencyMs = Long.parseLong(getProperty(properties, "stub.latency.ms", "STUB_LATENCY_MS", "0"));
+    this.stubLatencyJitterMs = Long.parseLong(getProperty(properties, "stub.latency.jitter.ms",
+      "STUB_LATENCY_JITTER_MS", "0"));
+    this.stubErrorRate = Double.parseDouble(getProperty(properties, "stub.error.rate", "STUB_ERROR_RATE", "0.0"));
+    this.stubPayloadBytes = Integer.parseInt(getProperty(properties, "stub.payload.bytes", "STUB_PAYLOAD_BYTES", "0"));
+    this.stubBooks = Integer.parseInt(getProperty(properties, "stub.books", "STUB_BOOKS", "200"));
+    this.stubAuthors = Integer.parseInt(getProperty(properties, "stub.authors", "STUB_AUTHORS", "600"));
 
-    log.info("Configuration loaded - Base URL: {}, Timeout: {}ms, Parallel Threads: {}",
-      baseUrl, timeout, parallelThreads);
+    log.info("Configuration loaded - Base URL: {}, Timeout: {}ms, Parallel Threads: {}, Run Mode: {}",
+      baseUrl, timeout, parallelThreads, runMode);
   }
 
   private String getProperty(Properties properties, String propertyKey, String envKey, String defaultValue) {
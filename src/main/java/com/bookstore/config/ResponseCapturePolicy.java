@@ -0,0 +1,17 @@
+package com.bookstore.config;
+
+// What an ApiResponse keeps besides status, timing and parsed data
+public enum ResponseCapturePolicy {
+  NONE,
+  HEADERS_ONLY,
+  ON_FAILURE,
+  FULL;
+
+  public boolean capturesHeaders(boolean successful) {
+    return this == FULL || this == HEADERS_ONLY || (this == ON_FAILURE && !successful);
+  }
+
+  public boolean capturesBody(boolean successful) {
+    return this == FULL || (this == ON_FAILURE && !successful);
+  }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.config;
+
+public enum RunMode {
+  // Regular test runs: full Allure request/response capture
+  FUNCTIONAL,
+  // Load and soak runs: no per-request capture, so reporting doesn't skew the measurements
+  LOAD;
+
+  public boolean capturesRequests() {
+    return this == FUNCTIONAL;
+  }
+
+  // Used when api.response.capture is not set explicitly
+  public ResponseCapturePolicy defaultCapturePolicy() {
+    return this == FUNCTIONAL ? ResponseCapturePolicy.FULL : ResponseCapturePolicy.ON_FAILURE;
+  }
+
+  // Used when api.trace.enabled is not set explicitly: load runs log sampled traces instead of every response
+  public boolean defaultRequestTracing() {
+    return this == LOAD;
+  }
+}
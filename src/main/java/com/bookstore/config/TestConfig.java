@@ -14,6 +14,7 @@ public class TestConfig {
   private boolean captureScreenshots;
   private String testDataPath;
   private String reportPath;
+  private boolean dataCleanup;
 
   private TestConfig() {
     initializeDefaults();
@@ -33,6 +34,7 @@ public class TestConfig {
     this.captureScreenshots = true;
     this.testDataPath = "src/main/resources/test-data/";
     this.reportPath = "target/allure-results/";
+    this.dataCleanup = ApiConfig.getInstance().isDataCleanup();
 
     log.info("Test configuration initialized with defaults");
   }
@@ -0,0 +1,9 @@
+package com.bookstore.config;
+
+// Threads that execute simulated users in load tests
+public enum ThreadMode {
+  // One OS thread per concurrent user, capped by stack memory and scheduler cost
+  PLATFORM,
+  // One virtual thread per task, parked cheaply while waiting on I/O (JDK 21+)
+  VIRTUAL
+}
@@ -0,0 +1,78 @@
+package com.bookstore.metrics;
+
+import com.bookstore.performance.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics of one method and endpoint template: an in-flight gauge and a
+ * latency histogram per status class. Requests that fail without a response
+ * are counted under the "error" status class.
+ */
+public final class EndpointMetrics {
+  private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "error"};
+  private static final int ERROR = STATUS_CLASSES.length - 1;
+
+  private final String method;
+  private final String endpoint;
+  private final LongAdder inFlight = new LongAdder();
+  private final AtomicReferenceArray<StripedLatencyRecorder> statuses =
+    new AtomicReferenceArray<>(STATUS_CLASSES.length);
+
+  EndpointMetrics(String method, String endpoint) {
+    this.method = method;
+    this.endpoint = endpoint;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  void started() {
+    inFlight.increment();
+  }
+
+  public void completed(int statusCode, long latencyNanos) {
+    inFlight.decrement();
+    recorder(statusCode >= 100 && statusCode < 600 ? statusCode / 100 - 1 : ERROR).recordNanos(latencyNanos);
+  }
+
+  public void failed(long latencyNanos) {
+    inFlight.decrement();
+    recorder(ERROR).recordNanos(latencyNanos);
+  }
+
+  private StripedLatencyRecorder recorder(int statusClass) {
+    StripedLatencyRecorder recorder = statuses.get(statusClass);
+    if (recorder == null) {
+      statuses.compareAndSet(statusClass, null, new StripedLatencyRecorder());
+      recorder = statuses.get(statusClass);
+    }
+    return recorder;
+  }
+
+  MetricsSnapshot.EndpointSnapshot snapshot() {
+    List<MetricsSnapshot.StatusSnapshot> statusSnapshots = new ArrayList<>();
+    for (int i = 0; i < STATUS_CLASSES.length; i++) {
+      StripedLatencyRecorder recorder = statuses.get(i);
+      if (recorder != null) {
+        LatencyHistogram histogram = recorder.snapshot();
+        statusSnapshots.add(new MetricsSnapshot.StatusSnapshot(STATUS_CLASSES[i], histogram.getTotalCount(),
+          histogram.getMeanMicros() / 1000.0,
+          histogram.getPercentileMicros(50) / 1000.0,
+          histogram.getPercentileMicros(90) / 1000.0,
+          histogram.getPercentileMicros(99) / 1000.0,
+          histogram.getPercentileMicros(99.9) / 1000.0,
+          histogram.getMaxMicros() / 1000.0));
+      }
+    }
+    return new MetricsSnapshot.EndpointSnapshot(method, endpoint, inFlight.sum(), statusSnapshots);
+  }
+}
@@ -0,0 +1,70 @@
+package com.bookstore.metrics;
+
+/**
+ * Reduces a request URL to its route, e.g.
+ * {@code https://host/api/v1/Books/42?x=1} to {@code /api/v1/Books/{id}}, so
+ * metrics are grouped per endpoint rather than per resource. Numeric, UUID and
+ * long hexadecimal path segments are treated as identifiers.
+ */
+public final class EndpointTemplate {
+  static final String ID = "{id}";
+
+  private EndpointTemplate() {
+  }
+
+  public static String of(String url) {
+    int start = 0;
+    int scheme = url.indexOf("://");
+    if (scheme >= 0) {
+      start = url.indexOf('/', scheme + 3);
+      if (start < 0) {
+        return "/";
+      }
+    }
+    int end = url.length();
+    for (int i = start; i < end; i++) {
+      char c = url.charAt(i);
+      if (c == '?' || c == '#') {
+        end = i;
+        break;
+      }
+    }
+
+    StringBuilder template = new StringBuilder(end - start);
+    int segmentStart = start;
+    while (segmentStart < end) {
+      if (url.charAt(segmentStart) == '/') {
+        template.append('/');
+        segmentStart++;
+        continue;
+      }
+      int segmentEnd = url.indexOf('/', segmentStart);
+      if (segmentEnd < 0 || segmentEnd > end) {
+        segmentEnd = end;
+      }
+      if (isIdentifier(url, segmentStart, segmentEnd)) {
+        template.append(ID);
+      } else {
+        template.append(url, segmentStart, segmentEnd);
+      }
+      segmentStart = segmentEnd;
+    }
+    return template.length() > 0 ? template.toString() : "/";
+  }
+
+  private static boolean isIdentifier(String url, int start, int end) {
+    int length = end - start;
+    boolean digitsOnly = true;
+    boolean hexOnly = true;
+    for (int i = start; i < end; i++) {
+      char c = url.charAt(i);
+      boolean digit = c >= '0' && c <= '9';
+      boolean hex = digit || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+      boolean uuidDash = c == '-' && length == 36 && (i - start == 8 || i - start == 13 || i - start == 18
+        || i - start == 23);
+      digitsOnly &= digit || (c == '-' && i == start && length > 1);
+      hexOnly &= hex || uuidDash;
+    }
+    return digitsOnly || (hexOnly && (length == 36 || length >= 16));
+  }
+}
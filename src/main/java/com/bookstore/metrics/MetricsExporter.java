@@ -0,0 +1,156 @@
+package com.bookstore.metrics;
+
+import com.bookstore.config.ApiConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Publishes {@link MetricsRegistry} snapshots while a run is in progress:
+ * periodically to a file (JSON when the name ends in .json, Prometheus text
+ * otherwise), and/or over HTTP at /metrics (Prometheus) and /metrics.json.
+ * Files are replaced atomically so a dashboard never reads a partial write.
+ */
+@Slf4j
+public class MetricsExporter {
+  private final MetricsRegistry registry;
+
+  // Null disables the file export
+  @Getter
+  private final Path file;
+
+  private final long intervalMs;
+
+  // Negative disables the HTTP endpoint, 0 picks a free port
+  private final int httpPort;
+
+  // Interface the HTTP endpoint listens on; null keeps it on the loopback interface
+  private final String httpHost;
+
+  private ScheduledExecutorService scheduler;
+  private HttpServer server;
+
+  @Builder
+  private MetricsExporter(MetricsRegistry registry, Path file, Long intervalMs, Integer httpPort, String httpHost) {
+    this.registry = registry != null ? registry : MetricsRegistry.getInstance();
+    this.file = file;
+    this.intervalMs = intervalMs != null ? intervalMs : 5000;
+    this.httpPort = httpPort != null ? httpPort : -1;
+    this.httpHost = StringUtils.isBlank(httpHost) ? null : httpHost;
+  }
+
+  public static MetricsExporter fromConfig(ApiConfig config) {
+    return MetricsExporter.builder()
+      .file(StringUtils.isBlank(config.getMetricsExportFile()) ? null : Paths.get(config.getMetricsExportFile()))
+      .intervalMs(config.getMetricsExportIntervalMs())
+      .httpPort(config.getMetricsHttpPort())
+      .httpHost(config.getMetricsHttpHost())
+      .build();
+  }
+
+  public boolean isEnabled() {
+    return file != null || httpPort >= 0;
+  }
+
+  public synchronized void start() {
+    if (scheduler != null || server != null) {
+      return;
+    }
+    if (file != null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-exporter");
+        thread.setDaemon(true);
+        return thread;
+      });
+      scheduler.scheduleAtFixedRate(this::writeFileQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+      log.info("Writing client metrics to {} every {}ms", file.toAbsolutePath(), intervalMs);
+    }
+    if (httpPort >= 0) {
+      startHttpServer();
+    }
+  }
+
+  // Writes a final file snapshot so the export reflects the whole run
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+      writeFileQuietly();
+    }
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+  }
+
+  public int getBoundPort() {
+    if (server == null) {
+      throw new IllegalStateException("Metrics HTTP endpoint is not running");
+    }
+    return server.getAddress().getPort();
+  }
+
+  public void writeFile() throws IOException {
+    MetricsSnapshot snapshot = registry.snapshot();
+    String content = file.getFileName().toString().endsWith(".json")
+      ? MetricsFormat.toJson(snapshot) : MetricsFormat.toPrometheus(snapshot);
+
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void writeFileQuietly() {
+    try {
+      writeFile();
+    } catch (IOException e) {
+      log.warn("Failed to write metrics to {}: {}", file, e.getMessage());
+    }
+  }
+
+  private void startHttpServer() {
+    try {
+      InetSocketAddress address = httpHost != null
+        ? new InetSocketAddress(httpHost, httpPort) : new InetSocketAddress(InetAddress.getLoopbackAddress(), httpPort);
+      server = HttpServer.create(address, 0);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to start metrics endpoint on port " + httpPort, e);
+    }
+    server.createContext("/metrics", exchange -> serve(exchange, MetricsFormat.PROMETHEUS_CONTENT_TYPE,
+      MetricsFormat::toPrometheus));
+    server.createContext("/metrics.json", exchange -> serve(exchange, MetricsFormat.JSON_CONTENT_TYPE,
+      MetricsFormat::toJson));
+    server.start();
+    log.info("Client metrics available at http://{}:{}/metrics", httpHost != null ? httpHost : "localhost",
+      server.getAddress().getPort());
+  }
+
+  private void serve(HttpExchange exchange, String contentType, Function<MetricsSnapshot, String> format)
+    throws IOException {
+    byte[] body = format.apply(registry.snapshot()).getBytes(StandardCharsets.UTF_8);
+    try (OutputStream output = exchange.getResponseBody()) {
+      exchange.getResponseHeaders().set("Content-Type", contentType);
+      exchange.sendResponseHeaders(200, body.length);
+      output.write(body);
+    }
+  }
+}
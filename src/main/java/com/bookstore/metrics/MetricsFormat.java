@@ -0,0 +1,76 @@
+package com.bookstore.metrics;
+
+import com.bookstore.utils.JsonUtils;
+
+import java.util.Locale;
+
+/**
+ * Renders a {@link MetricsSnapshot} as Prometheus text exposition format or JSON.
+ */
+public final class MetricsFormat {
+  public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  public static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+  private static final String LATENCY = "bookstore_client_request_duration_seconds";
+  private static final String MAX_LATENCY = "bookstore_client_request_duration_max_seconds";
+  private static final String IN_FLIGHT = "bookstore_client_requests_in_flight";
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private MetricsFormat() {
+  }
+
+  public static String toPrometheus(MetricsSnapshot snapshot) {
+    StringBuilder text = new StringBuilder();
+    text.append("# HELP ").append(LATENCY).append(" Client request latency by endpoint template, method and status class\n");
+    text.append("# TYPE ").append(LATENCY).append(" summary\n");
+    for (MetricsSnapshot.EndpointSnapshot endpoint : snapshot.getEndpoints()) {
+      for (MetricsSnapshot.StatusSnapshot status : endpoint.getStatuses()) {
+        String labels = labels(endpoint, status.getStatus());
+        double[] values = {status.getP50Millis(), status.getP90Millis(), status.getP99Millis(), status.getP999Millis()};
+        for (int i = 0; i < QUANTILES.length; i++) {
+          sample(text, LATENCY, labels + ",quantile=\"" + QUANTILES[i] + "\"", values[i] / 1000);
+        }
+        sample(text, LATENCY + "_sum", labels, status.getMeanMillis() * status.getCount() / 1000);
+        sample(text, LATENCY + "_count", labels, status.getCount());
+      }
+    }
+
+    text.append("# HELP ").append(MAX_LATENCY).append(" Slowest client request by endpoint template, method and status class\n");
+    text.append("# TYPE ").append(MAX_LATENCY).append(" gauge\n");
+    for (MetricsSnapshot.EndpointSnapshot endpoint : snapshot.getEndpoints()) {
+      for (MetricsSnapshot.StatusSnapshot status : endpoint.getStatuses()) {
+        sample(text, MAX_LATENCY, labels(endpoint, status.getStatus()), status.getMaxMillis() / 1000);
+      }
+    }
+
+    text.append("# HELP ").append(IN_FLIGHT).append(" Client requests currently awaiting a response\n");
+    text.append("# TYPE ").append(IN_FLIGHT).append(" gauge\n");
+    for (MetricsSnapshot.EndpointSnapshot endpoint : snapshot.getEndpoints()) {
+      sample(text, IN_FLIGHT, "endpoint=\"" + escape(endpoint.getEndpoint()) + "\",method=\""
+        + escape(endpoint.getMethod()) + "\"", endpoint.getInFlight());
+    }
+    return text.toString();
+  }
+
+  public static String toJson(MetricsSnapshot snapshot) {
+    return JsonUtils.toJson(snapshot);
+  }
+
+  private static String labels(MetricsSnapshot.EndpointSnapshot endpoint, String status) {
+    return "endpoint=\"" + escape(endpoint.getEndpoint()) + "\",method=\"" + escape(endpoint.getMethod())
+      + "\",status=\"" + status + "\"";
+  }
+
+  private static void sample(StringBuilder text, String name, String labels, double value) {
+    text.append(name).append('{').append(labels).append("} ").append(String.format(Locale.ROOT, "%.6f", value))
+      .append('\n');
+  }
+
+  private static void sample(StringBuilder text, String name, String labels, long value) {
+    text.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
@@ -0,0 +1,50 @@
+package com.bookstore.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide registry of client request metrics, tagged by endpoint
+ * template, HTTP method and status class. Recording is a map lookup plus
+ * striped counter and histogram updates, cheap enough to run on every request;
+ * export happens off the request path through {@link MetricsExporter}.
+ */
+public final class MetricsRegistry {
+  private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+  private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+  private MetricsRegistry() {
+  }
+
+  public static MetricsRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  // Marks a request in flight; the caller completes it through the returned metrics
+  public EndpointMetrics requestStarted(String method, String url) {
+    String endpoint = EndpointTemplate.of(url);
+    String key = method + ' ' + endpoint;
+    EndpointMetrics metrics = endpoints.get(key);
+    if (metrics == null) {
+      metrics = endpoints.computeIfAbsent(key, ignored -> new EndpointMetrics(method, endpoint));
+    }
+    metrics.started();
+    return metrics;
+  }
+
+  public MetricsSnapshot snapshot() {
+    List<MetricsSnapshot.EndpointSnapshot> snapshots = endpoints.values().stream()
+      .sorted(Comparator.comparing(EndpointMetrics::getEndpoint).thenComparing(EndpointMetrics::getMethod))
+      .map(EndpointMetrics::snapshot)
+      .collect(Collectors.toList());
+    return new MetricsSnapshot(System.currentTimeMillis(), snapshots);
+  }
+
+  // Requests already in flight complete into the metrics they started with and are not counted
+  public void reset() {
+    endpoints.clear();
+  }
+}
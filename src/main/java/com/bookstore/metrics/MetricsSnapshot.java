@@ -0,0 +1,35 @@
+package com.bookstore.metrics;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Point-in-time copy of the {@link MetricsRegistry}. Latencies are in
+ * milliseconds and cumulative since the registry was created or reset.
+ */
+@Value
+public class MetricsSnapshot {
+  long timestampMillis;
+  List<EndpointSnapshot> endpoints;
+
+  @Value
+  public static class EndpointSnapshot {
+    String method;
+    String endpoint;
+    long inFlight;
+    List<StatusSnapshot> statuses;
+  }
+
+  @Value
+  public static class StatusSnapshot {
+    String status;
+    long count;
+    double meanMillis;
+    double p50Millis;
+    double p90Millis;
+    double p99Millis;
+    double p999Millis;
+    double maxMillis;
+  }
+}
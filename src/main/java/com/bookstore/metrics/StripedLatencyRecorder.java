@@ -0,0 +1,46 @@
+package com.bookstore.metrics;
+
+import com.bookstore.performance.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latency histogram split into per-thread-hash stripes, in the manner of
+ * {@link java.util.concurrent.atomic.LongAdder}: concurrent recorders rarely
+ * update the same counts, min/max and total, so recording stays cheap under
+ * load. Stripes are created on first use and merged when read.
+ */
+final class StripedLatencyRecorder {
+  // 1% precision keeps each stripe at roughly 25 KB
+  private static final int SIGNIFICANT_DIGITS = 2;
+  private static final int STRIPES = Math.min(16,
+    Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+  private final AtomicReferenceArray<LatencyHistogram> stripes = new AtomicReferenceArray<>(STRIPES);
+
+  void recordNanos(long nanos) {
+    int index = stripeIndex();
+    LatencyHistogram stripe = stripes.get(index);
+    if (stripe == null) {
+      stripes.compareAndSet(index, null, new LatencyHistogram(SIGNIFICANT_DIGITS));
+      stripe = stripes.get(index);
+    }
+    stripe.recordNanos(nanos);
+  }
+
+  LatencyHistogram snapshot() {
+    LatencyHistogram merged = new LatencyHistogram(SIGNIFICANT_DIGITS);
+    for (int i = 0; i < STRIPES; i++) {
+      LatencyHistogram stripe = stripes.get(i);
+      if (stripe != null) {
+        merged.merge(stripe);
+      }
+    }
+    return merged;
+  }
+
+  private static int stripeIndex() {
+    long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return (int) (hash >>> 32) & (STRIPES - 1);
+  }
+}
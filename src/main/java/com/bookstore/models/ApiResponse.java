@@ -14,8 +14,18 @@ public class ApiResponse<T> {
   private T data;
   private List<String> errors;
   private Map<String, String> headers;
-  private long responseTime;
-  private String rawResponse;
+  private RequestTiming timing;
+  private RawBody rawBody;
+
+  // Total response time in milliseconds
+  public long getResponseTime() {
+    return timing != null ? timing.getTotalMillis() : 0;
+  }
+
+  // Decoded on first access; null unless the capture policy kept the body
+  public String getRawResponse() {
+    return rawBody != null ? rawBody.asString() : null;
+  }
 
   public boolean isSuccess() {
     return statusCode >= 200 && statusCode < 300;
@@ -0,0 +1,59 @@
+package com.bookstore.models;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Outcome of a bulk operation; items are in the order they were submitted, whatever order they completed in
+@Value
+public class BulkResult<T> {
+  List<Item<T>> items;
+  long durationNanos;
+
+  public int getTotal() {
+    return items.size();
+  }
+
+  public int getSucceeded() {
+    return (int) items.stream().filter(Item::isSuccess).count();
+  }
+
+  public int getFailed() {
+    return getTotal() - getSucceeded();
+  }
+
+  public boolean isAllSucceeded() {
+    return items.stream().allMatch(Item::isSuccess);
+  }
+
+  public long getDurationMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+  }
+
+  // Completed requests per second over the whole operation
+  public double getThroughput() {
+    return durationNanos > 0 ? items.size() * 1e9 / durationNanos : 0;
+  }
+
+  // Response data of the successful items, still in input order
+  public List<T> getData() {
+    return items.stream()
+      .filter(Item::isSuccess)
+      .map(item -> item.getResponse().getData())
+      .collect(Collectors.toList());
+  }
+
+  @Value
+  public static class Item<T> {
+    int index;
+    // Null when the request failed without a response
+    ApiResponse<T> response;
+    String error;
+
+    public boolean isSuccess() {
+      return response != null && response.isSuccess();
+    }
+  }
+}
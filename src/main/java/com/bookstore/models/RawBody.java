@@ -0,0 +1,41 @@
+package com.bookstore.models;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Response body kept as the bytes read off the wire. Decoding to a String
+ * only happens, once, when someone actually asks for it.
+ */
+public final class RawBody {
+  private final byte[] bytes;
+  private final Charset charset;
+  private volatile String decoded;
+
+  public RawBody(byte[] bytes, Charset charset) {
+    this.bytes = bytes;
+    this.charset = charset;
+  }
+
+  public int size() {
+    return bytes.length;
+  }
+
+  public ByteBuffer asByteBuffer() {
+    return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+  }
+
+  public String asString() {
+    String result = decoded;
+    if (result == null) {
+      result = new String(bytes, charset);
+      decoded = result;
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return asString();
+  }
+}
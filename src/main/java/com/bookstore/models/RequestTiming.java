@@ -0,0 +1,43 @@
+package com.bookstore.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request timing breakdown measured on a monotonic clock. The phases are
+ * consecutive and add up to the total:
+ * connect (request preparation, connection lease and TCP/TLS setup),
+ * time to first byte (request written until response headers arrive),
+ * body read and deserialization.
+ */
+@Data
+@Builder
+public class RequestTiming {
+  private long connectNanos;
+  private long timeToFirstByteNanos;
+  private long bodyReadNanos;
+  private long deserializationNanos;
+  private long totalNanos;
+
+  public long getTotalMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+  }
+
+  public long getTotalMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(totalNanos);
+  }
+
+  // Time spent on the wire and in the server, excluding client-side parsing
+  public long getNetworkNanos() {
+    return connectNanos + timeToFirstByteNanos + bodyReadNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("total=%.3fms (connect=%.3fms, ttfb=%.3fms, body=%.3fms, deserialize=%.3fms)",
+      totalNanos / 1e6, connectNanos / 1e6, timeToFirstByteNanos / 1e6, bodyReadNanos / 1e6,
+      deserializationNanos / 1e6);
+  }
+}
@@ -0,0 +1,55 @@
+package com.bookstore.performance;
+
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One performance scenario run as persisted in the baseline store
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BaselineRecord {
+  private String scenario;
+  private String commit;
+  private String environment;
+  private String timestamp;
+  private int successfulRequests;
+  private int failedRequests;
+  private double meanMillis;
+  private double p50Millis;
+  private double p99Millis;
+  private double throughput;
+  // Runs flagged as regressions are kept for history but never become part of a baseline
+  private boolean regression;
+  // Full latency distribution, see LatencyHistogram#encode
+  private String histogram;
+
+  public static BaselineRecord of(String scenario, String commit, String environment, PerformanceResult result,
+                                  boolean regression) {
+    return BaselineRecord.builder()
+      .scenario(scenario)
+      .commit(commit)
+      .environment(environment)
+      .timestamp(Instant.now().toString())
+      .successfulRequests(result.getSuccessfulRequests())
+      .failedRequests(result.getFailedRequests())
+      .meanMillis(result.getLatencyHistogram().getMeanMicros() / 1000.0)
+      .p50Millis(result.getP50ResponseTime())
+      .p99Millis(result.getP99ResponseTime())
+      .throughput(result.getThroughput())
+      .regression(regression)
+      .histogram(result.getLatencyHistogram().encode())
+      .build();
+  }
+
+  public LatencyHistogram decodeHistogram() {
+    return LatencyHistogram.decode(histogram);
+  }
+}
@@ -0,0 +1,84 @@
+package com.bookstore.performance;
+
+import com.bookstore.utils.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only JSON Lines store of performance runs. Records are never
+ * rewritten; each line is appended under a file lock so parallel tests and
+ * concurrent builds on the same machine can share one file.
+ */
+@Slf4j
+public class BaselineStore {
+  private final Path file;
+
+  public BaselineStore(Path file) {
+    this.file = file;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  public synchronized void append(BaselineRecord record) {
+    byte[] json = JsonUtils.toJsonBytes(record);
+    ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n');
+    line.flip();
+
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND)) {
+        FileLock lock = channel.lock();
+        try {
+          while (line.hasRemaining()) {
+            channel.write(line);
+          }
+        } finally {
+          lock.release();
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to append baseline record to " + file, e);
+    }
+  }
+
+  // Records for the scenario and environment, oldest first
+  public synchronized List<BaselineRecord> find(String scenario, String environment) {
+    if (!Files.exists(file)) {
+      return new ArrayList<>();
+    }
+    try {
+      List<BaselineRecord> records = new ArrayList<>();
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          records.add(JsonUtils.fromJson(line, BaselineRecord.class));
+        } catch (RuntimeException e) {
+          log.warn("Skipping unreadable baseline record in {}", file);
+        }
+      }
+      return records.stream()
+        .filter(record -> scenario.equals(record.getScenario()) && environment.equals(record.getEnvironment()))
+        .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read baseline store " + file, e);
+    }
+  }
+}
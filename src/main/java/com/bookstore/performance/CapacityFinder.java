@@ -0,0 +1,320 @@
+package com.bookstore.performance;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.ThreadMode;
+import com.bookstore.performance.scenario.OperationSla;
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the highest load an operation sustains within its SLO. The load
+ * level, concurrent users or arrivals per second, grows by
+ * {@code growthFactor} from {@code start} until a step breaks the SLO or
+ * {@code max} is reached, then the gap between the last passing and the
+ * first failing level is bisected {@code refinementSteps} times. Each step
+ * holds its level for {@code stepDuration}.
+ *
+ * <p>Besides the highest passing level, the result reports the knee of the
+ * throughput curve: the level past which more load stops buying
+ * proportionally more throughput and only adds queueing. It is the point
+ * farthest above the straight line through the curve's ends once both axes
+ * are normalized (the Kneedle method).
+ *
+ * <p>{@link #run} measures each step by driving the operation at the step's
+ * level; {@link #search} takes the measurement as a function of the level
+ * instead, e.g. a model of the system under test.
+ */
+@Slf4j
+@Getter
+@Builder
+public class CapacityFinder {
+  public enum Mode {
+    // Closed loop: each user sends its next request when the previous one completes
+    CONCURRENCY,
+    // Open loop: requests arrive at a fixed rate regardless of how fast earlier ones complete
+    ARRIVAL_RATE
+  }
+
+  @Builder.Default
+  private final Mode mode = Mode.CONCURRENCY;
+
+  // Limits a step must stay within; arrivals dropped by a saturated open-loop generator count as failures
+  private final OperationSla sla;
+
+  @Builder.Default
+  private final double start = 1;
+
+  @Builder.Default
+  private final double max = 256;
+
+  @Builder.Default
+  private final double growthFactor = 2;
+
+  @Builder.Default
+  private final int refinementSteps = 3;
+
+  @Builder.Default
+  private final Duration stepDuration = Duration.ofSeconds(10);
+
+  // Open-loop workers; bounds concurrent requests in ARRIVAL_RATE mode
+  @Builder.Default
+  private final int maxConcurrency = 64;
+
+  // Run once before the first step
+  @Builder.Default
+  private final Warmup warmup = Warmup.none();
+
+  @Builder.Default
+  private final ThreadMode threadMode = ApiConfig.getInstance().getPerfThreadMode();
+
+  public Result run(Callable<Boolean> operation) {
+    checkConfiguration();
+    Warmup.Phase phase = warmup.start();
+    phase.run(operation);
+    Warmup.Result warmupResult = phase.finish();
+    return search(level -> mode == Mode.CONCURRENCY
+      ? runClosedLoop(operation, (int) level)
+      : runOpenLoop(operation, level), warmupResult);
+  }
+
+  // Searches with each step's result taken from stepRunner rather than measured; the warm-up is not run
+  public Result search(DoubleFunction<PerformanceResult> stepRunner) {
+    checkConfiguration();
+    return search(stepRunner, null);
+  }
+
+  private void checkConfiguration() {
+    if (sla == null) {
+      throw new IllegalArgumentException("Capacity search needs an SLO to search against");
+    }
+    if (start > max) {
+      throw new IllegalArgumentException(String.format("Capacity search start %s exceeds max %s", start, max));
+    }
+  }
+
+  private Result search(DoubleFunction<PerformanceResult> stepRunner, Warmup.Result warmupResult) {
+    log.info("Searching {} capacity from {} to {} against {}", mode, start, max, sla);
+    List<Step> steps = new ArrayList<>();
+    Step passed = null;
+    Step failed = null;
+    for (double level = start; level <= max; level = nextLevel(level)) {
+      Step step = measure(stepRunner, level);
+      steps.add(step);
+      if (!step.isPassed()) {
+        failed = step;
+        break;
+      }
+      passed = step;
+      if (level == max) {
+        break;
+      }
+    }
+
+    if (passed != null && failed != null) {
+      for (int i = 0; i < refinementSteps; i++) {
+        double level = midpoint(passed.getLevel(), failed.getLevel());
+        if (level <= passed.getLevel() || level >= failed.getLevel()) {
+          break;
+        }
+        Step step = measure(stepRunner, level);
+        steps.add(step);
+        if (step.isPassed()) {
+          passed = step;
+        } else {
+          failed = step;
+        }
+      }
+    }
+
+    steps.sort(Comparator.comparingDouble(Step::getLevel));
+    Result result = new Result(mode, sla, Collections.unmodifiableList(steps), passed, knee(steps, passed),
+      failed == null, warmupResult);
+    log.info("Capacity search completed:\n{}", result.toReport());
+    return result;
+  }
+
+  private double nextLevel(double level) {
+    double next = mode == Mode.CONCURRENCY ? Math.max(level + 1, Math.round(level * growthFactor))
+      : level * growthFactor;
+    // The last step probes max itself rather than stopping short of it
+    return level < max ? Math.min(next, max) : next;
+  }
+
+  private double midpoint(double passed, double failed) {
+    double midpoint = (passed + failed) / 2;
+    return mode == Mode.CONCURRENCY ? Math.floor(midpoint) : midpoint;
+  }
+
+  private Step measure(DoubleFunction<PerformanceResult> stepRunner, double level) {
+    PerformanceResult result = stepRunner.apply(level);
+
+    List<String> violations = new ArrayList<>(sla.check(label(level), result));
+    if (result.getDroppedRequests() > 0 && sla.getMinSuccessRate() != null) {
+      long offered = result.getTotalRequests() + result.getDroppedRequests();
+      double successRate = offered > 0 ? 100.0 * result.getSuccessfulRequests() / offered : 0;
+      if (successRate < sla.getMinSuccessRate()) {
+        violations.add(String.format("%s: %d arrivals dropped, success rate %.2f%% below %.2f%%", label(level),
+          result.getDroppedRequests(), successRate, sla.getMinSuccessRate()));
+      }
+    }
+    Step step = new Step(level, result, violations);
+    log.info("Capacity step {}: {} req/s, p99 {} ms, {}% success{}", label(level),
+      String.format("%.1f", result.getSteadyStateThroughput()), String.format("%.1f", result.getP99ResponseTime()),
+      String.format("%.2f", result.getSuccessRate()), violations.isEmpty() ? "" : " - " + violations);
+    return step;
+  }
+
+  private String label(double level) {
+    return mode == Mode.CONCURRENCY ? (int) level + " users" : String.format("%.1f req/s", level);
+  }
+
+  private PerformanceResult runOpenLoop(Callable<Boolean> operation, double rate) {
+    return OpenLoopLoadGenerator.builder()
+      .profile(LoadProfile.constantRate(rate, stepDuration))
+      .maxConcurrency(maxConcurrency)
+      .queueCapacity(maxConcurrency)
+      .threadMode(threadMode)
+      .build()
+      .run(operation);
+  }
+
+  // Every user sends requests back to back until the step's time is up
+  private PerformanceResult runClosedLoop(Callable<Boolean> operation, int users) {
+    ExecutorService executor = LoadExecutors.newExecutor(threadMode, users, "capacity-worker");
+    LatencyHistogram histogram = new LatencyHistogram();
+    LongAdder successes = new LongAdder();
+    LongAdder failures = new LongAdder();
+    long startTime = System.nanoTime();
+    long deadline = startTime + stepDuration.toNanos();
+    ThroughputSeries series = new ThroughputSeries(startTime);
+
+    try {
+      List<CompletableFuture<Void>> workers = IntStream.range(0, users)
+        .mapToObj(user -> CompletableFuture.runAsync(() -> {
+          long requestStart;
+          while ((requestStart = System.nanoTime()) < deadline) {
+            boolean success;
+            try {
+              success = operation.call();
+            } catch (Exception e) {
+              log.warn("Request failed: {}", e.getMessage());
+              success = false;
+            }
+            long completed = System.nanoTime();
+            histogram.recordNanos(completed - requestStart);
+            series.record(completed);
+            (success ? successes : failures).increment();
+          }
+        }, executor))
+        .collect(Collectors.toList());
+      CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+    } finally {
+      executor.shutdown();
+    }
+
+    long endTime = System.nanoTime();
+    PerformanceResult result = new PerformanceResult(histogram, successes.intValue(), failures.intValue());
+    result.setThroughputSeries(PerformanceUtils.summarizeThroughput(series, endTime));
+    result.setTotalExecutionTime(TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+    return result;
+  }
+
+  /**
+   * Kneedle over steady-state throughput by level: both axes are scaled to
+   * [0, 1] and the knee is the step farthest above the diagonal. With fewer
+   * than three steps, or a curve that never bends, the highest passing step
+   * stands in for it.
+   */
+  static Step knee(List<Step> steps, Step fallback) {
+    if (steps.size() < 3) {
+      return fallback;
+    }
+    double minLevel = steps.get(0).getLevel();
+    double maxLevel = steps.get(steps.size() - 1).getLevel();
+    double minThroughput = steps.stream().mapToDouble(Step::getThroughput).min().orElse(0);
+    double maxThroughput = steps.stream().mapToDouble(Step::getThroughput).max().orElse(0);
+    if (maxLevel <= minLevel || maxThroughput <= minThroughput) {
+      return fallback;
+    }
+
+    Step knee = fallback;
+    double farthest = 0;
+    for (Step step : steps) {
+      double x = (step.getLevel() - minLevel) / (maxLevel - minLevel);
+      double y = (step.getThroughput() - minThroughput) / (maxThroughput - minThroughput);
+      if (y - x > farthest) {
+        farthest = y - x;
+        knee = step;
+      }
+    }
+    return knee;
+  }
+
+  @Value
+  public static class Step {
+    double level; // concurrent users or arrivals per second
+    PerformanceResult result;
+    List<String> violations;
+
+    public boolean isPassed() {
+      return violations.isEmpty();
+    }
+
+    public double getThroughput() {
+      return result.getSteadyStateThroughput();
+    }
+  }
+
+  @Value
+  public static class Result {
+    Mode mode;
+    OperationSla sla;
+    List<Step> steps; // by level
+    Step maxSustainable; // highest level within the SLO; null if even the first step broke it
+    Step knee; // may lie past maxSustainable when throughput keeps climbing after the SLO breaks; null if no step passed
+    boolean limitReached; // the SLO held all the way to max, so capacity is at least that
+    Warmup.Result warmup; // null when the search ran without one
+
+    public String toReport() {
+      String unit = mode == Mode.CONCURRENCY ? "Users" : "Rate/s";
+      StringBuilder report = new StringBuilder(String.format("Capacity search (%s), SLO %s%n", mode, sla));
+      report.append(String.format("%10s %10s %9s %9s %9s %8s %8s  %s%n",
+        unit, "Req/s", "Peak/s", "p50 ms", "p99 ms", "Success", "Dropped", "Verdict"));
+      for (Step step : steps) {
+        PerformanceResult result = step.getResult();
+        String marker = step == knee && step == maxSustainable ? " <- knee, max sustainable"
+          : step == knee ? " <- knee" : step == maxSustainable ? " <- max sustainable" : "";
+        report.append(String.format("%10.1f %10.2f %9.2f %9.1f %9.1f %7.2f%% %8d  %s%s%n", step.getLevel(),
+          step.getThroughput(), result.getPeakThroughput(), result.getP50ResponseTime(), result.getP99ResponseTime(),
+          result.getSuccessRate(), result.getDroppedRequests(), step.isPassed() ? "PASS" : "FAIL", marker));
+      }
+      if (maxSustainable == null) {
+        report.append("SLO broken at the first step; start lower\n");
+        return report.toString();
+      }
+      report.append(String.format("Max sustainable: %.1f (%.2f req/s)%s%n", maxSustainable.getLevel(),
+        maxSustainable.getThroughput(), limitReached ? ", SLO held up to the search limit" : ""));
+      report.append(String.format("Knee: %.1f (%.2f req/s, p99 %.1f ms)%n", knee.getLevel(), knee.getThroughput(),
+        knee.getResult().getP99ResponseTime()));
+      return report.toString();
+    }
+  }
+}
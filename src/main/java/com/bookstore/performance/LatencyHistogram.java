@@ -0,0 +1,136 @@
+package com.bookstore.performance;
+
+import lombok.Value;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-memory latency histogram with microsecond resolution. Recording is
+ * lock-free, so worker threads can record into a shared instance directly;
+ * values above the trackable range are clamped rather than rejected.
+ */
+public class LatencyHistogram {
+  // One hour, in microseconds
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final AbstractHistogram histogram;
+
+  public LatencyHistogram() {
+    this(SIGNIFICANT_DIGITS);
+  }
+
+  // Fewer significant digits trade precision (2 digits = 1%) for a much smaller footprint
+  public LatencyHistogram(int significantDigits) {
+    this(new AtomicHistogram(HIGHEST_TRACKABLE_MICROS, significantDigits));
+  }
+
+  private LatencyHistogram(AbstractHistogram histogram) {
+    this.histogram = histogram;
+  }
+
+  public void recordNanos(long nanos) {
+    recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  public void recordMillis(long millis) {
+    recordMicros(TimeUnit.MILLISECONDS.toMicros(millis));
+  }
+
+  public void recordMicros(long micros) {
+    histogram.recordValue(Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+  }
+
+  public void merge(LatencyHistogram other) {
+    histogram.add(other.histogram);
+  }
+
+  // Independent copy of the counts so far. Values recorded while it is taken may or may not be in it, and then
+  // its total can be off from its buckets by those values; copy a histogram nothing records into for exact figures
+  public LatencyHistogram copy() {
+    AtomicHistogram snapshot = new AtomicHistogram(HIGHEST_TRACKABLE_MICROS,
+      histogram.getNumberOfSignificantValueDigits());
+    snapshot.add(histogram);
+    return new LatencyHistogram(snapshot);
+  }
+
+  public void reset() {
+    histogram.reset();
+  }
+
+  public long getTotalCount() {
+    return histogram.getTotalCount();
+  }
+
+  public long getPercentileMicros(double percentile) {
+    return histogram.getValueAtPercentile(percentile);
+  }
+
+  public long getMinMicros() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+  }
+
+  public long getMaxMicros() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+  }
+
+  public double getMeanMicros() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+  }
+
+  public double getStdDeviationMicros() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+  }
+
+  // Non-empty buckets of the distribution, in ascending latency order
+  public List<Bucket> getDistribution() {
+    List<Bucket> buckets = new ArrayList<>();
+    for (HistogramIterationValue value : histogram.recordedValues()) {
+      buckets.add(new Bucket(value.getValueIteratedTo(), value.getCountAtValueIteratedTo()));
+    }
+    return buckets;
+  }
+
+  // HdrHistogram percentile distribution table, values in milliseconds
+  public String toPercentileDistribution() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (PrintStream printStream = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+      histogram.outputPercentileDistribution(printStream, 5, 1000.0);
+    }
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+  // Compact Base64 form of the full distribution, for persisting results between runs
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+  }
+
+  public static LatencyHistogram decode(String encoded) {
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+      return new LatencyHistogram(AtomicHistogram.decodeFromCompressedByteBuffer(buffer, HIGHEST_TRACKABLE_MICROS));
+    } catch (DataFormatException | IllegalArgumentException e) {
+      throw new RuntimeException("Invalid encoded latency histogram", e);
+    }
+  }
+
+  @Value
+  public static class Bucket {
+    long upperBoundMicros;
+    long count;
+  }
+}
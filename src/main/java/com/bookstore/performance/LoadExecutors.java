@@ -0,0 +1,121 @@
+package com.bookstore.performance;
+
+import com.bookstore.config.ThreadMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run simulated users. Virtual threads are looked
+ * up reflectively so the project keeps compiling for Java 11; on older runtimes
+ * the virtual mode falls back to platform threads with a warning.
+ */
+@Slf4j
+public final class LoadExecutors {
+  private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
+  private LoadExecutors() {
+  }
+
+  public static boolean isVirtualThreadSupported() {
+    return VIRTUAL_EXECUTOR_FACTORY != null;
+  }
+
+  // Runs at most maxConcurrency tasks at a time; further tasks wait in submission order
+  public static ExecutorService newExecutor(ThreadMode threadMode, int maxConcurrency, String namePrefix) {
+    if (threadMode == ThreadMode.VIRTUAL) {
+      if (isVirtualThreadSupported()) {
+        return new BoundedExecutor(newVirtualThreadPerTaskExecutor(), maxConcurrency);
+      }
+      log.warn("Virtual threads are not available on Java {}, using platform threads",
+        System.getProperty("java.specification.version"));
+    }
+
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  // Unbounded: every task gets its own virtual thread
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (!isVirtualThreadSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+    try {
+      return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException("Failed to create virtual thread executor", e);
+    }
+  }
+
+  private static Method findVirtualExecutorFactory() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  // Virtual threads are not pooled, so concurrency is capped with permits instead of a thread count
+  private static final class BoundedExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    BoundedExecutor(ExecutorService delegate, int maxConcurrency) {
+      this.delegate = delegate;
+      this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      delegate.execute(() -> {
+        try {
+          permits.acquire();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    }
+
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+}
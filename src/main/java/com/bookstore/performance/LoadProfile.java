@@ -0,0 +1,135 @@
+package com.bookstore.performance;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Target arrival rate over time, expressed as a sequence of linear stages.
+ * A stage ramps from its start rate to its end rate (requests per second);
+ * a hold is simply a stage whose start and end rate are equal.
+ */
+@Getter
+public class LoadProfile {
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final List<Stage> stages;
+  private final long expectedArrivals;
+
+  private LoadProfile(List<Stage> stages) {
+    if (stages.isEmpty()) {
+      throw new IllegalArgumentException("Load profile needs at least one stage");
+    }
+    this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+    // Arrival k is sent while k is below the cumulative count, so a fractional count rounds up
+    this.expectedArrivals = (long) Math.ceil(stages.stream().mapToDouble(Stage::getExpectedArrivals).sum());
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static LoadProfile constantRate(double requestsPerSecond, Duration duration) {
+    return builder().stage(requestsPerSecond, requestsPerSecond, duration).build();
+  }
+
+  public Duration getTotalDuration() {
+    return Duration.ofNanos(stages.stream().mapToLong(Stage::getDurationNanos).sum());
+  }
+
+  public double getPeakRate() {
+    return stages.stream().mapToDouble(stage -> Math.max(stage.getStartRate(), stage.getEndRate())).max().orElse(0);
+  }
+
+  /**
+   * Offset from the start of the run at which the k-th request (0-based) is
+   * intended to be sent, or -1 once the profile has no arrivals left.
+   */
+  public long arrivalOffsetNanos(long k) {
+    double remaining = k;
+    long stageStartNanos = 0;
+
+    for (Stage stage : stages) {
+      double stageArrivals = stage.getExpectedArrivals();
+      if (remaining < stageArrivals) {
+        return stageStartNanos + stage.offsetOfArrivalNanos(remaining);
+      }
+      remaining -= stageArrivals;
+      stageStartNanos += stage.getDurationNanos();
+    }
+    return -1;
+  }
+
+  @Value
+  public static class Stage {
+    double startRate;
+    double endRate;
+    long durationNanos;
+
+    double getExpectedArrivals() {
+      return (startRate + endRate) / 2 * (durationNanos / NANOS_PER_SECOND);
+    }
+
+    // Solves N(t) = r0 * t + (r1 - r0) * t^2 / (2 * D) for t, where N(t) is the cumulative arrival count
+    long offsetOfArrivalNanos(double arrival) {
+      double durationSeconds = durationNanos / NANOS_PER_SECOND;
+      double seconds;
+      if (startRate == endRate) {
+        seconds = arrival / startRate;
+      } else {
+        double a = (endRate - startRate) / (2 * durationSeconds);
+        seconds = (-startRate + Math.sqrt(startRate * startRate + 4 * a * arrival)) / (2 * a);
+      }
+      return Math.min(durationNanos, (long) (seconds * NANOS_PER_SECOND));
+    }
+  }
+
+  public static class Builder {
+    private final List<Stage> stages = new ArrayList<>();
+    private double currentRate;
+
+    public Builder stage(double startRate, double endRate, Duration duration) {
+      if (startRate < 0 || endRate < 0) {
+        throw new IllegalArgumentException("Arrival rates must not be negative");
+      }
+      if (duration.isNegative() || duration.isZero()) {
+        throw new IllegalArgumentException("Stage duration must be positive");
+      }
+      stages.add(new Stage(startRate, endRate, duration.toNanos()));
+      currentRate = endRate;
+      return this;
+    }
+
+    public Builder rampUp(Duration duration, double targetRate) {
+      return stage(currentRate, targetRate, duration);
+    }
+
+    public Builder rampDown(Duration duration, double targetRate) {
+      return stage(currentRate, targetRate, duration);
+    }
+
+    public Builder hold(Duration duration) {
+      return stage(currentRate, currentRate, duration);
+    }
+
+    public Builder hold(Duration duration, double rate) {
+      return stage(rate, rate, duration);
+    }
+
+    // Jumps to the given rate for the duration, then continues from the rate before the spike
+    public Builder spike(Duration duration, double rate) {
+      double rateBefore = currentRate;
+      stage(rate, rate, duration);
+      currentRate = rateBefore;
+      return this;
+    }
+
+    public LoadProfile build() {
+      return new LoadProfile(stages);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package com.bookstore.performance;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.ThreadMode;
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are released on the schedule defined by a
+ * {@link LoadProfile}, independently of how fast earlier requests complete.
+ * Latency is measured from each request's intended send time, so time spent
+ * waiting behind a slow backend is counted instead of silently omitted.
+ */
+@Slf4j
+@Getter
+@Builder
+public class OpenLoopLoadGenerator {
+  private final LoadProfile profile;
+
+  // Worker threads available to execute requests
+  @Builder.Default
+  private final int maxConcurrency = 10;
+
+  // Platform or virtual worker threads; maxConcurrency caps concurrent requests either way
+  @Builder.Default
+  private final ThreadMode threadMode = ApiConfig.getInstance().getPerfThreadMode();
+
+  // Requests allowed to wait for a free worker before new arrivals are dropped
+  @Builder.Default
+  private final int queueCapacity = 10;
+
+  // A request starting later than this after its intended send time is reported as late
+  @Builder.Default
+  private final Duration lateSendTolerance = Duration.ofMillis(10);
+
+  // This generator sends only arrivals k with k % slices == slice, so several generators split one schedule
+  @Builder.Default
+  private final int slice = 0;
+
+  @Builder.Default
+  private final int slices = 1;
+
+  // How long to wait for outstanding requests once the schedule has finished
+  @Builder.Default
+  private final Duration drainTimeout = Duration.ofSeconds(60);
+
+  public PerformanceResult run(Callable<Boolean> operation) {
+    return run((index, intendedStartNanos) -> operation.call());
+  }
+
+  public PerformanceResult run(Arrival arrival) {
+    ExecutorService workers = LoadExecutors.newExecutor(threadMode, maxConcurrency, "open-loop-worker");
+    LatencyHistogram histogram = new LatencyHistogram();
+    LongAdder successes = new LongAdder();
+    LongAdder failures = new LongAdder();
+    AtomicInteger outstanding = new AtomicInteger();
+    AtomicInteger lateRequests = new AtomicInteger();
+    int droppedRequests = 0;
+    int submittedRequests = 0;
+
+    long toleranceNanos = lateSendTolerance.toNanos();
+    int maxOutstanding = maxConcurrency + queueCapacity;
+    long startTime = System.nanoTime();
+    ThroughputSeries series = new ThroughputSeries(startTime);
+
+    for (long k = 0; ; k++) {
+      long offset = profile.arrivalOffsetNanos(k);
+      if (offset < 0) {
+        break;
+      }
+      if (k % slices != slice) {
+        continue;
+      }
+
+      long intendedStart = startTime + offset;
+      parkUntil(intendedStart);
+
+      if (outstanding.get() >= maxOutstanding) {
+        droppedRequests++;
+        continue;
+      }
+
+      outstanding.incrementAndGet();
+      submittedRequests++;
+      long index = k;
+      workers.execute(() -> {
+        if (System.nanoTime() - intendedStart > toleranceNanos) {
+          lateRequests.incrementAndGet();
+        }
+        boolean success;
+        try {
+          success = arrival.execute(index, intendedStart);
+        } catch (Exception e) {
+          log.warn("Request failed: {}", e.getMessage());
+          success = false;
+        }
+        long completedAt = System.nanoTime();
+        histogram.recordNanos(completedAt - intendedStart);
+        series.record(completedAt);
+        if (success) {
+          successes.increment();
+        } else {
+          failures.increment();
+        }
+        outstanding.decrementAndGet();
+      });
+    }
+
+    workers.shutdown();
+    boolean drained;
+    try {
+      drained = workers.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      workers.shutdownNow();
+      throw new RuntimeException("Interrupted while waiting for load test to finish", e);
+    }
+    long endTime = System.nanoTime();
+
+    // Abandoned requests go on recording after shutdownNow, so the result is taken from a snapshot
+    // with every request that hadn't completed by now counted as a failure
+    LatencyHistogram measured = drained ? histogram : histogram.copy();
+    int succeeded = successes.intValue();
+    int failed = failures.intValue();
+    if (!drained) {
+      int abandoned = submittedRequests - succeeded - failed;
+      log.warn("{} requests still outstanding after {}, abandoning them as failures", abandoned, drainTimeout);
+      workers.shutdownNow();
+      failed += abandoned;
+    }
+
+    PerformanceResult result = new PerformanceResult(measured, succeeded, failed);
+    result.setThroughputSeries(PerformanceUtils.summarizeThroughput(series, endTime));
+    result.setTotalExecutionTime(TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+    result.setDroppedRequests(droppedRequests);
+    result.setLateRequests(lateRequests.get());
+    return result;
+  }
+
+  private static void parkUntil(long deadlineNanos) {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  // Work for the index-th scheduled request, which was due at intendedStartNanos on the System.nanoTime() clock
+  @FunctionalInterface
+  public interface Arrival {
+    boolean execute(long index, long intendedStartNanos) throws Exception;
+  }
+}
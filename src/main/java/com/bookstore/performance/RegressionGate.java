@@ -0,0 +1,182 @@
+package com.bookstore.performance;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Compares a run with the most recent passing runs of the same scenario and
+ * environment, then appends the run to the store. Latency is compared run
+ * against run: the new median and p99 against the spread of the baseline
+ * runs' medians and p99s. Requests within a run are not independent samples,
+ * so load on the machine shifts a whole run at once. A slowdown is only a
+ * regression when it is both outside that run-to-run spread and larger than
+ * the tolerance, so noisy runs can't fail the build on noise and quiet ones
+ * can't fail it on trivia.
+ */
+@Slf4j
+@Getter
+@Builder
+public class RegressionGate {
+  private final BaselineStore store;
+
+  @Builder.Default
+  private final int window = 5;
+
+  // Baseline runs needed before the gate gives a verdict
+  @Builder.Default
+  private final int minRuns = 3;
+
+  // Requests a run needs to count, as the current run or as a baseline run
+  @Builder.Default
+  private final int minSamples = 10;
+
+  @Builder.Default
+  private final double alpha = 0.01;
+
+  // Relative median slowdown tolerated
+  @Builder.Default
+  private final double tolerance = 0.10;
+
+  // Relative p99 slowdown tolerated
+  @Builder.Default
+  private final double tailTolerance = 0.25;
+
+  // Absolute failure-rate increase tolerated
+  @Builder.Default
+  private final double errorTolerance = 0.02;
+
+  public static RegressionGate fromConfig(ApiConfig config) {
+    return RegressionGate.builder()
+      .store(new BaselineStore(Paths.get(config.getPerfBaselineFile())))
+      .window(config.getPerfBaselineWindow())
+      .minRuns(config.getPerfBaselineMinRuns())
+      .minSamples(config.getPerfBaselineMinSamples())
+      .alpha(config.getPerfRegressionAlpha())
+      .tolerance(config.getPerfRegressionTolerance())
+      .tailTolerance(config.getPerfRegressionTailTolerance())
+      .errorTolerance(config.getPerfRegressionErrorTolerance())
+      .build();
+  }
+
+  public Report evaluate(String scenario, String commit, String environment, PerformanceResult result) {
+    List<BaselineRecord> history = store.find(scenario, environment);
+    history.removeIf(record -> record.isRegression()
+      || record.getSuccessfulRequests() + record.getFailedRequests() < minSamples);
+    List<BaselineRecord> baselineRuns = history.subList(Math.max(0, history.size() - window), history.size());
+
+    LatencyHistogram current = result.getLatencyHistogram();
+    double[] baselineMedians = new double[baselineRuns.size()];
+    double[] baselineP99s = new double[baselineRuns.size()];
+    long baselineSamples = 0;
+    long baselineFailures = 0;
+    long baselineTotal = 0;
+    for (int i = 0; i < baselineRuns.size(); i++) {
+      BaselineRecord record = baselineRuns.get(i);
+      LatencyHistogram histogram = record.decodeHistogram();
+      baselineMedians[i] = histogram.getPercentileMicros(50);
+      baselineP99s[i] = histogram.getPercentileMicros(99);
+      baselineSamples += histogram.getTotalCount();
+      baselineFailures += record.getFailedRequests();
+      baselineTotal += record.getSuccessfulRequests() + record.getFailedRequests();
+    }
+
+    Report report;
+    if (baselineRuns.size() < Math.max(2, minRuns) || current.getTotalCount() < minSamples) {
+      report = Report.noBaseline(scenario, environment, commit, baselineRuns.size(), baselineSamples,
+        current.getTotalCount());
+    } else {
+      long currentMedian = current.getPercentileMicros(50);
+      long currentP99 = current.getPercentileMicros(99);
+      double medianPValue = StatisticalTests.runGreater(currentMedian, baselineMedians);
+      double p99PValue = StatisticalTests.runGreater(currentP99, baselineP99s);
+      double medianChange = relativeChange(currentMedian, mean(baselineMedians));
+      double p99Change = relativeChange(currentP99, mean(baselineP99s));
+
+      long currentTotal = result.getTotalRequests();
+      double errorRateChange = (currentTotal > 0 ? (double) result.getFailedRequests() / currentTotal : 0)
+        - (baselineTotal > 0 ? (double) baselineFailures / baselineTotal : 0);
+      double errorPValue = StatisticalTests.proportionGreater(result.getFailedRequests(), currentTotal,
+        baselineFailures, baselineTotal);
+
+      boolean slower = (medianPValue < alpha && medianChange > tolerance)
+        || (p99PValue < alpha && p99Change > tailTolerance);
+      boolean lessReliable = errorPValue < alpha && errorRateChange > errorTolerance;
+      report = new Report(scenario, environment, commit, slower || lessReliable ? Verdict.REGRESSION : Verdict.PASS,
+        baselineRuns.size(), baselineSamples, current.getTotalCount(), medianPValue, medianChange, p99PValue,
+        p99Change, errorPValue, errorRateChange);
+    }
+
+    store.append(BaselineRecord.of(scenario, commit, environment, result, report.isRegression()));
+    log.info("Baseline comparison: {}", report.getSummary());
+    return report;
+  }
+
+  // Arithmetic mean of the baseline runs' statistic, the reference for the reported change
+  private static double mean(double[] values) {
+    double sum = 0;
+    for (double value : values) {
+      sum += value;
+    }
+    return sum / values.length;
+  }
+
+  private static double relativeChange(long current, double baseline) {
+    return baseline > 0 ? (current - baseline) / baseline : 0;
+  }
+
+  public enum Verdict {
+    NO_BASELINE,
+    PASS,
+    REGRESSION
+  }
+
+  @Value
+  public static class Report {
+    String scenario;
+    String environment;
+    String commit;
+    Verdict verdict;
+    int baselineRuns;
+    long baselineSamples;
+    long currentSamples;
+    double medianPValue;
+    double medianChange;
+    double p99PValue;
+    double p99Change;
+    double errorPValue;
+    double errorRateChange;
+
+    // Without a baseline nothing was compared, so every p-value is 1 and every change 0
+    public static Report noBaseline(String scenario, String environment, long currentSamples) {
+      return noBaseline(scenario, environment, null, 0, 0, currentSamples);
+    }
+
+    static Report noBaseline(String scenario, String environment, String commit, int baselineRuns,
+                             long baselineSamples, long currentSamples) {
+      return new Report(scenario, environment, commit, Verdict.NO_BASELINE, baselineRuns, baselineSamples,
+        currentSamples, 1.0, 0, 1.0, 0, 1.0, 0);
+    }
+
+    public boolean isRegression() {
+      return verdict == Verdict.REGRESSION;
+    }
+
+    public String getSummary() {
+      if (verdict == Verdict.NO_BASELINE) {
+        return String.format("%s [%s]: no usable baseline yet (%d runs, %d samples), recorded as new baseline",
+          scenario, environment, baselineRuns, baselineSamples);
+      }
+      return String.format("%s [%s]: %s - median %+.1f%% (p=%.4f), p99 %+.1f%% (p=%.4f), error rate %+.2f pp"
+          + " (p=%.4f) vs %d baseline runs / %d samples",
+        scenario, environment, verdict, medianChange * 100, medianPValue, p99Change * 100, p99PValue,
+        errorRateChange * 100, errorPValue, baselineRuns, baselineSamples);
+    }
+  }
+}
@@ -0,0 +1,326 @@
+package com.bookstore.performance;
+
+import com.bookstore.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only binary journal of every request in a run, for soak tests too
+ * long to keep per-request results on the heap. Each record is a request
+ * start time, operation id, latency, status and size; records are stored
+ * in a memory-mapped file in blocks of {@value #RECORDS_PER_BLOCK}, column
+ * by column within each block. Writers are striped by thread, like
+ * {@link com.bookstore.metrics.MetricsRegistry}'s histograms: each stripe
+ * owns a block and hands out slots with one atomic increment, and a full
+ * block is swapped for a fresh one with a compare-and-set, so recording
+ * never takes a lock. Block headers and the operation names are written
+ * on {@link #close()}; read the file back with {@link ResultJournalReader}.
+ */
+@Slf4j
+public final class ResultJournal implements AutoCloseable {
+  static final long MAGIC = 0x424B4A524E4C3031L; // "BKJRNL01"
+  static final int VERSION = 1;
+  static final int RECORDS_PER_BLOCK = 8192;
+  static final int HEADER_BYTES = 64;
+  static final int BLOCK_HEADER_BYTES = 8;
+  // Column offsets within a block
+  static final int START_COLUMN = BLOCK_HEADER_BYTES;
+  static final int LATENCY_COLUMN = START_COLUMN + RECORDS_PER_BLOCK * Long.BYTES;
+  static final int SIZE_COLUMN = LATENCY_COLUMN + RECORDS_PER_BLOCK * Long.BYTES;
+  static final int OPERATION_COLUMN = SIZE_COLUMN + RECORDS_PER_BLOCK * Integer.BYTES;
+  static final int STATUS_COLUMN = OPERATION_COLUMN + RECORDS_PER_BLOCK * Short.BYTES;
+  static final int BLOCK_BYTES = STATUS_COLUMN + RECORDS_PER_BLOCK * Short.BYTES;
+  // Blocks are mapped a segment (about 12 MB) at a time
+  static final int BLOCKS_PER_SEGMENT = 64;
+  static final long SEGMENT_BYTES = (long) BLOCKS_PER_SEGMENT * BLOCK_BYTES;
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  // Header fields
+  static final int HEADER_MAGIC = 0;
+  static final int HEADER_VERSION = 8;
+  static final int HEADER_RECORDS_PER_BLOCK = 12;
+  static final int HEADER_START_EPOCH_MILLIS = 16;
+  static final int HEADER_BLOCK_COUNT = 24;
+  static final int HEADER_RECORD_COUNT = 32;
+  static final int HEADER_OPERATIONS_OFFSET = 40;
+
+  private static final int MAX_SEGMENTS = 1 << 14;
+  private static final int STRIPES = Math.min(16,
+    Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+  private static ResultJournal configured;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final long startEpochMillis = System.currentTimeMillis();
+  private final long startNanos = System.nanoTime();
+  private final AtomicReferenceArray<MappedByteBuffer> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+  private final AtomicReferenceArray<Block> stripes = new AtomicReferenceArray<>(STRIPES);
+  // A block that lost the race to replace a full one, kept for the next swap
+  private final AtomicReference<Block> spare = new AtomicReference<>();
+  private final AtomicLong nextBlock = new AtomicLong();
+  private final LongAdder records = new LongAdder();
+  private final ConcurrentHashMap<String, Integer> operationIds = new ConcurrentHashMap<>();
+  private final List<String> operations = new CopyOnWriteArrayList<>();
+  private volatile boolean closed;
+
+  private ResultJournal(Path file, FileChannel channel) {
+    this.file = file;
+    this.channel = channel;
+  }
+
+  // Replaces any existing file
+  public static ResultJournal create(Path file) {
+    return open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  /**
+   * The run's journal when perf.journal.dir is set, created on first use
+   * and closed by {@link #closeConfigured()} or at JVM shutdown; null
+   * when journaling is off. The file is named after the start time and
+   * the process id, so JVMs sharing the directory, such as distributed
+   * load workers, each write their own, and it is never opened over an
+   * existing one.
+   */
+  public static synchronized ResultJournal getConfigured() {
+    String directory = ApiConfig.getInstance().getPerfJournalDir();
+    if (configured == null && directory != null && !directory.isBlank()) {
+      String name = "requests-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+        + "-" + ProcessHandle.current().pid() + ".journal";
+      configured = open(Paths.get(directory, name), StandardOpenOption.CREATE_NEW);
+      Runtime.getRuntime().addShutdownHook(new Thread(ResultJournal::closeConfigured, "result-journal-close"));
+      log.info("Journaling every request to {}", configured.getFile());
+    }
+    return configured;
+  }
+
+  private static ResultJournal open(Path file, StandardOpenOption... createOptions) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Set<StandardOpenOption> options = EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE);
+      options.addAll(Arrays.asList(createOptions));
+      return new ResultJournal(file, FileChannel.open(file, options));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to create result journal " + file, e);
+    }
+  }
+
+  // Returns the closed journal's file, or null when none was open
+  public static synchronized Path closeConfigured() {
+    if (configured == null || configured.closed) {
+      return null;
+    }
+    configured.close();
+    log.info("Result journal closed: {} requests in {}", configured.getRecordCount(), configured.getFile());
+    return configured.getFile();
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  public long getStartNanos() {
+    return startNanos;
+  }
+
+  // Ids are assigned in first-use order and stay stable for the life of the journal
+  public int operationId(String operation) {
+    Integer id = operationIds.get(operation);
+    if (id == null) {
+      id = operationIds.computeIfAbsent(operation, name -> {
+        if (operations.size() > Short.MAX_VALUE) {
+          throw new IllegalStateException("Result journal supports at most " + (Short.MAX_VALUE + 1) + " operations");
+        }
+        operations.add(name);
+        return operations.size() - 1;
+      });
+    }
+    return id;
+  }
+
+  public void record(String operation, long requestStartNanos, long latencyNanos, int status, long bytes) {
+    record(operationId(operation), requestStartNanos, latencyNanos, status, bytes);
+  }
+
+  /**
+   * Appends one request. Status is the HTTP status, or 0 when the request
+   * failed without a response; bytes is the response size, -1 if unknown.
+   * Records arriving after {@link #close()} are dropped.
+   */
+  public void record(int operation, long requestStartNanos, long latencyNanos, int status, long bytes) {
+    if (closed) {
+      return;
+    }
+    int stripe = stripeIndex();
+    while (true) {
+      Block block = stripes.get(stripe);
+      if (block != null) {
+        int slot = block.cursor.getAndIncrement();
+        if (slot < RECORDS_PER_BLOCK) {
+          block.write(slot, requestStartNanos - startNanos, latencyNanos, (int) Math.min(bytes, Integer.MAX_VALUE),
+            (short) operation, (short) status);
+          records.increment();
+          return;
+        }
+        if (slot == RECORDS_PER_BLOCK) {
+          block.writeCount(RECORDS_PER_BLOCK);
+        }
+      }
+      Block replacement = spare.getAndSet(null);
+      if (replacement == null) {
+        replacement = newBlock();
+      }
+      // If another spare got there first this block stays empty; readers skip it by its zero count
+      if (!stripes.compareAndSet(stripe, block, replacement)) {
+        spare.compareAndSet(null, replacement);
+      }
+    }
+  }
+
+  public long getRecordCount() {
+    return records.sum();
+  }
+
+  /**
+   * Writes the partial blocks' counts, the operation names and the header.
+   * Call once recording has stopped; a record still being written
+   * concurrently may be lost. The file is not trimmed, since the mapped
+   * segments may outlive the channel; readers go by the header instead.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (int i = 0; i < STRIPES; i++) {
+      Block block = stripes.get(i);
+      if (block != null) {
+        block.writeCount(Math.min(block.cursor.get(), RECORDS_PER_BLOCK));
+      }
+    }
+    long blocks = nextBlock.get();
+    long operationsOffset = HEADER_BYTES + blocks * BLOCK_BYTES;
+
+    try {
+      for (int i = 0; i < MAX_SEGMENTS && segments.get(i) != null; i++) {
+        segments.get(i).force();
+      }
+      writeFully(encodeOperations(), operationsOffset);
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(BYTE_ORDER);
+      header.putLong(HEADER_MAGIC, MAGIC)
+        .putInt(HEADER_VERSION, VERSION)
+        .putInt(HEADER_RECORDS_PER_BLOCK, RECORDS_PER_BLOCK)
+        .putLong(HEADER_START_EPOCH_MILLIS, startEpochMillis)
+        .putLong(HEADER_BLOCK_COUNT, blocks)
+        .putLong(HEADER_RECORD_COUNT, records.sum())
+        .putLong(HEADER_OPERATIONS_OFFSET, operationsOffset);
+      writeFully(header, 0);
+      channel.force(true);
+      channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to close result journal " + file, e);
+    }
+  }
+
+  private ByteBuffer encodeOperations() {
+    List<String> names = List.copyOf(operations);
+    int length = Integer.BYTES;
+    byte[][] encoded = new byte[names.size()][];
+    for (int i = 0; i < names.size(); i++) {
+      encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+      length += Integer.BYTES + encoded[i].length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(BYTE_ORDER);
+    buffer.putInt(names.size());
+    for (byte[] name : encoded) {
+      buffer.putInt(name.length).put(name);
+    }
+    return buffer.flip();
+  }
+
+  private void writeFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private Block newBlock() {
+    long index = nextBlock.getAndIncrement();
+    return new Block(segment((int) (index / BLOCKS_PER_SEGMENT)), (int) (index % BLOCKS_PER_SEGMENT) * BLOCK_BYTES);
+  }
+
+  // Mapped on first use; if two threads race, the loser's mapping is simply dropped
+  private MappedByteBuffer segment(int index) {
+    if (index >= MAX_SEGMENTS) {
+      throw new IllegalStateException("Result journal " + file + " is full");
+    }
+    MappedByteBuffer segment = segments.get(index);
+    if (segment == null) {
+      try {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + index * SEGMENT_BYTES,
+          SEGMENT_BYTES);
+        mapped.order(BYTE_ORDER);
+        segments.compareAndSet(index, null, mapped);
+        segment = segments.get(index);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to map result journal " + file, e);
+      }
+    }
+    return segment;
+  }
+
+  private static int stripeIndex() {
+    long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return (int) (hash >>> 32) & (STRIPES - 1);
+  }
+
+  // Slots are claimed before they are written, so concurrent writers never touch the same bytes
+  private static final class Block {
+    private final ByteBuffer segment;
+    private final int base;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    Block(ByteBuffer segment, int base) {
+      this.segment = segment;
+      this.base = base;
+    }
+
+    void write(int slot, long startOffsetNanos, long latencyNanos, int bytes, short operation, short status) {
+      segment.putLong(base + START_COLUMN + slot * Long.BYTES, startOffsetNanos);
+      segment.putLong(base + LATENCY_COLUMN + slot * Long.BYTES, latencyNanos);
+      segment.putInt(base + SIZE_COLUMN + slot * Integer.BYTES, bytes);
+      segment.putShort(base + OPERATION_COLUMN + slot * Short.BYTES, operation);
+      segment.putShort(base + STATUS_COLUMN + slot * Short.BYTES, status);
+    }
+
+    void writeCount(int count) {
+      segment.putInt(base, count);
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package com.bookstore.performance;
+
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Value;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.bookstore.performance.ResultJournal.*;
+
+/**
+ * Reads a closed {@link ResultJournal} block by block, so summaries and
+ * exports of runs far larger than the heap need only one block's columns
+ * in memory at a time.
+ */
+public final class ResultJournalReader implements AutoCloseable {
+  private final Path file;
+  private final FileChannel channel;
+  private final long startEpochMillis;
+  private final long blockCount;
+  private final long recordCount;
+  private final long operationsOffset;
+  private final List<String> operations;
+
+  private ResultJournalReader(Path file, FileChannel channel) throws IOException {
+    this.file = file;
+    this.channel = channel;
+    ByteBuffer header = read(0, HEADER_BYTES);
+    if (header.getLong(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != VERSION) {
+      throw new IllegalArgumentException(file + " is not a result journal, or was not closed");
+    }
+    if (header.getInt(HEADER_RECORDS_PER_BLOCK) != RECORDS_PER_BLOCK) {
+      throw new IllegalArgumentException("Unsupported block size in " + file);
+    }
+    this.startEpochMillis = header.getLong(HEADER_START_EPOCH_MILLIS);
+    this.blockCount = header.getLong(HEADER_BLOCK_COUNT);
+    this.recordCount = header.getLong(HEADER_RECORD_COUNT);
+    this.operationsOffset = header.getLong(HEADER_OPERATIONS_OFFSET);
+    this.operations = readOperations();
+  }
+
+  public static ResultJournalReader open(Path file) {
+    try {
+      return new ResultJournalReader(file, FileChannel.open(file, StandardOpenOption.READ));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to open result journal " + file, e);
+    }
+  }
+
+  public long getStartEpochMillis() {
+    return startEpochMillis;
+  }
+
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  // Operation names, indexed by the ids stored in the records
+  public List<String> getOperations() {
+    return operations;
+  }
+
+  /**
+   * Visits every record, block by block. Records of one block are in the
+   * order they were recorded by their stripe; across blocks they are only
+   * roughly in time order.
+   */
+  public void forEach(RecordVisitor visitor) {
+    long[] starts = new long[RECORDS_PER_BLOCK];
+    long[] latencies = new long[RECORDS_PER_BLOCK];
+    int[] sizes = new int[RECORDS_PER_BLOCK];
+    short[] operationIds = new short[RECORDS_PER_BLOCK];
+    short[] statuses = new short[RECORDS_PER_BLOCK];
+    MappedByteBuffer segment = null;
+    long segmentIndex = -1;
+
+    try {
+      for (long block = 0; block < blockCount; block++) {
+        if (block / BLOCKS_PER_SEGMENT != segmentIndex) {
+          segmentIndex = block / BLOCKS_PER_SEGMENT;
+          long position = HEADER_BYTES + segmentIndex * SEGMENT_BYTES;
+          segment = channel.map(FileChannel.MapMode.READ_ONLY, position,
+            Math.min(SEGMENT_BYTES, operationsOffset - position));
+          segment.order(BYTE_ORDER);
+        }
+        int base = (int) (block % BLOCKS_PER_SEGMENT) * BLOCK_BYTES;
+        int count = segment.getInt(base);
+        column(segment, base + START_COLUMN).asLongBuffer().get(starts, 0, count);
+        column(segment, base + LATENCY_COLUMN).asLongBuffer().get(latencies, 0, count);
+        column(segment, base + SIZE_COLUMN).asIntBuffer().get(sizes, 0, count);
+        column(segment, base + OPERATION_COLUMN).asShortBuffer().get(operationIds, 0, count);
+        column(segment, base + STATUS_COLUMN).asShortBuffer().get(statuses, 0, count);
+        for (int i = 0; i < count; i++) {
+          visitor.visit(starts[i], operationIds[i], latencies[i], statuses[i], sizes[i]);
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read result journal " + file, e);
+    }
+  }
+
+  // Per-operation and overall results; 2xx responses count as successes
+  public Summary summarize() {
+    int operationCount = operations.size();
+    LatencyHistogram[] histograms = new LatencyHistogram[operationCount];
+    long[] successes = new long[operationCount];
+    long[] failures = new long[operationCount];
+    long[] firstStart = new long[operationCount];
+    long[] lastEnd = new long[operationCount];
+    long[] bytes = new long[1];
+    // Completions by second since the journal was created
+    ThroughputSeries[] series = new ThroughputSeries[operationCount];
+    for (int i = 0; i < operationCount; i++) {
+      series[i] = new ThroughputSeries(0);
+      histograms[i] = new LatencyHistogram();
+      firstStart[i] = Long.MAX_VALUE;
+      lastEnd[i] = Long.MIN_VALUE;
+    }
+
+    forEach((startOffsetNanos, operation, latencyNanos, status, size) -> {
+      histograms[operation].recordNanos(latencyNanos);
+      series[operation].record(startOffsetNanos + latencyNanos);
+      if (status >= 200 && status < 300) {
+        successes[operation]++;
+      } else {
+        failures[operation]++;
+      }
+      firstStart[operation] = Math.min(firstStart[operation], startOffsetNanos);
+      lastEnd[operation] = Math.max(lastEnd[operation], startOffsetNanos + latencyNanos);
+      if (size > 0) {
+        bytes[0] += size;
+      }
+    });
+
+    Map<String, PerformanceResult> byOperation = new LinkedHashMap<>();
+    LatencyHistogram combined = new LatencyHistogram();
+    long totalSuccesses = 0;
+    long totalFailures = 0;
+    ThroughputSeries combinedSeries = new ThroughputSeries(0);
+    long runStart = Long.MAX_VALUE;
+    long runEnd = Long.MIN_VALUE;
+    for (int i = 0; i < operationCount; i++) {
+      if (successes[i] + failures[i] == 0) {
+        continue;
+      }
+      byOperation.put(operations.get(i), result(histograms[i], successes[i], failures[i], series[i],
+        firstStart[i], lastEnd[i]));
+      combined.merge(histograms[i]);
+      combinedSeries.add(series[i]);
+      totalSuccesses += successes[i];
+      totalFailures += failures[i];
+      runStart = Math.min(runStart, firstStart[i]);
+      runEnd = Math.max(runEnd, lastEnd[i]);
+    }
+    PerformanceResult overall = runEnd > runStart
+      ? result(combined, totalSuccesses, totalFailures, combinedSeries, runStart, runEnd)
+      : result(combined, totalSuccesses, totalFailures, combinedSeries, 0, 0);
+    return new Summary(overall, Collections.unmodifiableMap(byOperation), bytes[0]);
+  }
+
+  // Throughput is over the span from the first request's start to the last one's end
+  private static PerformanceResult result(LatencyHistogram histogram, long successes, long failures,
+                                          ThroughputSeries series, long startNanos, long endNanos) {
+    PerformanceResult result = new PerformanceResult(histogram, (int) Math.min(successes, Integer.MAX_VALUE),
+      (int) Math.min(failures, Integer.MAX_VALUE));
+    result.setThroughputSeries(PerformanceUtils.summarizeThroughput(series, startNanos, endNanos));
+    result.setTotalExecutionTime(TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos));
+    return result;
+  }
+
+  /**
+   * Writes every record as CSV: request start (epoch ms), operation,
+   * latency (ms), status and response bytes. Returns the number of rows.
+   */
+  public long exportCsv(Path target) {
+    long[] rows = new long[1];
+    try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+      writer.write("timestamp_ms,operation,latency_ms,status,bytes\n");
+      StringBuilder row = new StringBuilder(128);
+      forEach((startOffsetNanos, operation, latencyNanos, status, size) -> {
+        row.setLength(0);
+        row.append(startEpochMillis + startOffsetNanos / 1_000_000).append(',')
+          .append(csvField(operations.get(operation))).append(',')
+          .append(latencyNanos / 1_000_000).append('.').append(pad3(latencyNanos / 1000 % 1000)).append(',')
+          .append(status).append(',')
+          .append(size).append('\n');
+        try {
+          writer.append(row);
+        } catch (IOException e) {
+          throw new RuntimeException("Failed to write " + target, e);
+        }
+        rows[0]++;
+      });
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to write " + target, e);
+    }
+    return rows[0];
+  }
+
+  private static String pad3(long value) {
+    return value < 10 ? "00" + value : value < 100 ? "0" + value : Long.toString(value);
+  }
+
+  private static String csvField(String value) {
+    return value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ? '"' + value.replace("\"", "\"\"") + '"' : value;
+  }
+
+  private static ByteBuffer column(ByteBuffer segment, int offset) {
+    return segment.duplicate().position(offset).order(BYTE_ORDER);
+  }
+
+  private List<String> readOperations() throws IOException {
+    int count = read(operationsOffset, Integer.BYTES).getInt(0);
+    List<String> names = new ArrayList<>(count);
+    long position = operationsOffset + Integer.BYTES;
+    for (int i = 0; i < count; i++) {
+      int length = read(position, Integer.BYTES).getInt(0);
+      byte[] name = new byte[length];
+      read(position + Integer.BYTES, length).get(name);
+      names.add(new String(name, StandardCharsets.UTF_8));
+      position += Integer.BYTES + length;
+    }
+    return Collections.unmodifiableList(names);
+  }
+
+  private ByteBuffer read(long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(BYTE_ORDER);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IllegalArgumentException(file + " is truncated");
+      }
+    }
+    return buffer.flip();
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to close result journal " + file, e);
+    }
+  }
+
+  @FunctionalInterface
+  public interface RecordVisitor {
+    // Start is in nanoseconds since the journal was created; status 0 means no response
+    void visit(long startOffsetNanos, int operation, long latencyNanos, int status, int bytes);
+  }
+
+  @Value
+  public static class Summary {
+    PerformanceResult overall;
+    Map<String, PerformanceResult> operations;
+    long totalBytes;
+  }
+}
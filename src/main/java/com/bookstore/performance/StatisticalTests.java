@@ -0,0 +1,138 @@
+package com.bookstore.performance;
+
+// Hypothesis tests used to compare a run against its baseline
+public final class StatisticalTests {
+
+  private StatisticalTests() {
+  }
+
+  /**
+   * One-sided test that {@code current} is larger than the values seen in
+   * previous runs. Each baseline value is one run's statistic (e.g. its
+   * median), so the spread between runs, not the number of requests in them,
+   * decides what counts as unusual. Uses a Student's t prediction interval on
+   * log values, as latencies vary multiplicatively. Needs at least two
+   * baseline runs; returns the p-value.
+   */
+  public static double runGreater(double current, double[] baselineRuns) {
+    int n = baselineRuns.length;
+    if (n < 2 || current <= 0) {
+      return 1.0;
+    }
+
+    double mean = 0;
+    for (double value : baselineRuns) {
+      mean += Math.log(Math.max(value, 1));
+    }
+    mean /= n;
+    double squares = 0;
+    for (double value : baselineRuns) {
+      double deviation = Math.log(Math.max(value, 1)) - mean;
+      squares += deviation * deviation;
+    }
+    double standardDeviation = Math.sqrt(squares / (n - 1));
+
+    double difference = Math.log(current) - mean;
+    if (standardDeviation == 0) {
+      return difference > 0 ? 0.0 : 1.0;
+    }
+    double t = difference / (standardDeviation * Math.sqrt(1 + 1.0 / n));
+    return studentTGreater(t, n - 1);
+  }
+
+  // One-sided two-proportion z-test that the current failure rate is higher than the baseline's
+  public static double proportionGreater(long currentFailures, long currentTotal,
+                                         long baselineFailures, long baselineTotal) {
+    if (currentTotal == 0 || baselineTotal == 0) {
+      return 1.0;
+    }
+    double p1 = (double) currentFailures / currentTotal;
+    double p2 = (double) baselineFailures / baselineTotal;
+    double pooled = (double) (currentFailures + baselineFailures) / (currentTotal + baselineTotal);
+    double standardError = Math.sqrt(pooled * (1 - pooled) * (1.0 / currentTotal + 1.0 / baselineTotal));
+    if (standardError == 0) {
+      return p1 > p2 ? 0.0 : 1.0;
+    }
+    return 1.0 - normalCdf((p1 - p2) / standardError);
+  }
+
+  // P(T > t) for Student's t distribution with the given degrees of freedom
+  public static double studentTGreater(double t, int degreesOfFreedom) {
+    double tail = 0.5 * regularizedIncompleteBeta(degreesOfFreedom / (degreesOfFreedom + t * t),
+      degreesOfFreedom / 2.0, 0.5);
+    return t >= 0 ? tail : 1 - tail;
+  }
+
+  public static double normalCdf(double z) {
+    return 0.5 * (1 + erf(z / Math.sqrt(2)));
+  }
+
+  // Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7
+  private static double erf(double x) {
+    double t = 1 / (1 + 0.3275911 * Math.abs(x));
+    double polynomial = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027
+      + t * 1.061405429))));
+    double result = 1 - polynomial * Math.exp(-x * x);
+    return x >= 0 ? result : -result;
+  }
+
+  // I_x(a, b) by its continued fraction (Numerical Recipes 6.4), using the symmetry for faster convergence
+  private static double regularizedIncompleteBeta(double x, double a, double b) {
+    if (x <= 0) {
+      return 0;
+    }
+    if (x >= 1) {
+      return 1;
+    }
+    double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+    if (x < (a + 1) / (a + b + 2)) {
+      return front * betaContinuedFraction(x, a, b) / a;
+    }
+    return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+  }
+
+  private static double betaContinuedFraction(double x, double a, double b) {
+    double tiny = 1e-300;
+    double c = 1;
+    double d = 1 - (a + b) * x / (a + 1);
+    d = 1 / (Math.abs(d) < tiny ? tiny : d);
+    double result = d;
+    for (int m = 1; m <= 200; m++) {
+      int m2 = 2 * m;
+      double even = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+      d = 1 / nonZero(1 + even * d, tiny);
+      c = nonZero(1 + even / c, tiny);
+      result *= d * c;
+      double odd = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+      d = 1 / nonZero(1 + odd * d, tiny);
+      c = nonZero(1 + odd / c, tiny);
+      double step = d * c;
+      result *= step;
+      if (Math.abs(step - 1) < 1e-12) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private static double nonZero(double value, double tiny) {
+    return Math.abs(value) < tiny ? tiny : value;
+  }
+
+  // Lanczos approximation (g = 7, n = 9), accurate to about 15 significant digits
+  private static double logGamma(double x) {
+    double[] coefficients = {0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+      -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+      1.5056327351493116e-7};
+    if (x < 0.5) {
+      return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+    }
+    x -= 1;
+    double sum = coefficients[0];
+    for (int i = 1; i < coefficients.length; i++) {
+      sum += coefficients[i] / (x + i);
+    }
+    double t = x + 7.5;
+    return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+  }
+}
@@ -0,0 +1,161 @@
+package com.bookstore.performance;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Completed requests per one-second bucket of wall-clock time, counted from
+ * the series' origin. Recording is lock-free, so worker threads can record
+ * completions into a shared series directly. {@link #summarize} reports
+ * steady-state, peak and variance of the per-second rate over the whole
+ * seconds of a window, leaving out warm-up and cool-down seconds at
+ * either end.
+ */
+public class ThroughputSeries {
+  private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int CHUNK_SECONDS = 1024;
+  // About 12 days of buckets
+  private static final int MAX_CHUNKS = 1024;
+
+  private final long originNanos;
+  private final AtomicReferenceArray<AtomicLongArray> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+  public ThroughputSeries() {
+    this(System.nanoTime());
+  }
+
+  public ThroughputSeries(long originNanos) {
+    this.originNanos = originNanos;
+  }
+
+  public long getOriginNanos() {
+    return originNanos;
+  }
+
+  public void record() {
+    record(System.nanoTime());
+  }
+
+  // Completions before the origin count towards the first second, ones past the last bucket towards the last
+  public void record(long completedNanos) {
+    long second = Math.min(Math.max(0, (completedNanos - originNanos) / BUCKET_NANOS),
+      (long) MAX_CHUNKS * CHUNK_SECONDS - 1);
+    addCount(second, 1);
+  }
+
+  private void addCount(long second, long count) {
+    int chunkIndex = (int) (second / CHUNK_SECONDS);
+    AtomicLongArray chunk = chunks.get(chunkIndex);
+    if (chunk == null) {
+      chunks.compareAndSet(chunkIndex, null, new AtomicLongArray(CHUNK_SECONDS));
+      chunk = chunks.get(chunkIndex);
+    }
+    chunk.addAndGet((int) (second % CHUNK_SECONDS), count);
+  }
+
+  // Adds another series' counts, second for second; both must share the same origin
+  public void add(ThroughputSeries other) {
+    if (other.originNanos != originNanos) {
+      throw new IllegalArgumentException("Series have different origins");
+    }
+    for (int c = 0; c < MAX_CHUNKS; c++) {
+      AtomicLongArray source = other.chunks.get(c);
+      if (source == null) {
+        continue;
+      }
+      for (int s = 0; s < CHUNK_SECONDS; s++) {
+        long count = source.get(s);
+        if (count > 0) {
+          addCount((long) c * CHUNK_SECONDS + s, count);
+        }
+      }
+    }
+  }
+
+  public Summary summarize(long endNanos, int warmupSeconds, int cooldownSeconds) {
+    return summarize(originNanos, endNanos, warmupSeconds, cooldownSeconds);
+  }
+
+  /**
+   * Rates over the whole seconds between windowStart and windowEnd; the
+   * partial seconds at either end are left out, as are warm-up and
+   * cool-down seconds. A window too short to leave any steady-state
+   * seconds reports its overall rate, counting the partial seconds, as
+   * both steady state and peak.
+   */
+  public Summary summarize(long windowStartNanos, long windowEndNanos, int warmupSeconds, int cooldownSeconds) {
+    long firstSecond = Math.max(0, ceilDiv(windowStartNanos - originNanos, BUCKET_NANOS));
+    long endSecond = Math.max(firstSecond, Math.floorDiv(windowEndNanos - originNanos, BUCKET_NANOS));
+    long[] perSecond = new long[(int) (endSecond - firstSecond)];
+    for (int i = 0; i < perSecond.length; i++) {
+      perSecond[i] = count(firstSecond + i);
+    }
+
+    double seconds = (double) (windowEndNanos - windowStartNanos) / BUCKET_NANOS;
+    long total = 0;
+    for (long second = Math.max(0, Math.floorDiv(windowStartNanos - originNanos, BUCKET_NANOS));
+         second <= Math.floorDiv(windowEndNanos - originNanos, BUCKET_NANOS); second++) {
+      total += count(second);
+    }
+    return Summary.of(perSecond, warmupSeconds, cooldownSeconds, seconds > 0 ? total / seconds : 0);
+  }
+
+  private long count(long second) {
+    if (second >= (long) MAX_CHUNKS * CHUNK_SECONDS) {
+      return 0;
+    }
+    AtomicLongArray chunk = chunks.get((int) (second / CHUNK_SECONDS));
+    return chunk != null ? chunk.get((int) (second % CHUNK_SECONDS)) : 0;
+  }
+
+  private static long ceilDiv(long value, long divisor) {
+    return -Math.floorDiv(-value, divisor);
+  }
+
+  @Value
+  public static class Summary {
+    // Completed requests in each whole second of the window, warm-up and cool-down included
+    long[] perSecond;
+    int warmupSeconds;
+    int cooldownSeconds;
+    // Seconds the steady-state figures are taken over; 0 when the window was too short
+    int steadyStateSeconds;
+    double steadyStateThroughput;
+    double peakThroughput;
+    // Population variance of the steady-state per-second counts, in (requests/second)^2
+    double variance;
+
+    // overallRate stands in for steady state and peak when no seconds are left after warm-up and cool-down
+    public static Summary of(long[] perSecond, int warmupSeconds, int cooldownSeconds, double overallRate) {
+      int steadyFrom = Math.min(warmupSeconds, perSecond.length);
+      int steadyTo = Math.max(steadyFrom, perSecond.length - cooldownSeconds);
+      if (steadyTo == steadyFrom) {
+        return new Summary(perSecond, warmupSeconds, cooldownSeconds, 0, overallRate, overallRate, 0);
+      }
+      long[] steady = Arrays.copyOfRange(perSecond, steadyFrom, steadyTo);
+      double mean = Arrays.stream(steady).average().orElse(0);
+      double variance = Arrays.stream(steady).mapToDouble(count -> (count - mean) * (count - mean)).sum()
+        / steady.length;
+      long peak = Arrays.stream(steady).max().orElse(0);
+      return new Summary(perSecond, warmupSeconds, cooldownSeconds, steady.length, mean, peak, variance);
+    }
+
+    public double getStdDeviation() {
+      return Math.sqrt(variance);
+    }
+
+    // Series of runs that started together, e.g. separate generators driving one system
+    public Summary merge(Summary other) {
+      long[] combined = new long[Math.max(perSecond.length, other.perSecond.length)];
+      for (int i = 0; i < combined.length; i++) {
+        combined[i] = (i < perSecond.length ? perSecond[i] : 0) + (i < other.perSecond.length ? other.perSecond[i] : 0);
+      }
+      return of(combined, Math.max(warmupSeconds, other.warmupSeconds),
+        Math.max(cooldownSeconds, other.cooldownSeconds), steadyStateThroughput + other.steadyStateThroughput);
+    }
+  }
+}
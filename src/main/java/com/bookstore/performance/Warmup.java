@@ -0,0 +1,154 @@
+package com.bookstore.performance;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests sent before measurement starts, so class loading, connection and
+ * TLS setup, Jackson introspection and JIT compilation stay out of the
+ * measured samples. With a coefficient-of-variation threshold the warm-up
+ * runs until the latencies of the last {@code window} requests have settled
+ * below it (between {@code iterations} and {@code maxIterations} requests);
+ * with a threshold of 0 it is a fixed {@code iterations} requests.
+ */
+@Slf4j
+@Getter
+@Builder
+public class Warmup {
+  @Builder.Default
+  private final int iterations = 5;
+
+  @Builder.Default
+  private final int maxIterations = 100;
+
+  // Most recent requests the coefficient of variation is taken over
+  @Builder.Default
+  private final int window = 10;
+
+  // Standard deviation / mean of the window's latencies; 0 means a fixed number of iterations
+  @Builder.Default
+  private final double cvThreshold = 0.25;
+
+  public static Warmup fromConfig(ApiConfig config) {
+    return Warmup.builder()
+      .iterations(config.getPerfWarmupIterations())
+      .maxIterations(config.getPerfWarmupMaxIterations())
+      .window(config.getPerfWarmupWindow())
+      .cvThreshold(config.getPerfWarmupCvThreshold())
+      .build();
+  }
+
+  public static Warmup none() {
+    return Warmup.builder().iterations(0).cvThreshold(0).build();
+  }
+
+  public static Warmup fixed(int iterations) {
+    return Warmup.builder().iterations(iterations).cvThreshold(0).build();
+  }
+
+  public boolean isAdaptive() {
+    return cvThreshold > 0;
+  }
+
+  public Phase start() {
+    return new Phase(this);
+  }
+
+  /**
+   * One warm-up run. Workers call {@link #tryBegin()} before each request
+   * and {@link #record} after it until tryBegin returns false; warm-up
+   * samples go to their own histogram, never the measured one.
+   */
+  public static final class Phase {
+    private final Warmup warmup;
+    private final int limit;
+    private final long[] recent;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+    private int begun;
+    private int completed;
+    private int successes;
+    private boolean stable;
+    private double cv = Double.NaN;
+
+    private Phase(Warmup warmup) {
+      this.warmup = warmup;
+      this.limit = warmup.isAdaptive() ? Math.max(warmup.maxIterations, warmup.iterations) : warmup.iterations;
+      this.recent = new long[Math.max(2, warmup.window)];
+    }
+
+    // Sends warm-up requests until the phase is over; several workers may run it at once
+    public void run(Callable<Boolean> operation) {
+      while (tryBegin()) {
+        long startTime = System.nanoTime();
+        boolean success;
+        try {
+          success = operation.call();
+        } catch (Exception e) {
+          log.warn("Warm-up request failed: {}", e.getMessage());
+          success = false;
+        }
+        record(System.nanoTime() - startTime, success);
+      }
+    }
+
+    // Claims one more warm-up request, or returns false once warm-up is over
+    public synchronized boolean tryBegin() {
+      if (stable || begun >= limit) {
+        return false;
+      }
+      begun++;
+      return true;
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+      histogram.recordNanos(latencyNanos);
+      recent[completed % recent.length] = latencyNanos;
+      completed++;
+      if (success) {
+        successes++;
+      }
+      if (completed >= recent.length) {
+        cv = coefficientOfVariation(recent);
+        stable = warmup.isAdaptive() && completed >= warmup.iterations && cv < warmup.cvThreshold;
+      }
+    }
+
+    public synchronized Result finish() {
+      PerformanceResult result = new PerformanceResult(histogram, successes, completed - successes);
+      result.setTotalExecutionTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+      return new Result(completed, warmup.isAdaptive(), stable, cv, result);
+    }
+
+    private static double coefficientOfVariation(long[] samples) {
+      double mean = 0;
+      for (long sample : samples) {
+        mean += sample;
+      }
+      mean /= samples.length;
+      double variance = 0;
+      for (long sample : samples) {
+        variance += (sample - mean) * (sample - mean);
+      }
+      return mean > 0 ? Math.sqrt(variance / samples.length) / mean : 0;
+    }
+  }
+
+  @Value
+  public static class Result {
+    int iterations;
+    boolean adaptive;
+    // False when a fixed warm-up ran, or an adaptive one hit maxIterations without settling
+    boolean stable;
+    // Over the last window when warm-up ended; NaN if fewer requests than the window ran
+    double coefficientOfVariation;
+    PerformanceResult result;
+  }
+}
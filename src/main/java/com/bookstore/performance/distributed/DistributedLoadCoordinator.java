@@ -0,0 +1,281 @@
+package com.bookstore.performance.distributed;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.distributed.WorkerProtocol.Assignment;
+import com.bookstore.performance.distributed.WorkerProtocol.OperationSnapshot;
+import com.bookstore.performance.distributed.WorkerProtocol.Report;
+import com.bookstore.performance.distributed.WorkerProtocol.ReportType;
+import com.bookstore.performance.scenario.ScenarioResult;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a scenario across several {@link LoadWorker} JVMs when one JVM would
+ * saturate its own CPU or sockets before the system under test. Worker i
+ * sends arrivals i, i + n, i + 2n, ... of the scenario's schedule, so the
+ * workers together send the same requests a single run would, starting at a
+ * shared wall-clock instant. Workers stream cumulative latency histograms
+ * while running and their full results at the end; the coordinator merges
+ * those into one {@link ScenarioResult} and checks the SLAs on the merged
+ * figures.
+ *
+ * <p>Local workers are started as child processes with the coordinator's
+ * classpath and API settings. Remote ones connect on their own, see
+ * {@link LoadWorker}.
+ */
+@Slf4j
+@Getter
+@Builder
+public class DistributedLoadCoordinator {
+  // Forwarded to local workers so they target the same API with the same settings.
+  // That includes perf.journal.dir: journal files are named per process, so each worker writes its own.
+  private static final String[] FORWARDED_PROPERTY_PREFIXES = {"api.", "perf.", "stub.", "test.data."};
+
+  // Classpath resource, see ScenarioLoader#fromResource
+  private final String scenario;
+
+  @Builder.Default
+  private final int workers = 2;
+
+  // 0 picks a free port
+  @Builder.Default
+  private final int port = 0;
+
+  // Start workers as child JVMs; when false, workers are expected to connect on their own
+  @Builder.Default
+  private final boolean launchLocalWorkers = true;
+
+  // Local workers' stdout and stderr go to load-worker-<i>.log here; sharing the parent's would
+  // interleave with its output, which under surefire corrupts the channel to the forked test JVM
+  @Builder.Default
+  private final Path workerLogDir = Paths.get("target", "logs");
+
+  @Builder.Default
+  private final Duration connectTimeout = Duration.ofSeconds(60);
+
+  // Time between accepting the last worker and the shared start, for assignments to arrive
+  @Builder.Default
+  private final Duration startDelay = Duration.ofSeconds(1);
+
+  @Builder.Default
+  private final Duration progressInterval = Duration.ofSeconds(1);
+
+  // How long after the start to wait for every worker's result
+  @Builder.Default
+  private final Duration resultTimeout = Duration.ofMinutes(30);
+
+  public ScenarioResult run() {
+    List<Process> processes = new ArrayList<>();
+    List<Socket> sockets = new ArrayList<>();
+    ExecutorService readers = Executors.newFixedThreadPool(workers, runnable -> {
+      Thread thread = new Thread(runnable, "load-coordinator-reader");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    // Local workers connect over loopback; only remote ones need the port open on every interface
+    try (ServerSocket server = launchLocalWorkers
+      ? new ServerSocket(port, 0, InetAddress.getLoopbackAddress()) : new ServerSocket(port)) {
+      log.info("Coordinating {} across {} workers on port {}", scenario, workers, server.getLocalPort());
+      if (launchLocalWorkers) {
+        for (int i = 0; i < workers; i++) {
+          processes.add(launchWorker(i, server.getLocalPort()));
+        }
+      }
+      server.setSoTimeout((int) connectTimeout.toMillis());
+      for (int i = 0; i < workers; i++) {
+        try {
+          sockets.add(server.accept());
+        } catch (SocketTimeoutException e) {
+          throw new RuntimeException(sockets.size() + " of " + workers + " workers connected within "
+            + connectTimeout, e);
+        }
+      }
+
+      long startEpochMillis = System.currentTimeMillis() + startDelay.toMillis();
+      Map<Integer, LatencyHistogram> progress = new ConcurrentHashMap<>();
+      List<CompletableFuture<Report>> results = new ArrayList<>();
+      for (int slice = 0; slice < workers; slice++) {
+        Socket socket = sockets.get(slice);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        WorkerProtocol.write(writer, Assignment.builder()
+          .scenario(scenario)
+          .slice(slice)
+          .slices(workers)
+          .startEpochMillis(startEpochMillis)
+          .progressIntervalMillis(progressInterval.toMillis())
+          .build());
+        int worker = slice;
+        results.add(CompletableFuture.supplyAsync(() -> readResult(socket, worker, progress), readers));
+      }
+
+      CompletableFuture<Void> all = CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]));
+      long deadline = startEpochMillis + resultTimeout.toMillis();
+      while (!all.isDone()) {
+        if (System.currentTimeMillis() > deadline) {
+          throw new RuntimeException("Workers did not finish within " + resultTimeout);
+        }
+        try {
+          all.get(progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+          logProgress(progress);
+        }
+      }
+
+      List<Report> reports = new ArrayList<>();
+      for (CompletableFuture<Report> result : results) {
+        reports.add(result.join());
+      }
+      ScenarioResult merged = merge(reports);
+      log.info("Distributed scenario {} completed across {} workers:\n{}", scenario, workers, merged.toReport());
+      return merged;
+    } catch (IOException e) {
+      throw new RuntimeException("Distributed run of " + scenario + " failed", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while coordinating " + scenario, e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Distributed run of " + scenario + " failed: " + e.getCause().getMessage(),
+        e.getCause());
+    } finally {
+      sockets.forEach(DistributedLoadCoordinator::closeQuietly);
+      readers.shutdownNow();
+      processes.forEach(DistributedLoadCoordinator::awaitExit);
+    }
+  }
+
+  // Reads progress until the worker's result; any other ending fails the run
+  private static Report readResult(Socket socket, int worker, Map<Integer, LatencyHistogram> progress) {
+    try {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+        StandardCharsets.UTF_8));
+      Report report;
+      while ((report = WorkerProtocol.read(reader, Report.class)) != null) {
+        if (report.getType() == ReportType.PROGRESS) {
+          progress.put(worker, LatencyHistogram.decode(report.getHistogram()));
+        } else if (report.getType() == ReportType.RESULT) {
+          return report;
+        } else {
+          throw new IllegalStateException("Worker " + (worker + 1) + " failed: " + report.getError());
+        }
+      }
+      throw new IllegalStateException("Worker " + (worker + 1) + " disconnected before reporting a result");
+    } catch (IOException e) {
+      throw new RuntimeException("Lost connection to worker " + (worker + 1), e);
+    }
+  }
+
+  private void logProgress(Map<Integer, LatencyHistogram> progress) {
+    LatencyHistogram combined = new LatencyHistogram();
+    progress.values().forEach(combined::merge);
+    log.info("Distributed progress: {} of {} workers reporting, {} requests completed, p99 {} ms", progress.size(),
+      workers, combined.getTotalCount(), String.format("%.1f", combined.getPercentileMicros(99.0) / 1000.0));
+  }
+
+  // Overall and per-operation results merged across workers; SLAs are checked on the merged figures
+  static ScenarioResult merge(List<Report> reports) {
+    PerformanceResult overall = null;
+    Map<String, PerformanceResult> byOperation = new LinkedHashMap<>();
+    Map<String, OperationSnapshot> definitions = new LinkedHashMap<>();
+    for (Report report : reports) {
+      PerformanceResult result = report.getOverall().toResult();
+      overall = overall == null ? result : overall.merge(result);
+      for (OperationSnapshot operation : report.getOperations()) {
+        definitions.putIfAbsent(operation.getName(), operation);
+        byOperation.merge(operation.getName(), operation.getResult().toResult(), PerformanceResult::merge);
+      }
+    }
+
+    Map<String, ScenarioResult.OperationResult> operations = new LinkedHashMap<>();
+    byOperation.forEach((name, result) -> {
+      OperationSnapshot definition = definitions.get(name);
+      List<String> violations = definition.getSla() != null ? definition.getSla().check(name, result) : List.of();
+      operations.put(name, new ScenarioResult.OperationResult(name, definition.getShare(), result, violations));
+    });
+    Report first = reports.get(0);
+    return new ScenarioResult(first.getScenario(), first.getSeed(), overall, operations);
+  }
+
+  private Process launchWorker(int worker, int coordinatorPort) throws IOException {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (isForwarded(name)) {
+        command.add("-D" + name + "=" + System.getProperty(name));
+      }
+    }
+    // The coordinator's base URL may have been set at runtime, e.g. to the embedded stub server
+    command.add("-Dapi.base.url=" + ApiConfig.getInstance().getBaseUrl());
+    command.add(LoadWorker.class.getName());
+    command.add(InetAddress.getLoopbackAddress().getHostAddress());
+    command.add(Integer.toString(coordinatorPort));
+    Files.createDirectories(workerLogDir);
+    Path logFile = workerLogDir.resolve("load-worker-" + worker + ".log");
+    log.info("Starting local worker {}, output in {}", worker, logFile);
+    return new ProcessBuilder(command)
+      .redirectErrorStream(true)
+      .redirectOutput(logFile.toFile())
+      .start();
+  }
+
+  private static boolean isForwarded(String name) {
+    for (String prefix : FORWARDED_PROPERTY_PREFIXES) {
+      if (name.startsWith(prefix) && !name.equals("api.base.url")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void awaitExit(Process process) {
+    try {
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        log.warn("Worker process {} did not exit, stopping it", process.pid());
+        process.destroyForcibly();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      process.destroyForcibly();
+    }
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      log.debug("Failed to close worker connection: {}", e.getMessage());
+    }
+  }
+}
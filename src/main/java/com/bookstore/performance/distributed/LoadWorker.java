@@ -0,0 +1,145 @@
+package com.bookstore.performance.distributed;
+
+import com.bookstore.clients.AuthorApiClient;
+import com.bookstore.clients.BookApiClient;
+import com.bookstore.config.RunMode;
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.distributed.WorkerProtocol.Assignment;
+import com.bookstore.performance.distributed.WorkerProtocol.OperationSnapshot;
+import com.bookstore.performance.distributed.WorkerProtocol.Report;
+import com.bookstore.performance.distributed.WorkerProtocol.ReportType;
+import com.bookstore.performance.distributed.WorkerProtocol.ResultSnapshot;
+import com.bookstore.performance.scenario.BookstoreActions;
+import com.bookstore.performance.scenario.LoadScenario;
+import com.bookstore.performance.scenario.ScenarioLoader;
+import com.bookstore.performance.scenario.ScenarioResult;
+import com.bookstore.performance.scenario.ScenarioRunner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One load-generating JVM of a distributed run. Connects to the coordinator,
+ * receives its slice of a scenario, runs it against the configured API and
+ * streams its latency histogram back until the slice is done. Started by
+ * {@link DistributedLoadCoordinator} for local workers, or by hand on other
+ * machines:
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.bookstore.performance.distributed.LoadWorker &lt;coordinator host&gt; &lt;port&gt;
+ * </pre>
+ */
+@Slf4j
+public final class LoadWorker {
+
+  private LoadWorker() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: LoadWorker <coordinator host> <port>");
+      System.exit(2);
+    }
+    boolean completed;
+    try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+      completed = run(socket);
+    }
+    // Client connection pools would otherwise keep the JVM alive
+    System.exit(completed ? 0 : 1);
+  }
+
+  // False when the slice failed; the coordinator has been sent the error
+  static boolean run(Socket socket) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    Assignment assignment = WorkerProtocol.read(reader, Assignment.class);
+    if (assignment == null) {
+      throw new IOException("Coordinator closed the connection before assigning work");
+    }
+
+    try {
+      LoadScenario scenario = ScenarioLoader.fromResource(assignment.getScenario(),
+        BookstoreActions.catalog(new BookApiClient(RunMode.LOAD), new AuthorApiClient(RunMode.LOAD)));
+      log.info("Worker {} of {} running {} from {}", assignment.getSlice() + 1, assignment.getSlices(),
+        scenario.getName(), Instant.ofEpochMilli(assignment.getStartEpochMillis()));
+      sleepUntil(assignment.getStartEpochMillis());
+
+      LatencyHistogram progress = new LatencyHistogram();
+      ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-worker-progress");
+        thread.setDaemon(true);
+        return thread;
+      });
+      reporter.scheduleAtFixedRate(() -> send(writer, Report.builder()
+          .type(ReportType.PROGRESS)
+          .slice(assignment.getSlice())
+          .histogram(progress.copy().encode())
+          .build()),
+        assignment.getProgressIntervalMillis(), assignment.getProgressIntervalMillis(), TimeUnit.MILLISECONDS);
+
+      ScenarioResult result;
+      try {
+        result = ScenarioRunner.run(scenario, assignment.getSlice(), assignment.getSlices(), progress);
+      } finally {
+        reporter.shutdownNow();
+      }
+
+      List<OperationSnapshot> operations = result.getOperations().values().stream()
+        .map(operation -> new OperationSnapshot(operation.getName(), operation.getShare(),
+          scenario.getOperations().stream()
+            .filter(definition -> definition.getName().equals(operation.getName()))
+            .findFirst().orElseThrow().getSla(),
+          ResultSnapshot.of(operation.getResult())))
+        .collect(Collectors.toList());
+      WorkerProtocol.write(writer, Report.builder()
+        .type(ReportType.RESULT)
+        .slice(assignment.getSlice())
+        .scenario(scenario.getName())
+        .seed(scenario.getSeed())
+        .overall(ResultSnapshot.of(result.getOverall()))
+        .operations(operations)
+        .build());
+      return true;
+    } catch (RuntimeException e) {
+      log.error("Worker {} failed: {}", assignment.getSlice() + 1, e.getMessage(), e);
+      WorkerProtocol.write(writer, Report.builder()
+        .type(ReportType.ERROR)
+        .slice(assignment.getSlice())
+        .error(e.toString())
+        .build());
+      return false;
+    }
+  }
+
+  private static void send(Writer writer, Report report) {
+    try {
+      WorkerProtocol.write(writer, report);
+    } catch (IOException e) {
+      log.warn("Failed to send progress: {}", e.getMessage());
+    }
+  }
+
+  private static void sleepUntil(long epochMillis) {
+    long remaining;
+    while ((remaining = epochMillis - System.currentTimeMillis()) > 0) {
+      try {
+        Thread.sleep(remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for the run to start", e);
+      }
+    }
+  }
+}
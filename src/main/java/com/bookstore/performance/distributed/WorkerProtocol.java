@@ -0,0 +1,134 @@
+package com.bookstore.performance.distributed;
+
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.ThroughputSeries;
+import com.bookstore.performance.scenario.OperationSla;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Messages between a {@link DistributedLoadCoordinator} and its
+ * {@link LoadWorker}s: one JSON object per line over a plain TCP connection.
+ * Histograms travel in their compact encoded form, see
+ * {@link LatencyHistogram#encode}.
+ */
+public final class WorkerProtocol {
+
+  private WorkerProtocol() {
+  }
+
+  public static void write(Writer writer, Object message) throws IOException {
+    synchronized (writer) {
+      // Compact, so every message is exactly one line
+      writer.write(new String(JsonUtils.toJsonBytes(message), StandardCharsets.UTF_8));
+      writer.write('\n');
+      writer.flush();
+    }
+  }
+
+  // Null once the other side has closed the connection
+  public static <T> T read(BufferedReader reader, Class<T> type) throws IOException {
+    String line = reader.readLine();
+    return line != null ? JsonUtils.fromJson(line, type) : null;
+  }
+
+  // Coordinator to worker: what to run, and when
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Assignment {
+    private String scenario; // classpath resource, see ScenarioLoader#fromResource
+    private int slice;
+    private int slices;
+    // Wall-clock start shared by every worker, so their per-second series line up
+    private long startEpochMillis;
+    private long progressIntervalMillis;
+  }
+
+  public enum ReportType {
+    PROGRESS, RESULT, ERROR
+  }
+
+  // Worker to coordinator: cumulative progress while running, then the final result or an error
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Report {
+    private ReportType type;
+    private int slice;
+    private String scenario;
+    private long seed;
+    // PROGRESS: every completion so far, measured from intended start
+    private String histogram;
+    // RESULT
+    private ResultSnapshot overall;
+    private List<OperationSnapshot> operations;
+    // ERROR
+    private String error;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class OperationSnapshot {
+    private String name;
+    private double share;
+    private OperationSla sla;
+    private ResultSnapshot result;
+  }
+
+  // The parts of a PerformanceResult that merge across workers
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class ResultSnapshot {
+    private String histogram;
+    private int successfulRequests;
+    private int failedRequests;
+    private int droppedRequests;
+    private int lateRequests;
+    private long totalExecutionTime;
+    private long[] throughputPerSecond;
+    private int warmupSeconds;
+    private int cooldownSeconds;
+
+    public static ResultSnapshot of(PerformanceResult result) {
+      ThroughputSeries.Summary series = result.getThroughputSeries();
+      return new ResultSnapshot(result.getLatencyHistogram().encode(), result.getSuccessfulRequests(),
+        result.getFailedRequests(), result.getDroppedRequests(), result.getLateRequests(),
+        result.getTotalExecutionTime(), series != null ? series.getPerSecond() : null,
+        series != null ? series.getWarmupSeconds() : 0, series != null ? series.getCooldownSeconds() : 0);
+    }
+
+    public PerformanceResult toResult() {
+      PerformanceResult result = new PerformanceResult(LatencyHistogram.decode(histogram), successfulRequests,
+        failedRequests);
+      if (throughputPerSecond != null) {
+        double overallRate = totalExecutionTime > 0 ? result.getTotalRequests() / (totalExecutionTime / 1000.0) : 0;
+        result.setThroughputSeries(ThroughputSeries.Summary.of(throughputPerSecond, warmupSeconds, cooldownSeconds,
+          overallRate));
+      }
+      result.setTotalExecutionTime(totalExecutionTime);
+      result.setDroppedRequests(droppedRequests);
+      result.setLateRequests(lateRequests);
+      return result;
+    }
+  }
+}
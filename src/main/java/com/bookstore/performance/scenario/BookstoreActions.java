@@ -0,0 +1,59 @@
+package com.bookstore.performance.scenario;
+
+import com.bookstore.clients.AuthorApiClient;
+import com.bookstore.clients.BookApiClient;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.utils.RequestTemplate;
+import com.bookstore.utils.SyntheticDataGenerator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named actions over the Books and Authors clients that scenario definitions
+ * refer to. Ids are drawn from the ranges seeded by the FakeRestAPI (and the
+ * stub server's defaults), using the arrival's random source. Created and
+ * updated entities come from the same source, so a scenario seed replays
+ * the exact payloads too. Bodies are sent pre-serialized: creates use the
+ * generator's JSON, updates patch the book's id and title into a template.
+ */
+public final class BookstoreActions {
+  private static final int SEEDED_BOOKS = 200;
+  private static final int SEEDED_AUTHORS = 600;
+  // Fixed seed: the arrival's random source already varies the payloads
+  private static final SyntheticDataGenerator DATA = SyntheticDataGenerator.withSeed(0);
+  private static final RequestTemplate BOOK_UPDATE = RequestTemplate.compile(DATA.book(0), "id", "title");
+
+  private BookstoreActions() {
+  }
+
+  public static Map<String, ScenarioAction> catalog(BookApiClient books, AuthorApiClient authors) {
+    Map<String, ScenarioAction> actions = new LinkedHashMap<>();
+    actions.put("books.list", random -> books.getAllBooks().isSuccess());
+    actions.put("books.get", random -> books.getBookById(random.nextInt(1, SEEDED_BOOKS + 1)).isSuccess());
+    actions.put("books.create", random -> books.createBook(DATA.bookJson(random.nextLong())).isSuccess());
+    actions.put("books.update", random -> {
+      int id = random.nextInt(1, SEEDED_BOOKS + 1);
+      byte[] body = BOOK_UPDATE.fill().set("id", id).set("title", DATA.book(random).getTitle()).toBytes();
+      return books.updateBook(id, body).isSuccess();
+    });
+    actions.put("books.delete", random -> books.deleteBook(random.nextInt(1, SEEDED_BOOKS + 1)).isSuccess());
+    actions.put("authors.list", random -> authors.getAllAuthors().isSuccess());
+    // A 404 is an answer, not a failure, as in the original concurrent Authors test
+    actions.put("authors.get", random -> foundOrMissing(authors.getAuthorById(random.nextInt(1, SEEDED_AUTHORS + 1))));
+    // Every seeded book has authors, so an empty answer is as wrong as an error
+    actions.put("authors.byBook", random -> {
+      try {
+        return !authors.getAuthorsByBookId(random.nextInt(1, SEEDED_BOOKS + 1)).isEmpty();
+      } catch (RuntimeException e) {
+        return false;
+      }
+    });
+    actions.put("authors.create", random -> authors.createAuthor(DATA.authorJson(random.nextLong())).isSuccess());
+    return actions;
+  }
+
+  private static boolean foundOrMissing(ApiResponse<?> response) {
+    return response.isSuccess() || response.getStatusCode() == 404;
+  }
+}
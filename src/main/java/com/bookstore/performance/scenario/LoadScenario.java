@@ -0,0 +1,84 @@
+package com.bookstore.performance.scenario;
+
+import com.bookstore.performance.LoadProfile;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A reusable load test: an arrival-rate {@link LoadProfile} and a weighted mix
+ * of operations. Every arrival draws its operation, think time and request data
+ * from a random source derived from the seed and its index, so the same seed
+ * replays the same mix regardless of how workers interleave.
+ */
+@Getter
+public class LoadScenario {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final String name;
+  private final long seed;
+  private final LoadProfile profile;
+  private final int maxConcurrency;
+  private final int queueCapacity;
+  private final ThinkTime thinkTime;
+  private final List<ScenarioOperation> operations;
+  private final double[] cumulativeWeights;
+
+  @Builder
+  private LoadScenario(String name, Long seed, LoadProfile profile, Integer maxConcurrency, Integer queueCapacity,
+                       ThinkTime thinkTime, @Singular List<ScenarioOperation> operations) {
+    if (profile == null) {
+      throw new IllegalArgumentException("Scenario " + name + " needs a load profile");
+    }
+    if (operations.isEmpty()) {
+      throw new IllegalArgumentException("Scenario " + name + " needs at least one operation");
+    }
+    this.name = name;
+    this.seed = seed != null ? seed : System.nanoTime();
+    this.profile = profile;
+    this.maxConcurrency = maxConcurrency != null ? maxConcurrency : 10;
+    this.queueCapacity = queueCapacity != null ? queueCapacity : this.maxConcurrency;
+    this.thinkTime = thinkTime != null ? thinkTime : ThinkTime.none();
+    this.operations = operations;
+
+    cumulativeWeights = new double[operations.size()];
+    double total = 0;
+    for (int i = 0; i < operations.size(); i++) {
+      ScenarioOperation operation = operations.get(i);
+      if (operation.getAction() == null || !(operation.getWeight() > 0)) {
+        throw new IllegalArgumentException("Operation " + operation.getName() + " needs an action and a positive weight");
+      }
+      total += operation.getWeight();
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  public SplittableRandom randomFor(long arrival) {
+    return new SplittableRandom(seed ^ (arrival * GOLDEN_GAMMA));
+  }
+
+  public ScenarioOperation pickOperation(SplittableRandom random) {
+    return operations.get(pickIndex(random));
+  }
+
+  int pickIndex(SplittableRandom random) {
+    double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+    for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+      if (point < cumulativeWeights[i]) {
+        return i;
+      }
+    }
+    return cumulativeWeights.length - 1;
+  }
+
+  public ThinkTime thinkTimeOf(ScenarioOperation operation) {
+    return operation.getThinkTime() != null ? operation.getThinkTime() : thinkTime;
+  }
+
+  public double shareOf(ScenarioOperation operation) {
+    return operation.getWeight() / cumulativeWeights[cumulativeWeights.length - 1];
+  }
+}
@@ -0,0 +1,40 @@
+package com.bookstore.performance.scenario;
+
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service level objectives for a single operation. Unset limits are not checked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationSla {
+  private Double maxP50Millis;
+  private Double maxP99Millis;
+  private Double minSuccessRate; // percent
+
+  public List<String> check(String operation, PerformanceResult result) {
+    List<String> violations = new ArrayList<>();
+    if (maxP50Millis != null && result.getP50ResponseTime() > maxP50Millis) {
+      violations.add(String.format("%s: p50 %.1f ms exceeds %.1f ms", operation, result.getP50ResponseTime(),
+        maxP50Millis));
+    }
+    if (maxP99Millis != null && result.getP99ResponseTime() > maxP99Millis) {
+      violations.add(String.format("%s: p99 %.1f ms exceeds %.1f ms", operation, result.getP99ResponseTime(),
+        maxP99Millis));
+    }
+    if (minSuccessRate != null && result.getSuccessRate() < minSuccessRate) {
+      violations.add(String.format("%s: success rate %.2f%% below %.2f%%", operation, result.getSuccessRate(),
+        minSuccessRate));
+    }
+    return violations;
+  }
+}
@@ -0,0 +1,12 @@
+package com.bookstore.performance.scenario;
+
+import java.util.SplittableRandom;
+
+/**
+ * One request a scenario can issue. The random source is seeded per arrival,
+ * so choices such as which id to fetch are reproducible for a given seed.
+ */
+@FunctionalInterface
+public interface ScenarioAction {
+  boolean execute(SplittableRandom random) throws Exception;
+}
@@ -0,0 +1,121 @@
+package com.bookstore.performance.scenario;
+
+import com.bookstore.performance.LoadProfile;
+import com.bookstore.utils.JsonUtils;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link LoadScenario} from a JSON definition on the classpath, e.g.
+ * {@code scenarios/books-sustained-mixed.json}. Operations name their action
+ * in the supplied catalog, such as {@link BookstoreActions#catalog}.
+ */
+public final class ScenarioLoader {
+
+  private ScenarioLoader() {
+  }
+
+  public static LoadScenario fromResource(String resource, Map<String, ScenarioAction> actions) {
+    try (InputStream input = ScenarioLoader.class.getClassLoader().getResourceAsStream(resource)) {
+      if (input == null) {
+        throw new IllegalArgumentException("Scenario resource not found: " + resource);
+      }
+      return fromJson(input.readAllBytes(), actions);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read scenario " + resource, e);
+    }
+  }
+
+  public static LoadScenario fromJson(byte[] json, Map<String, ScenarioAction> actions) {
+    Definition definition = JsonUtils.fromJson(json, Definition.class);
+    LoadScenario.LoadScenarioBuilder builder = LoadScenario.builder()
+      .name(definition.getName())
+      .seed(definition.getSeed())
+      .maxConcurrency(definition.getMaxConcurrency())
+      .queueCapacity(definition.getQueueCapacity())
+      .thinkTime(definition.getThinkTime())
+      .profile(toProfile(definition));
+
+    for (OperationDefinition operation : definition.getOperations()) {
+      ScenarioAction action = actions.get(operation.getAction());
+      if (action == null) {
+        throw new IllegalArgumentException("Unknown action '" + operation.getAction() + "' in scenario "
+          + definition.getName() + ", available: " + actions.keySet());
+      }
+      builder.operation(ScenarioOperation.builder()
+        .name(operation.getName() != null ? operation.getName() : operation.getAction())
+        .action(action)
+        .weight(operation.getWeight())
+        .thinkTime(operation.getThinkTime())
+        .sla(operation.getSla())
+        .build());
+    }
+    return builder.build();
+  }
+
+  private static LoadProfile toProfile(Definition definition) {
+    LoadProfile.Builder profile = LoadProfile.builder();
+    for (StageDefinition stage : definition.getStages()) {
+      Duration duration = Duration.ofMillis((long) (stage.getSeconds() * 1000));
+      switch (stage.getType()) {
+        case "ramp":
+          profile.rampUp(duration, requireRate(stage));
+          break;
+        case "steady":
+          if (stage.getRate() != null) {
+            profile.hold(duration, stage.getRate());
+          } else {
+            profile.hold(duration);
+          }
+          break;
+        case "spike":
+          profile.spike(duration, requireRate(stage));
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown stage type '" + stage.getType() + "' in scenario "
+            + definition.getName() + ", expected ramp, steady or spike");
+      }
+    }
+    return profile.build();
+  }
+
+  private static double requireRate(StageDefinition stage) {
+    if (stage.getRate() == null) {
+      throw new IllegalArgumentException("A " + stage.getType() + " stage needs a rate");
+    }
+    return stage.getRate();
+  }
+
+  @Data
+  static class Definition {
+    private String name;
+    private Long seed;
+    private Integer maxConcurrency;
+    private Integer queueCapacity;
+    private ThinkTime thinkTime;
+    private List<StageDefinition> stages = new ArrayList<>();
+    private List<OperationDefinition> operations = new ArrayList<>();
+  }
+
+  @Data
+  static class StageDefinition {
+    private String type;
+    private double seconds;
+    private Double rate; // requests per second
+  }
+
+  @Data
+  static class OperationDefinition {
+    private String name;
+    private String action;
+    private double weight = 1;
+    private ThinkTime thinkTime;
+    private OperationSla sla;
+  }
+}
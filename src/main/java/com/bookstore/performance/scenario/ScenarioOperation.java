@@ -0,0 +1,23 @@
+package com.bookstore.performance.scenario;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A named action and its share of a scenario's traffic. Weights are relative:
+ * operations weighted 3 and 1 receive 75% and 25% of the arrivals.
+ */
+@Value
+@Builder
+public class ScenarioOperation {
+  String name;
+  ScenarioAction action;
+
+  @Builder.Default
+  double weight = 1;
+
+  // Overrides the scenario's think time when set
+  ThinkTime thinkTime;
+
+  OperationSla sla;
+}
@@ -0,0 +1,73 @@
+package com.bookstore.performance.scenario;
+
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a scenario run: the blended result across all operations plus a
+ * separate result, throughput and SLA verdict for every operation.
+ */
+@Getter
+public class ScenarioResult {
+  private final String scenario;
+  private final long seed;
+  private final PerformanceResult overall;
+  private final Map<String, OperationResult> operations;
+
+  public ScenarioResult(String scenario, long seed, PerformanceResult overall, Map<String, OperationResult> operations) {
+    this.scenario = scenario;
+    this.seed = seed;
+    this.overall = overall;
+    this.operations = Collections.unmodifiableMap(operations);
+  }
+
+  public OperationResult getOperation(String name) {
+    OperationResult result = operations.get(name);
+    if (result == null) {
+      throw new IllegalArgumentException("Scenario " + scenario + " has no operation " + name);
+    }
+    return result;
+  }
+
+  public List<String> getSlaViolations() {
+    List<String> violations = new ArrayList<>();
+    operations.values().forEach(operation -> violations.addAll(operation.getSlaViolations()));
+    return violations;
+  }
+
+  public boolean isSlaMet() {
+    return getSlaViolations().isEmpty();
+  }
+
+  public String toReport() {
+    StringBuilder report = new StringBuilder(String.format("Scenario: %s (seed %d)%n", scenario, seed));
+    report.append(String.format("%-24s %7s %9s %8s %9s %9s %9s %10s %10s %10s%n",
+      "Operation", "Share", "Requests", "Success", "p50 ms", "p99 ms", "Max ms", "Req/s", "Steady/s", "Peak/s"));
+    operations.values().forEach(operation -> report.append(row(operation.getName(),
+      String.format("%.1f%%", operation.getShare() * 100), operation.getResult())));
+    report.append(row("TOTAL", "100.0%", overall));
+    getSlaViolations().forEach(violation -> report.append("SLA violated - ").append(violation).append('\n'));
+    return report.toString();
+  }
+
+  private static String row(String name, String share, PerformanceResult result) {
+    return String.format("%-24s %7s %9d %7.2f%% %9.1f %9.1f %9d %10.2f %10.2f %10.2f%n", name, share,
+      result.getTotalRequests(), result.getSuccessRate(), result.getP50ResponseTime(), result.getP99ResponseTime(),
+      result.getMaxResponseTime(), result.getThroughput(), result.getSteadyStateThroughput(),
+      result.getPeakThroughput());
+  }
+
+  @Value
+  public static class OperationResult {
+    String name;
+    double share; // configured fraction of arrivals
+    PerformanceResult result;
+    List<String> slaViolations;
+  }
+}
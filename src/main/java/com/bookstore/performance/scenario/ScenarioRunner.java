@@ -0,0 +1,135 @@
+package com.bookstore.performance.scenario;
+
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.OpenLoopLoadGenerator;
+import com.bookstore.performance.ThroughputSeries;
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link LoadScenario} through the {@link OpenLoopLoadGenerator}.
+ * Each operation keeps its own histogram, measured from the arrival's intended
+ * start like the blended one, so a slow write can't hide behind fast reads.
+ */
+@Slf4j
+public final class ScenarioRunner {
+
+  private ScenarioRunner() {
+  }
+
+  public static ScenarioResult run(LoadScenario scenario) {
+    return run(scenario, 0, 1, null);
+  }
+
+  /**
+   * Runs one slice of the scenario's arrivals, every slices-th one starting
+   * at slice, as a worker of a distributed run does. Arrivals keep their
+   * index in the full schedule, so together the slices send exactly the
+   * requests of a single run. Every completion is also recorded into
+   * progress, when given, for reporting while the run is in flight.
+   */
+  public static ScenarioResult run(LoadScenario scenario, int slice, int slices, LatencyHistogram progress) {
+    List<ScenarioOperation> operations = scenario.getOperations();
+    int count = operations.size();
+    LatencyHistogram[] histograms = new LatencyHistogram[count];
+    LongAdder[] successes = new LongAdder[count];
+    LongAdder[] failures = new LongAdder[count];
+    ThroughputSeries[] series = new ThroughputSeries[count];
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      series[i] = new ThroughputSeries(startNanos);
+      histograms[i] = new LatencyHistogram();
+      successes[i] = new LongAdder();
+      failures[i] = new LongAdder();
+    }
+
+    log.info("Running scenario {} (seed {}, slice {} of {}): {} requests over {} across {} operations",
+      scenario.getName(), scenario.getSeed(), slice + 1, slices, scenario.getProfile().getExpectedArrivals() / slices,
+      scenario.getProfile().getTotalDuration(), count);
+
+    PerformanceResult generated = OpenLoopLoadGenerator.builder()
+      .profile(scenario.getProfile())
+      .maxConcurrency(scenario.getMaxConcurrency())
+      .queueCapacity(scenario.getQueueCapacity())
+      .slice(slice)
+      .slices(slices)
+      .build()
+      .run((index, intendedStartNanos) -> {
+        SplittableRandom random = scenario.randomFor(index);
+        int op = scenario.pickIndex(random);
+        ScenarioOperation operation = operations.get(op);
+
+        boolean success;
+        try {
+          success = operation.getAction().execute(random);
+        } catch (Exception e) {
+          log.warn("Operation {} failed: {}", operation.getName(), e.getMessage());
+          success = false;
+        }
+        long completedNanos = System.nanoTime();
+        histograms[op].recordNanos(completedNanos - intendedStartNanos);
+        if (progress != null) {
+          progress.recordNanos(completedNanos - intendedStartNanos);
+        }
+        series[op].record(completedNanos);
+        (success ? successes[op] : failures[op]).increment();
+
+        think(scenario.thinkTimeOf(operation).nextMillis(random));
+        return success;
+      });
+
+    long endNanos = System.nanoTime();
+    long executionMillis = generated.getTotalExecutionTime();
+    LatencyHistogram combined = new LatencyHistogram();
+    // The generator's own series counts tasks as they end, after the think time; completions are counted here
+    ThroughputSeries completions = new ThroughputSeries(startNanos);
+    Map<String, ScenarioResult.OperationResult> results = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      ScenarioOperation operation = operations.get(i);
+      PerformanceResult result = summarize(histograms[i], successes[i].intValue(), failures[i].intValue(),
+        PerformanceUtils.summarizeThroughput(series[i], endNanos), executionMillis);
+      List<String> violations = operation.getSla() != null
+        ? operation.getSla().check(operation.getName(), result) : List.of();
+      results.put(operation.getName(),
+        new ScenarioResult.OperationResult(operation.getName(), scenario.shareOf(operation), result, violations));
+      combined.merge(histograms[i]);
+      completions.add(series[i]);
+    }
+
+    PerformanceResult overall = summarize(combined, generated.getSuccessfulRequests(), generated.getFailedRequests(),
+      PerformanceUtils.summarizeThroughput(completions, endNanos), executionMillis);
+    overall.setDroppedRequests(generated.getDroppedRequests());
+    overall.setLateRequests(generated.getLateRequests());
+
+    ScenarioResult scenarioResult = new ScenarioResult(scenario.getName(), scenario.getSeed(), overall, results);
+    log.info("Scenario {} completed:\n{}", scenario.getName(), scenarioResult.toReport());
+    return scenarioResult;
+  }
+
+  // Throughput is completed requests over the run's wall-clock time
+  private static PerformanceResult summarize(LatencyHistogram histogram, int successes, int failures,
+                                             ThroughputSeries.Summary series, long executionMillis) {
+    PerformanceResult result = new PerformanceResult(histogram, successes, failures);
+    result.setThroughputSeries(series);
+    result.setTotalExecutionTime(executionMillis);
+    return result;
+  }
+
+  private static void think(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.bookstore.performance.scenario;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.SplittableRandom;
+
+/**
+ * Pause after a response, drawn uniformly between minMs and maxMs. The worker
+ * stays busy while a user "thinks", which lowers the capacity available to
+ * later arrivals, but the pause is never counted as latency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThinkTime {
+  private long minMs;
+  private long maxMs;
+
+  public static ThinkTime none() {
+    return new ThinkTime(0, 0);
+  }
+
+  public static ThinkTime between(long minMs, long maxMs) {
+    if (minMs < 0 || maxMs < minMs) {
+      throw new IllegalArgumentException("Think time needs 0 <= min <= max, got " + minMs + ".." + maxMs);
+    }
+    return new ThinkTime(minMs, maxMs);
+  }
+
+  long nextMillis(SplittableRandom random) {
+    return maxMs > minMs ? minMs + random.nextLong(maxMs - minMs + 1) : minMs;
+  }
+}
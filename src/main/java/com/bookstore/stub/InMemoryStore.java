@@ -0,0 +1,64 @@
+package com.bookstore.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Thread-safe id-keyed store backing one stub resource. Entries are kept in
+ * id order so list responses match the real API without sorting per request.
+ */
+class InMemoryStore<T> {
+  private final ConcurrentNavigableMap<Integer, T> entries = new ConcurrentSkipListMap<>();
+  private final AtomicInteger nextId = new AtomicInteger(1);
+  private final Function<T, Integer> idGetter;
+  private final BiConsumer<T, Integer> idSetter;
+
+  InMemoryStore(Function<T, Integer> idGetter, BiConsumer<T, Integer> idSetter) {
+    this.idGetter = idGetter;
+    this.idSetter = idSetter;
+  }
+
+  List<T> findAll() {
+    return new ArrayList<>(entries.values());
+  }
+
+  T find(int id) {
+    return entries.get(id);
+  }
+
+  // Keeps a positive unused id from the request, otherwise assigns the next free one
+  T create(T entry) {
+    Integer requestedId = idGetter.apply(entry);
+    if (requestedId != null && requestedId > 0 && entries.putIfAbsent(requestedId, entry) == null) {
+      nextId.accumulateAndGet(requestedId + 1, Math::max);
+      return entry;
+    }
+
+    int id;
+    do {
+      id = nextId.getAndIncrement();
+      idSetter.accept(entry, id);
+    } while (entries.putIfAbsent(id, entry) != null);
+    return entry;
+  }
+
+  // Returns the stored entry, or null when the id does not exist
+  T update(int id, T entry, BinaryOperator<T> merge) {
+    idSetter.accept(entry, id);
+    return entries.computeIfPresent(id, (key, existing) -> merge.apply(existing, entry));
+  }
+
+  boolean delete(int id) {
+    return entries.remove(id) != null;
+  }
+
+  int size() {
+    return entries.size();
+  }
+}
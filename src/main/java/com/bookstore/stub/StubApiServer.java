@@ -0,0 +1,333 @@
+package com.bookstore.stub;
+
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * In-process implementation of the FakeRestAPI Books/Authors CRUD contract on
+ * the JDK HTTP server, so suites can run offline against a predictable backend.
+ * Injected latency is applied by scheduling the response rather than sleeping
+ * in a handler thread, so slow responses don't cap the server's concurrency.
+ */
+@Slf4j
+public class StubApiServer {
+  private static final String BOOKS_PATH = "/api/v1/Books";
+  private static final String AUTHORS_PATH = "/api/v1/Authors";
+
+  private final StubServerConfig config;
+  private final InMemoryStore<Book> books = new InMemoryStore<>(Book::getId, Book::setId);
+  private final InMemoryStore<Author> authors = new InMemoryStore<>(Author::getId, Author::setId);
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder injectedErrors = new LongAdder();
+
+  private HttpServer server;
+  private ExecutorService handlerExecutor;
+  private ScheduledExecutorService responseScheduler;
+
+  public StubApiServer(StubServerConfig config) {
+    this.config = config;
+    seedData();
+  }
+
+  public synchronized void start() {
+    if (server != null) {
+      return;
+    }
+    // Headers and body are written separately; with Nagle on, delayed ACKs add ~40ms to every response.
+    // The JDK server reads this flag once, so it must be set before the first server is created.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()), 1024);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to start stub server on port " + config.getPort(), e);
+    }
+
+    handlerExecutor = Executors.newFixedThreadPool(config.getThreads(), daemonThreads("stub-server-handler"));
+    responseScheduler = Executors.newScheduledThreadPool(2, daemonThreads("stub-server-latency"));
+    server.setExecutor(handlerExecutor);
+    server.createContext(BOOKS_PATH,
+      exchange -> handle(exchange, BOOKS_PATH, books, Book.class, this::mergeBook, Book::isValid));
+    server.createContext(AUTHORS_PATH,
+      exchange -> handle(exchange, AUTHORS_PATH, authors, Author.class, this::mergeAuthor, Author::isValid));
+    server.start();
+
+    log.info("Stub API server started at {} - {} books, {} authors, latency {}+{}ms, error rate {}",
+      getBaseUrl(), books.size(), authors.size(), config.getLatencyMs(), config.getLatencyJitterMs(),
+      config.getErrorRate());
+  }
+
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    server.stop(0);
+    responseScheduler.shutdownNow();
+    handlerExecutor.shutdownNow();
+    server = null;
+    log.info("Stub API server stopped after {} requests ({} injected errors)", requests.sum(), injectedErrors.sum());
+  }
+
+  public boolean isRunning() {
+    return server != null;
+  }
+
+  public String getBaseUrl() {
+    return "http://localhost:" + getPort();
+  }
+
+  public int getPort() {
+    if (server == null) {
+      throw new IllegalStateException("Stub server is not running");
+    }
+    return server.getAddress().getPort();
+  }
+
+  public long getRequestCount() {
+    return requests.sum();
+  }
+
+  public long getInjectedErrorCount() {
+    return injectedErrors.sum();
+  }
+
+  private <T> void handle(HttpExchange exchange, String basePath, InMemoryStore<T> store, Class<T> type,
+                          BinaryOperator<T> merge, Predicate<T> validator) {
+    requests.increment();
+    StubResponse response;
+    try {
+      byte[] requestBody = exchange.getRequestBody().readAllBytes();
+      response = shouldInjectError() ? injectError()
+        : route(exchange.getRequestMethod(), exchange.getRequestURI().getPath().substring(basePath.length()),
+          requestBody, store, type, merge, validator);
+    } catch (Exception e) {
+      log.warn("Stub request {} {} failed: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+      response = problem(500, "Internal Server Error");
+    }
+    if (exchange.getRequestMethod().equals("GET") && response.status == 200) {
+      response = conditional(response, exchange.getRequestHeaders().getFirst("If-None-Match"));
+    }
+    respond(exchange, response);
+  }
+
+  private <T> StubResponse route(String method, String subPath, byte[] requestBody, InMemoryStore<T> store,
+                                 Class<T> type, BinaryOperator<T> merge, Predicate<T> validator) {
+    if (subPath.isEmpty() || subPath.equals("/")) {
+      switch (method) {
+        case "GET":
+          return json(200, store.findAll());
+        case "POST":
+          T entry = parse(requestBody, type);
+          return entry != null && validator.test(entry) ? json(200, store.create(entry)) : validationProblem();
+        default:
+          return problem(405, "Method Not Allowed");
+      }
+    }
+
+    if (!subPath.startsWith("/") || subPath.indexOf('/', 1) >= 0) {
+      return problem(404, "Not Found");
+    }
+    Integer id = parseId(subPath.substring(1));
+    if (id == null) {
+      return validationProblem();
+    }
+
+    switch (method) {
+      case "GET":
+        return found(store.find(id));
+      case "PUT":
+      case "PATCH":
+        T entry = parse(requestBody, type);
+        if (entry == null) {
+          return validationProblem();
+        }
+        return found(store.update(id, entry, method.equals("PUT") ? (existing, replacement) -> replacement : merge));
+      case "DELETE":
+        return store.delete(id) ? new StubResponse(200, null, new byte[0]) : problem(404, "Not Found");
+      default:
+        return problem(405, "Method Not Allowed");
+    }
+  }
+
+  private static <T> T parse(byte[] requestBody, Class<T> type) {
+    if (requestBody.length == 0) {
+      return null;
+    }
+    try {
+      return JsonUtils.fromJson(requestBody, type);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static Integer parseId(String value) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  // Strong ETag over the body, so clients can revalidate cached reads with If-None-Match
+  private static StubResponse conditional(StubResponse response, String ifNoneMatch) {
+    String etag = "\"" + Integer.toHexString(Arrays.hashCode(response.body)) + "\"";
+    if (etag.equals(ifNoneMatch)) {
+      return new StubResponse(304, null, new byte[0], etag);
+    }
+    return new StubResponse(response.status, response.contentType, response.body, etag);
+  }
+
+  private static StubResponse found(Object entry) {
+    return entry != null ? json(200, entry) : problem(404, "Not Found");
+  }
+
+  private static StubResponse json(int status, Object body) {
+    return new StubResponse(status, "application/json; charset=utf-8", JsonUtils.toJsonBytes(body));
+  }
+
+  private static StubResponse validationProblem() {
+    return problem(400, "One or more validation errors occurred.");
+  }
+
+  private boolean shouldInjectError() {
+    return config.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < config.getErrorRate();
+  }
+
+  private StubResponse injectError() {
+    injectedErrors.increment();
+    return problem(500, "Internal Server Error");
+  }
+
+  private void respond(HttpExchange exchange, StubResponse response) {
+    long delayMs = config.getLatencyMs()
+      + (config.getLatencyJitterMs() > 0 ? ThreadLocalRandom.current().nextLong(config.getLatencyJitterMs() + 1) : 0);
+    if (delayMs > 0) {
+      responseScheduler.schedule(() -> send(exchange, response), delayMs, TimeUnit.MILLISECONDS);
+    } else {
+      send(exchange, response);
+    }
+  }
+
+  private void send(HttpExchange exchange, StubResponse response) {
+    try (OutputStream body = exchange.getResponseBody()) {
+      if (response.body.length > 0) {
+        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+      }
+      if (response.etag != null) {
+        exchange.getResponseHeaders().set("ETag", response.etag);
+      }
+      exchange.sendResponseHeaders(response.status, response.body.length > 0 ? response.body.length : -1);
+      body.write(response.body);
+    } catch (IOException e) {
+      log.debug("Failed to write stub response: {}", e.getMessage());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private Book mergeBook(Book existing, Book patch) {
+    return Book.builder()
+      .id(existing.getId())
+      .title(patch.getTitle() != null ? patch.getTitle() : existing.getTitle())
+      .description(patch.getDescription() != null ? patch.getDescription() : existing.getDescription())
+      .pageCount(patch.getPageCount() != null ? patch.getPageCount() : existing.getPageCount())
+      .excerpt(patch.getExcerpt() != null ? patch.getExcerpt() : existing.getExcerpt())
+      .publishDate(patch.getPublishDate() != null ? patch.getPublishDate() : existing.getPublishDate())
+      .build();
+  }
+
+  private Author mergeAuthor(Author existing, Author patch) {
+    return Author.builder()
+      .id(existing.getId())
+      .idBook(patch.getIdBook() != null ? patch.getIdBook() : existing.getIdBook())
+      .firstName(patch.getFirstName() != null ? patch.getFirstName() : existing.getFirstName())
+      .lastName(patch.getLastName() != null ? patch.getLastName() : existing.getLastName())
+      .build();
+  }
+
+  private void seedData() {
+    String description = config.getPayloadBytes() > 0 ? "D".repeat(config.getPayloadBytes()) : null;
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    for (int i = 1; i <= config.getBooks(); i++) {
+      books.create(Book.builder()
+        .id(i)
+        .title("Book " + i)
+        .description(description != null ? description : "Description of book " + i)
+        .pageCount(i * 100)
+        .excerpt("Excerpt of book " + i)
+        .publishDate(today.minusDays(i) + "T00:00:00.000Z")
+        .build());
+    }
+    for (int i = 1; i <= config.getAuthors(); i++) {
+      authors.create(Author.builder()
+        .id(i)
+        .idBook(config.getBooks() > 0 ? (i - 1) % config.getBooks() + 1 : 0)
+        .firstName("First Name " + i)
+        .lastName("Last Name " + i)
+        .build());
+    }
+  }
+
+  // Same shape as the ASP.NET problem details returned by the real API
+  private static StubResponse problem(int status, String title) {
+    Map<String, Object> problem = new LinkedHashMap<>();
+    problem.put("type", "https://tools.ietf.org/html/rfc7231");
+    problem.put("title", title);
+    problem.put("status", status);
+    problem.put("traceId", UUID.randomUUID().toString());
+    return new StubResponse(status, "application/problem+json; charset=utf-8", JsonUtils.toJsonBytes(problem));
+  }
+
+  private static ThreadFactory daemonThreads(String namePrefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static final class StubResponse {
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+
+    StubResponse(int status, String contentType, byte[] body) {
+      this(status, contentType, body, null);
+    }
+
+    StubResponse(int status, String contentType, byte[] body, String etag) {
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body;
+      this.etag = etag;
+    }
+  }
+}
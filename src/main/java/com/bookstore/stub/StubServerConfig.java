@@ -0,0 +1,49 @@
+package com.bookstore.stub;
+
+import com.bookstore.config.ApiConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StubServerConfig {
+  // 0 binds a free ephemeral port
+  @Builder.Default
+  private final int port = 0;
+
+  // Every response is delayed by latencyMs plus a uniform random 0..latencyJitterMs
+  @Builder.Default
+  private final long latencyMs = 0;
+
+  @Builder.Default
+  private final long latencyJitterMs = 0;
+
+  // Fraction of requests (0.0 - 1.0) answered with 500 Internal Server Error
+  @Builder.Default
+  private final double errorRate = 0.0;
+
+  // Length of each seeded book's description, 0 keeps the default short text
+  @Builder.Default
+  private final int payloadBytes = 0;
+
+  @Builder.Default
+  private final int books = 200;
+
+  @Builder.Default
+  private final int authors = 600;
+
+  @Builder.Default
+  private final int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+  public static StubServerConfig fromApiConfig(ApiConfig config) {
+    return StubServerConfig.builder()
+      .port(config.getStubPort())
+      .latencyMs(config.getStubLatencyMs())
+      .latencyJitterMs(config.getStubLatencyJitterMs())
+      .errorRate(config.getStubErrorRate())
+      .payloadBytes(config.getStubPayloadBytes())
+      .books(config.getStubBooks())
+      .authors(config.getStubAuthors())
+      .build();
+  }
+}
@@ -2,6 +2,10 @@ package com.bookstore.utils;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 public class EnvironmentUtils {
 
@@ -28,6 +32,11 @@ public class EnvironmentUtils {
     return getEnvironmentVariable("ENVIRONMENT", "dev");
   }
 
+  // The local environment runs against the embedded stub server instead of a remote API
+  public static boolean isLocalEnvironment() {
+    return "local".equalsIgnoreCase(getCurrentEnvironment());
+  }
+
   public static boolean isHeadlessMode() {
     return "true".equalsIgnoreCase(getEnvironmentVariable("HEADLESS", "true"));
   }
@@ -39,4 +48,26 @@ public class EnvironmentUtils {
   public static long getDefaultTimeout() {
     return Long.parseLong(getEnvironmentVariable("DEFAULT_TIMEOUT", "30000"));
   }
-}
\ No newline at end of file
+
+  // Commit under test: CI-provided variables first, then the local git checkout
+  public static String getGitCommit() {
+    for (String key : new String[]{"GIT_COMMIT", "GITHUB_SHA", "CI_COMMIT_SHA"}) {
+      String commit = getEnvironmentVariable(key, null);
+      if (commit != null && !commit.trim().isEmpty()) {
+        return commit.trim();
+      }
+    }
+    try {
+      Process process = new ProcessBuilder("git", "rev-parse", "HEAD").redirectErrorStream(true).start();
+      String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+      if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0 && !output.isEmpty()) {
+        return output;
+      }
+    } catch (IOException e) {
+      log.debug("Unable to read git commit: {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "unknown";
+  }
+}
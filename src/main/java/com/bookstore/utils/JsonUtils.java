@@ -2,10 +2,22 @@ package com.bookstore.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 @Slf4j
 public class JsonUtils {
   private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -24,6 +36,62 @@ public class JsonUtils {
     }
   }
 
+  public static <T> T fromJson(byte[] json, Class<T> clazz) {
+    try {
+      return objectMapper.readValue(json, clazz);
+    } catch (IOException e) {
+      log.error("Failed to parse JSON to {}: {}", clazz.getSimpleName(), e.getMessage());
+      throw new RuntimeException("JSON parsing failed", e);
+    }
+  }
+
+  // Parses a JSON array straight from the stream into typed elements, without buffering the body
+  public static <T> List<T> fromJsonList(InputStream json, Class<T> elementType) {
+    try {
+      return objectMapper.readerForListOf(elementType).readValue(json);
+    } catch (IOException e) {
+      log.error("Failed to parse JSON array of {}: {}", elementType.getSimpleName(), e.getMessage());
+      throw new RuntimeException("JSON parsing failed", e);
+    }
+  }
+
+  // Lazily parses a JSON array, handing out elements as they are read; close the stream to release the input
+  public static <T> Stream<T> streamJsonArray(InputStream json, Class<T> elementType) {
+    try {
+      PushbackInputStream input = new PushbackInputStream(json, 1);
+      // readValues would hand out a lone object as a one-element stream, so anything but an array is rejected here
+      int first = firstNonWhitespace(input);
+      if (first != '[') {
+        input.close();
+        throw new IOException(first < 0 ? "Empty body where a JSON array was expected"
+          : "Expected a JSON array but the body starts with '" + (char) first + "'");
+      }
+      MappingIterator<T> iterator = objectMapper.readerFor(elementType).readValues(input);
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+        .onClose(() -> {
+          try {
+            iterator.close();
+          } catch (IOException e) {
+            log.warn("Failed to close JSON stream: {}", e.getMessage());
+          }
+        });
+    } catch (IOException e) {
+      log.error("Failed to open JSON array of {}: {}", elementType.getSimpleName(), e.getMessage());
+      throw new RuntimeException("JSON parsing failed", e);
+    }
+  }
+
+  private static int firstNonWhitespace(PushbackInputStream input) throws IOException {
+    int next;
+    do {
+      next = input.read();
+    } while (next == ' ' || next == '\t' || next == '\r' || next == '\n');
+    if (next >= 0) {
+      input.unread(next);
+    }
+    return next;
+  }
+
   public static <T> T fromJson(String json, TypeReference<T> typeReference) {
     try {
       return objectMapper.readValue(json, typeReference);
@@ -42,6 +110,25 @@ public class JsonUtils {
     }
   }
 
+  // Compact UTF-8 JSON for request bodies, skipping the indentation used for readable output
+  public static byte[] toJsonBytes(Object object) {
+    try {
+      return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(object);
+    } catch (JsonProcessingException e) {
+      log.error("Failed to convert object to JSON: {}", e.getMessage());
+      throw new RuntimeException("JSON serialization failed", e);
+    }
+  }
+
+  // Tree form of a POJO that serializes to a JSON object
+  public static ObjectNode toJsonTree(Object object) {
+    JsonNode tree = objectMapper.valueToTree(object);
+    if (!tree.isObject()) {
+      throw new IllegalArgumentException(object.getClass().getSimpleName() + " does not serialize to a JSON object");
+    }
+    return (ObjectNode) tree;
+  }
+
   public static String toPrettyJson(Object object) {
     try {
       return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(object);
@@ -1,15 +1,32 @@
 package com.bookstore.utils;
 
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.ThreadMode;
+import com.bookstore.performance.CapacityFinder;
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.LoadExecutors;
+import com.bookstore.performance.LoadProfile;
+import com.bookstore.performance.OpenLoopLoadGenerator;
+import com.bookstore.performance.RegressionGate;
+import com.bookstore.performance.ThroughputSeries;
+import com.bookstore.performance.Warmup;
+import com.bookstore.performance.distributed.DistributedLoadCoordinator;
+import com.bookstore.performance.scenario.LoadScenario;
+import com.bookstore.performance.scenario.ScenarioResult;
+import com.bookstore.performance.scenario.ScenarioRunner;
 import io.qameta.allure.Allure;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Slf4j
@@ -21,117 +38,281 @@ public class PerformanceUtils {
     private long averageResponseTime;
     private long minResponseTime;
     private long maxResponseTime;
+    private double p50ResponseTime;
+    private double p90ResponseTime;
+    private double p99ResponseTime;
+    private double p999ResponseTime;
     private int totalRequests;
     private int successfulRequests;
     private int failedRequests;
     private double successRate;
-    private double throughput; // requests per second
-    private List<Long> responseTimes;
-
-    public PerformanceResult(List<Long> responseTimes, List<Boolean> results) {
-      this.responseTimes = new ArrayList<>(responseTimes);
-      this.totalRequests = responseTimes.size();
-      this.successfulRequests = (int) results.stream().mapToInt(b -> b ? 1 : 0).sum();
-      this.failedRequests = totalRequests - successfulRequests;
+    private double throughput; // requests per second of wall-clock time, over the whole run
+    private double steadyStateThroughput; // mean requests per second, warm-up and cool-down left out
+    private double peakThroughput; // busiest steady-state second
+    private double throughputVariance; // of the steady-state per-second counts
+    private ThroughputSeries.Summary throughputSeries; // per-second counts; null when not measured
+    private int droppedRequests; // open-loop arrivals never sent because the generator was saturated
+    private int lateRequests; // open-loop requests sent later than their intended start time
+    private Warmup.Result warmup; // requests sent before measurement; not part of any other figure
+    private LatencyHistogram latencyHistogram;
+
+    public PerformanceResult(LatencyHistogram latencyHistogram, int successfulRequests, int failedRequests) {
+      this.latencyHistogram = latencyHistogram;
+      this.totalRequests = successfulRequests + failedRequests;
+      this.successfulRequests = successfulRequests;
+      this.failedRequests = failedRequests;
       this.successRate = totalRequests > 0 ? (double) successfulRequests / totalRequests * 100 : 0;
 
-      if (!responseTimes.isEmpty()) {
-        this.averageResponseTime = (long) responseTimes.stream().mapToLong(Long::longValue).average().orElse(0);
-        this.minResponseTime = responseTimes.stream().mapToLong(Long::longValue).min().orElse(0);
-        this.maxResponseTime = responseTimes.stream().mapToLong(Long::longValue).max().orElse(0);
-        this.totalExecutionTime = responseTimes.stream().mapToLong(Long::longValue).sum();
-        this.throughput = totalRequests > 0 && totalExecutionTime > 0 ?
-          (double) totalRequests / (totalExecutionTime / 1000.0) : 0;
+      if (latencyHistogram.getTotalCount() > 0) {
+        this.averageResponseTime = (long) (latencyHistogram.getMeanMicros() / 1000);
+        this.minResponseTime = latencyHistogram.getMinMicros() / 1000;
+        this.maxResponseTime = latencyHistogram.getMaxMicros() / 1000;
+        this.p50ResponseTime = getPercentile(50.0);
+        this.p90ResponseTime = getPercentile(90.0);
+        this.p99ResponseTime = getPercentile(99.0);
+        this.p999ResponseTime = getPercentile(99.9);
+      }
+    }
+
+    // Throughput follows the wall-clock time; summed response times would undercount concurrent requests
+    public void setTotalExecutionTime(long totalExecutionTime) {
+      this.totalExecutionTime = totalExecutionTime;
+      this.throughput = totalExecutionTime > 0 ? totalRequests / (totalExecutionTime / 1000.0) : 0;
+      if (throughputSeries == null) {
+        this.steadyStateThroughput = throughput;
+        this.peakThroughput = throughput;
+      }
+    }
+
+    public void setThroughputSeries(ThroughputSeries.Summary throughputSeries) {
+      this.throughputSeries = throughputSeries;
+      this.steadyStateThroughput = throughputSeries.getSteadyStateThroughput();
+      this.peakThroughput = throughputSeries.getPeakThroughput();
+      this.throughputVariance = throughputSeries.getVariance();
+    }
+
+    // Response time in milliseconds at the given percentile (0-100)
+    public double getPercentile(double percentile) {
+      return latencyHistogram.getPercentileMicros(percentile) / 1000.0;
+    }
+
+    public List<LatencyHistogram.Bucket> getLatencyDistribution() {
+      return latencyHistogram.getDistribution();
+    }
+
+    // Combines results recorded concurrently, e.g. by separate threads or generators
+    public PerformanceResult merge(PerformanceResult other) {
+      LatencyHistogram combined = latencyHistogram.copy();
+      combined.merge(other.latencyHistogram);
+
+      PerformanceResult merged = new PerformanceResult(combined,
+        successfulRequests + other.successfulRequests, failedRequests + other.failedRequests);
+      if (throughputSeries != null && other.throughputSeries != null) {
+        merged.setThroughputSeries(throughputSeries.merge(other.throughputSeries));
       }
+      merged.setTotalExecutionTime(Math.max(totalExecutionTime, other.totalExecutionTime));
+      merged.setDroppedRequests(droppedRequests + other.droppedRequests);
+      merged.setLateRequests(lateRequests + other.lateRequests);
+      return merged;
     }
   }
 
+  // Warms up with the operation itself, so only for idempotent ones; pass Warmup.none() or fixed(n) for writes
   public static PerformanceResult executeLoadTest(Callable<Boolean> operation, int numberOfRequests, int concurrency) {
-    log.info("Starting load test: {} requests with {} concurrent threads", numberOfRequests, concurrency);
-
-    ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
-    List<CompletableFuture<RequestResult>> futures = new ArrayList<>();
-
-    long startTime = System.currentTimeMillis();
-
-    // Submit all requests
-    IntStream.range(0, numberOfRequests).forEach(i -> {
-      CompletableFuture<RequestResult> future = CompletableFuture.supplyAsync(() -> {
-        long requestStart = System.currentTimeMillis();
-        boolean success;
-        try {
-          success = operation.call();
-        } catch (Exception e) {
-          log.warn("Request {} failed: {}", i, e.getMessage());
-          success = false;
+    return executeLoadTest(operation, numberOfRequests, concurrency, Warmup.fromConfig(ApiConfig.getInstance()));
+  }
+
+  public static PerformanceResult executeLoadTest(Callable<Boolean> operation, int numberOfRequests, int concurrency,
+                                                  Warmup warmup) {
+    ThreadMode threadMode = ApiConfig.getInstance().getPerfThreadMode();
+    log.info("Starting load test: {} requests with {} concurrent {} threads", numberOfRequests, concurrency,
+      threadMode.name().toLowerCase());
+
+    ExecutorService executorService = LoadExecutors.newExecutor(threadMode, concurrency, "load-test-worker");
+    LatencyHistogram histogram = new LatencyHistogram();
+    LongAdder successes = new LongAdder();
+    LongAdder failures = new LongAdder();
+    AtomicInteger nextRequest = new AtomicInteger();
+    Warmup.Result warmupResult;
+    long startTime;
+    ThroughputSeries series;
+
+    try {
+      // Warm up at full concurrency so every worker's connection is set up before measurement
+      Warmup.Phase phase = warmup.start();
+      runWorkers(concurrency, executorService, () -> phase.run(operation));
+      warmupResult = phase.finish();
+
+      startTime = System.nanoTime();
+      series = new ThroughputSeries(startTime);
+      // Each worker keeps claiming requests until all have been issued
+      runWorkers(concurrency, executorService, () -> {
+        int i;
+        while ((i = nextRequest.getAndIncrement()) < numberOfRequests) {
+          recordRequest(operation, i, histogram, series, successes, failures);
         }
-        long requestEnd = System.currentTimeMillis();
-        return new RequestResult(requestEnd - requestStart, success);
-      }, executorService);
-
-      futures.add(future);
-    });
-
-    // Wait for all requests to complete
-    List<Long> responseTimes = new ArrayList<>();
-    List<Boolean> results = new ArrayList<>();
-
-    futures.forEach(future -> {
-      try {
-        RequestResult result = future.get();
-        responseTimes.add(result.responseTime);
-        results.add(result.success);
-      } catch (Exception e) {
-        log.error("Error getting future result: {}", e.getMessage());
-        responseTimes.add(0L);
-        results.add(false);
-      }
-    });
+      });
+    } finally {
+      executorService.shutdown();
+    }
 
-    executorService.shutdown();
+    long endTime = System.nanoTime();
+    PerformanceResult performanceResult = new PerformanceResult(histogram,
+      successes.intValue(), failures.intValue());
+    performanceResult.setThroughputSeries(summarizeThroughput(series, endTime));
+    performanceResult.setTotalExecutionTime(TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+    performanceResult.setWarmup(warmupResult);
 
-    long endTime = System.currentTimeMillis();
-    PerformanceResult performanceResult = new PerformanceResult(responseTimes, results);
-    performanceResult.setTotalExecutionTime(endTime - startTime);
+    log.info("Load test completed: {} requests ({} warm-up), {}% success rate, {} ms average response time, {} req/s steady state",
+      numberOfRequests, warmupResult.getIterations(), String.format("%.2f", performanceResult.getSuccessRate()),
+      performanceResult.getAverageResponseTime(), String.format("%.1f", performanceResult.getSteadyStateThroughput()));
+
+    // Attach performance results to Allure report
+    attachPerformanceResults(performanceResult);
+
+    return performanceResult;
+  }
 
-    log.info("Load test completed: {} requests, {}% success rate, {} ms average response time",
-      numberOfRequests, String.format("%.2f", performanceResult.getSuccessRate()),
+  private static void runWorkers(int concurrency, ExecutorService executorService, Runnable work) {
+    List<CompletableFuture<Void>> workers = IntStream.range(0, concurrency)
+      .mapToObj(worker -> CompletableFuture.runAsync(work, executorService))
+      .collect(Collectors.toList());
+
+    try {
+      CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+    } catch (Exception e) {
+      log.error("Load test worker failed: {}", e.getMessage());
+    }
+  }
+
+  public static PerformanceResult executeArrivalRateTest(Callable<Boolean> operation, LoadProfile profile,
+                                                        int maxConcurrency) {
+    log.info("Starting arrival-rate load test: {} requests over {} (peak {} req/s, {} workers)",
+      profile.getExpectedArrivals(), profile.getTotalDuration(), profile.getPeakRate(), maxConcurrency);
+
+    PerformanceResult performanceResult = OpenLoopLoadGenerator.builder()
+      .profile(profile)
+      .maxConcurrency(maxConcurrency)
+      .queueCapacity(maxConcurrency)
+      .build()
+      .run(operation);
+
+    log.info("Arrival-rate load test completed: {} sent, {} dropped, {} late, {}% success rate, {} ms average response time",
+      performanceResult.getTotalRequests(), performanceResult.getDroppedRequests(),
+      performanceResult.getLateRequests(), String.format("%.2f", performanceResult.getSuccessRate()),
       performanceResult.getAverageResponseTime());
 
-    // Attach performance results to Allure report
     attachPerformanceResults(performanceResult);
 
     return performanceResult;
   }
 
+  public static ScenarioResult executeScenario(LoadScenario scenario) {
+    ScenarioResult scenarioResult = ScenarioRunner.run(scenario);
+
+    attachPerformanceResults(scenarioResult.getOverall());
+    Allure.addAttachment("Scenario Results - " + scenario.getName(), "text/plain", scenarioResult.toReport());
+
+    return scenarioResult;
+  }
+
+  // Splits the scenario across worker JVMs and merges their results; see DistributedLoadCoordinator
+  public static ScenarioResult executeDistributedScenario(DistributedLoadCoordinator coordinator) {
+    ScenarioResult scenarioResult = coordinator.run();
+
+    attachPerformanceResults(scenarioResult.getOverall());
+    Allure.addAttachment("Scenario Results - " + scenarioResult.getScenario() + " (" + coordinator.getWorkers()
+      + " workers)", "text/plain", scenarioResult.toReport());
+
+    return scenarioResult;
+  }
+
+  // Steps the load up until the finder's SLO breaks; see CapacityFinder
+  public static CapacityFinder.Result findCapacity(Callable<Boolean> operation, CapacityFinder finder) {
+    CapacityFinder.Result result = finder.run(operation);
+    Allure.addAttachment("Capacity Search", "text/plain", result.toReport());
+    return result;
+  }
+
+  // Same warm-up caveat as executeLoadTest
   public static PerformanceResult measureResponseTime(Callable<Boolean> operation, int iterations) {
+    return measureResponseTime(operation, iterations, Warmup.fromConfig(ApiConfig.getInstance()));
+  }
+
+  public static PerformanceResult measureResponseTime(Callable<Boolean> operation, int iterations, Warmup warmup) {
     log.info("Measuring response time over {} iterations", iterations);
 
-    List<Long> responseTimes = new ArrayList<>();
-    List<Boolean> results = new ArrayList<>();
+    Warmup.Phase phase = warmup.start();
+    phase.run(operation);
+    Warmup.Result warmupResult = phase.finish();
 
-    for (int i = 0; i < iterations; i++) {
-      long startTime = System.currentTimeMillis();
-      boolean success;
-      try {
-        success = operation.call();
-      } catch (Exception e) {
-        log.warn("Iteration {} failed: {}", i, e.getMessage());
-        success = false;
-      }
-      long endTime = System.currentTimeMillis();
+    LatencyHistogram histogram = new LatencyHistogram();
+    LongAdder successes = new LongAdder();
+    LongAdder failures = new LongAdder();
+    long startTime = System.nanoTime();
+    ThroughputSeries series = new ThroughputSeries(startTime);
 
-      responseTimes.add(endTime - startTime);
-      results.add(success);
+    for (int i = 0; i < iterations; i++) {
+      recordRequest(operation, i, histogram, series, successes, failures);
     }
 
-    PerformanceResult result = new PerformanceResult(responseTimes, results);
-    log.info("Response time measurement completed: {} ms average over {} iterations",
-      result.getAverageResponseTime(), iterations);
+    long endTime = System.nanoTime();
+    PerformanceResult result = new PerformanceResult(histogram, successes.intValue(), failures.intValue());
+    result.setThroughputSeries(summarizeThroughput(series, endTime));
+    result.setTotalExecutionTime(TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+    result.setWarmup(warmupResult);
+    log.info("Response time measurement completed: {} ms average over {} iterations after {} warm-up requests",
+      result.getAverageResponseTime(), iterations, warmupResult.getIterations());
 
     return result;
   }
 
+  // Compares the result with the stored baseline for this scenario and records it as the newest run
+  public static RegressionGate.Report compareWithBaseline(String scenario, PerformanceResult result) {
+    ApiConfig config = ApiConfig.getInstance();
+    String environment = EnvironmentUtils.getCurrentEnvironment();
+    if (!config.isPerfBaselineEnabled()) {
+      return RegressionGate.Report.noBaseline(scenario, environment, result.getLatencyHistogram().getTotalCount());
+    }
+
+    RegressionGate.Report report = RegressionGate.fromConfig(config)
+      .evaluate(scenario, EnvironmentUtils.getGitCommit(), environment, result);
+    Allure.addAttachment("Baseline Comparison", "text/plain", report.getSummary());
+    return report;
+  }
+
+  // Per-second series over the run, with the configured warm-up and cool-down seconds left out of steady state
+  public static ThroughputSeries.Summary summarizeThroughput(ThroughputSeries series, long endNanos) {
+    return summarizeThroughput(series, series.getOriginNanos(), endNanos);
+  }
+
+  public static ThroughputSeries.Summary summarizeThroughput(ThroughputSeries series, long startNanos, long endNanos) {
+    ApiConfig config = ApiConfig.getInstance();
+    return series.summarize(startNanos, endNanos, config.getPerfThroughputWarmupSeconds(),
+      config.getPerfThroughputCooldownSeconds());
+  }
+
+  private static void recordRequest(Callable<Boolean> operation, int index, LatencyHistogram histogram,
+                                    ThroughputSeries series, LongAdder successes, LongAdder failures) {
+    long startTime = System.nanoTime();
+    boolean success;
+    try {
+      success = operation.call();
+    } catch (Exception e) {
+      log.warn("Request {} failed: {}", index, e.getMessage());
+      success = false;
+    }
+    long endTime = System.nanoTime();
+    histogram.recordNanos(endTime - startTime);
+    series.record(endTime);
+
+    if (success) {
+      successes.increment();
+    } else {
+      failures.increment();
+    }
+  }
+
   private static void attachPerformanceResults(PerformanceResult result) {
     StringBuilder report = new StringBuilder();
     report.append("Performance Test Results\n");
@@ -143,15 +324,40 @@ public class PerformanceUtils {
     report.append(String.format("Average Response Time: %d ms\n", result.getAverageResponseTime()));
     report.append(String.format("Min Response Time: %d ms\n", result.getMinResponseTime()));
     report.append(String.format("Max Response Time: %d ms\n", result.getMaxResponseTime()));
+    report.append(String.format("P50 Response Time: %.3f ms\n", result.getP50ResponseTime()));
+    report.append(String.format("P90 Response Time: %.3f ms\n", result.getP90ResponseTime()));
+    report.append(String.format("P99 Response Time: %.3f ms\n", result.getP99ResponseTime()));
+    report.append(String.format("P99.9 Response Time: %.3f ms\n", result.getP999ResponseTime()));
     report.append(String.format("Throughput: %.2f requests/second\n", result.getThroughput()));
+    report.append(String.format("Steady-State Throughput: %.2f requests/second\n", result.getSteadyStateThroughput()));
+    report.append(String.format("Peak Throughput: %.2f requests/second\n", result.getPeakThroughput()));
+    report.append(String.format("Throughput Std Deviation: %.2f requests/second\n",
+      Math.sqrt(result.getThroughputVariance())));
+    report.append(String.format("Dropped Requests: %d\n", result.getDroppedRequests()));
+    report.append(String.format("Late Requests: %d\n", result.getLateRequests()));
     report.append(String.format("Total Execution Time: %d ms\n", result.getTotalExecutionTime()));
 
-    Allure.addAttachment("Performance Test Results", "text/plain", report.toString());
-  }
+    if (result.getThroughputSeries() != null) {
+      report.append(String.format("Requests per Second: %s\n",
+        Arrays.toString(result.getThroughputSeries().getPerSecond())));
+    }
 
-  @Data
-  private static class RequestResult {
-    private final long responseTime;
-    private final boolean success;
+    Warmup.Result warmup = result.getWarmup();
+    if (warmup != null && warmup.getIterations() > 0) {
+      PerformanceResult warmupResult = warmup.getResult();
+      report.append("\n=== Warm-up (excluded from the figures above) ===\n");
+      report.append(String.format("Requests: %d (%s, CV %.3f)\n", warmup.getIterations(),
+        !warmup.isAdaptive() ? "fixed count" : warmup.isStable() ? "settled" : "not settled",
+        warmup.getCoefficientOfVariation()));
+      report.append(String.format("Successful Requests: %d\n", warmupResult.getSuccessfulRequests()));
+      report.append(String.format("Average Response Time: %d ms\n", warmupResult.getAverageResponseTime()));
+      report.append(String.format("P99 Response Time: %.3f ms\n", warmupResult.getP99ResponseTime()));
+      report.append(String.format("Max Response Time: %d ms\n", warmupResult.getMaxResponseTime()));
+      report.append(String.format("Total Execution Time: %d ms\n", warmupResult.getTotalExecutionTime()));
+    }
+
+    Allure.addAttachment("Performance Test Results", "text/plain", report.toString());
+    Allure.addAttachment("Latency Distribution", "text/plain",
+      result.getLatencyHistogram().toPercentileDistribution());
   }
 }
@@ -0,0 +1,192 @@
+package com.bookstore.utils;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A JSON request body serialized once, with named top-level fields left
+ * open as slots. Filling a template copies the fixed bytes around the slot
+ * values instead of running the whole object through Jackson again, so
+ * repeated requests with similar payloads only pay for the fields that
+ * change. Templates are immutable and can be shared between threads; each
+ * request fills its own {@link Body}.
+ */
+public final class RequestTemplate {
+  private static final byte[] NULL = ascii("null");
+
+  private final String[] slots;
+  // segments[i] comes before slot i; the last segment closes the document
+  private final byte[][] segments;
+  // Prototype values, sent for slots a body leaves unset
+  private final byte[][] defaults;
+  private final int fixedLength;
+
+  private RequestTemplate(String[] slots, byte[][] segments, byte[][] defaults) {
+    this.slots = slots;
+    this.segments = segments;
+    this.defaults = defaults;
+    int length = 0;
+    for (byte[] segment : segments) {
+      length += segment.length;
+    }
+    this.fixedLength = length;
+  }
+
+  /**
+   * Compiles the prototype's JSON with the given top-level fields as slots.
+   * Slots are written in the order the prototype serializes them, whatever
+   * order they are listed in here.
+   */
+  public static RequestTemplate compile(Object prototype, String... slots) {
+    ObjectNode document = JsonUtils.toJsonTree(prototype);
+    byte[][] defaults = new byte[slots.length][];
+    String[] markers = new String[slots.length];
+    for (int i = 0; i < slots.length; i++) {
+      if (!document.has(slots[i])) {
+        throw new IllegalArgumentException("No field '" + slots[i] + "' in " + prototype.getClass().getSimpleName());
+      }
+      defaults[i] = JsonUtils.toJsonBytes(document.get(slots[i]));
+      // Replace the value with a marker that can't occur elsewhere, then split the document around it
+      markers[i] = "\u0001slot-" + i + "\u0001";
+      document.put(slots[i], markers[i]);
+    }
+
+    byte[] json = JsonUtils.toJsonBytes(document);
+    List<Integer> starts = new ArrayList<>();
+    List<Integer> ends = new ArrayList<>();
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < slots.length; i++) {
+      byte[] marker = JsonUtils.toJsonBytes(markers[i]);
+      int start = indexOf(json, marker);
+      int insertAt = 0;
+      while (insertAt < starts.size() && starts.get(insertAt) < start) {
+        insertAt++;
+      }
+      starts.add(insertAt, start);
+      ends.add(insertAt, start + marker.length);
+      order.add(insertAt, i);
+    }
+
+    String[] orderedSlots = new String[slots.length];
+    byte[][] orderedDefaults = new byte[slots.length][];
+    byte[][] segments = new byte[slots.length + 1][];
+    int position = 0;
+    for (int i = 0; i < slots.length; i++) {
+      orderedSlots[i] = slots[order.get(i)];
+      orderedDefaults[i] = defaults[order.get(i)];
+      segments[i] = Arrays.copyOfRange(json, position, starts.get(i));
+      position = ends.get(i);
+    }
+    segments[slots.length] = Arrays.copyOfRange(json, position, json.length);
+    return new RequestTemplate(orderedSlots, segments, orderedDefaults);
+  }
+
+  public Body fill() {
+    return new Body(this);
+  }
+
+  // Bytes of the prototype itself
+  public byte[] toBytes() {
+    return fill().toBytes();
+  }
+
+  public List<String> getSlots() {
+    return List.of(slots);
+  }
+
+  private int slotIndex(String slot) {
+    for (int i = 0; i < slots.length; i++) {
+      if (slots[i].equals(slot)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("No slot '" + slot + "', template slots are " + getSlots());
+  }
+
+  private static int indexOf(byte[] json, byte[] marker) {
+    outer:
+    for (int i = 0; i <= json.length - marker.length; i++) {
+      for (int j = 0; j < marker.length; j++) {
+        if (json[i + j] != marker[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    throw new IllegalStateException("Slot marker missing from the serialized template");
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /** Slot values for one request. Not thread-safe; fill one body per request. */
+  public static final class Body {
+    private final RequestTemplate template;
+    private final byte[][] values;
+
+    private Body(RequestTemplate template) {
+      this.template = template;
+      this.values = template.defaults.clone();
+    }
+
+    public Body set(String slot, String value) {
+      values[template.slotIndex(slot)] = value != null ? encodeString(value) : NULL;
+      return this;
+    }
+
+    public Body set(String slot, int value) {
+      values[template.slotIndex(slot)] = ascii(Integer.toString(value));
+      return this;
+    }
+
+    public Body set(String slot, Integer value) {
+      return value != null ? set(slot, value.intValue()) : setNull(slot);
+    }
+
+    public Body setNull(String slot) {
+      values[template.slotIndex(slot)] = NULL;
+      return this;
+    }
+
+    public byte[] toBytes() {
+      byte[][] segments = template.segments;
+      int length = template.fixedLength;
+      for (byte[] value : values) {
+        length += value.length;
+      }
+      byte[] body = new byte[length];
+      int position = 0;
+      for (int i = 0; i < values.length; i++) {
+        System.arraycopy(segments[i], 0, body, position, segments[i].length);
+        position += segments[i].length;
+        System.arraycopy(values[i], 0, body, position, values[i].length);
+        position += values[i].length;
+      }
+      System.arraycopy(segments[values.length], 0, body, position, segments[values.length].length);
+      return body;
+    }
+
+    // Printable ASCII without quotes or backslashes is copied as is; anything else goes through Jackson's escaping
+    private static byte[] encodeString(String value) {
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c < 0x20 || c >= 0x7F || c == '"' || c == '\\') {
+          return JsonUtils.toJsonBytes(value);
+        }
+      }
+      byte[] encoded = new byte[length + 2];
+      encoded[0] = '"';
+      for (int i = 0; i < length; i++) {
+        encoded[i + 1] = (byte) value.charAt(i);
+      }
+      encoded[length + 1] = '"';
+      return encoded;
+    }
+  }
+}
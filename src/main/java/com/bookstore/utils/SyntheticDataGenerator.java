@@ -0,0 +1,282 @@
+package com.bookstore.utils;
+
+import com.bookstore.config.ApiConfig;
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.github.javafaker.Faker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe, allocation-light replacement for Faker in hot loops. Field
+ * values are drawn from pools that a fixed-seed Faker fills once per JVM,
+ * and item number i of a generator is a pure function of (seed, i): every
+ * field comes from a SplitMix64 hash of the two. The same seed and index
+ * always give the same entity, whichever thread asks, so data drawn by index
+ * can be replayed from its logged seed. The next* methods give each thread
+ * its own index range, so threads never contend on a shared counter. Ranges
+ * are handed out in the order threads first call them, which depends on
+ * scheduling: a seed replays next* exactly only when one thread draws all
+ * the data. Concurrent callers that need replay should pass a stable index,
+ * as ScenarioRunner does with each arrival's index.
+ */
+@Slf4j
+public final class SyntheticDataGenerator {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final int STREAM_SHIFT = 40;
+  private static final long POOL_SEED = 20240101L;
+  // Publish dates count back from a fixed day so replays don't depend on when they run
+  private static final LocalDate DATE_ANCHOR = LocalDate.of(2025, 1, 1);
+
+  private static SyntheticDataGenerator defaultInstance;
+
+  private final long seed;
+  private final AtomicInteger streams = new AtomicInteger();
+  private final ThreadLocal<long[]> cursor;
+
+  private SyntheticDataGenerator(long seed) {
+    this.seed = seed;
+    this.cursor = ThreadLocal.withInitial(() -> new long[]{(long) streams.getAndIncrement() << STREAM_SHIFT});
+  }
+
+  public static SyntheticDataGenerator withSeed(long seed) {
+    return new SyntheticDataGenerator(seed);
+  }
+
+  // Seeded from test.data.seed when set; the seed is logged either way so the run can be replayed
+  public static synchronized SyntheticDataGenerator getDefault() {
+    if (defaultInstance == null) {
+      Long configured = ApiConfig.getInstance().getTestDataSeed();
+      long seed = configured != null ? configured : System.nanoTime();
+      defaultInstance = new SyntheticDataGenerator(seed);
+      log.info("Synthetic test data seed: {} (replay with -Dtest.data.seed={})", seed, seed);
+    }
+    return defaultInstance;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public Book book(long index) {
+    long hash = hash(index);
+    return Book.builder()
+      .title(Pools.TITLES.pick(field(hash, 0)))
+      .description(Pools.PARAGRAPHS.pick(field(hash, 1)))
+      .pageCount(pageCount(field(hash, 2)))
+      .excerpt(Pools.SENTENCES.pick(field(hash, 3)))
+      .publishDate(Pools.DATES.pick(field(hash, 4)))
+      .build();
+  }
+
+  public Author author(long index) {
+    long hash = hash(index);
+    return Author.builder()
+      .firstName(Pools.FIRST_NAMES.pick(field(hash, 0)))
+      .lastName(Pools.LAST_NAMES.pick(field(hash, 1)))
+      .idBook(bookId(field(hash, 2)))
+      .build();
+  }
+
+  // Same book as book(index), written straight from pre-encoded fragments without going through Jackson
+  public byte[] bookJson(long index) {
+    long hash = hash(index);
+    byte[] title = Pools.TITLES.pickJson(field(hash, 0));
+    byte[] description = Pools.PARAGRAPHS.pickJson(field(hash, 1));
+    int pageCount = pageCount(field(hash, 2));
+    byte[] excerpt = Pools.SENTENCES.pickJson(field(hash, 3));
+    byte[] publishDate = Pools.DATES.pickJson(field(hash, 4));
+    return new JsonWriter(Fragments.BOOK_LENGTH + title.length + description.length + digits(pageCount)
+      + excerpt.length + publishDate.length)
+      .raw(Fragments.TITLE).raw(title)
+      .raw(Fragments.DESCRIPTION).raw(description)
+      .raw(Fragments.PAGE_COUNT).number(pageCount)
+      .raw(Fragments.EXCERPT).raw(excerpt)
+      .raw(Fragments.PUBLISH_DATE).raw(publishDate)
+      .raw(Fragments.END)
+      .toByteArray();
+  }
+
+  public byte[] authorJson(long index) {
+    long hash = hash(index);
+    byte[] firstName = Pools.FIRST_NAMES.pickJson(field(hash, 0));
+    byte[] lastName = Pools.LAST_NAMES.pickJson(field(hash, 1));
+    int bookId = bookId(field(hash, 2));
+    return new JsonWriter(Fragments.AUTHOR_LENGTH + digits(bookId) + firstName.length + lastName.length)
+      .raw(Fragments.ID_BOOK).number(bookId)
+      .raw(Fragments.FIRST_NAME).raw(firstName)
+      .raw(Fragments.LAST_NAME).raw(lastName)
+      .raw(Fragments.END)
+      .toByteArray();
+  }
+
+  // Reproducible from a scenario's per-arrival random source
+  public Book book(SplittableRandom random) {
+    return book(random.nextLong());
+  }
+
+  public Author author(SplittableRandom random) {
+    return author(random.nextLong());
+  }
+
+  // Replayable from the seed in single-threaded runs only, see the class comment
+  public Book nextBook() {
+    return book(nextIndex());
+  }
+
+  public Author nextAuthor() {
+    return author(nextIndex());
+  }
+
+  private long nextIndex() {
+    return cursor.get()[0]++;
+  }
+
+  private long hash(long index) {
+    return mix(seed ^ mix(index * GOLDEN_GAMMA));
+  }
+
+  private static long field(long hash, int field) {
+    return mix(hash + (field + 1) * GOLDEN_GAMMA);
+  }
+
+  private static int pageCount(long fieldHash) {
+    return 50 + (int) ((fieldHash >>> 1) % 950);
+  }
+
+  private static int bookId(long fieldHash) {
+    return 1 + (int) ((fieldHash >>> 1) % 99);
+  }
+
+  private static int digits(int value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      digits++;
+    }
+    return digits;
+  }
+
+  // SplitMix64 finalizer
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  // Built on first use, so runs that never generate data don't pay for Faker
+  private static final class Pools {
+    private static final Faker FAKER = new Faker(Locale.ENGLISH, new Random(POOL_SEED));
+    static final Pool TITLES = Pool.of(1024, () -> FAKER.book().title());
+    static final Pool PARAGRAPHS = Pool.of(256, () -> FAKER.lorem().paragraph());
+    static final Pool SENTENCES = Pool.of(1024, () -> FAKER.lorem().sentence());
+    static final Pool FIRST_NAMES = Pool.of(512, () -> FAKER.name().firstName());
+    static final Pool LAST_NAMES = Pool.of(512, () -> FAKER.name().lastName());
+    static final Pool DATES = Pool.dates(2048);
+  }
+
+  private static final class Fragments {
+    static final byte[] TITLE = ascii("{\"title\":");
+    static final byte[] DESCRIPTION = ascii(",\"description\":");
+    static final byte[] PAGE_COUNT = ascii(",\"pageCount\":");
+    static final byte[] EXCERPT = ascii(",\"excerpt\":");
+    static final byte[] PUBLISH_DATE = ascii(",\"publishDate\":");
+    static final byte[] ID_BOOK = ascii("{\"idBook\":");
+    static final byte[] FIRST_NAME = ascii(",\"firstName\":");
+    static final byte[] LAST_NAME = ascii(",\"lastName\":");
+    static final byte[] END = ascii("}");
+    // Fixed part of each document, so writers can be sized exactly
+    static final int BOOK_LENGTH = TITLE.length + DESCRIPTION.length + PAGE_COUNT.length + EXCERPT.length
+      + PUBLISH_DATE.length + END.length;
+    static final int AUTHOR_LENGTH = ID_BOOK.length + FIRST_NAME.length + LAST_NAME.length + END.length;
+
+    private static byte[] ascii(String value) {
+      return value.getBytes(StandardCharsets.US_ASCII);
+    }
+  }
+
+  // Values and their JSON string literals; the size is a power of two so picking is a mask
+  private static final class Pool {
+    private final String[] values;
+    private final byte[][] json;
+    private final int mask;
+
+    private Pool(String[] values) {
+      this.values = values;
+      this.json = new byte[values.length][];
+      for (int i = 0; i < values.length; i++) {
+        json[i] = JsonUtils.toJsonBytes(values[i]);
+      }
+      this.mask = values.length - 1;
+    }
+
+    static Pool of(int size, Supplier<String> faker) {
+      String[] values = new String[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = faker.get();
+      }
+      return new Pool(values);
+    }
+
+    static Pool dates(int size) {
+      String[] values = new String[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = DATE_ANCHOR.minusDays(i) + "T00:00:00.000Z";
+      }
+      return new Pool(values);
+    }
+
+    String pick(long fieldHash) {
+      return values[(int) fieldHash & mask];
+    }
+
+    byte[] pickJson(long fieldHash) {
+      return json[(int) fieldHash & mask];
+    }
+  }
+
+  // Fixed-size writer; callers compute the exact document length up front
+  private static final class JsonWriter {
+    private final byte[] buffer;
+    private int length;
+
+    JsonWriter(int capacity) {
+      this.buffer = new byte[capacity];
+    }
+
+    JsonWriter raw(byte[] bytes) {
+      System.arraycopy(bytes, 0, buffer, length, bytes.length);
+      length += bytes.length;
+      return this;
+    }
+
+    // Non-negative values only
+    JsonWriter number(int value) {
+      int start = length;
+      do {
+        buffer[length++] = (byte) ('0' + value % 10);
+        value /= 10;
+      } while (value > 0);
+      for (int i = start, j = length - 1; i < j; i++, j--) {
+        byte swap = buffer[i];
+        buffer[i] = buffer[j];
+        buffer[j] = swap;
+      }
+      return this;
+    }
+
+    byte[] toByteArray() {
+      if (length != buffer.length) {
+        throw new IllegalStateException("Wrote " + length + " of " + buffer.length + " bytes");
+      }
+      return buffer;
+    }
+  }
+}
@@ -13,18 +13,13 @@ import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 public class TestDataGenerator {
+  // Only used for the one-off edge cases; valid entities come from the thread-safe synthetic generator
   private static final Faker faker = new Faker();
   private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
 
   // Book test data generators
   public static Book generateValidBook() {
-    return Book.builder()
-      .title(faker.book().title())
-      .description(faker.lorem().paragraph())
-      .pageCount(faker.number().numberBetween(50, 1000))
-      .excerpt(faker.lorem().sentence())
-      .publishDate(generateRandomDate())
-      .build();
+    return SyntheticDataGenerator.getDefault().nextBook();
   }
 
   public static Book generateBookWithLongFields() {
@@ -63,11 +58,7 @@ public class TestDataGenerator {
 
   // Author test data generators
   public static Author generateValidAuthor() {
-    return Author.builder()
-      .firstName(faker.name().firstName())
-      .lastName(faker.name().lastName())
-      .idBook(faker.number().numberBetween(1, 100))
-      .build();
+    return SyntheticDataGenerator.getDefault().nextAuthor();
   }
 
   public static Author generateAuthorWithLongNames() {
@@ -86,6 +77,13 @@ public class TestDataGenerator {
       .build();
   }
 
+  public static Author generateAuthorWithMinimalData() {
+    return Author.builder()
+      .firstName(faker.name().firstName())
+      .lastName(faker.name().lastName())
+      .build();
+  }
+
   public static Author generateInvalidAuthor() {
     return Author.builder()
       .firstName("") // Empty first name
@@ -119,14 +117,14 @@ public class TestDataGenerator {
   }
 
   public static int generateRandomId() {
-    return faker.number().numberBetween(1, 200);
+    return ThreadLocalRandom.current().nextInt(1, 200);
   }
 
   public static int generateInvalidId() {
-    return faker.number().numberBetween(-100, 0);
+    return ThreadLocalRandom.current().nextInt(-100, 0);
   }
 
   public static int generateNonExistentId() {
-    return faker.number().numberBetween(9999, 99999);
+    return ThreadLocalRandom.current().nextInt(9999, 99999);
   }
 }
\ No newline at end of file
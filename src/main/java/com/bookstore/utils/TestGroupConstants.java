@@ -7,6 +7,7 @@ public class TestGroupConstants {
   public static final String REGRESSION = "regression";
   public static final String INTEGRATION = "integration";
   public static final String PERFORMANCE = "performance";
+  public static final String SOAK = "soak"; // long-running, excluded from the default suites
   public static final String SECURITY = "security";
 
   // API Groups
@@ -2,12 +2,23 @@ package com.bookstore.base;
 
 import com.bookstore.clients.AuthorApiClient;
 import com.bookstore.clients.BookApiClient;
+import com.bookstore.clients.HttpTransport;
+import com.bookstore.clients.ResponseCache;
 import com.bookstore.config.ApiConfig;
+import com.bookstore.config.RunMode;
 import com.bookstore.config.TestConfig;
+import com.bookstore.metrics.MetricsExporter;
+import com.bookstore.performance.RegressionGate;
+import com.bookstore.performance.ResultJournal;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.EnvironmentUtils;
+import com.bookstore.utils.PerformanceUtils;
 import com.bookstore.utils.TestDataGenerator;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
@@ -16,6 +27,9 @@ import java.lang.reflect.Method;
 @Slf4j
 @Epic("Bookstore API Automation")
 public abstract class BaseTest {
+  private static StubApiServer stubServer;
+  private static MetricsExporter metricsExporter;
+
   protected BookApiClient bookApiClient;
   protected AuthorApiClient authorApiClient;
   protected ApiConfig apiConfig;
@@ -28,6 +42,11 @@ public abstract class BaseTest {
     apiConfig = ApiConfig.getInstance();
     testConfig = TestConfig.getInstance();
 
+    if (EnvironmentUtils.isLocalEnvironment()) {
+      startStubServer();
+    }
+    startMetricsExporter();
+
     log.info("API Base URL: {}", apiConfig.getBaseUrl());
     log.info("Parallel Threads: {}", apiConfig.getParallelThreads());
 
@@ -38,6 +57,9 @@ public abstract class BaseTest {
   @BeforeClass(alwaysRun = true)
   public void beforeClass() {
     log.info("=== Starting Test Class: {} ===", this.getClass().getSimpleName());
+    // @BeforeSuite only runs on one test instance, every other class needs its own references
+    apiConfig = ApiConfig.getInstance();
+    testConfig = TestConfig.getInstance();
     initializeClients();
   }
 
@@ -72,13 +94,57 @@ public abstract class BaseTest {
 
   @AfterSuite(alwaysRun = true)
   public void afterSuite() {
+    HttpTransport.PoolMetrics poolMetrics = HttpTransport.getInstance().getPoolMetrics();
+    log.info("HTTP pool - Leases: {}, Connections opened: {}, Saturated: {} ({}%), Avg lease wait: {}us, Leased: {}, "
+      + "Available: {}", poolMetrics.getTotalLeases(), poolMetrics.getConnectionsOpened(), poolMetrics.getSaturatedLeases(),
+      String.format("%.2f", poolMetrics.getSaturationRate()),
+      String.format("%.1f", poolMetrics.getAverageLeaseWaitMicros()),
+      poolMetrics.getLeased(), poolMetrics.getAvailable());
+    if (apiConfig.isCacheEnabled()) {
+      ResponseCache.Stats cacheStats = ResponseCache.getInstance().getStats();
+      log.info("Response cache - Hits: {}, Misses: {}, Revalidated: {}, Invalidated: {}, Evicted: {}, Hit rate: {}%",
+        cacheStats.getHits(), cacheStats.getMisses(), cacheStats.getRevalidations(), cacheStats.getInvalidations(),
+        cacheStats.getEvictions(), String.format("%.2f", cacheStats.getHitRate()));
+    }
+    ResultJournal.closeConfigured();
+    if (metricsExporter != null) {
+      metricsExporter.stop();
+      metricsExporter = null;
+    }
+    if (stubServer != null) {
+      stubServer.stop();
+      stubServer = null;
+    }
     log.info("=== Test Suite Execution Completed ===");
   }
 
   private void initializeClients() {
-    bookApiClient = new BookApiClient();
-    authorApiClient = new AuthorApiClient();
-    log.info("API clients initialized successfully");
+    bookApiClient = new BookApiClient(getRunMode());
+    authorApiClient = new AuthorApiClient(getRunMode());
+    log.info("API clients initialized successfully in {} mode", getRunMode());
+  }
+
+  // Override to run a test class with different client filters, e.g. LOAD for performance tests
+  protected RunMode getRunMode() {
+    return ApiConfig.getInstance().getRunMode();
+  }
+
+  // Publishes live per-endpoint client metrics when a file or port is configured
+  private static synchronized void startMetricsExporter() {
+    MetricsExporter exporter = MetricsExporter.fromConfig(ApiConfig.getInstance());
+    if (metricsExporter == null && exporter.isEnabled()) {
+      exporter.start();
+      metricsExporter = exporter;
+    }
+  }
+
+  // Serves the Books/Authors API in-process and points every client at it
+  private static synchronized void startStubServer() {
+    if (stubServer == null) {
+      stubServer = new StubApiServer(StubServerConfig.fromApiConfig(ApiConfig.getInstance()));
+      stubServer.start();
+      ApiConfig.getInstance().setBaseUrl(stubServer.getBaseUrl());
+    }
   }
 
   private void verifyApiConnectivity() {
@@ -110,4 +176,18 @@ public abstract class BaseTest {
   protected void logTestStep(String step) {
     log.info("🔹 {}", step);
   }
+
+  // Records the run in the baseline store and holds p99 to a fixed ceiling, which also covers runs without
+  // enough baseline history. A regression against the baseline fails the test when perf.regression.enforce is set.
+  protected void assertNoRegression(String scenario, PerformanceUtils.PerformanceResult result, double maxP99Millis) {
+    RegressionGate.Report report = PerformanceUtils.compareWithBaseline(scenario, result);
+    Assert.assertTrue(result.getP99ResponseTime() <= maxP99Millis, String.format(
+      "%s: p99 %.1f ms exceeds %.0f ms (%s)", scenario, result.getP99ResponseTime(), maxP99Millis,
+      report.getSummary()));
+    if (apiConfig.isPerfRegressionEnforced()) {
+      Assert.assertFalse(report.isRegression(), report.getSummary());
+    } else if (report.isRegression()) {
+      log.warn("Performance regression (not enforced): {}", report.getSummary());
+    }
+  }
 }
@@ -3,11 +3,15 @@ package com.bookstore.tests.books;
 import com.bookstore.base.BaseTest;
 import com.bookstore.models.ApiResponse;
 import com.bookstore.models.Book;
+import com.bookstore.models.BulkResult;
+import com.bookstore.utils.RequestTemplate;
 import com.bookstore.utils.TestDataGenerator;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Feature("Books API - Happy Path Tests")
 public class BookApiHappyPathTests extends BaseTest {
@@ -99,4 +103,63 @@ public class BookApiHappyPathTests extends BaseTest {
         
         logTestStep("Verified book deleted successfully");
     }
+
+    @Test(description = "Verify bulk create, update and delete of books")
+    @Description("Test that bulk operations send every book concurrently and report results in input order")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Bulk Operations")
+    public void testBulkCreateUpdateDeleteBooks() {
+        List<Book> books = IntStream.range(0, 20)
+            .mapToObj(i -> {
+                Book book = TestDataGenerator.generateValidBook();
+                book.setTitle("Bulk Book " + i);
+                return book;
+            })
+            .collect(Collectors.toList());
+        logTestStep("Creating " + books.size() + " books in bulk");
+
+        BulkResult<Book> created = bookApiClient.createBooks(books);
+
+        Assert.assertTrue(created.isAllSucceeded(), "Every book should be created, failed: " + created.getFailed());
+        Assert.assertEquals(created.getData().stream().map(Book::getTitle).collect(Collectors.toList()),
+            books.stream().map(Book::getTitle).collect(Collectors.toList()),
+            "Results should be in input order");
+        Assert.assertTrue(created.getThroughput() > 0, "Bulk throughput should be reported");
+
+        List<Book> updates = created.getData();
+        updates.forEach(book -> book.setTitle("Updated " + book.getTitle()));
+        BulkResult<Book> updated = bookApiClient.updateBooks(updates);
+        Assert.assertTrue(updated.isAllSucceeded(), "Every book should be updated, failed: " + updated.getFailed());
+        Assert.assertEquals(updated.getData().get(0).getTitle(), "Updated Bulk Book 0");
+
+        BulkResult<Void> deleted = bookApiClient.deleteBooks(
+            updates.stream().map(Book::getId).collect(Collectors.toList()));
+        Assert.assertTrue(deleted.isAllSucceeded(), "Every book should be deleted, failed: " + deleted.getFailed());
+
+        logTestStep("Verified bulk operations at " + String.format("%.1f", created.getThroughput()) + " req/s");
+    }
+
+    @Test(description = "Verify creating and updating a book from a request template")
+    @Description("Test that pre-serialized template bodies are sent as is and accepted like POJO bodies")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Request Templates")
+    public void testCreateAndUpdateBookFromTemplate() {
+        RequestTemplate template = RequestTemplate.compile(TestDataGenerator.generateValidBook(), "id", "title");
+        logTestStep("Creating a book from template slots " + template.getSlots());
+
+        ApiResponse<Book> createResponse = bookApiClient.createBook(
+            template.fill().set("id", 0).set("title", "Template Book").toBytes());
+
+        Assert.assertTrue(createResponse.isSuccess(), "Create response should be successful");
+        Assert.assertEquals(createResponse.getData().getTitle(), "Template Book");
+        int bookId = createResponse.getData().getId();
+
+        ApiResponse<Book> updateResponse = bookApiClient.updateBook(bookId,
+            template.fill().set("id", bookId).set("title", "Updated Template Book").toBytes());
+
+        Assert.assertTrue(updateResponse.isSuccess(), "Update response should be successful");
+        Assert.assertEquals(updateResponse.getData().getTitle(), "Updated Template Book");
+
+        logTestStep("Verified template bodies for book " + bookId);
+    }
 }
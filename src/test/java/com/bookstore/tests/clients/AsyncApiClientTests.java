@@ -0,0 +1,160 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.base.BaseTest;
+import com.bookstore.clients.AsyncAuthorApiClient;
+import com.bookstore.clients.AsyncBaseApiClient;
+import com.bookstore.clients.AsyncBookApiClient;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.models.BulkResult;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.TestDataGenerator;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Feature("API Clients - Non-blocking Clients")
+public class AsyncApiClientTests extends BaseTest {
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private AsyncBookApiClient asyncBookApiClient;
+  private AsyncAuthorApiClient asyncAuthorApiClient;
+  // Answers every request with 500 Internal Server Error
+  private StubApiServer failingStub;
+
+  @BeforeClass(alwaysRun = true)
+  public void setUpAsyncClients() {
+    asyncBookApiClient = new AsyncBookApiClient(getRunMode());
+    asyncAuthorApiClient = new AsyncAuthorApiClient(getRunMode());
+    failingStub = new StubApiServer(StubServerConfig.builder().books(1).authors(1).errorRate(1.0).build());
+    failingStub.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopFailingStub() {
+    failingStub.stop();
+  }
+
+  @Test(description = "Verify async book requests complete with parsed responses",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.BOOKS})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Async Book Client")
+  public void testBookRequestsComplete() throws Exception {
+    Book newBook = TestDataGenerator.generateValidBook();
+
+    ApiResponse<Book> created = await(asyncBookApiClient.createBook(newBook));
+    ApiResponse<Book> book = await(asyncBookApiClient.getBookById(1));
+    ApiResponse<List<Book>> books = await(asyncBookApiClient.getAllBooks());
+
+    Assert.assertEquals(created.getStatusCode(), 200);
+    Assert.assertEquals(created.getData().getTitle(), newBook.getTitle());
+    Assert.assertEquals(book.getStatusCode(), 200);
+    Assert.assertEquals(book.getData().getId(), Integer.valueOf(1));
+    Assert.assertNotNull(book.getTiming(), "Async responses should carry their request timing");
+    Assert.assertTrue(books.isSuccess());
+    Assert.assertFalse(books.getData().isEmpty(), "Book list should be parsed into typed elements");
+  }
+
+  @Test(description = "Verify async author requests complete with parsed responses",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.AUTHORS})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Async Author Client")
+  public void testAuthorRequestsComplete() throws Exception {
+    Author newAuthor = TestDataGenerator.generateValidAuthor();
+
+    ApiResponse<Author> created = await(asyncAuthorApiClient.createAuthor(newAuthor));
+    ApiResponse<Author> author = await(asyncAuthorApiClient.getAuthorById(1));
+    ApiResponse<List<Author>> authors = await(asyncAuthorApiClient.getAllAuthors());
+
+    Assert.assertEquals(created.getStatusCode(), 200);
+    Assert.assertEquals(created.getData().getLastName(), newAuthor.getLastName());
+    Assert.assertEquals(author.getStatusCode(), 200);
+    Assert.assertEquals(author.getData().getId(), Integer.valueOf(1));
+    Assert.assertTrue(authors.isSuccess());
+    Assert.assertFalse(authors.getData().isEmpty(), "Author list should be parsed into typed elements");
+  }
+
+  @Test(description = "Verify error statuses complete normally with the status and no data",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.NEGATIVE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Async Status Mapping")
+  public void testErrorStatusesCompleteNormally() throws Exception {
+    ApiResponse<Book> missingBook = await(asyncBookApiClient.getBookById(999_999));
+    ApiResponse<Author> missingAuthor = await(asyncAuthorApiClient.getAuthorById(999_999));
+    ApiResponse<Book> serverError = await(new UrlClient().get(failingStub.getBaseUrl() + "/api/v1/Books/1"));
+
+    Assert.assertEquals(missingBook.getStatusCode(), 404);
+    Assert.assertTrue(missingBook.isClientError());
+    Assert.assertNull(missingBook.getData(), "Error responses should not be parsed into the response type");
+    Assert.assertEquals(missingAuthor.getStatusCode(), 404);
+    Assert.assertEquals(serverError.getStatusCode(), 500);
+    Assert.assertTrue(serverError.isServerError());
+    Assert.assertNull(serverError.getData());
+  }
+
+  @Test(description = "Verify a request that gets no response completes exceptionally",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.NEGATIVE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Async Failures")
+  public void testConnectionFailureCompletesExceptionally() throws Exception {
+    CompletableFuture<ApiResponse<Book>> response = new UrlClient().get(unusedPortUrl() + "/api/v1/Books/1");
+
+    ExecutionException failure = Assert.expectThrows(ExecutionException.class, () -> await(response));
+    Assert.assertEquals(failure.getCause().getMessage(), "API request failed");
+    Assert.assertTrue(failure.getCause().getCause() instanceof ConnectException,
+      "Cause should be the connection failure, but was " + failure.getCause().getCause());
+  }
+
+  @Test(description = "Verify bulk requests record per-item failures instead of failing the batch",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.BOOKS})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Async Bulk Requests")
+  public void testBulkUpdateReportsItemFailures() throws Exception {
+    Book existing = TestDataGenerator.generateValidBook();
+    existing.setId(1);
+    Book withoutId = TestDataGenerator.generateValidBook();
+    withoutId.setId(null);
+
+    BulkResult<Book> result = await(asyncBookApiClient.updateBooks(List.of(existing, withoutId)));
+
+    Assert.assertEquals(result.getTotal(), 2);
+    Assert.assertTrue(result.getItems().get(0).isSuccess());
+    Assert.assertNull(result.getItems().get(1).getResponse());
+    Assert.assertEquals(result.getItems().get(1).getError(), "Cannot update a book without an ID");
+  }
+
+  private static <T> T await(CompletableFuture<T> future) throws Exception {
+    return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  // Nothing listens on a port that was just released
+  private static String unusedPortUrl() throws Exception {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return "http://localhost:" + socket.getLocalPort();
+    }
+  }
+
+  private static class UrlClient extends AsyncBaseApiClient {
+
+    UrlClient() {
+      super(RunMode.LOAD);
+    }
+
+    CompletableFuture<ApiResponse<Book>> get(String url) {
+      return executeGetAsync(url, Book.class);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.AuthorIndex;
+import com.bookstore.models.Author;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Feature("API Clients - Author Index")
+public class AuthorIndexTests {
+  private static final long TTL_MS = 60_000;
+
+  @Test(description = "Verify writes made while a snapshot is fetched are kept when it is applied",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.AUTHORS})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Concurrent Snapshots")
+  public void testWritesDuringSnapshotAreReapplied() {
+    AuthorIndex index = new AuthorIndex(TTL_MS);
+    index.rebuild(List.of(author(1, 10), author(2, 10)));
+
+    long startVersion = index.beginSnapshot();
+    // Another thread writes after the snapshot was read from the server
+    index.put(author(3, 10));
+    index.remove(1);
+    int replayed = index.rebuild(List.of(author(1, 10), author(2, 10)), startVersion);
+
+    Assert.assertEquals(replayed, 2);
+    Assert.assertEquals(ids(index.lookup(10)), List.of(2, 3));
+  }
+
+  @Test(description = "Verify a create made before the first snapshot is applied is not lost",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.AUTHORS})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Concurrent Snapshots")
+  public void testWriteBeforeFirstSnapshotIsReapplied() {
+    AuthorIndex index = new AuthorIndex(TTL_MS);
+
+    long startVersion = index.beginSnapshot();
+    index.put(author(7, 20));
+    index.rebuild(List.of(), startVersion);
+
+    Assert.assertEquals(ids(index.lookup(20)), List.of(7));
+    Assert.assertFalse(index.needsSnapshot());
+  }
+
+  @Test(description = "Verify an older snapshot finishing last does not replace a newer one",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.AUTHORS})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Concurrent Snapshots")
+  public void testStaleSnapshotIsDropped() {
+    AuthorIndex index = new AuthorIndex(TTL_MS);
+
+    long older = index.beginSnapshot();
+    index.put(author(4, 30));
+    long newer = index.beginSnapshot();
+    index.rebuild(List.of(author(4, 30)), newer);
+    int replayed = index.rebuild(List.of(), older);
+
+    Assert.assertEquals(replayed, -1);
+    Assert.assertEquals(ids(index.lookup(30)), List.of(4));
+  }
+
+  @Test(description = "Verify an invalidation during a snapshot forces another one",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.AUTHORS})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Concurrent Snapshots")
+  public void testInvalidationDuringSnapshotIsKept() {
+    AuthorIndex index = new AuthorIndex(TTL_MS);
+
+    long startVersion = index.beginSnapshot();
+    index.invalidate();
+    index.rebuild(List.of(author(5, 40)), startVersion);
+
+    Assert.assertTrue(index.needsSnapshot(), "A write the index couldn't apply should force a fresh snapshot");
+  }
+
+  @Test(description = "Verify an abandoned snapshot leaves the index unchanged",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API, TestGroupConstants.AUTHORS})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Concurrent Snapshots")
+  public void testAbandonedSnapshotLeavesIndexUnchanged() {
+    AuthorIndex index = new AuthorIndex(TTL_MS);
+    index.rebuild(List.of(author(6, 50)));
+
+    index.beginSnapshot();
+    index.put(author(8, 50));
+    index.abandonSnapshot();
+
+    Assert.assertEquals(ids(index.lookup(50)), List.of(6, 8));
+  }
+
+  private static Author author(int id, int bookId) {
+    return new Author(id, bookId, "First" + id, "Last" + id);
+  }
+
+  private static List<Integer> ids(List<Author> authors) {
+    return authors.stream().map(Author::getId).sorted().collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,65 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.BaseApiClient;
+import com.bookstore.config.RunMode;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Feature("API Clients - Filter Pipeline")
+public class ClientFilterPipelineTests {
+
+  @Test(description = "Verify creating clients does not grow the filter chain",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Description("Regression test: every request must run the same filters no matter how many clients exist")
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Filter Pipeline")
+  public void testFilterChainStaysFlatAsClientsAreCreated() {
+    int globalFiltersBefore = RestAssured.filters().size();
+    int filtersPerRequest = new InspectableClient(RunMode.FUNCTIONAL).filtersAppliedPerRequest();
+
+    List<InspectableClient> clients = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      clients.add(new InspectableClient(RunMode.FUNCTIONAL));
+    }
+
+    Assert.assertEquals(RestAssured.filters().size(), globalFiltersBefore,
+      "Creating clients must not register global REST Assured filters");
+    Assert.assertEquals(new InspectableClient(RunMode.FUNCTIONAL).filtersAppliedPerRequest(), filtersPerRequest,
+      "Filters applied per request should not grow with the number of clients created");
+    clients.forEach(client -> Assert.assertEquals(client.filtersAppliedPerRequest(), filtersPerRequest,
+      "Every client should apply the same number of filters per request"));
+  }
+
+  @Test(description = "Verify load run mode skips Allure capture",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Description("Clients created for load runs must not attach the Allure request/response filter")
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Filter Pipeline")
+  public void testLoadRunModeDisablesAllureCapture() {
+    InspectableClient loadClient = new InspectableClient(RunMode.LOAD);
+
+    Assert.assertTrue(loadClient.getFilters().stream().noneMatch(filter -> filter instanceof AllureRestAssured),
+      "Load mode clients should not capture requests in Allure");
+    Assert.assertEquals(loadClient.filtersAppliedPerRequest(), RestAssured.filters().size(),
+      "Load mode requests should only run the global filters");
+  }
+
+  private static class InspectableClient extends BaseApiClient {
+
+    InspectableClient(RunMode runMode) {
+      super(runMode);
+    }
+
+    int filtersAppliedPerRequest() {
+      return ((FilterableRequestSpecification) getBaseRequestSpec()).getDefinedFilters().size();
+    }
+  }
+}
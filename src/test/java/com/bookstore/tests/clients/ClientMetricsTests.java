@@ -0,0 +1,155 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.BaseApiClient;
+import com.bookstore.config.RunMode;
+import com.bookstore.metrics.EndpointMetrics;
+import com.bookstore.metrics.EndpointTemplate;
+import com.bookstore.metrics.MetricsExporter;
+import com.bookstore.metrics.MetricsFormat;
+import com.bookstore.metrics.MetricsRegistry;
+import com.bookstore.metrics.MetricsSnapshot;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Book;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Feature("API Clients - Live Metrics")
+public class ClientMetricsTests {
+  private StubApiServer stubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStub() {
+    stubServer = new StubApiServer(StubServerConfig.builder().books(10).authors(10).build());
+    stubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStub() {
+    stubServer.stop();
+  }
+
+  @Test(description = "Verify request URLs are grouped by endpoint template",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Endpoint Templates")
+  public void testEndpointTemplates() {
+    Assert.assertEquals(EndpointTemplate.of("https://host:8080/api/v1/Books/42?expand=true"), "/api/v1/Books/{id}");
+    Assert.assertEquals(EndpointTemplate.of("http://host/api/v1/Books/-5"), "/api/v1/Books/{id}");
+    Assert.assertEquals(EndpointTemplate.of("http://host/api/v1/Books"), "/api/v1/Books");
+    Assert.assertEquals(EndpointTemplate.of("/api/v1/Authors/authors/books/7"), "/api/v1/Authors/authors/books/{id}");
+    Assert.assertEquals(EndpointTemplate.of("http://host/orders/3f2504e0-4f89-11d3-9a0c-0305e82c3301/items"),
+      "/orders/{id}/items");
+    Assert.assertEquals(EndpointTemplate.of("http://host"), "/");
+  }
+
+  @Test(description = "Verify concurrent requests are counted per method and status class",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Metrics Registry")
+  public void testRegistryCountsConcurrentRequests() {
+    MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    IntStream.range(0, 10_000).parallel().forEach(i -> {
+      EndpointMetrics metrics = registry.requestStarted("GET", "http://host/metrics-test/Items/" + i);
+      if (i % 10 == 0) {
+        metrics.completed(503, TimeUnit.MILLISECONDS.toNanos(20));
+      } else {
+        metrics.completed(200, TimeUnit.MILLISECONDS.toNanos(5));
+      }
+    });
+    registry.requestStarted("DELETE", "http://host/metrics-test/Items/1");
+
+    MetricsSnapshot.EndpointSnapshot get = find(registry.snapshot(), "GET", "/metrics-test/Items/{id}");
+    Assert.assertEquals(get.getInFlight(), 0);
+    Assert.assertEquals(count(get, "2xx"), 9_000);
+    Assert.assertEquals(count(get, "5xx"), 1_000);
+    Assert.assertEquals(status(get, "5xx").getP50Millis(), 20.0, 0.5);
+    Assert.assertEquals(find(registry.snapshot(), "DELETE", "/metrics-test/Items/{id}").getInFlight(), 1);
+  }
+
+  @Test(description = "Verify client requests feed the registry and are exported as Prometheus text",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Metrics Export")
+  public void testClientRequestsAreExported() throws Exception {
+    MetricsClient client = new MetricsClient();
+    long before = count(MetricsRegistry.getInstance().snapshot(), "GET", "/api/v1/Books/{id}", "4xx");
+
+    for (int id = 1; id <= 3; id++) {
+      Assert.assertTrue(client.getBook(stubServer.getBaseUrl() + "/api/v1/Books/" + id).isSuccess());
+    }
+    Assert.assertEquals(client.getBook(stubServer.getBaseUrl() + "/api/v1/Books/999").getStatusCode(), 404);
+
+    Assert.assertTrue(count(MetricsRegistry.getInstance().snapshot(), "GET", "/api/v1/Books/{id}", "4xx") > before,
+      "The 404 should be recorded under its endpoint template and status class");
+
+    Path file = Files.createTempDirectory("metrics").resolve("client-metrics.prom");
+    MetricsExporter exporter = MetricsExporter.builder().file(file).intervalMs(60_000L).httpPort(0).build();
+    exporter.start();
+    try {
+      HttpResponse<String> response = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(URI.create("http://localhost:" + exporter.getBoundPort() + "/metrics")).build(),
+        HttpResponse.BodyHandlers.ofString());
+
+      Assert.assertEquals(response.statusCode(), 200);
+      Assert.assertEquals(response.headers().firstValue("Content-Type").orElse(null),
+        MetricsFormat.PROMETHEUS_CONTENT_TYPE);
+      Assert.assertTrue(response.body().contains(
+          "bookstore_client_request_duration_seconds_count{endpoint=\"/api/v1/Books/{id}\",method=\"GET\",status=\"2xx\"}"),
+        "Prometheus output should contain the templated endpoint:\n" + response.body());
+    } finally {
+      exporter.stop();
+    }
+    Assert.assertTrue(Files.readString(file).contains("# TYPE bookstore_client_requests_in_flight gauge"),
+      "Stopping the exporter should write a final snapshot");
+  }
+
+  private static MetricsSnapshot.EndpointSnapshot find(MetricsSnapshot snapshot, String method, String endpoint) {
+    return snapshot.getEndpoints().stream()
+      .filter(e -> e.getMethod().equals(method) && e.getEndpoint().equals(endpoint))
+      .findFirst()
+      .orElseThrow(() -> new AssertionError("No metrics for " + method + " " + endpoint));
+  }
+
+  private static MetricsSnapshot.StatusSnapshot status(MetricsSnapshot.EndpointSnapshot endpoint, String status) {
+    return endpoint.getStatuses().stream().filter(s -> s.getStatus().equals(status)).findFirst().orElse(null);
+  }
+
+  private static long count(MetricsSnapshot.EndpointSnapshot endpoint, String status) {
+    MetricsSnapshot.StatusSnapshot snapshot = status(endpoint, status);
+    return snapshot != null ? snapshot.getCount() : 0;
+  }
+
+  private static long count(MetricsSnapshot snapshot, String method, String endpoint, String status) {
+    return snapshot.getEndpoints().stream()
+      .filter(e -> e.getMethod().equals(method) && e.getEndpoint().equals(endpoint))
+      .mapToLong(e -> count(e, status))
+      .sum();
+  }
+
+  private static class MetricsClient extends BaseApiClient {
+
+    MetricsClient() {
+      super(RunMode.LOAD);
+    }
+
+    ApiResponse<Book> getBook(String url) {
+      return executeGet(url, Book.class);
+    }
+  }
+}
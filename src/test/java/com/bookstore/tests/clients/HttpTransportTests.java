@@ -0,0 +1,104 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.HttpTransport;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Each test runs its own transport, so the counts aren't mixed with other clients' traffic on the shared pool
+@Feature("API Clients - Connection Pooling")
+public class HttpTransportTests {
+  private static final long LATENCY_MS = 200;
+
+  private StubApiServer stubServer;
+  private StubApiServer slowStubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStubs() {
+    stubServer = new StubApiServer(StubServerConfig.builder().books(10).authors(10).build());
+    stubServer.start();
+    slowStubServer = new StubApiServer(StubServerConfig.builder().books(10).authors(10).latencyMs(LATENCY_MS).build());
+    slowStubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStubs() {
+    stubServer.stop();
+    slowStubServer.stop();
+  }
+
+  @Test(description = "Verify sequential requests reuse one keep-alive connection",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Connection Reuse")
+  public void testSequentialRequestsReuseConnection() {
+    HttpTransport transport = HttpTransport.create(10, 5);
+    try {
+      for (int i = 0; i < 20; i++) {
+        Assert.assertEquals(get(transport, stubServer.getBaseUrl() + "/api/v1/Books/1"), 200);
+      }
+
+      HttpTransport.PoolMetrics metrics = transport.getPoolMetrics();
+      Assert.assertEquals(metrics.getTotalLeases(), 20);
+      Assert.assertEquals(metrics.getConnectionsOpened(), 1, "Every request should reuse the first connection");
+      Assert.assertEquals(metrics.getLeased(), 0, "Each connection should go back to the pool once read");
+      Assert.assertEquals(metrics.getAvailable(), 1);
+      Assert.assertEquals(metrics.getSaturatedLeases(), 0);
+    } finally {
+      transport.shutdown();
+    }
+  }
+
+  @Test(description = "Verify leases beyond maxPerRoute wait and are reported as saturated",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Pool Saturation")
+  public void testSaturationBeyondMaxPerRoute() {
+    HttpTransport transport = HttpTransport.create(10, 2);
+    ExecutorService executor = Executors.newFixedThreadPool(6);
+    try {
+      List<CompletableFuture<Integer>> requests = IntStream.range(0, 6)
+        .mapToObj(i -> CompletableFuture.supplyAsync(
+          () -> get(transport, slowStubServer.getBaseUrl() + "/api/v1/Books/" + (i + 1)), executor))
+        .collect(Collectors.toList());
+      requests.forEach(request -> Assert.assertEquals(request.join().intValue(), 200));
+
+      HttpTransport.PoolMetrics metrics = transport.getPoolMetrics();
+      Assert.assertEquals(metrics.getMaxPerRoute(), 2);
+      Assert.assertEquals(metrics.getTotalLeases(), 6);
+      Assert.assertTrue(metrics.getConnectionsOpened() <= 2,
+        "The route should never hold more than 2 connections, opened " + metrics.getConnectionsOpened());
+      // Each request holds its connection for the stub's latency, so the later ones find both in use
+      Assert.assertTrue(metrics.getSaturatedLeases() > 0, "Leases past maxPerRoute should be reported as saturated");
+      Assert.assertTrue(metrics.getSaturationRate() > 0);
+      Assert.assertTrue(metrics.getAverageLeaseWaitMicros() > 0);
+    } finally {
+      executor.shutdownNow();
+      transport.shutdown();
+    }
+  }
+
+  // Reads the body, as the clients do, so the connection goes back to the pool
+  private static int get(HttpTransport transport, String url) {
+    Response response = RestAssured.given()
+      .config(RestAssuredConfig.config().httpClient(transport.getHttpClientConfig()))
+      .get(url);
+    response.asByteArray();
+    return response.getStatusCode();
+  }
+}
@@ -0,0 +1,154 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.IntObjectHashMap;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@Feature("API Clients - Author Index")
+public class IntObjectHashMapTests {
+  // A default map is sized for 16 entries: 32 slots, growing once more than 16 entries are stored
+  private static final int CAPACITY = 32;
+
+  @Test(description = "Verify keys sharing a home slot are all stored and found",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Hash Map")
+  public void testCollidingKeys() {
+    int[] colliding = keysWithHome(3, 5);
+    IntObjectHashMap<String> map = new IntObjectHashMap<>();
+    for (int key : colliding) {
+      Assert.assertNull(map.put(key, "v" + key));
+    }
+
+    Assert.assertEquals(map.size(), 5);
+    for (int key : colliding) {
+      Assert.assertEquals(map.get(key), "v" + key);
+    }
+    Assert.assertEquals(map.put(colliding[2], "replaced"), "v" + colliding[2]);
+    Assert.assertEquals(map.size(), 5, "Replacing a value should not add an entry");
+
+    // Removing from the middle of the probe run must leave the later keys reachable
+    Assert.assertEquals(map.remove(colliding[1]), "v" + colliding[1]);
+    Assert.assertNull(map.get(colliding[1]));
+    Assert.assertNull(map.remove(colliding[1]));
+    Assert.assertEquals(map.get(colliding[0]), "v" + colliding[0]);
+    Assert.assertEquals(map.get(colliding[2]), "replaced");
+    Assert.assertEquals(map.get(colliding[3]), "v" + colliding[3]);
+    Assert.assertEquals(map.get(colliding[4]), "v" + colliding[4]);
+    Assert.assertEquals(map.size(), 4);
+  }
+
+  @Test(description = "Verify removal shifts entries back across the end of the table",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Hash Map")
+  public void testRemovalWrapsAround() {
+    // The last slot holds a key homed there, slot 0 a key homed there, and two more keys homed last wrap to 1 and 2
+    int[] lastSlot = keysWithHome(CAPACITY - 1, 3);
+    int firstSlot = keysWithHome(0, 1)[0];
+    IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+    map.put(lastSlot[0], lastSlot[0]);
+    map.put(firstSlot, firstSlot);
+    map.put(lastSlot[1], lastSlot[1]);
+    map.put(lastSlot[2], lastSlot[2]);
+
+    // Freeing the last slot must leave the key in its home slot 0 alone and pull the wrapped keys back across the end
+    Assert.assertEquals(map.remove(lastSlot[0]), Integer.valueOf(lastSlot[0]));
+    Assert.assertNull(map.get(lastSlot[0]));
+    Assert.assertEquals(map.get(firstSlot), Integer.valueOf(firstSlot));
+    Assert.assertEquals(map.get(lastSlot[1]), Integer.valueOf(lastSlot[1]));
+    Assert.assertEquals(map.get(lastSlot[2]), Integer.valueOf(lastSlot[2]));
+
+    // Freeing slot 0 pulls a key homed in the last slot back into it
+    Assert.assertEquals(map.remove(firstSlot), Integer.valueOf(firstSlot));
+    Assert.assertEquals(map.get(lastSlot[1]), Integer.valueOf(lastSlot[1]));
+    Assert.assertEquals(map.get(lastSlot[2]), Integer.valueOf(lastSlot[2]));
+    Assert.assertEquals(map.size(), 2);
+  }
+
+  @Test(description = "Verify the table grows past half full and keeps every entry",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Hash Map")
+  public void testRehashGrowth() {
+    // All in one home slot before the first growth, so the rehash has to split a long probe run
+    int[] colliding = keysWithHome(7, 16);
+    IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+    for (int key : colliding) {
+      map.put(key, key);
+    }
+    for (int key = -5_000; key < 5_000; key++) {
+      map.put(key, key);
+    }
+
+    Map<Integer, Integer> seen = new HashMap<>();
+    map.forEach((key, value) -> Assert.assertNull(seen.put(key, value), "Key visited twice: " + key));
+    Assert.assertEquals(map.size(), seen.size());
+    Assert.assertTrue(map.size() >= 10_000);
+    for (int key : colliding) {
+      Assert.assertEquals(map.get(key), Integer.valueOf(key));
+    }
+    for (int key = -5_000; key < 5_000; key++) {
+      Assert.assertEquals(map.get(key), Integer.valueOf(key));
+    }
+    Assert.assertNull(map.get(5_000));
+  }
+
+  @Test(description = "Verify random puts and removes behave like java.util.HashMap",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Hash Map")
+  public void testMatchesHashMap() {
+    // Few distinct keys against many operations keeps the table dense, with long runs to shift back through
+    Random random = new Random(42);
+    IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 50_000; i++) {
+      int key = random.nextInt(300) - 150;
+      if (random.nextInt(3) == 0) {
+        Assert.assertEquals(map.remove(key), expected.remove(key), "remove(" + key + ") at step " + i);
+      } else {
+        Assert.assertEquals(map.put(key, i), expected.put(key, i), "put(" + key + ") at step " + i);
+      }
+      Assert.assertEquals(map.size(), expected.size());
+    }
+
+    for (int key = -150; key < 150; key++) {
+      Assert.assertEquals(map.get(key), expected.get(key), "get(" + key + ")");
+    }
+    map.clear();
+    Assert.assertEquals(map.size(), 0);
+    Assert.assertNull(map.get(0));
+  }
+
+  @Test(description = "Verify null values are rejected",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Hash Map")
+  public void testNullValueRejected() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new IntObjectHashMap<String>().put(1, null));
+  }
+
+  // The first count keys whose home slot in a default-sized table is slot
+  private static int[] keysWithHome(int slot, int count) {
+    int[] keys = new int[count];
+    for (int key = 1, found = 0; found < count; key++) {
+      if (homeSlot(key) == slot) {
+        keys[found++] = key;
+      }
+    }
+    return keys;
+  }
+
+  // Mirrors IntObjectHashMap's Fibonacci hashing, so the tests can place keys in chosen slots
+  private static int homeSlot(int key) {
+    int hash = key * 0x9E3779B9;
+    return (hash ^ hash >>> 16) & (CAPACITY - 1);
+  }
+}
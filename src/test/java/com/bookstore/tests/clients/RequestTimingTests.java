@@ -0,0 +1,116 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.AsyncBaseApiClient;
+import com.bookstore.clients.BaseApiClient;
+import com.bookstore.clients.RequestTimer;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Book;
+import com.bookstore.models.RequestTiming;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Feature("API Clients - Request Timing")
+public class RequestTimingTests {
+  // Every stub response waits this long before its headers are sent
+  private static final long LATENCY_MS = 30;
+
+  private StubApiServer stubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStub() {
+    stubServer = new StubApiServer(StubServerConfig.builder().books(50).authors(10).latencyMs(LATENCY_MS).build());
+    stubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStub() {
+    stubServer.stop();
+  }
+
+  @Test(description = "Verify every phase of a synchronous request is measured and the phases add up to the total",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Request Phases")
+  public void testSynchronousPhasesAddUp() {
+    ApiResponse<Book[]> response = new TimedClient().getBooks(stubServer.getBaseUrl() + "/api/v1/Books");
+
+    Assert.assertEquals(response.getStatusCode(), 200);
+    RequestTiming timing = response.getTiming();
+    Assert.assertTrue(timing.getConnectNanos() > 0, "The connection interceptor should stamp connect time: " + timing);
+    Assert.assertTrue(timing.getTimeToFirstByteNanos() >= TimeUnit.MILLISECONDS.toNanos(LATENCY_MS),
+      "The stub's latency falls between sending the request and the headers: " + timing);
+    Assert.assertTrue(timing.getDeserializationNanos() > 0, "Parsing 50 books should take measurable time: " + timing);
+    assertPhasesAddUp(timing);
+    Assert.assertTrue(RequestTimer.hasThreadState(), "Synchronous requests reuse their thread's timer state");
+  }
+
+  @Test(description = "Verify an asynchronous request's phases add up and leave no state on the pooled thread",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Request Phases")
+  public void testAsynchronousPhasesLeaveNoThreadState() throws Exception {
+    Thread testThread = Thread.currentThread();
+    AsyncTimedClient client = new AsyncTimedClient();
+    // Null when the check ran on the test thread, i.e. the request completed before the check was attached
+    Function<ApiResponse<Book>, Boolean> threadState = response ->
+      Thread.currentThread() == testThread ? null : RequestTimer.hasThreadState();
+
+    int pooledChecks = 0;
+    for (int i = 0; i < 10; i++) {
+      // The stub's latency normally keeps the request outstanding, so the check runs on the thread completing it
+      CompletableFuture<ApiResponse<Book>> request = client.getBook(stubServer.getBaseUrl() + "/api/v1/Books/1");
+      CompletableFuture<Boolean> leftState = request.thenApply(threadState);
+
+      RequestTiming timing = request.get(30, TimeUnit.SECONDS).getTiming();
+      Assert.assertTrue(timing.getTimeToFirstByteNanos() >= TimeUnit.MILLISECONDS.toNanos(LATENCY_MS),
+        "Connect time is reported as part of time to first byte: " + timing);
+      assertPhasesAddUp(timing);
+      Boolean pooledThreadState = leftState.get(30, TimeUnit.SECONDS);
+      if (pooledThreadState != null) {
+        Assert.assertFalse(pooledThreadState, "The thread completing the request should hold no timer state");
+        pooledChecks++;
+      }
+    }
+    Assert.assertTrue(pooledChecks > 0, "No request completed on a pooled thread");
+  }
+
+  private static void assertPhasesAddUp(RequestTiming timing) {
+    Assert.assertTrue(timing.getConnectNanos() >= 0 && timing.getTimeToFirstByteNanos() >= 0
+      && timing.getBodyReadNanos() >= 0 && timing.getDeserializationNanos() >= 0, "Negative phase: " + timing);
+    Assert.assertEquals(timing.getConnectNanos() + timing.getTimeToFirstByteNanos() + timing.getBodyReadNanos()
+      + timing.getDeserializationNanos(), timing.getTotalNanos(), "Phases should add up to the total: " + timing);
+  }
+
+  private static class TimedClient extends BaseApiClient {
+
+    TimedClient() {
+      super(RunMode.LOAD);
+    }
+
+    ApiResponse<Book[]> getBooks(String url) {
+      return executeGet(url, Book[].class);
+    }
+  }
+
+  private static class AsyncTimedClient extends AsyncBaseApiClient {
+
+    AsyncTimedClient() {
+      super(RunMode.LOAD);
+    }
+
+    CompletableFuture<ApiResponse<Book>> getBook(String url) {
+      return executeGetAsync(url, Book.class);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.bookstore.tests.clients;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import com.bookstore.clients.RequestTracer;
+import com.bookstore.models.RequestTiming;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Feature("API Clients - Request Tracing")
+public class RequestTracerTests {
+  private static final RequestTiming TIMING = RequestTiming.builder()
+    .connectNanos(1_000).timeToFirstByteNanos(2_000_000).bodyReadNanos(3_000).totalNanos(2_004_000).build();
+  private static final AtomicInteger LOGGERS = new AtomicInteger();
+
+  @Test(description = "Verify one in sampleRate successful responses is traced",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Sampling")
+  public void testSuccessesAreSampledAtTheConfiguredRate() {
+    ListAppender<ILoggingEvent> sampled = new ListAppender<>();
+    ListAppender<ILoggingEvent> everything = new ListAppender<>();
+    RequestTracer oneInTen = new RequestTracer(newLogger(sampled), 10);
+    RequestTracer all = new RequestTracer(newLogger(everything), 1);
+
+    for (int i = 0; i < 100_000; i++) {
+      oneInTen.traceResponse("GET", "/api/v1/Books", 200, TIMING, 512);
+    }
+    for (int i = 0; i < 1_000; i++) {
+      all.traceResponse("GET", "/api/v1/Books", 200, TIMING, 512);
+    }
+
+    // Binomial(100000, 0.1): the standard deviation is about 95, so this is more than 10 sigma either side
+    Assert.assertTrue(sampled.list.size() > 9_000 && sampled.list.size() < 11_000,
+      "About 10% of successes should be traced, traced " + sampled.list.size());
+    Assert.assertEquals(everything.list.size(), 1_000, "A sample rate of 1 should trace every response");
+    Assert.assertEquals(everything.list.get(0).getFormattedMessage(),
+      "GET /api/v1/Books -> 200 in 2004us (connect=1us, ttfb=2000us, body=3us, deserialize=0us), 512 bytes");
+  }
+
+  @Test(description = "Verify every failed request is traced whatever the sample rate",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Sampling")
+  public void testFailuresAreAlwaysTraced() {
+    ListAppender<ILoggingEvent> traces = new ListAppender<>();
+    RequestTracer tracer = new RequestTracer(newLogger(traces), Integer.MAX_VALUE);
+
+    for (int i = 0; i < 100; i++) {
+      tracer.traceResponse("GET", "/api/v1/Books/" + i, 404, TIMING, 0);
+      tracer.traceResponse("POST", "/api/v1/Books", 500, TIMING, 0);
+      tracer.traceResponse("GET", "/api/v1/Books", 302, TIMING, 0);
+      tracer.traceFailure("GET", "/api/v1/Authors", 5_000_000, new IOException("Connection reset"));
+    }
+
+    Assert.assertEquals(traces.list.size(), 400, "Every non-2xx response and failure should be traced");
+    Assert.assertEquals(traces.list.get(3).getFormattedMessage(),
+      "GET /api/v1/Authors -> failed after 5000us: java.io.IOException: Connection reset");
+  }
+
+  @Test(description = "Verify the trace appender drops events instead of blocking requests when its queue is full",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Async Appender")
+  public void testFullTraceQueueDoesNotBlockRequests() throws Exception {
+    AsyncAppender configured = configuredTraceAppender();
+    Assert.assertTrue(configured.isNeverBlock(), "logback.xml should configure the trace appender not to block");
+    Assert.assertEquals(configured.getDiscardingThreshold(), 0, "Traces should not be discarded by level");
+
+    // Same settings as the configured appender, with a tiny queue in front of a file that never accepts a write
+    CountDownLatch release = new CountDownLatch(1);
+    StalledAppender stalled = new StalledAppender(release);
+    AsyncAppender async = new AsyncAppender();
+    async.setContext(loggerContext());
+    async.setName("stalled-trace");
+    async.setQueueSize(16);
+    async.setDiscardingThreshold(configured.getDiscardingThreshold());
+    async.setNeverBlock(configured.isNeverBlock());
+    async.setIncludeCallerData(configured.isIncludeCallerData());
+    stalled.setContext(loggerContext());
+    stalled.start();
+    async.addAppender(stalled);
+    async.start();
+
+    RequestTracer tracer = new RequestTracer(newLogger(async), 1);
+    try {
+      CompletableFuture<Void> requests = CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          tracer.traceResponse("GET", "/api/v1/Books", 200, TIMING, 512);
+        }
+      });
+
+      requests.get(10, TimeUnit.SECONDS);
+      Assert.assertTrue(stalled.received.get() <= 1, "The stalled appender should hold at most one event");
+    } finally {
+      release.countDown();
+      async.stop();
+      stalled.stop();
+    }
+  }
+
+  @Test(description = "Verify console output is written off the request threads",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Async Appender")
+  public void testConsoleIsAsync() {
+    Logger root = loggerContext().getLogger(Logger.ROOT_LOGGER_NAME);
+    Assert.assertNull(root.getAppender("CONSOLE"), "The console appender should not be attached to root directly");
+    Appender<ILoggingEvent> console = root.getAppender("ASYNC_CONSOLE");
+    Assert.assertTrue(console instanceof AsyncAppender, "Root should log to the console through ASYNC_CONSOLE");
+    Assert.assertNotNull(((AsyncAppender) console).getAppender("CONSOLE"));
+  }
+
+  private static AsyncAppender configuredTraceAppender() {
+    Appender<ILoggingEvent> appender = loggerContext().getLogger(RequestTracer.LOGGER_NAME).getAppender("ASYNC_TRACE");
+    Assert.assertTrue(appender instanceof AsyncAppender,
+      RequestTracer.LOGGER_NAME + " should log through the ASYNC_TRACE async appender");
+    return (AsyncAppender) appender;
+  }
+
+  // A logger of its own per test, so parallel tests and the suite's own traces don't mix
+  private static org.slf4j.Logger newLogger(Appender<ILoggingEvent> appender) {
+    Logger logger = loggerContext().getLogger("test.trace." + LOGGERS.incrementAndGet());
+    logger.setAdditive(false);
+    logger.setLevel(ch.qos.logback.classic.Level.INFO);
+    if (!appender.isStarted()) {
+      appender.setContext(loggerContext());
+      appender.start();
+    }
+    logger.addAppender(appender);
+    return logger;
+  }
+
+  private static LoggerContext loggerContext() {
+    return (LoggerContext) LoggerFactory.getILoggerFactory();
+  }
+
+  // Blocks on the first event until released, like a file on a hung disk
+  private static class StalledAppender extends AppenderBase<ILoggingEvent> {
+    private final CountDownLatch release;
+    private final AtomicInteger received = new AtomicInteger();
+
+    StalledAppender(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      received.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.AsyncBaseApiClient;
+import com.bookstore.clients.ResponseCache;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.Author;
+import com.bookstore.models.BulkResult;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Feature("API Clients - Response Cache")
+public class ResponseCacheTests {
+  private StubApiServer stubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStub() {
+    stubServer = new StubApiServer(StubServerConfig.builder().books(10).authors(10).build());
+    stubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStub() {
+    stubServer.stop();
+  }
+
+  @Test(description = "Verify fresh entries are served without a request",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Response Cache")
+  public void testFreshEntryIsServedFromCache() {
+    ResponseCache cache = new ResponseCache(16, Duration.ofMinutes(1));
+    Response first = get(cache, "/api/v1/Books/1");
+    Response second = get(cache, "/api/v1/Books/1");
+
+    Assert.assertEquals(first.getHeader(ResponseCache.CACHE_STATUS_HEADER), "MISS");
+    Assert.assertEquals(second.getHeader(ResponseCache.CACHE_STATUS_HEADER), "HIT");
+    Assert.assertEquals(second.getStatusCode(), 200);
+    Assert.assertEquals(second.asByteArray(), first.asByteArray(), "Cached body should match the original");
+    Assert.assertEquals(second.jsonPath().getInt("id"), 1);
+    Assert.assertEquals(cache.getStats().getHits(), 1);
+    Assert.assertEquals(cache.getStats().getMisses(), 1);
+  }
+
+  @Test(description = "Verify stale entries are revalidated with their ETag",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Response Cache")
+  public void testStaleEntryIsRevalidated() {
+    ResponseCache cache = new ResponseCache(16, Duration.ZERO);
+    Response first = get(cache, "/api/v1/Books");
+    Response second = get(cache, "/api/v1/Books");
+
+    Assert.assertNotNull(first.getHeader("ETag"), "Stub should send an ETag for GET responses");
+    Assert.assertEquals(second.getHeader(ResponseCache.CACHE_STATUS_HEADER), "REVALIDATED");
+    Assert.assertEquals(second.getStatusCode(), 200, "A 304 should be served as the cached 200");
+    Assert.assertEquals(second.jsonPath().getList("$").size(), 10);
+    Assert.assertEquals(cache.getStats().getRevalidations(), 1);
+    Assert.assertEquals(cache.getStats().getHits(), 0);
+  }
+
+  @Test(description = "Verify writes invalidate the resource and its collection",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Response Cache")
+  public void testWritesInvalidateResourceAndCollection() {
+    ResponseCache cache = new ResponseCache(16, Duration.ofMinutes(1));
+    get(cache, "/api/v1/Authors/2");
+    get(cache, "/api/v1/Authors");
+    get(cache, "/api/v1/Authors/3");
+
+    Response update = RestAssured.given().filter(cache).contentType(ContentType.JSON)
+      .body("{\"id\":2,\"idBook\":1,\"firstName\":\"Updated\",\"lastName\":\"Author\"}")
+      .put(stubServer.getBaseUrl() + "/api/v1/Authors/2");
+    Assert.assertEquals(update.getStatusCode(), 200);
+
+    Assert.assertEquals(cache.size(), 1, "Only the unrelated author should remain cached");
+    Assert.assertEquals(cache.getStats().getInvalidations(), 2);
+    Response reread = get(cache, "/api/v1/Authors/2");
+    Assert.assertEquals(reread.getHeader(ResponseCache.CACHE_STATUS_HEADER), "MISS");
+    Assert.assertEquals(reread.jsonPath().getString("firstName"), "Updated");
+  }
+
+  @Test(description = "Verify bulk writes sent by the async client invalidate the cache",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Response Cache")
+  public void testBulkWritesInvalidateCache() {
+    ResponseCache cache = new ResponseCache(16, Duration.ofMinutes(1));
+    get(cache, "/api/v1/Authors/5");
+    get(cache, "/api/v1/Authors/6");
+    get(cache, "/api/v1/Authors/7");
+
+    BulkResult<Author> result = new BulkAuthorClient(cache).updateAuthors(List.of(5, 6)).join();
+
+    Assert.assertEquals(result.getSucceeded(), 2);
+    Assert.assertEquals(cache.size(), 1, "Only the author the bulk update didn't touch should remain cached");
+    Response reread = get(cache, "/api/v1/Authors/5");
+    Assert.assertEquals(reread.getHeader(ResponseCache.CACHE_STATUS_HEADER), "MISS");
+    Assert.assertEquals(reread.jsonPath().getString("firstName"), "Bulk");
+  }
+
+  @Test(description = "Verify a read that was in flight during an invalidation is not cached",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Response Cache")
+  public void testReadOverlappingInvalidationIsNotStored() {
+    ResponseCache cache = new ResponseCache(16, Duration.ofMinutes(1));
+    String url = stubServer.getBaseUrl() + "/api/v1/Books/4";
+
+    // A write elsewhere completes after the server answered the read but before the cache stores it
+    Response overlapping = RestAssured.given().filter(cache)
+      .filter((requestSpec, responseSpec, ctx) -> {
+        Response response = ctx.next(requestSpec, responseSpec);
+        cache.invalidate(url);
+        return response;
+      })
+      .accept(ContentType.JSON).get(url);
+
+    Assert.assertEquals(overlapping.getStatusCode(), 200, "The read itself should still be answered");
+    Assert.assertEquals(cache.size(), 0, "A response fetched before the invalidation should not be stored");
+    Assert.assertEquals(get(cache, "/api/v1/Books/4").getHeader(ResponseCache.CACHE_STATUS_HEADER), "MISS");
+    Assert.assertEquals(get(cache, "/api/v1/Books/4").getHeader(ResponseCache.CACHE_STATUS_HEADER), "HIT",
+      "Reads after the invalidation should be cached again");
+  }
+
+  @Test(description = "Verify the cache evicts the least recently used entry when full",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Response Cache")
+  public void testLeastRecentlyUsedEntryIsEvicted() {
+    ResponseCache cache = new ResponseCache(2, Duration.ofMinutes(1));
+    get(cache, "/api/v1/Books/1");
+    get(cache, "/api/v1/Books/2");
+    get(cache, "/api/v1/Books/1");
+    get(cache, "/api/v1/Books/3");
+
+    Assert.assertEquals(cache.size(), 2);
+    Assert.assertEquals(cache.getStats().getEvictions(), 1);
+    Assert.assertEquals(get(cache, "/api/v1/Books/1").getHeader(ResponseCache.CACHE_STATUS_HEADER), "HIT",
+      "Recently read entry should survive eviction");
+    Assert.assertEquals(get(cache, "/api/v1/Books/2").getHeader(ResponseCache.CACHE_STATUS_HEADER), "MISS",
+      "Least recently used entry should have been evicted");
+  }
+
+  private Response get(ResponseCache cache, String path) {
+    return RestAssured.given().filter(cache).accept(ContentType.JSON).get(stubServer.getBaseUrl() + path);
+  }
+
+  // Sends its writes through the java.net.http client, outside the REST Assured filter chain
+  private class BulkAuthorClient extends AsyncBaseApiClient {
+
+    BulkAuthorClient(ResponseCache cache) {
+      super(RunMode.LOAD, cache);
+    }
+
+    CompletableFuture<BulkResult<Author>> updateAuthors(List<Integer> ids) {
+      return executeBulkAsync("update authors", ids, id -> executePutAsync(
+        stubServer.getBaseUrl() + "/api/v1/Authors/" + id, new Author(id, 1, "Bulk", "Author"), Author.class));
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.BaseApiClient;
+import com.bookstore.config.ResponseCapturePolicy;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Book;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+@Feature("API Clients - Response Capture")
+public class ResponseCaptureTests {
+  private StubApiServer stubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStub() {
+    stubServer = new StubApiServer(StubServerConfig.builder().books(10).authors(10).build());
+    stubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStub() {
+    stubServer.stop();
+  }
+
+  @Test(description = "Verify NONE keeps neither headers nor body",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Capture Policy")
+  public void testNoneCapturesNothing() {
+    ApiResponse<Book> found = fetch(ResponseCapturePolicy.NONE, 1);
+    assertFound(found);
+    Assert.assertNull(found.getHeaders());
+    Assert.assertNull(found.getRawBody());
+
+    ApiResponse<Book> missing = fetch(ResponseCapturePolicy.NONE, 999);
+    assertMissing(missing);
+    Assert.assertNull(missing.getHeaders());
+    Assert.assertNull(missing.getRawBody());
+  }
+
+  @Test(description = "Verify HEADERS_ONLY keeps headers of every response and no body",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Capture Policy")
+  public void testHeadersOnlyCapturesHeaders() {
+    ApiResponse<Book> found = fetch(ResponseCapturePolicy.HEADERS_ONLY, 1);
+    assertFound(found);
+    assertJsonHeaders(found, "application/json");
+    Assert.assertNull(found.getRawBody());
+
+    ApiResponse<Book> missing = fetch(ResponseCapturePolicy.HEADERS_ONLY, 999);
+    assertMissing(missing);
+    assertJsonHeaders(missing, "application/problem+json");
+    Assert.assertNull(missing.getRawBody());
+  }
+
+  @Test(description = "Verify ON_FAILURE keeps headers and body of failed responses only",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Capture Policy")
+  public void testOnFailureCapturesFailures() {
+    ApiResponse<Book> found = fetch(ResponseCapturePolicy.ON_FAILURE, 1);
+    assertFound(found);
+    Assert.assertNull(found.getHeaders());
+    Assert.assertNull(found.getRawBody());
+
+    ApiResponse<Book> missing = fetch(ResponseCapturePolicy.ON_FAILURE, 999);
+    assertMissing(missing);
+    assertJsonHeaders(missing, "application/problem+json");
+    assertProblemBody(missing);
+  }
+
+  @Test(description = "Verify FULL keeps headers and body of every response",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Capture Policy")
+  public void testFullCapturesEverything() {
+    ApiResponse<Book> found = fetch(ResponseCapturePolicy.FULL, 1);
+    assertFound(found);
+    assertJsonHeaders(found, "application/json");
+    Assert.assertNotNull(header(found, "ETag"), "Successful reads carry the stub's ETag");
+    Assert.assertNotNull(found.getRawBody());
+    Assert.assertTrue(found.getRawResponse().contains("\"title\":\"Book 1\""), found.getRawResponse());
+
+    ApiResponse<Book> missing = fetch(ResponseCapturePolicy.FULL, 999);
+    assertMissing(missing);
+    assertJsonHeaders(missing, "application/problem+json");
+    assertProblemBody(missing);
+  }
+
+  private ApiResponse<Book> fetch(ResponseCapturePolicy policy, int id) {
+    CaptureClient client = new CaptureClient();
+    client.setCapturePolicy(policy);
+    return client.getBook(stubServer.getBaseUrl() + "/api/v1/Books/" + id);
+  }
+
+  // Capturing never changes what is parsed
+  private static void assertFound(ApiResponse<Book> response) {
+    Assert.assertEquals(response.getStatusCode(), 200);
+    Assert.assertEquals(response.getData().getId(), Integer.valueOf(1));
+  }
+
+  private static void assertMissing(ApiResponse<Book> response) {
+    Assert.assertEquals(response.getStatusCode(), 404);
+    Assert.assertNull(response.getData());
+  }
+
+  // application/json for entities, application/problem+json for errors
+  private static void assertJsonHeaders(ApiResponse<Book> response, String mediaType) {
+    Assert.assertNotNull(response.getHeaders(), "Headers should be captured");
+    String contentType = header(response, "Content-Type");
+    Assert.assertTrue(contentType != null && contentType.startsWith(mediaType),
+      "Unexpected headers " + response.getHeaders());
+  }
+
+  private static void assertProblemBody(ApiResponse<Book> response) {
+    Assert.assertNotNull(response.getRawBody(), "The failed response's body should be captured");
+    Assert.assertTrue(response.getRawResponse().contains("\"status\":404"), response.getRawResponse());
+  }
+
+  // The JDK server normalises header case, so names are matched case-insensitively
+  private static String header(ApiResponse<?> response, String name) {
+    return response.getHeaders().entrySet().stream()
+      .filter(header -> header.getKey().equalsIgnoreCase(name))
+      .map(Map.Entry::getValue)
+      .findFirst()
+      .orElse(null);
+  }
+
+  private static class CaptureClient extends BaseApiClient {
+
+    CaptureClient() {
+      super(RunMode.LOAD);
+    }
+
+    ApiResponse<Book> getBook(String url) {
+      return executeGet(url, Book.class);
+    }
+  }
+}
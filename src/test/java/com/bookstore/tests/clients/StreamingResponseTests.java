@@ -0,0 +1,196 @@
+package com.bookstore.tests.clients;
+
+import com.bookstore.clients.BaseApiClient;
+import com.bookstore.clients.HttpTransport;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.ApiResponse;
+import com.bookstore.models.Book;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Feature("API Clients - Streaming Responses")
+public class StreamingResponseTests {
+  private static final String BOOKS = "[{\"id\":1,\"title\":\"First\",\"pageCount\":100},"
+    + "{\"id\":2,\"title\":\"Second\",\"pageCount\":200}]";
+
+  private StubApiServer stubServer;
+  private StubApiServer emptyStubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStubs() {
+    // Enough books that a stream closed after the first one leaves most of the body unread
+    stubServer = new StubApiServer(StubServerConfig.builder().books(500).authors(10).build());
+    stubServer.start();
+    emptyStubServer = new StubApiServer(StubServerConfig.builder().books(0).authors(0).build());
+    emptyStubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStubs() {
+    stubServer.stop();
+    emptyStubServer.stop();
+  }
+
+  @Test(description = "Verify a streamed array hands out typed elements in order",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("JSON Array Streaming")
+  public void testStreamJsonArrayElementsAreTyped() {
+    try (Stream<Book> books = JsonUtils.streamJsonArray(input(BOOKS), Book.class)) {
+      List<Book> parsed = books.collect(Collectors.toList());
+
+      Assert.assertEquals(parsed.size(), 2);
+      parsed.forEach(book -> Assert.assertEquals(((Object) book).getClass(), Book.class));
+      Assert.assertEquals(parsed.get(1).getTitle(), "Second");
+      Assert.assertEquals(parsed.get(1).getPageCount(), Integer.valueOf(200));
+    }
+  }
+
+  @Test(description = "Verify an empty array streams no elements",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("JSON Array Streaming")
+  public void testStreamJsonArrayEmpty() {
+    try (Stream<Book> books = JsonUtils.streamJsonArray(input(" [ ] "), Book.class)) {
+      Assert.assertEquals(books.count(), 0);
+    }
+  }
+
+  @Test(description = "Verify a body that isn't an array is rejected and its input closed",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("JSON Array Streaming")
+  public void testStreamJsonArrayRejectsNonArray() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Assert.assertThrows(RuntimeException.class,
+      () -> JsonUtils.streamJsonArray(tracking("{\"id\":1,\"title\":\"First\"}", closed), Book.class));
+    Assert.assertTrue(closed.get(), "The rejected input should be closed");
+    Assert.assertThrows(RuntimeException.class, () -> JsonUtils.streamJsonArray(input(""), Book.class));
+  }
+
+  @Test(description = "Verify closing a stream before the end closes its input",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("JSON Array Streaming")
+  public void testStreamJsonArrayEarlyCloseClosesInput() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<Book> books = JsonUtils.streamJsonArray(tracking(BOOKS, closed), Book.class);
+    Iterator<Book> iterator = books.iterator();
+    Assert.assertEquals(iterator.next().getId(), Integer.valueOf(1));
+    Assert.assertFalse(closed.get());
+
+    books.close();
+    Assert.assertTrue(closed.get(), "Closing the stream should close the input");
+  }
+
+  @Test(description = "Verify list and stream requests for an empty collection return no elements",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Client Streaming")
+  public void testClientEmptyArray() {
+    StreamingClient client = new StreamingClient();
+    String url = emptyStubServer.getBaseUrl() + "/api/v1/Books";
+
+    ApiResponse<List<Book>> response = client.getList(url);
+    Assert.assertEquals(response.getStatusCode(), 200);
+    Assert.assertEquals(response.getData(), List.of());
+    try (Stream<Book> books = client.getStream(url)) {
+      Assert.assertEquals(books.count(), 0);
+    }
+  }
+
+  @Test(description = "Verify list and stream requests parse real model instances",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Client Streaming")
+  public void testClientElementsAreTyped() {
+    StreamingClient client = new StreamingClient();
+    String url = stubServer.getBaseUrl() + "/api/v1/Books";
+
+    List<Book> listed = client.getList(url).getData();
+    Assert.assertEquals(listed.size(), 500);
+    // A raw List would hold LinkedHashMaps here and fail only when an element is used
+    listed.forEach(book -> Assert.assertEquals(((Object) book).getClass(), Book.class));
+    try (Stream<Book> books = client.getStream(url)) {
+      List<Book> streamed = books.collect(Collectors.toList());
+      Assert.assertEquals(streamed.size(), 500);
+      streamed.forEach(book -> Assert.assertEquals(((Object) book).getClass(), Book.class));
+      Assert.assertEquals(streamed.get(0).getId(), listed.get(0).getId());
+    }
+  }
+
+  @Test(description = "Verify a single object where a list was expected leaves no data and fails the stream",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Client Streaming")
+  public void testClientNonArrayBody() {
+    StreamingClient client = new StreamingClient();
+    String url = stubServer.getBaseUrl() + "/api/v1/Books/1";
+
+    ApiResponse<List<Book>> response = client.getList(url);
+    Assert.assertEquals(response.getStatusCode(), 200);
+    Assert.assertNull(response.getData(), "An object body can't be read as a list");
+    Assert.assertThrows(RuntimeException.class, () -> client.getStream(url));
+  }
+
+  @Test(description = "Verify streams closed early give their connections back to the pool",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Client Streaming")
+  public void testClientEarlyCloseReleasesConnection() {
+    StreamingClient client = new StreamingClient();
+    String url = stubServer.getBaseUrl() + "/api/v1/Books";
+    // A connection kept by an abandoned stream would exhaust the route and time out the next lease
+    int requests = HttpTransport.getInstance().getPoolMetrics().getMaxPerRoute() + 10;
+
+    for (int i = 0; i < requests; i++) {
+      try (Stream<Book> books = client.getStream(url)) {
+        Assert.assertEquals(books.findFirst().get().getId(), Integer.valueOf(1));
+      }
+    }
+  }
+
+  private static InputStream input(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static InputStream tracking(String json, AtomicBoolean closed) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+  }
+
+  private static class StreamingClient extends BaseApiClient {
+
+    StreamingClient() {
+      super(RunMode.LOAD);
+    }
+
+    ApiResponse<List<Book>> getList(String url) {
+      return executeGetList(url, Book.class);
+    }
+
+    Stream<Book> getStream(String url) {
+      return executeGetStream(url, Book.class);
+    }
+  }
+}
@@ -4,14 +4,17 @@ import com.bookstore.base.BaseTest;
 import com.bookstore.models.ApiResponse;
 import com.bookstore.models.Author;
 import com.bookstore.models.Book;
+import com.bookstore.models.BulkResult;
 import com.bookstore.utils.*;
 import io.qameta.allure.*;
+import lombok.extern.slf4j.Slf4j;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
 import java.util.List;
 
+@Slf4j
 @Feature("Comprehensive Workflow Examples")
 public class ComprehensiveWorkflowTests extends BaseTest {
 
@@ -104,17 +107,13 @@ public class ComprehensiveWorkflowTests extends BaseTest {
     Assert.assertFalse(bulkBooks.isEmpty(), "Bulk books data should be loaded");
     Assert.assertFalse(bulkAuthors.isEmpty(), "Bulk authors data should be loaded");
 
-    // Create books in parallel
-    bulkBooks.parallelStream().forEach(book -> {
-      try {
-        ApiResponse<Book> response = bookApiClient.createBook(book);
-        if (response.isSuccess()) {
-          logTestStep("Created book: " + response.getData().getTitle());
-        }
-      } catch (Exception e) {
-        log.warn("Failed to create book: {}", e.getMessage());
-      }
-    });
+    // Create books and authors concurrently, results come back in file order
+    BulkResult<Book> createdBooks = bookApiClient.createBooks(bulkBooks);
+    BulkResult<Author> createdAuthors = authorApiClient.createAuthors(bulkAuthors);
+    logTestStep("Created " + createdBooks.getSucceeded() + " of " + createdBooks.getTotal() + " books and "
+      + createdAuthors.getSucceeded() + " of " + createdAuthors.getTotal() + " authors");
+    Assert.assertTrue(createdBooks.isAllSucceeded(), "Every bulk book should be created");
+    Assert.assertTrue(createdAuthors.isAllSucceeded(), "Every bulk author should be created");
 
     // Verify bulk creation didn't significantly impact performance
     PerformanceUtils.PerformanceResult getPerformance = PerformanceUtils.measureResponseTime(
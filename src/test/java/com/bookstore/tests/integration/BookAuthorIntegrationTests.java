@@ -6,11 +6,13 @@ import com.bookstore.models.Author;
 import com.bookstore.models.Book;
 import com.bookstore.utils.TestDataGenerator;
 import io.qameta.allure.*;
+import lombok.extern.slf4j.Slf4j;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
 
+@Slf4j
 @Feature("Books and Authors Integration Tests")
 public class BookAuthorIntegrationTests extends BaseTest {
 
@@ -85,6 +87,38 @@ public class BookAuthorIntegrationTests extends BaseTest {
     logTestStep("Found " + authorsForBook.size() + " authors for book ID: " + targetBookId);
   }
 
+  @Test(description = "Verify authors by book ID follow author changes made through the client")
+  @Description("Lookups by book ID must reflect authors created, moved to another book and deleted by this client")
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Book-Author Relationship")
+  public void testAuthorsByBookIdFollowAuthorChanges() {
+    int firstBookId = bookApiClient.createBook(TestDataGenerator.generateValidBook()).getData().getId();
+    int secondBookId = bookApiClient.createBook(TestDataGenerator.generateValidBook()).getData().getId();
+    authorApiClient.getAuthorsByBookId(firstBookId);
+
+    Author author = TestDataGenerator.generateValidAuthor();
+    author.setFirstName("Indexed" + System.nanoTime());
+    author.setIdBook(firstBookId);
+    Author created = authorApiClient.createAuthor(author).getData();
+    Assert.assertTrue(containsAuthor(authorApiClient.getAuthorsByBookId(firstBookId), author.getFirstName()),
+      "Created author should be found by its book ID");
+
+    created.setIdBook(secondBookId);
+    Assert.assertTrue(authorApiClient.updateAuthor(created.getId(), created).isSuccess(), "Author update should succeed");
+    Assert.assertFalse(containsAuthor(authorApiClient.getAuthorsByBookId(firstBookId), author.getFirstName()),
+      "Author moved to another book should no longer be found under the old book ID");
+    Assert.assertTrue(containsAuthor(authorApiClient.getAuthorsByBookId(secondBookId), author.getFirstName()),
+      "Author moved to another book should be found under the new book ID");
+
+    Assert.assertTrue(authorApiClient.deleteAuthor(created.getId()).isSuccess(), "Author deletion should succeed");
+    Assert.assertFalse(containsAuthor(authorApiClient.getAuthorsByBookId(secondBookId), author.getFirstName()),
+      "Deleted author should no longer be found by its book ID");
+  }
+
+  private static boolean containsAuthor(List<Author> authors, String firstName) {
+    return authors.stream().anyMatch(author -> firstName.equals(author.getFirstName()));
+  }
+
   @Test(description = "Verify creating multiple authors for one book")
   @Description("Test creating multiple authors associated with the same book")
   @Severity(SeverityLevel.NORMAL)
@@ -1,8 +1,17 @@
 package com.bookstore.tests.performance;
 
 import com.bookstore.base.BaseTest;
+import com.bookstore.config.ApiConfig;
+import com.bookstore.config.RunMode;
 import com.bookstore.models.ApiResponse;
 import com.bookstore.models.Book;
+import com.bookstore.performance.CapacityFinder;
+import com.bookstore.performance.Warmup;
+import com.bookstore.performance.scenario.BookstoreActions;
+import com.bookstore.performance.scenario.LoadScenario;
+import com.bookstore.performance.scenario.OperationSla;
+import com.bookstore.performance.scenario.ScenarioLoader;
+import com.bookstore.performance.scenario.ScenarioResult;
 import com.bookstore.utils.PerformanceUtils;
 import com.bookstore.utils.TestDataGenerator;
 import com.bookstore.utils.TestGroupConstants;
@@ -10,11 +19,17 @@ import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
 import java.util.List;
 
 @Feature("Books API - Performance Tests")
 public class BookApiPerformanceTests extends BaseTest {
 
+  @Override
+  protected RunMode getRunMode() {
+    return RunMode.LOAD;
+  }
+
   @Test(description = "Verify Books API can handle concurrent GET requests",
     groups = {TestGroupConstants.PERFORMANCE, TestGroupConstants.BOOKS})
   @Description("Load test for GET /api/v1/Books endpoint with multiple concurrent users")
@@ -38,10 +53,9 @@ public class BookApiPerformanceTests extends BaseTest {
     // Performance assertions
     Assert.assertTrue(result.getSuccessRate() >= 95.0,
       "Success rate should be at least 95%, actual: " + result.getSuccessRate() + "%");
-    Assert.assertTrue(result.getAverageResponseTime() < 2000,
-      "Average response time should be under 2 seconds, actual: " + result.getAverageResponseTime() + "ms");
-    Assert.assertTrue(result.getThroughput() > 5,
-      "Throughput should be at least 5 requests/second, actual: " + result.getThroughput());
+    Assert.assertTrue(result.getSteadyStateThroughput() > 5,
+      "Steady-state throughput should be at least 5 requests/second, actual: " + result.getSteadyStateThroughput());
+    assertNoRegression("books.concurrent-get-all", result, 2000);
 
     logTestStep("Concurrent load test completed successfully");
   }
@@ -68,9 +82,7 @@ public class BookApiPerformanceTests extends BaseTest {
     Assert.assertTrue(result.getSuccessRate() == 100.0,
       "All requests should succeed, actual success rate: " + result.getSuccessRate() + "%");
 
-    long responseTimeVariance = result.getMaxResponseTime() - result.getMinResponseTime();
-    Assert.assertTrue(responseTimeVariance < 3000,
-      "Response time variance should be under 3 seconds, actual: " + responseTimeVariance + "ms");
+    assertNoRegression("books.response-time-consistency", result, 3000);
 
     logTestStep("Response time consistency test completed");
   }
@@ -90,7 +102,8 @@ public class BookApiPerformanceTests extends BaseTest {
         return response.isSuccess();
       },
       20, // Burst of 20 requests
-      20  // All at once
+      20, // All at once
+      Warmup.none() // A warm-up would create books too, and the burst should hit a cold client
     );
 
     // Burst load assertions
@@ -98,6 +111,7 @@ public class BookApiPerformanceTests extends BaseTest {
       "Success rate under burst should be at least 80%, actual: " + result.getSuccessRate() + "%");
     Assert.assertTrue(result.getFailedRequests() <= 4,
       "Failed requests should be minimal under burst, actual: " + result.getFailedRequests());
+    assertNoRegression("books.burst-create", result, 5000);
 
     logTestStep("Burst load test completed");
   }
@@ -110,40 +124,47 @@ public class BookApiPerformanceTests extends BaseTest {
   public void testSustainedLoad() {
     logTestStep("Testing sustained load for book operations");
 
-    // Simulate sustained load with mixed operations
-    PerformanceUtils.PerformanceResult result = PerformanceUtils.executeLoadTest(
-      () -> {
-        // Mix of different operations
-        int operation = (int) (Math.random() * 3);
-        ApiResponse<?> response;
-
-        switch (operation) {
-        case 0: // GET all books
-          response = bookApiClient.getAllBooks();
-          break;
-        case 1: // GET book by ID
-          response = bookApiClient.getBookById(1);
-          break;
-        case 2: // CREATE book
-          Book newBook = TestDataGenerator.generateValidBook();
-          response = bookApiClient.createBook(newBook);
-          break;
-        default:
-          response = bookApiClient.getAllBooks();
-        }
+    // Ramp to 10 req/s over 5 seconds, then hold for 8 seconds (~105 requests) of list/get/create
+    LoadScenario scenario = ScenarioLoader.fromResource("scenarios/books-sustained-mixed.json",
+      BookstoreActions.catalog(bookApiClient, authorApiClient));
 
-        return response.isSuccess();
-      },
-      100, // 100 requests
-      5    // 5 concurrent users
-    );
+    ScenarioResult scenarioResult = PerformanceUtils.executeScenario(scenario);
+    PerformanceUtils.PerformanceResult result = scenarioResult.getOverall();
 
     // Sustained load assertions
     Assert.assertTrue(result.getSuccessRate() >= 90.0,
       "Success rate under sustained load should be at least 90%, actual: " + result.getSuccessRate() + "%");
-    Assert.assertTrue(result.getAverageResponseTime() < 3000,
-      "Average response time should remain under 3 seconds, actual: " + result.getAverageResponseTime() + "ms");
+    Assert.assertTrue(result.getDroppedRequests() <= scenario.getProfile().getExpectedArrivals() / 10,
+      "At most 10% of scheduled requests should be dropped, actual: " + result.getDroppedRequests());
+    Assert.assertTrue(scenarioResult.isSlaMet(), "Operation SLAs violated: " + scenarioResult.getSlaViolations());
+    assertNoRegression("books.sustained-mixed", result, 3000);
 
     logTestStep("Sustained load test completed successfully");
   }
+
+  @Test(description = "Find the concurrency GET /api/v1/Books sustains within its SLO",
+    groups = {TestGroupConstants.PERFORMANCE, TestGroupConstants.BOOKS})
+  @Description("Capacity search over concurrent users for listing books; reports the knee of the throughput curve")
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Capacity Planning")
+  public void testGetAllBooksCapacity() {
+    logTestStep("Searching GET all books capacity");
+
+    CapacityFinder.Result result = PerformanceUtils.findCapacity(
+      () -> bookApiClient.getAllBooks().isSuccess(),
+      CapacityFinder.builder()
+        .sla(OperationSla.builder().maxP99Millis(2000.0).minSuccessRate(95.0).build())
+        .start(1)
+        .max(8)
+        .stepDuration(Duration.ofSeconds(2))
+        .warmup(Warmup.fromConfig(ApiConfig.getInstance()))
+        .build()
+    );
+
+    Assert.assertNotNull(result.getMaxSustainable(), "A single user should stay within the SLO:\n" + result.toReport());
+    Assert.assertNotNull(result.getKnee(), "The knee should be reported:\n" + result.toReport());
+
+    logTestStep("Capacity search completed: " + result.getMaxSustainable().getLevel() + " users sustained, knee at "
+      + result.getKnee().getLevel());
+  }
 }
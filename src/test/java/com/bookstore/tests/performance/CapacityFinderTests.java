@@ -0,0 +1,217 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.CapacityFinder;
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.ThroughputSeries;
+import com.bookstore.performance.scenario.OperationSla;
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.function.DoubleFunction;
+import java.util.stream.Collectors;
+
+@Feature("Capacity Finder")
+public class CapacityFinderTests {
+  // A modelled backend with 4 workers taking 50ms per request: 80 req/s at most, queueing beyond 4 concurrent requests
+  private static final int SERVER_WORKERS = 4;
+  private static final long SERVICE_MILLIS = 50;
+  private static final double MAX_RATE = SERVER_WORKERS * 1000.0 / SERVICE_MILLIS;
+
+  @Test(description = "Verify the concurrency search doubles until the SLO breaks, then bisects the gap",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Concurrency Search")
+  public void testConcurrencySearchDoublesThenBisects() {
+    // Latency is 50ms up to 4 users and 12.5ms more per user beyond: 14 users take 175ms, 15 take 187.5ms
+    List<Double> levels = new ArrayList<>();
+    CapacityFinder.Result result = CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(180.0).minSuccessRate(99.0).build())
+      .start(1)
+      .max(64)
+      .build()
+      .search(recording(levels, CapacityFinderTests::closedLoopModel));
+
+    Assert.assertEquals(levels, List.of(1.0, 2.0, 4.0, 8.0, 16.0, 12.0, 14.0, 15.0));
+    Assert.assertEquals(result.getMaxSustainable().getLevel(), 14.0);
+    Assert.assertFalse(result.isLimitReached());
+    Assert.assertEquals(stepLevels(result), List.of(1.0, 2.0, 4.0, 8.0, 12.0, 14.0, 15.0, 16.0),
+      "Steps should be reported by level");
+  }
+
+  @Test(description = "Verify the arrival-rate search bisects between rates without rounding",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Arrival-Rate Search")
+  public void testArrivalRateSearchBisects() {
+    List<Double> levels = new ArrayList<>();
+    CapacityFinder.Result result = CapacityFinder.builder()
+      .mode(CapacityFinder.Mode.ARRIVAL_RATE)
+      .sla(OperationSla.builder().maxP50Millis(150.0).build())
+      .start(15)
+      .max(320)
+      .refinementSteps(2)
+      .build()
+      .search(recording(levels, CapacityFinderTests::openLoopModel));
+
+    Assert.assertEquals(levels, List.of(15.0, 30.0, 60.0, 120.0, 90.0, 75.0));
+    Assert.assertEquals(result.getMaxSustainable().getLevel(), 75.0);
+    Assert.assertFalse(result.isLimitReached());
+  }
+
+  @Test(description = "Verify the last step probes max itself and a search that never breaks the SLO reports the limit",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Concurrency Search")
+  public void testSearchStopsAtMax() {
+    List<Double> levels = new ArrayList<>();
+    CapacityFinder.Result result = CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(1000.0).build())
+      .start(1)
+      .max(10)
+      .build()
+      .search(recording(levels, CapacityFinderTests::closedLoopModel));
+
+    Assert.assertEquals(levels, List.of(1.0, 2.0, 4.0, 8.0, 10.0));
+    Assert.assertTrue(result.isLimitReached());
+    Assert.assertEquals(result.getMaxSustainable().getLevel(), 10.0);
+  }
+
+  @Test(description = "Verify a search whose first step breaks the SLO reports no sustainable level",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Concurrency Search")
+  public void testFirstStepBreakingSlo() {
+    List<Double> levels = new ArrayList<>();
+    CapacityFinder.Result result = CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(10.0).build())
+      .start(1)
+      .max(64)
+      .build()
+      .search(recording(levels, CapacityFinderTests::closedLoopModel));
+
+    Assert.assertEquals(levels, List.of(1.0), "Nothing should be bisected without a passing step");
+    Assert.assertNull(result.getMaxSustainable());
+    Assert.assertNull(result.getKnee());
+    Assert.assertFalse(result.isLimitReached());
+  }
+
+  @Test(description = "Verify the knee is where throughput stops growing with load",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Knee Detection")
+  public void testKneeAtSaturation() {
+    CapacityFinder.Result result = CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(180.0).build())
+      .start(1)
+      .max(64)
+      .build()
+      .search(CapacityFinderTests::closedLoopModel);
+
+    Assert.assertEquals(result.getKnee().getLevel(), (double) SERVER_WORKERS, result.toReport());
+  }
+
+  @Test(description = "Verify the highest passing step stands in for the knee of a straight throughput curve",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Knee Detection")
+  public void testKneeFallsBackOnLinearCurve() {
+    CapacityFinder.Result result = CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(100.0).build())
+      .start(1)
+      .max(32)
+      .build()
+      .search(users -> stepResult(SERVICE_MILLIS, users * 10));
+
+    Assert.assertTrue(result.isLimitReached());
+    Assert.assertSame(result.getKnee(), result.getMaxSustainable());
+  }
+
+  @Test(description = "Verify a search starting above its max is rejected",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Concurrency Search")
+  public void testStartAboveMaxRejected() {
+    CapacityFinder finder = CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(100.0).build())
+      .start(16)
+      .max(8)
+      .build();
+
+    Assert.assertThrows(IllegalArgumentException.class, () -> finder.search(CapacityFinderTests::closedLoopModel));
+  }
+
+  @Test(description = "Verify the search measures real steps against a simulated backend",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Concurrency Search")
+  public void testMeasuredSearchSmoke() {
+    // Only the plumbing: the SLO is loose enough that scheduling noise can't break it
+    CapacityFinder.Result result = PerformanceUtils.findCapacity(simulatedBackend(), CapacityFinder.builder()
+      .sla(OperationSla.builder().maxP50Millis(1000.0).minSuccessRate(99.0).build())
+      .start(1)
+      .max(4)
+      .stepDuration(Duration.ofMillis(500))
+      .build());
+
+    Assert.assertEquals(stepLevels(result), List.of(1.0, 2.0, 4.0), result.toReport());
+    Assert.assertTrue(result.isLimitReached(), result.toReport());
+    Assert.assertTrue(result.getSteps().stream().allMatch(step -> step.getResult().getTotalRequests() > 0));
+  }
+
+  private static DoubleFunction<PerformanceResult> recording(List<Double> levels,
+                                                             DoubleFunction<PerformanceResult> model) {
+    return level -> {
+      levels.add(level);
+      return model.apply(level);
+    };
+  }
+
+  // Users beyond the workers queue, each adding a service time shared among the workers
+  private static PerformanceResult closedLoopModel(double users) {
+    double latency = SERVICE_MILLIS * Math.max(1, users / SERVER_WORKERS);
+    return stepResult(latency, Math.min(users, SERVER_WORKERS) * 1000.0 / SERVICE_MILLIS);
+  }
+
+  // Past the backend's rate the queue grows for the whole step
+  private static PerformanceResult openLoopModel(double rate) {
+    return stepResult(rate <= MAX_RATE ? SERVICE_MILLIS : 1000, Math.min(rate, MAX_RATE));
+  }
+
+  private static PerformanceResult stepResult(double latencyMillis, double throughput) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 100; i++) {
+      histogram.recordMicros(Math.round(latencyMillis * 1000));
+    }
+    PerformanceResult result = new PerformanceResult(histogram, 100, 0);
+    long perSecond = Math.round(throughput);
+    result.setThroughputSeries(ThroughputSeries.Summary.of(new long[]{perSecond, perSecond, perSecond}, 0, 0,
+      throughput));
+    return result;
+  }
+
+  private static List<Double> stepLevels(CapacityFinder.Result result) {
+    return result.getSteps().stream().map(CapacityFinder.Step::getLevel).collect(Collectors.toList());
+  }
+
+  private static Callable<Boolean> simulatedBackend() {
+    Semaphore workers = new Semaphore(SERVER_WORKERS, true);
+    return () -> {
+      workers.acquire();
+      try {
+        Thread.sleep(SERVICE_MILLIS);
+      } finally {
+        workers.release();
+      }
+      return true;
+    };
+  }
+}
@@ -0,0 +1,56 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.base.BaseTest;
+import com.bookstore.config.RunMode;
+import com.bookstore.performance.distributed.DistributedLoadCoordinator;
+import com.bookstore.performance.scenario.BookstoreActions;
+import com.bookstore.performance.scenario.LoadScenario;
+import com.bookstore.performance.scenario.ScenarioLoader;
+import com.bookstore.performance.scenario.ScenarioResult;
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Feature("Distributed Load Generation")
+public class DistributedLoadTests extends BaseTest {
+  private static final String SCENARIO = "scenarios/authors-concurrent-read.json";
+
+  @Override
+  protected RunMode getRunMode() {
+    return RunMode.LOAD;
+  }
+
+  @Test(description = "Verify worker JVMs split a scenario's arrivals and their results merge into one",
+    groups = {TestGroupConstants.PERFORMANCE, TestGroupConstants.AUTHORS})
+  @Description("Runs the authors read scenario across two local worker processes and checks the merged result")
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Coordinator and Workers")
+  public void testScenarioAcrossLocalWorkers() {
+    logTestStep("Running " + SCENARIO + " across two worker JVMs");
+    LoadScenario scenario = ScenarioLoader.fromResource(SCENARIO,
+      BookstoreActions.catalog(bookApiClient, authorApiClient));
+
+    ScenarioResult result = PerformanceUtils.executeDistributedScenario(DistributedLoadCoordinator.builder()
+      .scenario(SCENARIO)
+      .workers(2)
+      .build());
+
+    // Each arrival of the schedule is sent by exactly one worker
+    long sent = result.getOverall().getTotalRequests() + result.getOverall().getDroppedRequests();
+    Assert.assertEquals(sent, scenario.getProfile().getExpectedArrivals(),
+      "Workers together should cover the whole schedule");
+    Assert.assertEquals(result.getOperations().keySet().size(), scenario.getOperations().size());
+    Assert.assertEquals(result.getOperations().values().stream()
+        .mapToInt(operation -> operation.getResult().getTotalRequests()).sum(),
+      result.getOverall().getTotalRequests(), "Per-operation results should add up to the merged total");
+    Assert.assertEquals(result.getOverall().getLatencyHistogram().getTotalCount(),
+      (long) result.getOverall().getTotalRequests(), "Merged histogram should hold every worker's samples");
+    Assert.assertTrue(result.getOverall().getSuccessRate() >= 90.0,
+      "Success rate should be at least 90%, actual: " + result.getOverall().getSuccessRate() + "%");
+    // Latency SLAs are left out: freshly started worker JVMs run cold for the whole of this short scenario
+
+    logTestStep("Distributed run merged " + result.getOverall().getTotalRequests() + " requests");
+  }
+}
@@ -0,0 +1,136 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+@Feature("Latency Histogram")
+public class LatencyHistogramTests {
+  // Three significant digits: values are kept to within 0.1%
+  private static final double PRECISION = 0.001;
+
+  @Test(description = "Verify percentiles are reported to the histogram's precision",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Percentiles")
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long millis = 1; millis <= 1000; millis++) {
+      histogram.recordMillis(millis);
+    }
+
+    Assert.assertEquals(histogram.getTotalCount(), 1000);
+    assertMicros(histogram.getPercentileMicros(50), 500_000);
+    assertMicros(histogram.getPercentileMicros(99), 990_000);
+    assertMicros(histogram.getPercentileMicros(100), 1_000_000);
+    assertMicros(histogram.getMinMicros(), 1_000);
+    assertMicros(histogram.getMaxMicros(), 1_000_000);
+    Assert.assertEquals(histogram.getMeanMicros(), 500_500, 500_500 * PRECISION);
+  }
+
+  @Test(description = "Verify an empty histogram reports zeros",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Percentiles")
+  public void testEmptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    Assert.assertEquals(histogram.getTotalCount(), 0);
+    Assert.assertEquals(histogram.getPercentileMicros(99), 0);
+    Assert.assertEquals(histogram.getMinMicros(), 0);
+    Assert.assertEquals(histogram.getMaxMicros(), 0);
+    Assert.assertEquals(histogram.getMeanMicros(), 0.0);
+  }
+
+  @Test(description = "Verify merging adds the other histogram's counts",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Merging")
+  public void testMerge() {
+    LatencyHistogram fast = new LatencyHistogram();
+    LatencyHistogram slow = new LatencyHistogram();
+    for (int i = 0; i < 90; i++) {
+      fast.recordMillis(10);
+    }
+    for (int i = 0; i < 10; i++) {
+      slow.recordMillis(500);
+    }
+
+    fast.merge(slow);
+
+    Assert.assertEquals(fast.getTotalCount(), 100);
+    assertMicros(fast.getPercentileMicros(50), 10_000);
+    assertMicros(fast.getPercentileMicros(95), 500_000);
+    assertMicros(fast.getMaxMicros(), 500_000);
+    Assert.assertEquals(slow.getTotalCount(), 10, "The merged-in histogram is left as it was");
+  }
+
+  @Test(description = "Verify encoding and decoding keeps the full distribution",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Encoding")
+  public void testEncodeDecodeRoundTrip() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 100; micros <= 2_000_000; micros *= 3) {
+      histogram.recordMicros(micros);
+      histogram.recordMicros(micros);
+    }
+
+    LatencyHistogram decoded = LatencyHistogram.decode(histogram.encode());
+
+    Assert.assertEquals(decoded.getTotalCount(), histogram.getTotalCount());
+    Assert.assertEquals(decoded.getDistribution(), histogram.getDistribution());
+    Assert.assertEquals(decoded.getPercentileMicros(90), histogram.getPercentileMicros(90));
+    Assert.assertEquals(decoded.getMaxMicros(), histogram.getMaxMicros());
+  }
+
+  @Test(description = "Verify decoding rejects text that isn't an encoded histogram",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Encoding")
+  public void testDecodeRejectsInvalidInput() {
+    Assert.assertThrows(RuntimeException.class, () -> LatencyHistogram.decode("not a histogram"));
+    Assert.assertThrows(RuntimeException.class, () -> LatencyHistogram.decode("AAAA"));
+  }
+
+  @Test(description = "Verify values above the one-hour range are clamped instead of rejected",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Range")
+  public void testValuesOutsideRangeAreClamped() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordMillis(TimeUnit.HOURS.toMillis(3));
+    histogram.recordMicros(-5);
+
+    Assert.assertEquals(histogram.getTotalCount(), 2);
+    assertMicros(histogram.getMaxMicros(), TimeUnit.HOURS.toMicros(1));
+    Assert.assertEquals(histogram.getMinMicros(), 0);
+  }
+
+  @Test(description = "Verify a copy is unaffected by later recordings into the original",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Merging")
+  public void testCopyIsIndependent() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordMillis(20);
+
+    LatencyHistogram copy = histogram.copy();
+    histogram.recordMillis(40);
+    copy.recordMillis(60);
+
+    Assert.assertEquals(copy.getTotalCount(), 2);
+    assertMicros(copy.getMaxMicros(), 60_000);
+    Assert.assertEquals(histogram.getTotalCount(), 2);
+    assertMicros(histogram.getMaxMicros(), 40_000);
+  }
+
+  private static void assertMicros(long actual, long expected) {
+    Assert.assertEquals(actual, expected, Math.max(1, (long) (expected * PRECISION)),
+      "Expected " + expected + " us within 0.1%, was " + actual);
+  }
+}
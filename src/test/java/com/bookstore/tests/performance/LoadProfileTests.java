@@ -0,0 +1,106 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.LoadProfile;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+@Feature("Open-Loop Load Generation")
+public class LoadProfileTests {
+  private static final long MILLI = 1_000_000L;
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test(description = "Verify a constant rate spaces arrivals evenly and ends after the expected count",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Load Profile")
+  public void testConstantRate() {
+    LoadProfile profile = LoadProfile.constantRate(10, Duration.ofSeconds(2));
+
+    Assert.assertEquals(profile.getExpectedArrivals(), 20);
+    Assert.assertEquals(profile.arrivalOffsetNanos(0), 0);
+    Assert.assertEquals(profile.arrivalOffsetNanos(7), 700 * MILLI, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(19), 1900 * MILLI, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(20), -1);
+  }
+
+  @Test(description = "Verify a ramp follows the quadratic cumulative arrival curve",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Load Profile")
+  public void testRampUp() {
+    // 0 to 10 req/s over 2 seconds: N(t) = 2.5 * t^2, so arrival k is due at sqrt(k / 2.5) seconds
+    LoadProfile profile = LoadProfile.builder().rampUp(Duration.ofSeconds(2), 10).build();
+
+    Assert.assertEquals(profile.getExpectedArrivals(), 10);
+    for (int k = 0; k < 10; k++) {
+      Assert.assertEquals(profile.arrivalOffsetNanos(k), Math.sqrt(k / 2.5) * SECOND, MILLI, "Arrival " + k);
+    }
+    Assert.assertEquals(profile.arrivalOffsetNanos(10), -1);
+  }
+
+  @Test(description = "Verify a hold continues at the rate the ramp before it reached",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Load Profile")
+  public void testRampThenHold() {
+    LoadProfile profile = LoadProfile.builder()
+      .rampUp(Duration.ofSeconds(2), 10)
+      .hold(Duration.ofSeconds(1))
+      .build();
+
+    Assert.assertEquals(profile.getExpectedArrivals(), 20);
+    Assert.assertEquals(profile.getTotalDuration(), Duration.ofSeconds(3));
+    Assert.assertEquals(profile.arrivalOffsetNanos(10), 2 * SECOND, MILLI, "The hold starts where the ramp ends");
+    Assert.assertEquals(profile.arrivalOffsetNanos(15), 2500 * MILLI, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(20), -1);
+  }
+
+  @Test(description = "Verify a spike returns to the rate from before it",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Load Profile")
+  public void testSpike() {
+    LoadProfile profile = LoadProfile.builder()
+      .hold(Duration.ofSeconds(1), 10)
+      .spike(Duration.ofSeconds(1), 100)
+      .hold(Duration.ofSeconds(1))
+      .build();
+
+    Assert.assertEquals(profile.getExpectedArrivals(), 120);
+    Assert.assertEquals(profile.getPeakRate(), 100.0);
+    Assert.assertEquals(profile.arrivalOffsetNanos(10), SECOND, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(60), 1500 * MILLI, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(110), 2 * SECOND, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(115), 2500 * MILLI, MILLI, "Back at 10 req/s after the spike");
+    Assert.assertEquals(profile.arrivalOffsetNanos(120), -1);
+  }
+
+  @Test(description = "Verify the expected arrivals match the arrivals a fractional profile schedules",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Load Profile")
+  public void testFractionalExpectedArrivals() {
+    // 4.5 arrivals' worth of time: arrivals 0 to 4 are all due before the stage ends
+    LoadProfile profile = LoadProfile.constantRate(3, Duration.ofMillis(1500));
+
+    Assert.assertEquals(profile.getExpectedArrivals(), 5);
+    Assert.assertEquals(profile.arrivalOffsetNanos(4), 4 * SECOND / 3, MILLI);
+    Assert.assertEquals(profile.arrivalOffsetNanos(5), -1);
+  }
+
+  @Test(description = "Verify stages with negative rates or no duration are rejected",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Load Profile")
+  public void testInvalidStagesRejected() {
+    Assert.assertThrows(IllegalArgumentException.class,
+      () -> LoadProfile.builder().stage(-1, 10, Duration.ofSeconds(1)));
+    Assert.assertThrows(IllegalArgumentException.class,
+      () -> LoadProfile.builder().hold(Duration.ZERO, 10));
+    Assert.assertThrows(IllegalArgumentException.class, () -> LoadProfile.builder().build());
+  }
+}
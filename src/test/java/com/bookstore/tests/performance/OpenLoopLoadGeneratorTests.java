@@ -0,0 +1,122 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.LoadProfile;
+import com.bookstore.performance.OpenLoopLoadGenerator;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@Feature("Open-Loop Load Generation")
+public class OpenLoopLoadGeneratorTests {
+  // Sleeps only put lower bounds on timing, so the assertions hold however loaded the machine is
+
+  @Test(description = "Verify arrivals are dropped once every worker is busy and the queue is full",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Saturation")
+  public void testDropsBeyondWorkersAndQueue() {
+    // 10 arrivals within 100ms, each holding the only worker for 500ms: one runs, one waits, the rest are dropped
+    PerformanceResult result = OpenLoopLoadGenerator.builder()
+      .profile(LoadProfile.constantRate(100, Duration.ofMillis(100)))
+      .maxConcurrency(1)
+      .queueCapacity(1)
+      .build()
+      .run(() -> {
+        Thread.sleep(500);
+        return true;
+      });
+
+    Assert.assertEquals(result.getTotalRequests(), 2);
+    Assert.assertEquals(result.getSuccessfulRequests(), 2);
+    Assert.assertEquals(result.getDroppedRequests(), 8);
+  }
+
+  @Test(description = "Verify latency is measured from the intended send time and late sends are counted",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Coordinated Omission")
+  public void testLatencyFromIntendedStart() {
+    // Arrivals every 10ms served one at a time in 50ms: arrival k starts about 40ms * k after it was due
+    PerformanceResult result = OpenLoopLoadGenerator.builder()
+      .profile(LoadProfile.constantRate(100, Duration.ofMillis(100)))
+      .maxConcurrency(1)
+      .queueCapacity(10)
+      .lateSendTolerance(Duration.ofMillis(20))
+      .build()
+      .run(() -> {
+        Thread.sleep(50);
+        return true;
+      });
+
+    Assert.assertEquals(result.getTotalRequests(), 10);
+    Assert.assertEquals(result.getDroppedRequests(), 0);
+    Assert.assertTrue(result.getLateRequests() >= 9, "Every request after the first should start late, "
+      + result.getLateRequests() + " did");
+    // The last arrival was due at 90ms and can't complete before the tenth 50ms service ends at 500ms
+    Assert.assertTrue(result.getMaxResponseTime() >= 410,
+      "Max latency should include the wait behind earlier requests, was " + result.getMaxResponseTime() + " ms");
+    Assert.assertTrue(result.getP50ResponseTime() >= 200,
+      "Median latency should include queueing, was " + result.getP50ResponseTime() + " ms");
+  }
+
+  @Test(description = "Verify generators on separate slices split one schedule between them",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Slicing")
+  public void testSlicesPartitionArrivals() {
+    LoadProfile profile = LoadProfile.constantRate(1000, Duration.ofMillis(20));
+    List<Set<Long>> received = new ArrayList<>();
+    for (int slice = 0; slice < 3; slice++) {
+      Set<Long> indexes = ConcurrentHashMap.newKeySet();
+      OpenLoopLoadGenerator.builder()
+        .profile(profile)
+        .slice(slice)
+        .slices(3)
+        .queueCapacity(100)
+        .build()
+        .run((index, intendedStartNanos) -> indexes.add(index));
+      received.add(indexes);
+    }
+
+    for (int slice = 0; slice < 3; slice++) {
+      int current = slice;
+      Assert.assertTrue(received.get(slice).stream().allMatch(index -> index % 3 == current),
+        "Slice " + slice + " received " + received.get(slice));
+    }
+    Set<Long> all = received.stream().flatMap(Set::stream).collect(Collectors.toSet());
+    Assert.assertEquals(all, LongStream.range(0, profile.getExpectedArrivals()).boxed().collect(Collectors.toSet()));
+    Assert.assertEquals(received.stream().mapToInt(Set::size).sum(), 20);
+  }
+
+  @Test(description = "Verify requests still running after the drain timeout count as failures and don't change the result",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Saturation")
+  public void testAbandonedRequestsCountAsFailures() throws InterruptedException {
+    PerformanceResult result = OpenLoopLoadGenerator.builder()
+      .profile(LoadProfile.constantRate(10, Duration.ofMillis(200)))
+      .drainTimeout(Duration.ofMillis(100))
+      .build()
+      .run(() -> {
+        Thread.sleep(5_000);
+        return true;
+      });
+
+    Assert.assertEquals(result.getTotalRequests(), 2);
+    Assert.assertEquals(result.getFailedRequests(), 2);
+    Assert.assertEquals(result.getLatencyHistogram().getTotalCount(), 0);
+    // The interrupted requests finish and record now; the result must not see them
+    Thread.sleep(200);
+    Assert.assertEquals(result.getLatencyHistogram().getTotalCount(), 0);
+  }
+}
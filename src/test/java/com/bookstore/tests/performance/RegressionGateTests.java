@@ -0,0 +1,197 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.BaselineStore;
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.RegressionGate;
+import com.bookstore.performance.StatisticalTests;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Feature("Performance Baselines - Regression Gate")
+public class RegressionGateTests {
+  private static final String SCENARIO = "synthetic.get";
+  private static final String ENVIRONMENT = "test";
+  private static final int SAMPLES = 500;
+
+  private final Queue<Path> storeDirectories = new ConcurrentLinkedQueue<>();
+
+  @Test(description = "Verify the first run of a scenario becomes its baseline",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Baseline Store")
+  public void testFirstRunIsRecordedAsBaseline() {
+    RegressionGate gate = newGate();
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c1", ENVIRONMENT, run(100, 0, 1));
+
+    Assert.assertEquals(report.getVerdict(), RegressionGate.Verdict.NO_BASELINE);
+    Assert.assertEquals(gate.getStore().find(SCENARIO, ENVIRONMENT).size(), 1);
+    Assert.assertTrue(gate.getStore().find(SCENARIO, "other").isEmpty(), "Baselines should be keyed by environment");
+  }
+
+  @Test(description = "Verify a run from the same distribution passes the gate",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Regression Gate")
+  public void testSameDistributionPasses() {
+    RegressionGate gate = newGate();
+    recordBaselines(gate, 3);
+
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c2", ENVIRONMENT, run(100, 0, 99));
+
+    Assert.assertEquals(report.getVerdict(), RegressionGate.Verdict.PASS, report.getSummary());
+    Assert.assertEquals(report.getBaselineRuns(), 3);
+  }
+
+  @Test(description = "Verify a slower run within the run-to-run spread of the baseline passes the gate",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Regression Gate")
+  public void testRunToRunNoiseIsNotARegression() {
+    RegressionGate gate = newGate();
+    // Runs on a busy machine: each run's requests are consistent, whole runs move together
+    gate.evaluate(SCENARIO, "c1", ENVIRONMENT, run(100, 0, 1));
+    gate.evaluate(SCENARIO, "c1", ENVIRONMENT, run(150, 0, 2));
+    gate.evaluate(SCENARIO, "c1", ENVIRONMENT, run(70, 0, 3));
+
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c2", ENVIRONMENT, run(180, 0, 99));
+
+    Assert.assertTrue(report.getMedianChange() > 0.5, report.getSummary());
+    Assert.assertEquals(report.getVerdict(), RegressionGate.Verdict.PASS, report.getSummary());
+  }
+
+  @Test(description = "Verify the gate needs a minimum number of baseline runs for a verdict",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Regression Gate")
+  public void testTooFewBaselineRunsGiveNoVerdict() {
+    RegressionGate gate = newGate();
+    recordBaselines(gate, 2);
+
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c2", ENVIRONMENT, run(300, 0, 99));
+
+    Assert.assertEquals(report.getVerdict(), RegressionGate.Verdict.NO_BASELINE, report.getSummary());
+  }
+
+  @Test(description = "Verify the Student's t tail probabilities used for run-level comparisons",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Regression Gate")
+  public void testStudentTTailProbabilities() {
+    Assert.assertEquals(StatisticalTests.studentTGreater(0, 3), 0.5, 1e-9);
+    Assert.assertEquals(StatisticalTests.studentTGreater(2.776, 4), 0.025, 1e-4);
+    Assert.assertEquals(StatisticalTests.studentTGreater(6.965, 2), 0.01, 1e-4);
+    Assert.assertEquals(StatisticalTests.studentTGreater(-1.533, 4), 0.9, 1e-4);
+    Assert.assertEquals(StatisticalTests.studentTGreater(1.96, 100_000), 0.025, 1e-4);
+  }
+
+  @Test(description = "Verify a significant slowdown beyond tolerance fails the gate",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Regression Gate")
+  public void testLatencyRegressionIsDetected() {
+    RegressionGate gate = newGate();
+    recordBaselines(gate, 3);
+
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c2", ENVIRONMENT, run(130, 0, 99));
+
+    Assert.assertTrue(report.isRegression(), report.getSummary());
+    Assert.assertTrue(report.getMedianPValue() < 0.01);
+    Assert.assertTrue(gate.getStore().find(SCENARIO, ENVIRONMENT).get(3).isRegression(),
+      "Regressed runs should be flagged in the store");
+  }
+
+  @Test(description = "Verify a significant rise in failures fails the gate",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Regression Gate")
+  public void testErrorRateRegressionIsDetected() {
+    RegressionGate gate = newGate();
+    recordBaselines(gate, 3);
+
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c2", ENVIRONMENT, run(100, 50, 99));
+
+    Assert.assertTrue(report.isRegression(), report.getSummary());
+    Assert.assertTrue(report.getErrorRateChange() > 0.05);
+  }
+
+  @Test(description = "Verify regressed runs are excluded from later baselines",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Regression Gate")
+  public void testRegressedRunsDoNotBecomeBaseline() {
+    RegressionGate gate = newGate();
+    recordBaselines(gate, 3);
+    gate.evaluate(SCENARIO, "c2", ENVIRONMENT, run(130, 0, 99));
+
+    RegressionGate.Report report = gate.evaluate(SCENARIO, "c3", ENVIRONMENT, run(130, 0, 100));
+
+    Assert.assertTrue(report.isRegression(), report.getSummary());
+    Assert.assertEquals(report.getBaselineRuns(), 3);
+  }
+
+  @Test(description = "Verify latency histograms survive the encoded round trip",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Baseline Store")
+  public void testHistogramEncodingRoundTrip() {
+    LatencyHistogram histogram = run(100, 0, 7).getLatencyHistogram();
+
+    LatencyHistogram decoded = LatencyHistogram.decode(histogram.encode());
+
+    Assert.assertEquals(decoded.getTotalCount(), histogram.getTotalCount());
+    Assert.assertEquals(decoded.getPercentileMicros(99), histogram.getPercentileMicros(99));
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void deleteStores() throws IOException {
+    for (Path directory : storeDirectories) {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+          Files.deleteIfExists(path);
+        }
+      }
+    }
+    storeDirectories.clear();
+  }
+
+  // Tests run in parallel, so each one gets its own store
+  private RegressionGate newGate() {
+    try {
+      Path directory = Files.createTempDirectory("baselines");
+      storeDirectories.add(directory);
+      return RegressionGate.builder().store(new BaselineStore(directory.resolve("baselines.jsonl"))).build();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to create baseline store", e);
+    }
+  }
+
+  private static void recordBaselines(RegressionGate gate, int runs) {
+    for (int i = 0; i < runs; i++) {
+      gate.evaluate(SCENARIO, "c1", ENVIRONMENT, run(100, 0, i + 1));
+    }
+  }
+
+  // Log-normal-ish latencies around medianMillis, as real response times are right-skewed
+  private static PerformanceResult run(double medianMillis, int failures, long seed) {
+    Random random = new Random(seed);
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < SAMPLES; i++) {
+      histogram.recordMicros((long) (medianMillis * 1000 * Math.exp(random.nextGaussian() * 0.2)));
+    }
+    return new PerformanceResult(histogram, SAMPLES - failures, failures);
+  }
+}
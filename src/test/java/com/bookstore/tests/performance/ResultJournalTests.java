@@ -0,0 +1,163 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.ResultJournal;
+import com.bookstore.performance.ResultJournalReader;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.bookstore.utils.TestGroupConstants;
+import com.sun.management.ThreadMXBean;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+@Feature("Result Journal")
+public class ResultJournalTests {
+  private static final String[] OPERATIONS = {"GET /api/v1/Books", "GET /api/v1/Books/{id}", "POST /api/v1/Books",
+    "DELETE /api/v1/Authors/{id}"};
+
+  @Test(description = "Verify concurrently recorded requests are read back exactly",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Recording and Summaries")
+  public void testConcurrentRecordsRoundTrip() throws Exception {
+    Path file = Files.createTempFile("results", ".journal");
+    try {
+      ResultJournal journal = ResultJournal.create(file);
+      // Uneven per-thread counts leave partial blocks behind
+      recordConcurrently(journal, 4, 25_001);
+      journal.close();
+      Assert.assertEquals(journal.getRecordCount(), 100_004L);
+
+      try (ResultJournalReader reader = ResultJournalReader.open(file)) {
+        Assert.assertEquals(reader.getRecordCount(), 100_004L);
+        Assert.assertEquals(reader.getOperations(), List.of(OPERATIONS));
+
+        ResultJournalReader.Summary summary = reader.summarize();
+        PerformanceResult overall = summary.getOverall();
+        Assert.assertEquals(overall.getTotalRequests(), 100_004);
+        // Every tenth request of each thread failed: 2,501 per thread
+        Assert.assertEquals(overall.getFailedRequests(), 4 * 2_501);
+        Assert.assertEquals(overall.getMinResponseTime(), 1, "Latencies run from 1ms");
+        Assert.assertEquals(overall.getMaxResponseTime(), 100, "Latencies run to 100ms");
+        Assert.assertEquals(summary.getTotalBytes(), 4L * expectedBytes(25_001));
+
+        Map<String, PerformanceResult> byOperation = summary.getOperations();
+        Assert.assertEquals(byOperation.keySet(), Set.of(OPERATIONS));
+        Assert.assertEquals(byOperation.values().stream().mapToInt(PerformanceResult::getTotalRequests).sum(),
+          100_004);
+        Assert.assertTrue(overall.getThroughput() > 0, "Throughput should be measured over the recorded span");
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test(description = "Verify a journal exports one CSV row per request",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("CSV Export")
+  public void testCsvExport() throws Exception {
+    Path file = Files.createTempFile("results", ".journal");
+    Path csv = Files.createTempFile("results", ".csv");
+    try {
+      ResultJournal journal = ResultJournal.create(file);
+      long start = journal.getStartNanos();
+      journal.record("GET /api/v1/Books/{id}", start + 5_000_000L, 12_345_678L, 200, 512);
+      journal.record("POST /api/v1/Books", start + 9_000_000L, 250_000L, 0, -1);
+      journal.close();
+
+      try (ResultJournalReader reader = ResultJournalReader.open(file)) {
+        Assert.assertEquals(reader.exportCsv(csv), 2L);
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.get(0), "timestamp_ms,operation,latency_ms,status,bytes");
+        Assert.assertEquals(lines.get(1), (reader.getStartEpochMillis() + 5) + ",GET /api/v1/Books/{id},12.345,200,512");
+        Assert.assertEquals(lines.get(2), (reader.getStartEpochMillis() + 9) + ",POST /api/v1/Books,0.250,0,-1");
+      }
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(csv);
+    }
+  }
+
+  // Writes about 1.2 GB, so it only runs in the soak suite
+  @Test(description = "Verify a soak-sized journal of 50 million requests stays off the heap",
+    groups = {TestGroupConstants.PERFORMANCE, TestGroupConstants.SOAK})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Soak Runs")
+  public void testFiftyMillionRecords() throws Exception {
+    Path file = Files.createTempFile("soak", ".journal");
+    try {
+      ResultJournal journal = ResultJournal.create(file);
+      long startNanos = System.nanoTime();
+      long allocated = recordConcurrently(journal, 4, 12_500_000);
+      long recordNanos = System.nanoTime() - startNanos;
+      journal.close();
+
+      // 50M records at 24 bytes each would allocate well over a gigabyte if they went through the heap
+      Assert.assertTrue(allocated < 16L * 1024 * 1024,
+        "Recording threads should allocate next to nothing, allocated " + allocated + " bytes");
+      Assert.assertTrue(Files.size(file) >= 50_000_000L * 24, "Records should be in the file");
+
+      try (ResultJournalReader reader = ResultJournalReader.open(file)) {
+        startNanos = System.nanoTime();
+        ResultJournalReader.Summary summary = reader.summarize();
+        long summarizeNanos = System.nanoTime() - startNanos;
+
+        Assert.assertEquals(summary.getOverall().getTotalRequests(), 50_000_000);
+        Assert.assertEquals(summary.getOverall().getFailedRequests(), 5_000_000);
+        Assert.assertEquals(summary.getTotalBytes(), 4L * expectedBytes(12_500_000));
+        Allure.addAttachment("Journal Throughput", "text/plain", String.format(
+          "Recorded 50M requests in %d ms (%.1f ns/record, %d KB allocated), summarized in %d ms, file %d MB",
+          recordNanos / 1_000_000, recordNanos / 50e6, allocated >> 10, summarizeNanos / 1_000_000,
+          Files.size(file) >> 20));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  // Each thread cycles through the operations, latencies of 1-100ms and sizes of 0-999 bytes.
+  // Returns the bytes the recording threads allocated, which other tests running in parallel don't touch
+  private static long recordConcurrently(ResultJournal journal, int threads, int perThread) throws Exception {
+    ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    LongAdder allocated = new LongAdder();
+    int[] operationIds = new int[OPERATIONS.length];
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      operationIds[i] = journal.operationId(OPERATIONS[i]);
+    }
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      workers[t] = new Thread(() -> {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = journal.getStartNanos();
+        for (int i = 0; i < perThread; i++) {
+          journal.record(operationIds[i % operationIds.length], start + i * 1_000L, (1 + i % 100) * 1_000_000L,
+            i % 10 == 0 ? 500 : 200, i % 1000);
+        }
+        allocated.add(threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore);
+      });
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    return allocated.sum();
+  }
+
+  private static long expectedBytes(int perThread) {
+    long bytes = 0;
+    for (int i = 0; i < perThread; i++) {
+      bytes += i % 1000;
+    }
+    return bytes;
+  }
+}
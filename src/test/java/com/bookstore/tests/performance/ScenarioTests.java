@@ -0,0 +1,204 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.clients.AuthorApiClient;
+import com.bookstore.clients.BookApiClient;
+import com.bookstore.config.RunMode;
+import com.bookstore.models.Author;
+import com.bookstore.performance.LoadProfile;
+import com.bookstore.performance.scenario.BookstoreActions;
+import com.bookstore.performance.scenario.LoadScenario;
+import com.bookstore.performance.scenario.OperationSla;
+import com.bookstore.performance.scenario.ScenarioAction;
+import com.bookstore.performance.scenario.ScenarioLoader;
+import com.bookstore.performance.scenario.ScenarioOperation;
+import com.bookstore.performance.scenario.ScenarioResult;
+import com.bookstore.performance.scenario.ScenarioRunner;
+import com.bookstore.performance.scenario.ThinkTime;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+@Feature("Load Scenarios")
+public class ScenarioTests {
+  private static final ScenarioAction NO_OP = random -> true;
+
+  @Test(description = "Verify the same seed replays the same weighted operation mix",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Weighted Operation Mix")
+  public void testWeightedMixIsReproducible() {
+    LoadScenario scenario = weightedScenario(42);
+
+    List<String> first = pickOperations(scenario, 10_000);
+    List<String> replay = pickOperations(weightedScenario(42), 10_000);
+    List<String> reseeded = pickOperations(weightedScenario(43), 10_000);
+
+    Assert.assertEquals(replay, first, "The same seed should pick the same operations");
+    Assert.assertNotEquals(reseeded, first, "A different seed should pick a different sequence");
+    double readShare = first.stream().filter("read"::equals).count() / 10_000.0;
+    Assert.assertEquals(readShare, 0.75, 0.02, "Operations should be picked in proportion to their weights");
+  }
+
+  @Test(description = "Verify the runner reports latency and SLA results per operation",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Per-Operation Results")
+  public void testRunnerReportsPerOperationResults() {
+    LoadScenario scenario = LoadScenario.builder()
+      .name("fast-and-slow")
+      .seed(7L)
+      .profile(LoadProfile.constantRate(100, Duration.ofSeconds(1)))
+      .maxConcurrency(20)
+      .operation(ScenarioOperation.builder().name("fast").action(NO_OP).weight(1).build())
+      .operation(ScenarioOperation.builder()
+        .name("slow")
+        .action(random -> {
+          Thread.sleep(30);
+          return true;
+        })
+        .weight(1)
+        .sla(OperationSla.builder().maxP50Millis(5.0).build())
+        .build())
+      .build();
+
+    ScenarioResult result = ScenarioRunner.run(scenario);
+
+    ScenarioResult.OperationResult fast = result.getOperation("fast");
+    ScenarioResult.OperationResult slow = result.getOperation("slow");
+    Assert.assertEquals(fast.getResult().getTotalRequests() + slow.getResult().getTotalRequests(),
+      result.getOverall().getTotalRequests());
+    Assert.assertTrue(slow.getResult().getP50ResponseTime() >= 30,
+      "Slow operation latency should not be blended away, p50: " + slow.getResult().getP50ResponseTime());
+    Assert.assertTrue(fast.getResult().getP50ResponseTime() < slow.getResult().getP50ResponseTime());
+    Assert.assertTrue(fast.getSlaViolations().isEmpty());
+    Assert.assertEquals(slow.getSlaViolations().size(), 1, "Slow operation should break its p50 SLA");
+    Assert.assertFalse(result.isSlaMet());
+  }
+
+  @Test(description = "Verify overall throughput counts completions, not the think time that follows them",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Per-Operation Results")
+  public void testOverallThroughputExcludesThinkTime() {
+    // Every request completes within the first second, then its worker thinks for 1.5 seconds more
+    LoadScenario scenario = LoadScenario.builder()
+      .name("thinking")
+      .seed(3L)
+      .profile(LoadProfile.constantRate(20, Duration.ofSeconds(1)))
+      .maxConcurrency(40)
+      .thinkTime(ThinkTime.between(1500, 1500))
+      .operation(ScenarioOperation.builder().name("read").action(NO_OP).weight(1).build())
+      .operation(ScenarioOperation.builder().name("write").action(NO_OP).weight(1).build())
+      .build();
+
+    ScenarioResult result = ScenarioRunner.run(scenario);
+
+    long[] overall = result.getOverall().getThroughputSeries().getPerSecond();
+    long[] read = result.getOperation("read").getResult().getThroughputSeries().getPerSecond();
+    long[] write = result.getOperation("write").getResult().getThroughputSeries().getPerSecond();
+    Assert.assertEquals(overall.length, read.length);
+    for (int second = 0; second < overall.length; second++) {
+      Assert.assertEquals(overall[second], read[second] + write[second],
+        "Second " + second + " of " + Arrays.toString(overall) + " should match the operations' completions");
+    }
+    Assert.assertEquals(Arrays.stream(overall).sum(), 20);
+  }
+
+  @Test(description = "Verify looking up authors by book fails on an error or an empty answer",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Bookstore Actions")
+  public void testAuthorsByBookNeedsAuthors() throws Exception {
+    SplittableRandom random = new SplittableRandom(1);
+
+    Assert.assertTrue(authorsByBook(bookId -> List.of(new Author(1, bookId, "First", "Last"))).execute(random));
+    Assert.assertFalse(authorsByBook(bookId -> List.of()).execute(random), "No authors for a seeded book is a failure");
+    Assert.assertFalse(authorsByBook(bookId -> {
+      throw new RuntimeException("Failed to get authors: 500");
+    }).execute(random));
+  }
+
+  @Test(description = "Verify scenarios load from JSON resources",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Scenario Definitions")
+  public void testScenarioLoadsFromJson() {
+    Map<String, ScenarioAction> actions = new HashMap<>();
+    actions.put("books.list", NO_OP);
+    actions.put("books.get", NO_OP);
+    actions.put("books.create", NO_OP);
+
+    LoadScenario scenario = ScenarioLoader.fromResource("scenarios/books-sustained-mixed.json", actions);
+
+    Assert.assertEquals(scenario.getName(), "books-sustained-mixed");
+    Assert.assertEquals(scenario.getOperations().size(), 3);
+    Assert.assertEquals(scenario.getProfile().getExpectedArrivals(), 105);
+    Assert.assertEquals(scenario.getOperations().get(1).getSla().getMaxP99Millis(), 3000.0);
+  }
+
+  @Test(description = "Verify a scenario referring to an unknown action is rejected",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Scenario Definitions")
+  public void testUnknownActionIsRejected() {
+    Map<String, ScenarioAction> actions = new HashMap<>();
+    actions.put("books.list", NO_OP);
+
+    Assert.assertThrows(IllegalArgumentException.class,
+      () -> ScenarioLoader.fromResource("scenarios/books-sustained-mixed.json", actions));
+  }
+
+  @Test(description = "Verify a spike returns to the rate before it",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Scenario Definitions")
+  public void testSpikeStageReturnsToPreviousRate() {
+    LoadProfile profile = LoadProfile.builder()
+      .hold(Duration.ofSeconds(1), 10)
+      .spike(Duration.ofSeconds(1), 50)
+      .hold(Duration.ofSeconds(1))
+      .build();
+
+    Assert.assertEquals(profile.getExpectedArrivals(), 70);
+    Assert.assertEquals(profile.getPeakRate(), 50.0);
+  }
+
+  // Only authors.byBook is run, against a client whose lookups are answered locally
+  private static ScenarioAction authorsByBook(IntFunction<List<Author>> lookup) {
+    AuthorApiClient authors = new AuthorApiClient(RunMode.LOAD) {
+      @Override
+      public List<Author> getAuthorsByBookId(int bookId) {
+        return lookup.apply(bookId);
+      }
+    };
+    return BookstoreActions.catalog(new BookApiClient(RunMode.LOAD), authors).get("authors.byBook");
+  }
+
+  private static LoadScenario weightedScenario(long seed) {
+    return LoadScenario.builder()
+      .name("weighted")
+      .seed(seed)
+      .profile(LoadProfile.constantRate(1, Duration.ofSeconds(1)))
+      .operation(ScenarioOperation.builder().name("read").action(NO_OP).weight(3).build())
+      .operation(ScenarioOperation.builder().name("write").action(NO_OP).weight(1).build())
+      .build();
+  }
+
+  private static List<String> pickOperations(LoadScenario scenario, int arrivals) {
+    List<String> picked = new ArrayList<>(arrivals);
+    for (long arrival = 0; arrival < arrivals; arrival++) {
+      picked.add(scenario.pickOperation(scenario.randomFor(arrival)).getName());
+    }
+    return picked;
+  }
+}
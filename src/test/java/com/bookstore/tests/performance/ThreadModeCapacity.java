@@ -0,0 +1,146 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.config.ThreadMode;
+import com.bookstore.performance.LoadExecutors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how many simulated users each {@link ThreadMode} can hold at once
+ * and what every user costs in memory. Users block the way they would while
+ * waiting for a response, so the numbers reflect the thread model rather than
+ * the backend. Memory is the resident set size where /proc is available, which
+ * includes platform thread stacks, and used heap otherwise.
+ */
+@Slf4j
+final class ThreadModeCapacity {
+  private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+  private ThreadModeCapacity() {
+  }
+
+  // Doubles the number of users from startUsers until a step fails or maxUsers is reached
+  public static List<Result> findMaxSustainableConcurrency(ThreadMode threadMode, int startUsers, int maxUsers,
+                                                           Duration startTimeout) {
+    List<Result> results = new ArrayList<>();
+    for (int users = startUsers; users <= maxUsers; users = users * 2) {
+      Result result = measure(threadMode, users, startTimeout);
+      results.add(result);
+      if (!result.isSustained()) {
+        break;
+      }
+    }
+    return results;
+  }
+
+  public static int maxSustainedUsers(List<Result> results) {
+    return results.stream().filter(Result::isSustained).mapToInt(Result::getUsers).max().orElse(0);
+  }
+
+  // Starts the given number of users, holds them all blocked at once, then releases them
+  public static Result measure(ThreadMode threadMode, int users, Duration startTimeout) {
+    CountDownLatch started = new CountDownLatch(users);
+    CountDownLatch release = new CountDownLatch(1);
+    long baselineBytes = usedMemoryBytes();
+    long startTime = System.nanoTime();
+    ExecutorService executor = newUnboundedExecutor(threadMode);
+
+    String failure = null;
+    long memoryBytes = 0;
+    try {
+      for (int i = 0; i < users; i++) {
+        executor.execute(() -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
+      if (started.await(startTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        memoryBytes = usedMemoryBytes() - baselineBytes;
+      } else {
+        failure = (users - started.getCount()) + " of " + users + " users started within " + startTimeout;
+      }
+    } catch (OutOfMemoryError e) {
+      failure = e.getMessage();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = "interrupted";
+    } finally {
+      release.countDown();
+      executor.shutdown();
+      awaitQuietly(executor);
+    }
+    long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+    Result result = new Result(threadMode, users, failure == null, startupMillis,
+      failure == null ? Math.max(0, memoryBytes) / users : 0, failure);
+    log.info("Thread mode capacity: {}", result);
+    return result;
+  }
+
+  private static ExecutorService newUnboundedExecutor(ThreadMode threadMode) {
+    if (threadMode == ThreadMode.VIRTUAL) {
+      return LoadExecutors.newVirtualThreadPerTaskExecutor();
+    }
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "capacity-user-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static void awaitQuietly(ExecutorService executor) {
+    try {
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+
+  private static long usedMemoryBytes() {
+    System.gc();
+    if (Files.isReadable(PROC_STATUS)) {
+      try {
+        for (String line : Files.readAllLines(PROC_STATUS)) {
+          if (line.startsWith("VmRSS:")) {
+            return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+          }
+        }
+      } catch (IOException | NumberFormatException e) {
+        log.debug("Could not read resident set size: {}", e.getMessage());
+      }
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Value
+  public static class Result {
+    ThreadMode threadMode;
+    int users;
+    boolean sustained;
+    long startupMillis;
+    long bytesPerUser;
+    String failure;
+  }
+}
@@ -0,0 +1,79 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.config.ThreadMode;
+import com.bookstore.performance.LoadExecutors;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Feature("Load Generator - Thread Modes")
+public class ThreadModeCapacityTests {
+  private static final int START_USERS = 500;
+  private static final int MAX_USERS = Integer.getInteger("perf.thread.capacity.max.users", 4000);
+  private static final Duration START_TIMEOUT = Duration.ofSeconds(30);
+
+  @Test(description = "Measure platform thread concurrency and memory per user",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Description("Finds how many blocked simulated users platform threads sustain and what each one costs")
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Thread Mode Capacity")
+  public void testPlatformThreadCapacity() {
+    List<ThreadModeCapacity.Result> results = ThreadModeCapacity.findMaxSustainableConcurrency(
+      ThreadMode.PLATFORM, START_USERS, MAX_USERS, START_TIMEOUT);
+    attachResults("Platform Thread Capacity", results);
+
+    Assert.assertTrue(ThreadModeCapacity.maxSustainedUsers(results) >= START_USERS,
+      "Platform threads should sustain at least " + START_USERS + " concurrent users");
+  }
+
+  @Test(description = "Compare virtual thread concurrency and memory per user against platform threads",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Description("Runs the same measurement on virtual threads; skipped on runtimes without virtual thread support")
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Thread Mode Capacity")
+  public void testVirtualThreadCapacity() {
+    if (!LoadExecutors.isVirtualThreadSupported()) {
+      throw new SkipException("Virtual threads need Java 21+, running on Java "
+        + System.getProperty("java.specification.version"));
+    }
+
+    List<ThreadModeCapacity.Result> virtual = ThreadModeCapacity.findMaxSustainableConcurrency(
+      ThreadMode.VIRTUAL, START_USERS, MAX_USERS, START_TIMEOUT);
+    ThreadModeCapacity.Result platform = ThreadModeCapacity.measure(ThreadMode.PLATFORM, START_USERS, START_TIMEOUT);
+    attachResults("Virtual Thread Capacity", virtual);
+
+    int largestUsers = largestMeasuredUsers();
+    Assert.assertEquals(ThreadModeCapacity.maxSustainedUsers(virtual), largestUsers,
+      "Virtual threads should sustain the largest measured user count (" + largestUsers + ")");
+    // Resident memory also moves with whatever else the JVM is doing, so this is only reported
+    if (virtual.get(0).getBytesPerUser() > platform.getBytesPerUser()) {
+      log.warn("Virtual threads measured {} bytes per user, platform threads {} at {} users",
+        virtual.get(0).getBytesPerUser(), platform.getBytesPerUser(), START_USERS);
+    }
+  }
+
+  // The last step of the doubling search from START_USERS that stays within MAX_USERS
+  private static int largestMeasuredUsers() {
+    int users = START_USERS;
+    while (users * 2 <= MAX_USERS) {
+      users *= 2;
+    }
+    return users;
+  }
+
+  private void attachResults(String name, List<ThreadModeCapacity.Result> results) {
+    StringBuilder report = new StringBuilder(String.format("%-10s %8s %10s %12s %14s%n",
+      "Mode", "Users", "Sustained", "Startup ms", "Bytes/user"));
+    results.forEach(result -> report.append(String.format("%-10s %8d %10s %12d %14d%n",
+      result.getThreadMode(), result.getUsers(), result.isSustained(), result.getStartupMillis(),
+      result.getBytesPerUser())));
+    Allure.addAttachment(name, "text/plain", report.toString());
+  }
+}
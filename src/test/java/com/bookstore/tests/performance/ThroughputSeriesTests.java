@@ -0,0 +1,106 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.LatencyHistogram;
+import com.bookstore.performance.ThroughputSeries;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Feature("Throughput Accounting")
+public class ThroughputSeriesTests {
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test(description = "Verify warm-up and cool-down seconds are left out of steady-state throughput",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Steady State")
+  public void testSteadyStateExcludesWarmupAndCooldown() {
+    ThroughputSeries series = new ThroughputSeries(0);
+    long[] counts = {5, 100, 110, 90, 100, 3};
+    for (int second = 0; second < counts.length; second++) {
+      record(series, second, counts[second]);
+    }
+
+    ThroughputSeries.Summary summary = series.summarize(6 * SECOND, 1, 1);
+    Assert.assertEquals(summary.getPerSecond(), counts);
+    Assert.assertEquals(summary.getSteadyStateSeconds(), 4);
+    Assert.assertEquals(summary.getSteadyStateThroughput(), 100.0, 1e-9);
+    Assert.assertEquals(summary.getPeakThroughput(), 110.0, 1e-9);
+    Assert.assertEquals(summary.getVariance(), 50.0, 1e-9);
+  }
+
+  @Test(description = "Verify a run too short for a steady state reports its overall rate",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Steady State")
+  public void testShortRunFallsBackToOverallRate() {
+    ThroughputSeries series = new ThroughputSeries(0);
+    record(series, 0, 40);
+    series.record(SECOND + SECOND / 4);
+
+    // 41 requests over 1.5 seconds
+    ThroughputSeries.Summary summary = series.summarize(SECOND + SECOND / 2, 1, 1);
+    Assert.assertEquals(summary.getSteadyStateSeconds(), 0);
+    Assert.assertEquals(summary.getSteadyStateThroughput(), 41 / 1.5, 1e-9);
+    Assert.assertEquals(summary.getPeakThroughput(), 41 / 1.5, 1e-9);
+  }
+
+  @Test(description = "Verify throughput counts concurrent requests over wall-clock time",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Wall-Clock Throughput")
+  public void testThroughputUsesWallClockTime() {
+    // 100 requests of 200ms each, 10 at a time, finish in 2 seconds: 50 requests/second
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 100; i++) {
+      histogram.recordNanos(200_000_000L);
+    }
+    PerformanceResult result = new PerformanceResult(histogram, 100, 0);
+    result.setTotalExecutionTime(2_000);
+    Assert.assertEquals(result.getThroughput(), 50.0, 1e-9);
+    Assert.assertEquals(result.getSteadyStateThroughput(), 50.0, 1e-9);
+
+    // Setting the series first must not leave the steady-state figures at zero
+    ThroughputSeries series = new ThroughputSeries(0);
+    record(series, 0, 50);
+    record(series, 1, 50);
+    PerformanceResult measured = new PerformanceResult(histogram, 100, 0);
+    measured.setThroughputSeries(series.summarize(2 * SECOND, 0, 0));
+    measured.setTotalExecutionTime(2_000);
+    Assert.assertEquals(measured.getThroughput(), 50.0, 1e-9);
+    Assert.assertEquals(measured.getSteadyStateThroughput(), 50.0, 1e-9);
+    Assert.assertEquals(measured.getThroughputVariance(), 0.0, 1e-9);
+  }
+
+  @Test(description = "Verify concurrently recorded completions are all counted",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Recording")
+  public void testConcurrentRecording() throws Exception {
+    ThroughputSeries series = new ThroughputSeries(0);
+    Thread[] workers = new Thread[4];
+    for (int t = 0; t < workers.length; t++) {
+      workers[t] = new Thread(() -> {
+        for (int i = 0; i < 250_000; i++) {
+          series.record((i % 3) * SECOND + i);
+        }
+      });
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    long[] perSecond = series.summarize(3 * SECOND, 0, 0).getPerSecond();
+    Assert.assertEquals(perSecond.length, 3);
+    Assert.assertEquals(perSecond[0] + perSecond[1] + perSecond[2], 1_000_000L);
+  }
+
+  private static void record(ThroughputSeries series, int second, long count) {
+    for (long i = 0; i < count; i++) {
+      series.record(second * SECOND + i * (SECOND / count));
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.bookstore.tests.performance;
+
+import com.bookstore.performance.Warmup;
+import com.bookstore.utils.PerformanceUtils;
+import com.bookstore.utils.PerformanceUtils.PerformanceResult;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Feature("Warm-up")
+public class WarmupTests {
+  private static final long MILLIS = 1_000_000L;
+
+  @Test(description = "Verify adaptive warm-up ends once latencies settle below the CV threshold",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Adaptive Warm-up")
+  public void testAdaptiveWarmupEndsWhenStable() {
+    Warmup.Phase phase = Warmup.builder().iterations(5).maxIterations(100).window(5).cvThreshold(0.1).build().start();
+    // A cold first request, a few noisy ones, then a steady 10ms
+    long[] latencies = {900, 40, 25, 15, 12, 10, 10, 10, 10, 10, 10, 10, 10};
+    int sent = 0;
+    while (phase.tryBegin()) {
+      phase.record(latencies[Math.min(sent++, latencies.length - 1)] * MILLIS, true);
+    }
+
+    Warmup.Result result = phase.finish();
+    Assert.assertTrue(result.isStable());
+    Assert.assertEquals(result.getIterations(), 9, "The window of five is steady from the ninth request");
+    Assert.assertTrue(result.getCoefficientOfVariation() < 0.1);
+    Assert.assertEquals(result.getResult().getMaxResponseTime(), 900);
+  }
+
+  @Test(description = "Verify adaptive warm-up stops at its maximum when latencies never settle",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Adaptive Warm-up")
+  public void testAdaptiveWarmupIsBounded() {
+    Warmup.Phase phase = Warmup.builder().iterations(5).maxIterations(30).window(5).cvThreshold(0.1).build().start();
+    int sent = 0;
+    while (phase.tryBegin()) {
+      phase.record((sent++ % 2 == 0 ? 5 : 50) * MILLIS, true);
+    }
+
+    Warmup.Result result = phase.finish();
+    Assert.assertFalse(result.isStable());
+    Assert.assertEquals(result.getIterations(), 30);
+  }
+
+  @Test(description = "Verify warm-up requests are reported separately from the measured ones",
+    groups = {TestGroupConstants.PERFORMANCE})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Fixed Warm-up")
+  public void testWarmupSamplesAreDiscarded() {
+    AtomicInteger calls = new AtomicInteger();
+    PerformanceResult result = PerformanceUtils.measureResponseTime(() -> {
+      // Only the very first call is slow, like a cold JIT and connection
+      if (calls.getAndIncrement() == 0) {
+        Thread.sleep(200);
+      }
+      return true;
+    }, 20, Warmup.fixed(3));
+
+    Assert.assertEquals(calls.get(), 23);
+    Assert.assertEquals(result.getTotalRequests(), 20);
+    Assert.assertTrue(result.getMaxResponseTime() < 200, "The cold request should not be measured");
+    Assert.assertEquals(result.getWarmup().getIterations(), 3);
+    Assert.assertFalse(result.getWarmup().isAdaptive());
+    Assert.assertTrue(result.getWarmup().getResult().getMaxResponseTime() >= 200);
+
+    PerformanceResult loadResult = PerformanceUtils.executeLoadTest(() -> true, 50, 4, Warmup.fixed(8));
+    Assert.assertEquals(loadResult.getTotalRequests(), 50);
+    Assert.assertEquals(loadResult.getWarmup().getIterations(), 8);
+  }
+}
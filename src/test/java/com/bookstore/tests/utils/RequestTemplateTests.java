@@ -0,0 +1,62 @@
+package com.bookstore.tests.utils;
+
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.RequestTemplate;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+@Feature("Test Data - Request Templates")
+public class RequestTemplateTests {
+
+  @Test(description = "Verify filled templates serialize like the equivalent POJO",
+    groups = {TestGroupConstants.REGRESSION})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Slot Filling")
+  public void testFilledTemplateMatchesPojo() {
+    Book prototype = Book.builder().withValidData().build();
+    // Listed out of document order on purpose
+    RequestTemplate template = RequestTemplate.compile(prototype, "title", "id");
+    Assert.assertEquals(template.getSlots(), List.of("id", "title"), "Slots should follow the document order");
+
+    byte[] body = template.fill().set("id", 42).set("title", "Dune").toBytes();
+    Book expected = Book.builder().withValidData().id(42).title("Dune").build();
+    Assert.assertEquals(body, JsonUtils.toJsonBytes(expected), "Filled template should match Jackson's output");
+
+    Assert.assertEquals(template.toBytes(), JsonUtils.toJsonBytes(prototype),
+      "Unset slots should keep the prototype's values");
+  }
+
+  @Test(description = "Verify string slots are escaped and null slots are written as null",
+    groups = {TestGroupConstants.REGRESSION})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Slot Filling")
+  public void testSlotValuesAreEscaped() {
+    RequestTemplate template = RequestTemplate.compile(Author.builder().withValidData().build(),
+      "firstName", "idBook");
+    String tricky = "Zoë \"Q\" O'Brien\\\n\t\u0001";
+
+    byte[] body = template.fill().set("firstName", tricky).set("idBook", (Integer) null).toBytes();
+    Author author = JsonUtils.fromJson(body, Author.class);
+    Assert.assertEquals(author.getFirstName(), tricky);
+    Assert.assertNull(author.getIdBook());
+    Assert.assertEquals(author.getLastName(), "Doe");
+  }
+
+  @Test(description = "Verify templates reject slots the prototype does not have",
+    groups = {TestGroupConstants.REGRESSION})
+  @Severity(SeverityLevel.MINOR)
+  @Story("Validation")
+  public void testUnknownSlotsAreRejected() {
+    Assert.assertThrows(IllegalArgumentException.class,
+      () -> RequestTemplate.compile(Book.builder().withValidData().build(), "idBook"));
+
+    RequestTemplate template = RequestTemplate.compile(Book.builder().withValidData().build(), "title");
+    Assert.assertThrows(IllegalArgumentException.class, () -> template.fill().set("pageCount", 10));
+  }
+}
@@ -0,0 +1,200 @@
+package com.bookstore.tests.utils;
+
+import com.bookstore.models.Book;
+import com.bookstore.stub.StubApiServer;
+import com.bookstore.stub.StubServerConfig;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// Talks raw HTTP so the stub's contract is checked apart from the API clients built on it
+@Feature("Stub API Server")
+public class StubApiServerTests {
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private StubApiServer stubServer;
+
+  @BeforeClass(alwaysRun = true)
+  public void startStub() {
+    stubServer = new StubApiServer(StubServerConfig.builder().books(10).authors(10).build());
+    stubServer.start();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopStub() {
+    stubServer.stop();
+  }
+
+  @Test(description = "Verify create, read, update, patch and delete return the API's status codes",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("CRUD Contract")
+  public void testCrudStatusCodes() {
+    String books = stubServer.getBaseUrl() + "/api/v1/Books";
+
+    HttpResponse<String> list = send(stubServer, "GET", books, null);
+    Assert.assertEquals(list.statusCode(), 200);
+    Assert.assertEquals(JsonUtils.fromJson(list.body(), Book[].class).length, 10);
+
+    HttpResponse<String> created = send(stubServer, "POST", books, "{\"title\":\"New\",\"pageCount\":50}");
+    Assert.assertEquals(created.statusCode(), 200);
+    int id = JsonUtils.fromJson(created.body(), Book.class).getId();
+    Assert.assertTrue(id > 10, "A book posted without an id gets a fresh one, got " + id);
+    Assert.assertEquals(send(stubServer, "GET", books + "/" + id, null).statusCode(), 200);
+
+    HttpResponse<String> replaced = send(stubServer, "PUT", books + "/" + id, "{\"title\":\"Replaced\",\"pageCount\":60}");
+    Assert.assertEquals(replaced.statusCode(), 200);
+    HttpResponse<String> patched = send(stubServer, "PATCH", books + "/" + id, "{\"pageCount\":70}");
+    Assert.assertEquals(patched.statusCode(), 200);
+    Book merged = JsonUtils.fromJson(patched.body(), Book.class);
+    Assert.assertEquals(merged.getTitle(), "Replaced", "PATCH keeps the fields it doesn't send");
+    Assert.assertEquals(merged.getPageCount(), Integer.valueOf(70));
+
+    HttpResponse<String> deleted = send(stubServer, "DELETE", books + "/" + id, null);
+    Assert.assertEquals(deleted.statusCode(), 200);
+    Assert.assertEquals(deleted.body(), "");
+    Assert.assertEquals(send(stubServer, "GET", books + "/" + id, null).statusCode(), 404);
+  }
+
+  @Test(description = "Verify invalid bodies, ids and methods are rejected",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("CRUD Contract")
+  public void testInvalidRequestsRejected() {
+    String books = stubServer.getBaseUrl() + "/api/v1/Books";
+
+    Assert.assertEquals(send(stubServer, "POST", books, "{\"title\":\"No pages\"}").statusCode(), 400);
+    Assert.assertEquals(send(stubServer, "POST", books, "not json").statusCode(), 400);
+    Assert.assertEquals(send(stubServer, "GET", books + "/abc", null).statusCode(), 400);
+    Assert.assertEquals(send(stubServer, "DELETE", books, null).statusCode(), 405);
+    Assert.assertEquals(send(stubServer, "POST", books + "/1", "{}").statusCode(), 405);
+  }
+
+  @Test(description = "Verify every operation on a missing id returns 404 with problem details",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("CRUD Contract")
+  public void testMissingIdsReturnNotFound() {
+    String missingBook = stubServer.getBaseUrl() + "/api/v1/Books/9999";
+    String missingAuthor = stubServer.getBaseUrl() + "/api/v1/Authors/9999";
+
+    HttpResponse<String> get = send(stubServer, "GET", missingBook, null);
+    Assert.assertEquals(get.statusCode(), 404);
+    Assert.assertTrue(get.headers().firstValue("Content-Type").orElse("").startsWith("application/problem+json"));
+    Assert.assertTrue(get.body().contains("\"status\":404"), get.body());
+    Assert.assertEquals(send(stubServer, "PUT", missingBook, "{\"title\":\"T\",\"pageCount\":1}").statusCode(), 404);
+    Assert.assertEquals(send(stubServer, "PATCH", missingBook, "{\"pageCount\":1}").statusCode(), 404);
+    Assert.assertEquals(send(stubServer, "DELETE", missingBook, null).statusCode(), 404);
+    Assert.assertEquals(send(stubServer, "GET", missingAuthor, null).statusCode(), 404);
+    Assert.assertEquals(send(stubServer, "GET", stubServer.getBaseUrl() + "/api/v1/Books/1/extra", null).statusCode(),
+      404);
+  }
+
+  @Test(description = "Verify reads carry an ETag that revalidates to 304 until the entry changes",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.CRITICAL)
+  @Story("Conditional Requests")
+  public void testETagRevalidation() {
+    String book = stubServer.getBaseUrl() + "/api/v1/Books/2";
+
+    HttpResponse<String> first = send(stubServer, "GET", book, null);
+    String etag = first.headers().firstValue("ETag").orElse(null);
+    Assert.assertNotNull(etag, "A 200 read should carry an ETag");
+
+    HttpResponse<String> revalidated = send(stubServer, "GET", book, null, etag);
+    Assert.assertEquals(revalidated.statusCode(), 304);
+    Assert.assertEquals(revalidated.body(), "", "A 304 has no body");
+    Assert.assertEquals(revalidated.headers().firstValue("ETag").orElse(null), etag);
+    Assert.assertEquals(send(stubServer, "GET", book, null, "\"stale\"").statusCode(), 200);
+
+    Assert.assertEquals(send(stubServer, "PATCH", book, "{\"pageCount\":999}").statusCode(), 200);
+    HttpResponse<String> changed = send(stubServer, "GET", book, null, etag);
+    Assert.assertEquals(changed.statusCode(), 200, "The old ETag no longer matches once the entry changes");
+    Assert.assertNotEquals(changed.headers().firstValue("ETag").orElse(null), etag);
+  }
+
+  @Test(description = "Verify the configured error rate answers requests with 500 and counts them",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Fault Injection")
+  public void testInjectedErrorRate() {
+    StubApiServer failing = new StubApiServer(StubServerConfig.builder().books(1).authors(1).errorRate(1.0).build());
+    StubApiServer flaky = new StubApiServer(StubServerConfig.builder().books(1).authors(1).errorRate(0.5).build());
+    failing.start();
+    flaky.start();
+    try {
+      for (int i = 0; i < 10; i++) {
+        Assert.assertEquals(send(failing, "GET", failing.getBaseUrl() + "/api/v1/Books/1", null).statusCode(), 500);
+      }
+      Assert.assertEquals(failing.getInjectedErrorCount(), 10);
+
+      int errors = 0;
+      for (int i = 0; i < 200; i++) {
+        if (send(flaky, "GET", flaky.getBaseUrl() + "/api/v1/Books/1", null).statusCode() == 500) {
+          errors++;
+        }
+      }
+      Assert.assertEquals(flaky.getInjectedErrorCount(), errors);
+      Assert.assertEquals(flaky.getRequestCount(), 200);
+      // 100 expected; the bounds are over 7 standard deviations out
+      Assert.assertTrue(errors > 50 && errors < 150, "Half the requests should fail, " + errors + " of 200 did");
+    } finally {
+      failing.stop();
+      flaky.stop();
+    }
+  }
+
+  @Test(description = "Verify every response is held back for the configured latency",
+    groups = {TestGroupConstants.REGRESSION, TestGroupConstants.API})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Fault Injection")
+  public void testInjectedLatency() {
+    StubApiServer slow = new StubApiServer(StubServerConfig.builder().books(1).authors(1)
+      .latencyMs(100).latencyJitterMs(50).build());
+    slow.start();
+    try {
+      for (int i = 0; i < 5; i++) {
+        long startNanos = System.nanoTime();
+        Assert.assertEquals(send(slow, "GET", slow.getBaseUrl() + "/api/v1/Books/1", null).statusCode(), 200);
+        // Only a lower bound: a busy machine can add any amount on top
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Assert.assertTrue(elapsedMillis >= 100, "Response took " + elapsedMillis + " ms");
+      }
+    } finally {
+      slow.stop();
+    }
+  }
+
+  private HttpResponse<String> send(StubApiServer server, String method, String url, String body) {
+    return send(server, method, url, body, null);
+  }
+
+  private HttpResponse<String> send(StubApiServer server, String method, String url, String body, String ifNoneMatch) {
+    Assert.assertTrue(server.isRunning());
+    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+      .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+      .header("Content-Type", "application/json");
+    if (ifNoneMatch != null) {
+      request.header("If-None-Match", ifNoneMatch);
+    }
+    try {
+      return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.bookstore.tests.utils;
+
+import com.bookstore.models.Author;
+import com.bookstore.models.Book;
+import com.bookstore.utils.JsonUtils;
+import com.bookstore.utils.SyntheticDataGenerator;
+import com.bookstore.utils.TestGroupConstants;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+@Feature("Test Data - Synthetic Generator")
+public class SyntheticDataGeneratorTests {
+
+  @Test(description = "Verify the same seed and index always produce the same entities",
+    groups = {TestGroupConstants.REGRESSION})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Deterministic Replay")
+  public void testSameSeedReplaysSameEntities() {
+    SyntheticDataGenerator first = SyntheticDataGenerator.withSeed(42);
+    SyntheticDataGenerator replay = SyntheticDataGenerator.withSeed(42);
+    SyntheticDataGenerator other = SyntheticDataGenerator.withSeed(43);
+
+    for (long index = 0; index < 100; index++) {
+      Assert.assertEquals(replay.book(index), first.book(index), "Book " + index + " should replay");
+      Assert.assertEquals(replay.author(index), first.author(index), "Author " + index + " should replay");
+    }
+    long differentBooks = LongStream.range(0, 100).filter(i -> !other.book(i).equals(first.book(i))).count();
+    Assert.assertTrue(differentBooks > 90, "Another seed should produce different books, got " + differentBooks);
+
+    Book book = first.book(7);
+    Assert.assertTrue(book.isValid(), "Generated books should be valid: " + book);
+    Author author = first.author(7);
+    Assert.assertTrue(author.getIdBook() >= 1 && author.getIdBook() < 100, "Book ID out of range: " + author);
+  }
+
+  @Test(description = "Verify pre-serialized JSON matches the generated entities",
+    groups = {TestGroupConstants.REGRESSION})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Pre-serialized Payloads")
+  public void testJsonBytesMatchEntities() {
+    SyntheticDataGenerator generator = SyntheticDataGenerator.withSeed(7);
+    for (long index = 0; index < 500; index++) {
+      Assert.assertEquals(JsonUtils.fromJson(generator.bookJson(index), Book.class), generator.book(index));
+      Assert.assertEquals(JsonUtils.fromJson(generator.authorJson(index), Author.class), generator.author(index));
+    }
+  }
+
+  @Test(description = "Verify concurrent threads draw from separate, repeatable streams",
+    groups = {TestGroupConstants.REGRESSION})
+  @Severity(SeverityLevel.NORMAL)
+  @Story("Thread Safety")
+  public void testThreadsDrawSeparateStreams() throws Exception {
+    SyntheticDataGenerator generator = SyntheticDataGenerator.withSeed(99);
+    Set<List<Book>> streams = ConcurrentHashMap.newKeySet();
+    Thread[] threads = IntStream.range(0, 4)
+      .mapToObj(i -> new Thread(() -> streams.add(IntStream.range(0, 1000)
+        .mapToObj(n -> generator.nextBook())
+        .collect(Collectors.toList()))))
+      .toArray(Thread[]::new);
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(streams.size(), 4, "Every thread should get its own sequence");
+    SyntheticDataGenerator replay = SyntheticDataGenerator.withSeed(99);
+    Assert.assertTrue(streams.contains(IntStream.range(0, 1000)
+        .mapToObj(n -> replay.nextBook())
+        .collect(Collectors.toList())),
+      "The first thread's sequence should replay with the same seed");
+  }
+}